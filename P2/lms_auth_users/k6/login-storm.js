@@ -0,0 +1,98 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Rate, Trend } from 'k6/metrics';
+
+// Custom metrics
+const loginsOk = new Counter('logins_ok');
+const loginsShed = new Counter('logins_shed');       // 503 from the hashing pool (back-pressure)
+const loginDuration = new Trend('login_duration', true);
+const readDuration = new Trend('read_duration', true);
+const readFailures = new Rate('read_failures');
+
+// Configuration
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'manuel@gmail.com';
+const PASSWORD = __ENV.PASSWORD || 'Manuelino123!';
+const READ_PATH = __ENV.READ_PATH || '/api-docs';   // any public read endpoint
+
+// Login storm with a concurrent read workload: logins/sec and login p99, and whether the reads keep their
+// latency while BCrypt runs. Compare a build before and after the hashing pool, or tune
+// auth.hashing.threads / auth.hashing.queue-capacity / auth.password.bcrypt-strength between runs.
+export const options = {
+    scenarios: {
+        logins: {
+            executor: 'constant-arrival-rate',
+            exec: 'login',
+            rate: Number(__ENV.LOGIN_RATE || 100),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '1m',
+            preAllocatedVUs: 100,
+            maxVUs: 500,
+        },
+        reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'read',
+            rate: Number(__ENV.READ_RATE || 50),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '1m',
+            preAllocatedVUs: 20,
+            maxVUs: 100,
+        },
+    },
+    thresholds: {
+        read_failures: ['rate<0.01'],
+        read_duration: ['p(99)<500'],
+    },
+};
+
+export function login() {
+    const res = http.post(`${BASE_URL}/api/public/login`,
+        JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+
+    check(res, { 'login is 200 or 503': (r) => r.status === 200 || r.status === 503 });
+    if (res.status === 200) {
+        loginsOk.add(1);
+        loginDuration.add(res.timings.duration);
+    } else if (res.status === 503) {
+        loginsShed.add(1);
+    }
+}
+
+export function read() {
+    const res = http.get(`${BASE_URL}${READ_PATH}`);
+    const ok = check(res, { 'read is 200': (r) => r.status === 200 });
+    readFailures.add(!ok);
+    readDuration.add(res.timings.duration);
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const value = (metric, stat) => (data.metrics[metric] ? data.metrics[metric].values[stat] : 0);
+
+    const summary = {
+        timestamp: new Date().toISOString(),
+        metrics: {
+            logins_per_second: value('logins_ok', 'count') / seconds,
+            logins_shed: value('logins_shed', 'count'),
+            login_duration_p99: value('login_duration', 'p(99)'),
+            read_duration_p99: value('read_duration', 'p(99)'),
+            read_failures: value('read_failures', 'rate'),
+        },
+    };
+
+    return {
+        'login-storm-results.json': JSON.stringify(summary, null, 2),
+        stdout: `
+================================================================================
+                         K6 LOGIN STORM SUMMARY
+================================================================================
+Logins/sec:          ${summary.metrics.logins_per_second.toFixed(2)}
+Logins shed (503):   ${summary.metrics.logins_shed}
+Login P99:           ${summary.metrics.login_duration_p99.toFixed(2)} ms
+Read P99:            ${summary.metrics.read_duration_p99.toFixed(2)} ms
+Read failure rate:   ${(summary.metrics.read_failures * 100).toFixed(2)}%
+================================================================================
+`,
+    };
+}
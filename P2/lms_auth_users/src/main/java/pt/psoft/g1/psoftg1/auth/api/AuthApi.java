@@ -25,6 +25,7 @@ import static java.util.stream.Collectors.joining;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 
@@ -44,6 +45,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import pt.psoft.g1.psoftg1.auth.services.PasswordHashingExecutor;
 import pt.psoft.g1.psoftg1.usermanagement.api.UserView;
 import pt.psoft.g1.psoftg1.usermanagement.api.UserViewMapper;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
@@ -72,38 +74,49 @@ public class AuthApi {
 
     private final UserService userService;
 
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    /**
+     * The password check (BCrypt) runs on the PasswordHashingExecutor, not on the servlet thread, which is
+     * released while the login waits for a worker. A full hashing queue answers 503 with Retry-After.
+     */
     @PostMapping("login")
-    public ResponseEntity<UserView> login(@RequestBody @Valid final AuthRequest request) {
-        try {
-            final Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
-
-            final User user = (User) authentication.getPrincipal();
-
-            final Instant now = Instant.now();
-            final long expiry = 36000L; // 10 hours
-
-            // CORRIGIDO: Converte roles para List em vez de String com espaços
-            final List<String> roles = authentication.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toList());
-
-            final JwtClaimsSet claims = JwtClaimsSet.builder()
-                    .issuer("example.io")
-                    .issuedAt(now)
-                    .expiresAt(now.plusSeconds(expiry))
-                    .subject(format("%s,%s", user.getId(), user.getUsername()))
-                    .claim("roles", roles) // ← Agora é uma List<String> ["ROLE_LIBRARIAN"]
-                    .build();
-
-            final String token = this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.AUTHORIZATION, token)
-                    .body(userViewMapper.toUserView(user));
-        } catch (final BadCredentialsException ex) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<UserView>> login(@RequestBody @Valid final AuthRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                final Authentication authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+                return issueToken(authentication);
+            } catch (final BadCredentialsException ex) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<UserView>build();
+            }
+        });
+    }
+
+    private ResponseEntity<UserView> issueToken(final Authentication authentication) {
+        final User user = (User) authentication.getPrincipal();
+
+        final Instant now = Instant.now();
+        final long expiry = 36000L; // 10 hours
+
+        // CORRIGIDO: Converte roles para List em vez de String com espaços
+        final List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        final JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("example.io")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(expiry))
+                .subject(format("%s,%s", user.getId(), user.getUsername()))
+                .claim("roles", roles) // ← Agora é uma List<String> ["ROLE_LIBRARIAN"]
+                .build();
+
+        final String token = this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .body(userViewMapper.toUserView(user));
     }
 
 
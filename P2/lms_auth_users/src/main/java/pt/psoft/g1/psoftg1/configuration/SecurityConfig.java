@@ -18,6 +18,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -43,6 +44,7 @@ import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 
 import pt.psoft.g1.psoftg1.usermanagement.model.Role;
+import pt.psoft.g1.psoftg1.usermanagement.model.User;
 
 import lombok.RequiredArgsConstructor;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
@@ -76,12 +78,23 @@ public class SecurityConfig {
     @Value("${springdoc.swagger-ui.path}")
     private String swaggerPath;
 
+    // BCrypt cost of new hashes; with auth.password.rehash-on-login, older hashes of lower cost are
+    // re-hashed at this cost the next time their user logs in
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.password.rehash-on-login:false}")
+    private boolean rehashOnLogin;
+
     @Bean
     public AuthenticationManager authenticationManager(final UserDetailsService userDetailsService,
             final PasswordEncoder passwordEncoder) {
         final DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder);
+        if (rehashOnLogin) {
+            authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService());
+        }
 
         return new ProviderManager(authenticationProvider);
     }
@@ -92,6 +105,15 @@ public class SecurityConfig {
                 .orElseThrow(() -> new UsernameNotFoundException(format("User: %s, not found", username)));
     }
 
+    // Stores the hash DaoAuthenticationProvider produced when the stored one was weaker than bcryptStrength
+    private UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPasswordHash) -> {
+            final User user = (User) userDetails;
+            user.setPasswordHash(newPasswordHash);
+            return userRepo.save(user);
+        };
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         // Enable CORS and disable CSRF
@@ -152,7 +174,9 @@ public class SecurityConfig {
     // Set password encoding schema
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        User.usePasswordEncoder(passwordEncoder);
+        return passwordEncoder;
     }
 
     // Used by spring security if CORS is enabled.
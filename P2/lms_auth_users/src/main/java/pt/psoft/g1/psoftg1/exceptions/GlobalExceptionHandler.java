@@ -188,6 +188,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(new ApiCallError<>("Lending forbidden!", List.of(ex.getMessage())));
     }
 
+    @ExceptionHandler({ ServiceBusyException.class })
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiCallError<String>> handleServiceBusyException(final HttpServletRequest request,
+            final ServiceBusyException ex) {
+        logger.warn("ServiceBusyException {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ApiCallError<>("Service busy", List.of(ex.getMessage())));
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
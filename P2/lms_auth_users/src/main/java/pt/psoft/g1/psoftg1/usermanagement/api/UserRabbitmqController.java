@@ -1,13 +1,12 @@
 package pt.psoft.g1.psoftg1.usermanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
 import pt.psoft.g1.psoftg1.usermanagement.publishers.UserEventPublisher;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 /**
  * Centralized RabbitMQ Listener for User-related events
@@ -23,7 +22,6 @@ import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 public class UserRabbitmqController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
     private final UserEventPublisher userEventPublisher;
 
     // ========================================
@@ -39,8 +37,7 @@ public class UserRabbitmqController {
         try {
             System.out.println(" [x] [AUTH-USERS] Received Reader-User creation request");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            ReaderUserRequestedEvent event = objectMapper.readValue(jsonReceived, ReaderUserRequestedEvent.class);
+            ReaderUserRequestedEvent event = AmqpCodec.decode(jsonReceived, ReaderUserRequestedEvent.class);
 
             System.out.println("     - Reader Number: " + event.getReaderNumber());
             System.out.println("     - Username: " + event.getUsername());
@@ -53,10 +50,10 @@ public class UserRabbitmqController {
                 return;
             }
 
-            // Create User (Reader) entity with encoded password
+            // Create User (Reader) entity; the password is hashed by User.setPassword
             Reader user = Reader.newReader(
                     event.getUsername(),
-                    passwordEncoder.encode(event.getPassword()),
+                    event.getPassword(),
                     event.getFullName()
             );
 
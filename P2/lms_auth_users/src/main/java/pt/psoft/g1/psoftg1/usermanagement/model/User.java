@@ -53,6 +53,8 @@ public class User implements UserDetails {
 
     private static final long serialVersionUID = 1L;
 
+    private static PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
     // database primary key
     @Id
     @GeneratedValue
@@ -165,10 +167,24 @@ public class User implements UserDetails {
 
     public void setPassword(final String password) {
         Password passwordCheck = new Password(password);
-        final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         this.password = passwordEncoder.encode(password);
     }
 
+    /**
+     * Replaces the stored hash, e.g. when it is upgraded to a higher cost on login.
+     */
+    public void setPasswordHash(final String passwordHash) {
+        this.password = passwordHash;
+    }
+
+    /**
+     * Encoder used by setPassword. SecurityConfig installs its PasswordEncoder bean here so entities
+     * and authentication share one encoder (and one cost factor).
+     */
+    public static void usePasswordEncoder(final PasswordEncoder encoder) {
+        passwordEncoder = encoder;
+    }
+
     public void addAuthority(final Role r) {
         authorities.add(r);
     }
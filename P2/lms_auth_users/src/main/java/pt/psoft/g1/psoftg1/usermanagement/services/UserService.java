@@ -26,7 +26,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,7 +56,6 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepo;
     private final EditUserMapper userEditMapper;
     private final ForbiddenNameRepository forbiddenNameRepository;
-    private final PasswordEncoder passwordEncoder;
     private final UserEventPublisher userEventPublisher;
     private final UserViewAMQPMapper userViewAMQPMapper;
 
@@ -98,7 +96,6 @@ public class UserService implements UserDetailsService {
         }
 
         // final User user = userEditMapper.create(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
         // user.addAuthority(new Role(request.getRole()));
 
         User savedUser = userRepo.save(user);
@@ -217,7 +214,6 @@ public class UserService implements UserDetailsService {
 
         // Create Reader as default for AMQP users (could be enhanced to include role in UserViewAMQP)
         User user = Reader.newReader(userViewAMQP.getUsername(), userViewAMQP.getPassword(), userViewAMQP.getFullName());
-        user.setPassword(passwordEncoder.encode(userViewAMQP.getPassword()));
 
         return userRepo.save(user);
     }
@@ -254,7 +250,7 @@ public class UserService implements UserDetailsService {
 
         // Update password if provided
         if (userViewAMQP.getPassword() != null && !userViewAMQP.getPassword().isEmpty()) {
-            existingUser.setPassword(passwordEncoder.encode(userViewAMQP.getPassword()));
+            existingUser.setPassword(userViewAMQP.getPassword());
         }
 
         return userRepo.save(existingUser);
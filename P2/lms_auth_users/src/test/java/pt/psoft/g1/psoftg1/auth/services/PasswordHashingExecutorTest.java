@@ -0,0 +1,60 @@
+package pt.psoft.g1.psoftg1.auth.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.exceptions.ServiceBusyException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void runsTasksOnThePool() throws Exception {
+        CompletableFuture<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+        assertEquals("password-hashing-1", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void refusesTasksWhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Integer> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Integer> queued = executor.submit(() -> 2);
+
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> executor.submit(() -> 3));
+
+        assertEquals(1, busy.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").counter().count());
+        release.countDown();
+        assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import pt.psoft.g1.psoftg1.usermanagement.api.ReaderUserRequestedEvent;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message decode cost of a ReaderUserRequestedEvent listener payload: the old "new ObjectMapper() per message"
+ * path against the shared AmqpCodec.
+ *
+ * Run from the IDE, or after "mvn test-compile" with the test classpath:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.AmqpDecodeBenchmark
+ * (add -prof gc through the JMH command line to compare allocation per message).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmqpDecodeBenchmark {
+
+    private final Message message = new Message(
+            ("{\"readerNumber\":\"2024/1\",\"username\":\"manuel@gmail.com\",\"password\":\"Manuelino123!\",\"fullName\":\"Manuel Sarapinto das Coives\",\"birthDate\":\"2000-01-01\",\"phoneNumber\":\"912345678\",\"photoURI\":null,\"gdpr\":true,\"marketing\":false,\"thirdParty\":false}").getBytes(StandardCharsets.UTF_8),
+            new MessageProperties());
+
+    @Benchmark
+    public ReaderUserRequestedEvent newObjectMapperPerMessage() throws IOException {
+        String jsonReceived = new String(message.getBody(), StandardCharsets.UTF_8);
+        ObjectMapper objectMapper = new ObjectMapper();
+        return objectMapper.readValue(jsonReceived, ReaderUserRequestedEvent.class);
+    }
+
+    @Benchmark
+    public ReaderUserRequestedEvent sharedCodec() throws IOException {
+        return AmqpCodec.decode(message, ReaderUserRequestedEvent.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AmqpDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Rate, Trend } from 'k6/metrics';
+
+// Custom metrics
+const sagasCompleted = new Counter('sagas_completed');
+const sagaFailures = new Rate('saga_failures');
+const sagaCompletionTime = new Trend('saga_completion_time', true);
+
+// Configuration
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const AUTH_TOKEN = __ENV.AUTH_TOKEN || '';
+const POLL_INTERVAL = Number(__ENV.POLL_INTERVAL || 0.2);   // seconds
+const SAGA_TIMEOUT = Number(__ENV.SAGA_TIMEOUT || 30);      // seconds
+
+// Saga throughput test for POST /api/books/create-complete.
+// Run against the previous build and the current one and compare sagas_completed rate and saga_completion_time.
+export const options = {
+    scenarios: {
+        create_complete_saga: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 20),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 50,
+            maxVUs: 300,
+        },
+    },
+    thresholds: {
+        saga_failures: ['rate<0.05'],
+        saga_completion_time: ['p(95)<10000'],
+    },
+};
+
+function headers() {
+    const result = { 'Content-Type': 'application/json' };
+    if (AUTH_TOKEN) {
+        result['Authorization'] = `Bearer ${AUTH_TOKEN}`;
+    }
+    return result;
+}
+
+export default function() {
+    // Unique title per iteration, so every request starts its own saga (the ISBN is derived from the title)
+    const title = `k6 saga ${__VU}-${__ITER}-${Date.now()}`;
+    const payload = JSON.stringify({
+        title: title,
+        authorName: `k6 author ${__VU}-${__ITER}`,
+        genreName: `k6 genre ${__VU % 10}`,
+    });
+
+    const started = Date.now();
+    const createRes = http.post(`${BASE_URL}/api/books/create-complete`, payload, { headers: headers() });
+    const accepted = check(createRes, { 'create-complete is 201/202': (r) => r.status === 201 || r.status === 202 });
+    if (!accepted) {
+        sagaFailures.add(true);
+        return;
+    }
+    if (createRes.status === 201) {
+        sagasCompleted.add(1);
+        sagaFailures.add(false);
+        sagaCompletionTime.add(Date.now() - started);
+        return;
+    }
+
+    // Poll until the book exists, i.e. the saga reached BOOK_CREATED
+    const isbn = createRes.json('bookId');
+    while ((Date.now() - started) / 1000 < SAGA_TIMEOUT) {
+        sleep(POLL_INTERVAL);
+        const existsRes = http.get(`${BASE_URL}/api/books/exists/${isbn}`, { tags: { name: 'saga_poll' } });
+        if (existsRes.status === 200 && existsRes.json('exists') === true) {
+            sagasCompleted.add(1);
+            sagaFailures.add(false);
+            sagaCompletionTime.add(Date.now() - started);
+            return;
+        }
+    }
+    sagaFailures.add(true);
+}
+
+export function handleSummary(data) {
+    const completed = data.metrics.sagas_completed ? data.metrics.sagas_completed.values : { count: 0, rate: 0 };
+    const completion = data.metrics.saga_completion_time ? data.metrics.saga_completion_time.values : {};
+    const failures = data.metrics.saga_failures ? data.metrics.saga_failures.values.rate : 0;
+
+    const summary = {
+        sagas_completed: completed.count,
+        sagas_per_second: completed.rate,
+        completion_time_p50_ms: completion['med'],
+        completion_time_p95_ms: completion['p(95)'],
+        failure_rate: failures,
+    };
+
+    return {
+        'stdout': JSON.stringify(summary, null, 2) + '\n',
+        'k6-saga-results.json': JSON.stringify(summary, null, 2),
+    };
+}
@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.authormanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -11,8 +10,8 @@ import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
 import pt.psoft.g1.psoftg1.authormanagement.services.AuthorService;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookRequestedEvent;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,9 +30,7 @@ public class AuthorRabbitmqController {
         String genreName = null;
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookRequestedEvent bookRequestedEvent = objectMapper.readValue(jsonReceived, BookRequestedEvent.class);
+            BookRequestedEvent bookRequestedEvent = AmqpCodec.decode(msg.getBody(), BookRequestedEvent.class);
 
             System.out.println(" [x] Received Book Requested by AMQP (AuthorCmd): " + bookRequestedEvent.getBookId() +
                               " - Author: " + bookRequestedEvent.getAuthorName());
@@ -92,9 +89,7 @@ public class AuthorRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Book_Finalized_Author.name}")
     public void receiveBookFinalized(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookFinalizedEvent event = objectMapper.readValue(jsonReceived, BookFinalizedEvent.class);
+            BookFinalizedEvent event = AmqpCodec.decode(msg.getBody(), BookFinalizedEvent.class);
 
             System.out.println(" [x] Received Book Finalized by AMQP (AuthorCmd):");
             System.out.println("     - Author ID: " + event.getAuthorId());
@@ -0,0 +1,20 @@
+package pt.psoft.g1.psoftg1.bookmanagement.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedidos de validação de livros agrupados pelo lms_lendings_command num só envio.
+ * Cópia local do DTO do contexto de Lending.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LendingValidationBatchRequest {
+    private String batchId;
+    private List<LendingValidationRequest> requests = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package pt.psoft.g1.psoftg1.bookmanagement.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uma resposta por pedido de um LendingValidationBatchRequest, enviadas juntas para o lms_lendings_command.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LendingValidationBatchResponse {
+    private String batchId;
+    private List<LendingValidationResponse> responses = new ArrayList<>();
+}
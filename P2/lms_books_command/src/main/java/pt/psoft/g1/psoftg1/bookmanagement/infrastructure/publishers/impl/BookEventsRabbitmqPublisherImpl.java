@@ -6,6 +6,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookRequestedEvent;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQPMapper;
+import pt.psoft.g1.psoftg1.bookmanagement.api.LendingValidationBatchResponse;
 import pt.psoft.g1.psoftg1.bookmanagement.api.LendingValidationResponse;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
@@ -131,6 +132,28 @@ public class BookEventsRabbitmqPublisherImpl implements BookEventsPublisher {
         }
     }
 
+    @Override
+    public LendingValidationBatchResponse sendBookValidationBatchResponse(LendingValidationBatchResponse response) {
+        try {
+            // One outbox event for the whole batch
+            outboxService.saveEvent(
+                "Book",
+                response.getBatchId(),
+                "lending.validation.batch.response",
+                response
+            );
+
+            System.out.println(" [BOOKS] ✅ Validation batch response saved to Outbox | BatchId: " + response.getBatchId() +
+                             " | Responses: " + response.getResponses().size());
+
+            return response;
+        }
+        catch( Exception ex ) {
+            System.out.println(" [BOOKS] ❌ Exception saving validation batch response to outbox: '" + ex.getMessage() + "'");
+            return null;
+        }
+    }
+
     private BookViewAMQP sendBookEvent(Book book, Long currentVersion, String bookEventType) {
         System.out.println("Save Book event to Outbox: " + book.getTitle());
 
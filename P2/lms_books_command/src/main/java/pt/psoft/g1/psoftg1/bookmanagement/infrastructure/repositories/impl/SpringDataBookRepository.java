@@ -20,6 +20,7 @@ import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,10 @@ public interface SpringDataBookRepository extends BookRepository, BookRepoCustom
     @Query("SELECT b " + "FROM Book b " + "WHERE b.isbn.isbn = :isbn")
     Optional<Book> findByIsbn(@Param("isbn") String isbn);
 
+    @Override
+    @Query("SELECT b.isbn.isbn " + "FROM Book b " + "WHERE b.isbn.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
 //    @Override
 //    @Query("SELECT new pt.psoft.g1.psoftg1.bookmanagement.services.BookCountDTO(b, COUNT(l)) " + "FROM Book b "
 //            + "JOIN Lending l ON l.book = b " + "WHERE l.startDate > :oneYearAgo " + "GROUP BY b "
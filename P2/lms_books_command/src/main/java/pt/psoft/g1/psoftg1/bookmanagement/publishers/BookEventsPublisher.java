@@ -3,6 +3,7 @@ package pt.psoft.g1.psoftg1.bookmanagement.publishers;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookRequestedEvent;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
+import pt.psoft.g1.psoftg1.bookmanagement.api.LendingValidationBatchResponse;
 import pt.psoft.g1.psoftg1.bookmanagement.api.LendingValidationResponse;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 
@@ -21,4 +22,6 @@ public interface BookEventsPublisher {
     BookFinalizedEvent sendBookFinalizedEvent(Long authorId, String authorName, String bookId, String genreName, String title, String description);
 
     LendingValidationResponse sendBookValidationResponse(LendingValidationResponse response);
+
+    LendingValidationBatchResponse sendBookValidationBatchResponse(LendingValidationBatchResponse response);
 }
@@ -8,6 +8,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.services.BookCountDTO;
 import pt.psoft.g1.psoftg1.bookmanagement.services.SearchBooksQuery;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,13 @@ public interface BookRepository {
 
     Optional<Book> findByIsbn(@Param("isbn") String isbn);
 
+    /**
+     * The given ISBNs that belong to an existing book.
+     */
+    default List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns) {
+        return isbns.stream().filter(isbn -> findByIsbn(isbn).isPresent()).toList();
+    }
+
 //    Page<BookCountDTO> findTop5BooksLent(@Param("oneYearAgo") LocalDate oneYearAgo, Pageable pageable);
 
     List<Book> findBooksByAuthorNumber(Long authorNumber);
@@ -0,0 +1,281 @@
+package pt.psoft.g1.psoftg1.bookmanagement.services;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.PendingBookRequest;
+import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookRequestRepository;
+import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
+import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
+import pt.psoft.g1.psoftg1.shared.services.LaneExecutor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * State engine for the /create-complete SAGA (PendingBookRequest).
+ *
+ * Every event of a book is applied on the single-writer lane that owns its ISBN, so author and genre
+ * events for the same book never race inside this replica: no optimistic lock conflicts, no sleeps.
+ * The lane keeps the saga state in memory while it is active and persists it once per transition; a
+ * state is cached only once its save succeeded, so a failed save makes the next event reload it.
+ * If another replica moved the same saga in the meantime, the state is reloaded and the transition
+ * re-applied once.
+ */
+@Service
+public class BookSagaEngine implements DisposableBean {
+
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+    private final PendingBookRequestRepository pendingBookRequestRepository;
+    private final BookEventsPublisher bookEventsPublisher;
+
+    private final LaneExecutor lanes;
+    private final List<Map<String, PendingBookRequest>> laneStates;
+
+    public BookSagaEngine(BookService bookService,
+                          BookRepository bookRepository,
+                          AuthorRepository authorRepository,
+                          GenreRepository genreRepository,
+                          PendingBookRequestRepository pendingBookRequestRepository,
+                          BookEventsPublisher bookEventsPublisher,
+                          @Value("${book.saga.lanes:16}") int laneCount,
+                          @Value("${book.saga.states-per-lane:1024}") int statesPerLane) {
+        this.bookService = bookService;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.genreRepository = genreRepository;
+        this.pendingBookRequestRepository = pendingBookRequestRepository;
+        this.bookEventsPublisher = bookEventsPublisher;
+        this.lanes = new LaneExecutor("book-saga", laneCount);
+        this.laneStates = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            // Only touched by the lane's own thread; LRU-bounded
+            laneStates.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PendingBookRequest> eldest) {
+                    return size() > statesPerLane;
+                }
+            });
+        }
+    }
+
+    public void onAuthorPendingCreated(String isbn) throws Exception {
+        apply(isbn, request -> {
+            request.setAuthorPendingReceived(true);
+            if (request.isGenrePendingReceived()) {
+                request.setStatus(PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED);
+                System.out.println(" [x] 📝 Both Author and Genre pending received → BOTH_PENDING_CREATED");
+            } else {
+                System.out.println(" [x] 📝 Author pending received, waiting for Genre pending...");
+            }
+            return true;
+        });
+    }
+
+    public void onGenrePendingCreated(String isbn) throws Exception {
+        apply(isbn, request -> {
+            request.setGenrePendingReceived(true);
+            if (request.isAuthorPendingReceived()) {
+                request.setStatus(PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED);
+                System.out.println(" [x] 📝 Both Author and Genre pending received → BOTH_PENDING_CREATED");
+            } else {
+                System.out.println(" [x] 📝 Genre pending received, waiting for Author pending...");
+            }
+            return true;
+        });
+    }
+
+    public void onAuthorFinalized(String isbn) throws Exception {
+        apply(isbn, request -> {
+            boolean changed = !request.isAuthorFinalizedReceived();
+            request.setAuthorFinalizedReceived(true);
+            if (request.isGenreFinalizedReceived() && request.getStatus() != PendingBookRequest.RequestStatus.BOTH_FINALIZED) {
+                request.setStatus(PendingBookRequest.RequestStatus.BOTH_FINALIZED);
+                System.out.println(" [x] 📝 Status transition: Both finalized → BOTH_FINALIZED");
+                changed = true;
+            } else if (!request.isGenreFinalizedReceived()) {
+                System.out.println(" [x] 📝 Author finalized, waiting for Genre finalization...");
+            }
+            return changed;
+        });
+    }
+
+    public void onGenreFinalized(String isbn) throws Exception {
+        apply(isbn, request -> {
+            boolean changed = !request.isGenreFinalizedReceived();
+            request.setGenreFinalizedReceived(true);
+            if (request.isAuthorFinalizedReceived() && request.getStatus() != PendingBookRequest.RequestStatus.BOTH_FINALIZED) {
+                request.setStatus(PendingBookRequest.RequestStatus.BOTH_FINALIZED);
+                System.out.println(" [x] 📝 Status transition: Both finalized → BOTH_FINALIZED");
+                changed = true;
+            } else if (!request.isAuthorFinalizedReceived()) {
+                System.out.println(" [x] 📝 Genre finalized, waiting for Author finalization...");
+            }
+            return changed;
+        });
+    }
+
+    public void onAuthorCreationFailed(String isbn, String errorMessage) throws Exception {
+        apply(isbn, request -> {
+            request.setStatus(PendingBookRequest.RequestStatus.FAILED);
+            request.setErrorMessage("Author creation failed: " + errorMessage);
+            System.out.println(" [x] 🔄 SAGA COMPENSATION COMPLETED - Book creation aborted");
+            return true;
+        });
+    }
+
+    public void onGenreCreationFailed(String isbn, String genreName, String errorMessage) throws Exception {
+        apply(isbn, request -> {
+            // SAGA COMPENSATION: Clean up temporary entities created before failure
+            if (request.getAuthorName() != null && !request.getAuthorName().isEmpty()) {
+                for (Author author : authorRepository.searchByNameName(request.getAuthorName())) {
+                    if (!author.isFinalized()) {
+                        authorRepository.delete(author);
+                        System.out.println(" [x] 🗑️ Deleted temporary Author: " + request.getAuthorName());
+                    }
+                }
+            }
+            if (genreName != null && !genreName.isEmpty()) {
+                Optional<Genre> tempGenre = genreRepository.findByString(genreName);
+                if (tempGenre.isPresent() && !tempGenre.get().isFinalized()) {
+                    genreRepository.delete(tempGenre.get());
+                    System.out.println(" [x] 🗑️ Deleted temporary Genre: " + genreName);
+                }
+            }
+
+            request.setStatus(PendingBookRequest.RequestStatus.FAILED);
+            request.setErrorMessage("Genre creation failed: " + errorMessage);
+            System.out.println(" [x] 🔄 SAGA COMPENSATION COMPLETED - Book creation aborted and temporary data cleaned");
+            return true;
+        });
+    }
+
+    /**
+     * Apply a transition on the ISBN's lane: mutate the in-memory state, persist it once if the
+     * transition changed it, then advance the saga (finalization trigger or book creation).
+     *
+     * @param transition returns true when the state changed and must be saved
+     */
+    private void apply(String isbn, Predicate<PendingBookRequest> transition) throws Exception {
+        lanes.execute(isbn, () -> {
+            Map<String, PendingBookRequest> states = laneStates.get(lanes.laneOf(isbn));
+            for (int attempt = 0; ; attempt++) {
+                // Taken out of the cache while it changes; only a saved state goes back in
+                PendingBookRequest request = states.remove(isbn);
+                if (request == null) {
+                    Optional<PendingBookRequest> stored = pendingBookRequestRepository.findByBookId(isbn);
+                    if (stored.isEmpty()) {
+                        System.out.println(" [x] ⚠️ No pending request found for ISBN: " + isbn);
+                        return null;
+                    }
+                    request = stored.get();
+                }
+
+                try {
+                    if (transition.test(request)) {
+                        request = pendingBookRequestRepository.save(request);
+                        System.out.println(" [x] Updated pending request status to " + request.getStatus() + " for ISBN: " + isbn);
+                    }
+                    states.put(isbn, request);
+                    advance(isbn, request, states);
+                    return null;
+                } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+                    // Another replica moved this saga: the stale state is already out of the cache, reload and re-apply
+                    if (attempt > 0) {
+                        throw e;
+                    }
+                    System.out.println(" [x] ⚠️ Saga for ISBN " + isbn + " changed concurrently, reloading state");
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs on the ISBN's lane after every transition.
+     */
+    private void advance(String isbn, PendingBookRequest request, Map<String, PendingBookRequest> states) {
+        switch (request.getStatus()) {
+            case BOOK_CREATED, FAILED -> {
+                states.remove(isbn);
+                return;
+            }
+            default -> {
+            }
+        }
+
+        if (bookRepository.findByIsbn(isbn).isPresent()) {
+            System.out.println(" [x] Book already exists with ISBN: " + isbn);
+            states.remove(isbn);
+            return;
+        }
+
+        // Step 1: When both Author and Genre are CREATED (not finalized yet), send BOOK_FINALIZED event
+        if (request.getStatus() == PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED) {
+            List<Author> authors = authorRepository.searchByNameName(request.getAuthorName());
+            if (authors.isEmpty()) {
+                System.out.println(" [x] ⚠️ Author not found: " + request.getAuthorName());
+                return;
+            }
+            Author author = authors.get(0);
+            bookService.publishBookFinalized(author.getAuthorNumber(), author.getName(), isbn, request.getGenreName(), request.getTitle(), request.getDescription());
+            System.out.println(" [x] ✅ BOOK_FINALIZED event sent - waiting for author and genre finalization...");
+            return;
+        }
+
+        // Step 2: Only create book when BOTH author AND genre are FINALIZED
+        if (request.getStatus() != PendingBookRequest.RequestStatus.BOTH_FINALIZED) {
+            System.out.println(" [x] ⏸️ Waiting for both author and genre to be FINALIZED for ISBN: " + isbn + " (status: " + request.getStatus() + ")");
+            return;
+        }
+
+        List<Author> authors = authorRepository.searchByNameName(request.getAuthorName());
+        if (authors.isEmpty()) {
+            System.out.println(" [x] ⚠️ Author not found: " + request.getAuthorName());
+            return;
+        }
+        Optional<Genre> genreOpt = genreRepository.findByString(request.getGenreName());
+        if (genreOpt.isEmpty()) {
+            System.out.println(" [x] ⚠️ Genre not found: " + request.getGenreName());
+            return;
+        }
+
+        Author author = authors.get(0);
+        Genre genre = genreOpt.get();
+        if (!author.isFinalized() || !genre.isFinalized()) {
+            System.out.println(" [x] ⚠️ Author or Genre is not finalized yet for ISBN: " + isbn);
+            return;
+        }
+
+        List<Author> authorList = new ArrayList<>();
+        authorList.add(author);
+        Book savedBook = bookRepository.save(new Book(isbn, request.getTitle(), request.getDescription(), genre, authorList, null));
+        System.out.println(" [x] ✅ Book created successfully with FINALIZED author and genre: " + savedBook.getIsbn() + " - " + savedBook.getTitle());
+
+        // IMPORTANT: Publish the book created event so other services can synchronize the book data
+        bookEventsPublisher.sendBookCreated(savedBook);
+
+        states.remove(isbn);
+        request.setStatus(PendingBookRequest.RequestStatus.BOOK_CREATED);
+        pendingBookRequestRepository.save(request);
+        System.out.println(" [x] ✅ Book creation saga completed successfully!");
+    }
+
+    @Override
+    public void destroy() {
+        lanes.close();
+    }
+}
@@ -1,11 +1,21 @@
 package pt.psoft.g1.psoftg1.configuration;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A/B Testing Service using Feature Flags
@@ -15,24 +25,35 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Tracks metrics for each variant
  * - Allows dynamic adjustment of traffic distribution
  * - Provides experiment results and statistics
+ *
+ * Assignment is a pure function of (experiment, user), so no per-user state is kept. Metrics live in
+ * LongAdder/DoubleAdder counters and Micrometer distribution summaries (fixed-size histograms, no samples
+ * kept) registered in the application MeterRegistry, so they are also scraped by Prometheus as
+ * abtest.events{experiment,variant,outcome}, abtest.metric{experiment,variant,metric} and
+ * abtest.success.rate{experiment,variant}.
  */
 @Slf4j
 @Service
 public class ABTestingService {
 
+    // Custom metric names tracked per variant; more would only add Prometheus series
+    static final int MAX_CUSTOM_METRICS = 20;
+
     private final FeatureFlagConfig featureFlagConfig;
+    private final MeterRegistry meterRegistry;
 
     // Store active experiments
     private final Map<String, Experiment> experiments = new ConcurrentHashMap<>();
 
-    // Store user variant assignments (userId -> variant)
-    private final Map<String, Map<String, String>> userAssignments = new ConcurrentHashMap<>();
+    // Approximate number of distinct users per experiment
+    private final Map<String, DistinctCounter> users = new ConcurrentHashMap<>();
 
     // Store metrics for each variant
     private final Map<String, ExperimentMetrics> metrics = new ConcurrentHashMap<>();
 
-    public ABTestingService(FeatureFlagConfig featureFlagConfig) {
+    public ABTestingService(FeatureFlagConfig featureFlagConfig, MeterRegistry meterRegistry) {
         this.featureFlagConfig = featureFlagConfig;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -49,11 +70,16 @@ public class ABTestingService {
         experiment.setActive(true);
 
         experiments.put(experimentId, experiment);
-        userAssignments.put(experimentId, new ConcurrentHashMap<>());
+        users.put(experimentId, new DistinctCounter());
 
-        // Initialize metrics for both variants
-        metrics.put(experimentId + "_A", new ExperimentMetrics("A"));
-        metrics.put(experimentId + "_B", new ExperimentMetrics("B"));
+        // Initialize metrics for both variants (a recreated experiment starts from zero)
+        for (String variant : List.of("A", "B")) {
+            ExperimentMetrics previous = metrics.remove(experimentId + "_" + variant);
+            if (previous != null) {
+                previous.close();
+            }
+            metrics.put(experimentId + "_" + variant, new ExperimentMetrics(experimentId, variant, meterRegistry));
+        }
 
         log.info("Created A/B test experiment: {} for feature: {} with {}% traffic to B",
                 experimentId, featureName, trafficPercentToB);
@@ -63,7 +89,8 @@ public class ABTestingService {
 
     /**
      * Assign user to a variant (A or B)
-     * Uses consistent hashing to ensure same user always gets same variant
+     * Uses consistent hashing to ensure same user always gets same variant; raising trafficPercentToB
+     * only moves users from A to B
      */
     public String assignVariant(String experimentId, String userId) {
         Experiment experiment = experiments.get(experimentId);
@@ -71,19 +98,12 @@ public class ABTestingService {
             return "A"; // Default to control group
         }
 
-        // Check if user already has an assignment
-        Map<String, String> expAssignments = userAssignments.get(experimentId);
-        if (expAssignments.containsKey(userId)) {
-            return expAssignments.get(userId);
+        DistinctCounter experimentUsers = users.get(experimentId);
+        if (experimentUsers != null) {
+            experimentUsers.add(FeatureBuckets.hash64(userId));
         }
 
-        // Assign based on hash of userId
-        String variant = determineVariantByHash(userId, experiment.getTrafficPercentToB());
-        expAssignments.put(userId, variant);
-
-        log.debug("Assigned user {} to variant {} for experiment {}", userId, variant, experimentId);
-
-        return variant;
+        return determineVariantByHash(experimentId, userId, experiment.getTrafficPercentToB());
     }
 
     /**
@@ -150,7 +170,8 @@ public class ABTestingService {
         results.setFeatureName(experiment.getFeatureName());
         results.setVariantAMetrics(metricsA);
         results.setVariantBMetrics(metricsB);
-        results.setTotalUsers(userAssignments.get(experimentId).size());
+        DistinctCounter experimentUsers = users.get(experimentId);
+        results.setTotalUsers(experimentUsers != null ? (int) experimentUsers.estimate() : 0);
         results.setTrafficPercentToB(experiment.getTrafficPercentToB());
 
         // Calculate improvement
@@ -202,6 +223,14 @@ public class ABTestingService {
         }
     }
 
+    /**
+     * Check if an experiment exists and is running
+     */
+    public boolean hasActiveExperiment(String experimentId) {
+        Experiment experiment = experiments.get(experimentId);
+        return experiment != null && experiment.isActive();
+    }
+
     /**
      * Get all active experiments
      */
@@ -214,16 +243,11 @@ public class ABTestingService {
     /**
      * Determine variant based on consistent hash
      */
-    private String determineVariantByHash(String userId, int percentToB) {
-        // Use consistent hashing to ensure same user always gets same variant
-        int hash = Math.abs(userId.hashCode());
-        int bucket = hash % 100;
-
-        return bucket < percentToB ? "B" : "A";
+    static String determineVariantByHash(String experimentId, String userId, int percentToB) {
+        // Salted with the experiment, so a user is not in B of every experiment at once
+        return FeatureBuckets.bucket(experimentId, userId) < percentToB ? "B" : "A";
     }
 
-    // ========== Data Classes ==========
-
     @Data
     public static class Experiment {
         private String experimentId;
@@ -234,44 +258,195 @@ public class ABTestingService {
         private long endTime;
     }
 
-    @Data
+    /**
+     * Counters of one variant. Custom metrics keep count and sum in adders and their distribution in a
+     * Micrometer summary; the percentiles cover the summary's recent time window.
+     */
     public static class ExperimentMetrics {
-        private String variant;
-        private long totalEvents = 0;
-        private long successEvents = 0;
-        private long failureEvents = 0;
-        private Map<String, List<Double>> customMetrics = new ConcurrentHashMap<>();
+        private final String experimentId;
+        private final String variant;
+        private final MeterRegistry meterRegistry;
+
+        private final LongAdder totalEvents = new LongAdder();
+        private final LongAdder successEvents = new LongAdder();
+        private final LongAdder failureEvents = new LongAdder();
+        private final Map<String, CustomMetric> customMetrics = new ConcurrentHashMap<>();
+        private final List<Meter> meters = new CopyOnWriteArrayList<>();
 
-        public ExperimentMetrics(String variant) {
+        private final Counter successCounter;
+        private final Counter failureCounter;
+
+        public ExperimentMetrics(String experimentId, String variant, MeterRegistry meterRegistry) {
+            this.experimentId = experimentId;
             this.variant = variant;
+            this.meterRegistry = meterRegistry;
+            this.successCounter = register(Counter.builder("abtest.events")
+                    .tags("experiment", experimentId, "variant", variant, "outcome", "success")
+                    .register(meterRegistry));
+            this.failureCounter = register(Counter.builder("abtest.events")
+                    .tags("experiment", experimentId, "variant", variant, "outcome", "failure")
+                    .register(meterRegistry));
+            register(Gauge.builder("abtest.success.rate", this, ExperimentMetrics::getSuccessRate)
+                    .tags("experiment", experimentId, "variant", variant)
+                    .register(meterRegistry));
         }
 
         public void recordMetric(String metricName, double value) {
-            totalEvents++;
+            totalEvents.increment();
 
             if (metricName.equals("success")) {
-                successEvents += (long) value;
+                successEvents.add((long) value);
+                successCounter.increment(value);
             } else if (metricName.equals("failure")) {
-                failureEvents += (long) value;
+                failureEvents.add((long) value);
+                failureCounter.increment(value);
             }
 
-            customMetrics.computeIfAbsent(metricName, k -> new ArrayList<>()).add(value);
+            CustomMetric metric = customMetrics.get(metricName);
+            if (metric == null) {
+                if (customMetrics.size() >= MAX_CUSTOM_METRICS) {
+                    log.warn("Experiment {} variant {}: metric {} ignored, already tracking {} metrics",
+                            experimentId, variant, metricName, MAX_CUSTOM_METRICS);
+                    return;
+                }
+                metric = customMetrics.computeIfAbsent(metricName, this::newCustomMetric);
+            }
+            metric.record(value);
+        }
+
+        public String getVariant() {
+            return variant;
+        }
+
+        public long getTotalEvents() {
+            return totalEvents.sum();
+        }
+
+        public long getSuccessEvents() {
+            return successEvents.sum();
+        }
+
+        public long getFailureEvents() {
+            return failureEvents.sum();
         }
 
         public double getSuccessRate() {
-            return totalEvents > 0 ? (double) successEvents / totalEvents * 100 : 0.0;
+            long total = getTotalEvents();
+            return total > 0 ? (double) getSuccessEvents() / total * 100 : 0.0;
         }
 
         public double getFailureRate() {
-            return totalEvents > 0 ? (double) failureEvents / totalEvents * 100 : 0.0;
+            long total = getTotalEvents();
+            return total > 0 ? (double) getFailureEvents() / total * 100 : 0.0;
         }
 
         public double getAverageMetric(String metricName) {
-            List<Double> values = customMetrics.get(metricName);
-            if (values == null || values.isEmpty()) {
-                return 0.0;
+            CustomMetric metric = customMetrics.get(metricName);
+            return metric != null ? metric.mean() : 0.0;
+        }
+
+        public Map<String, MetricSummary> getCustomMetrics() {
+            Map<String, MetricSummary> summaries = new TreeMap<>();
+            customMetrics.forEach((name, metric) -> summaries.put(name, metric.summary()));
+            return summaries;
+        }
+
+        /**
+         * Removes this variant's meters from the registry.
+         */
+        void close() {
+            meters.forEach(meterRegistry::remove);
+            meters.clear();
+        }
+
+        private CustomMetric newCustomMetric(String metricName) {
+            return new CustomMetric(register(DistributionSummary.builder("abtest.metric")
+                    .tags("experiment", experimentId, "variant", variant, "metric", metricName)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)));
+        }
+
+        private <M extends Meter> M register(M meter) {
+            meters.add(meter);
+            return meter;
+        }
+    }
+
+    private static final class CustomMetric {
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+        private final DistributionSummary distribution;
+
+        private CustomMetric(DistributionSummary distribution) {
+            this.distribution = distribution;
+        }
+
+        void record(double value) {
+            count.increment();
+            sum.add(value);
+            distribution.record(value);
+        }
+
+        double mean() {
+            long n = count.sum();
+            return n > 0 ? sum.sum() / n : 0.0;
+        }
+
+        MetricSummary summary() {
+            double p50 = 0, p95 = 0, p99 = 0;
+            for (ValueAtPercentile percentile : distribution.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == 0.5) {
+                    p50 = percentile.value();
+                } else if (percentile.percentile() == 0.95) {
+                    p95 = percentile.value();
+                } else if (percentile.percentile() == 0.99) {
+                    p99 = percentile.value();
+                }
+            }
+            return new MetricSummary(count.sum(), mean(), p50, p95, p99);
+        }
+    }
+
+    public record MetricSummary(long count, double mean, double p50, double p95, double p99) {
+    }
+
+    /**
+     * HyperLogLog with 1024 registers (about 3% error), to count distinct users in constant memory.
+     */
+    static final class DistinctCounter {
+        private static final int BITS = 10;
+        private static final int REGISTERS = 1 << BITS;
+
+        private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTERS);
+
+        void add(long hash) {
+            int index = (int) (hash >>> (64 - BITS));
+            int rank = Long.numberOfLeadingZeros((hash << BITS) | (1L << (BITS - 1))) + 1;
+            int current;
+            while ((current = registers.get(index)) < rank) {
+                if (registers.compareAndSet(index, current, rank)) {
+                    return;
+                }
+            }
+        }
+
+        long estimate() {
+            double sum = 0;
+            int zeros = 0;
+            for (int i = 0; i < REGISTERS; i++) {
+                int value = registers.get(i);
+                sum += 1.0 / (1L << value);
+                if (value == 0) {
+                    zeros++;
+                }
+            }
+            double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+            double estimate = alpha * REGISTERS * REGISTERS / sum;
+            if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+                // Small range: linear counting
+                estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
             }
-            return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+            return Math.round(estimate);
         }
     }
 
@@ -0,0 +1,42 @@
+package pt.psoft.g1.psoftg1.configuration;
+
+/**
+ * Deterministic 0-99 buckets for percentage rollouts (A/B split, dark launch traffic).
+ * The bucket of a key only depends on (salt, key), so a user keeps its bucket across requests and nodes,
+ * and raising a percentage only adds users.
+ */
+final class FeatureBuckets {
+
+    private FeatureBuckets() {
+    }
+
+    /**
+     * Bucket in [0, 100) of the key, salted so a user does not land in the same bucket of every feature
+     */
+    static int bucket(String salt, String key) {
+        return bucket(hash64(salt), key);
+    }
+
+    /**
+     * Same as bucket(String, String), with the salt already hashed
+     */
+    static int bucket(long saltHash, String key) {
+        return (int) Long.remainderUnsigned(mix64(saltHash ^ hash64(key)), 100);
+    }
+
+    // FNV-1a over the UTF-16 chars (no byte[] copy), finished with mix64
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
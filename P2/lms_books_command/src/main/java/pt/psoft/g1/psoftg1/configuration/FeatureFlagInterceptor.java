@@ -7,8 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.io.IOException;
+
 /**
  * Interceptor to check feature flags and kill switch before processing requests
+ *
+ * Write requests are answered from the precompiled decision table of the current FeatureFlagSnapshot:
+ * the kill switch, and write routes whose feature is toggled off, are refused here with 503.
  */
 @Component
 @RequiredArgsConstructor
@@ -29,17 +34,32 @@ public class FeatureFlagInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        // Check master kill switch for write operations
-        if (featureFlagService.isMasterKillSwitchActive()) {
-            log.warn("Request blocked by MASTER KILL SWITCH: {} {}", method, path);
-            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            response.setContentType("application/json");
-            response.getWriter().write(
-                "{\"error\":\"Service temporarily unavailable\",\"reason\":\"Master kill switch is active\"}"
-            );
-            return false;
+        FeatureFlagSnapshot snapshot = featureFlagService.snapshot();
+        switch (snapshot.decide(method, path)) {
+            case KILL_SWITCH:
+                // Check master kill switch for write operations
+                log.warn("Request blocked by MASTER KILL SWITCH: {} {}", method, path);
+                reject(response, "Master kill switch is active");
+                return false;
+
+            case FEATURE_DISABLED:
+                FeatureFlagSnapshot.Flag flag = snapshot.guardingFlag(method, path);
+                flag.record(false);
+                log.warn("Request blocked by disabled feature {}: {} {}", flag.getName(), method, path);
+                reject(response, "Feature " + flag.getName() + " is disabled");
+                return false;
+
+            case ALLOW:
+            default:
+                return true;
         }
+    }
 
-        return true;
+    private void reject(HttpServletResponse response, String reason) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("application/json");
+        response.getWriter().write(
+            "{\"error\":\"Service temporarily unavailable\",\"reason\":\"" + reason + "\"}"
+        );
     }
 }
@@ -1,28 +1,49 @@
 package pt.psoft.g1.psoftg1.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for managing feature flags and dark launch logic
  *
- * @RefreshScope enables runtime configuration updates without restart
+ * Flags are evaluated against an immutable FeatureFlagSnapshot, recompiled from the @RefreshScope
+ * FeatureFlagConfig on every refresh (RefreshScopeRefreshedEvent) and swapped atomically, so runtime
+ * configuration updates still apply without restart while requests never go through the refresh-scope proxy.
  */
 @Service
 @RequiredArgsConstructor
-@RefreshScope
 @Slf4j
 public class FeatureFlagService {
 
     private final FeatureFlagConfig featureFlagConfig;
     private final ABTestingService abTestingService;
-    private final Random random = new Random();
+    private final MeterRegistry meterRegistry;
+
+    private volatile FeatureFlagSnapshot snapshot;
+
+    @PostConstruct
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void refreshSnapshot() {
+        snapshot = FeatureFlagSnapshot.compile(featureFlagConfig, meterRegistry);
+        log.info("Feature flag snapshot compiled (master kill switch: {})", snapshot.isMasterKillSwitch());
+    }
+
+    /**
+     * Current flag snapshot; hold on to one instance per decision
+     */
+    public FeatureFlagSnapshot snapshot() {
+        return snapshot;
+    }
 
     /**
      * Check if a feature is enabled for the current user
@@ -32,34 +53,35 @@ public class FeatureFlagService {
      * - AB_TESTING: A/B experiments with metrics
      */
     public boolean isFeatureEnabled(String featureName) {
+        FeatureFlagSnapshot current = snapshot;
+
         // Check master kill switch first
-        if (featureFlagConfig.isMasterKillSwitch()) {
+        if (current.isMasterKillSwitch()) {
             log.warn("Master kill switch is ACTIVE - feature {} is disabled", featureName);
             return false;
         }
 
-        boolean enabled = featureFlagConfig.isFeatureEnabled(featureName);
-
-        if (!enabled) {
-            return false;
+        FeatureFlagSnapshot.Flag flag = current.flag(featureName);
+        if (flag == null) {
+            return false; // Unknown feature
+        }
+        if (!flag.isToggledOn()) {
+            return flag.record(false);
         }
 
-        // Get the configured release strategy for this feature
-        String strategy = featureFlagConfig.getReleaseStrategy().getOrDefault(featureName, "SIMPLE");
-
-        log.debug("Feature {} using release strategy: {}", featureName, strategy);
+        log.debug("Feature {} using release strategy: {}", featureName, flag.getStrategy());
 
-        switch (strategy.toUpperCase()) {
-            case "AB_TESTING":
-                return checkABTesting(featureName);
+        switch (flag.getStrategy()) {
+            case AB_TESTING:
+                return flag.record(checkABTesting(featureName));
 
-            case "DARK_LAUNCH":
-                return checkDarkLaunch(featureName);
+            case DARK_LAUNCH:
+                return flag.record(checkDarkLaunch(current, flag));
 
-            case "SIMPLE":
+            case SIMPLE:
             default:
                 // Simple toggle - feature is enabled globally
-                return enabled;
+                return flag.record(true);
         }
     }
 
@@ -72,12 +94,9 @@ public class FeatureFlagService {
             return false; // Unauthenticated users don't participate in A/B tests
         }
 
-        String userId = auth.getName();
-        boolean hasActiveExperiment = abTestingService.getActiveExperiments().stream()
-                .anyMatch(e -> e.getFeatureName().equals(featureName));
-
-        if (hasActiveExperiment) {
-            return abTestingService.isFeatureEnabledForUser(featureName, userId, featureName);
+        if (abTestingService.hasActiveExperiment(featureName)) {
+            // Variant A (control) = feature disabled, Variant B = feature enabled
+            return abTestingService.assignVariant(featureName, auth.getName()).equals("B");
         }
 
         log.warn("Feature {} configured for AB_TESTING but no active experiment found", featureName);
@@ -87,26 +106,31 @@ public class FeatureFlagService {
     /**
      * Check Dark Launch strategy
      */
-    private boolean checkDarkLaunch(String featureName) {
+    private boolean checkDarkLaunch(FeatureFlagSnapshot current, FeatureFlagSnapshot.Flag flag) {
+        String featureName = flag.getName();
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean identified = auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
 
         // Check whitelist (users/roles)
-        if (featureFlagConfig.getDarkLaunch().isEnabled() && auth != null && auth.isAuthenticated()) {
+        if (current.isDarkLaunchEnabled() && identified) {
             String username = auth.getName();
             String role = auth.getAuthorities() != null && !auth.getAuthorities().isEmpty()
                     ? auth.getAuthorities().iterator().next().getAuthority()
                     : "";
 
-            if (featureFlagConfig.isUserAllowedForDarkLaunch(username, role)) {
-                log.info("Dark launch access granted for user {} to feature {}", username, featureName);
+            if (current.isAllowedForDarkLaunch(username, role)) {
+                log.debug("Dark launch access granted for user {} to feature {}", username, featureName);
                 return true;
             }
         }
 
-        // Check traffic percentage (canary release)
-        int trafficPercentage = featureFlagConfig.getDarkLaunch().getTrafficPercentage();
+        // Check traffic percentage (canary release): a user keeps its bucket, anonymous requests are sampled
+        int trafficPercentage = current.getDarkLaunchTrafficPercentage();
         if (trafficPercentage > 0) {
-            boolean allowed = random.nextInt(100) < trafficPercentage;
+            int bucket = identified
+                    ? flag.bucketOf(auth.getName())
+                    : ThreadLocalRandom.current().nextInt(100);
+            boolean allowed = bucket < trafficPercentage;
             if (allowed) {
                 log.debug("Dark launch access granted via traffic percentage ({}) for feature {}",
                          trafficPercentage, featureName);
@@ -131,7 +155,7 @@ public class FeatureFlagService {
      * Check master kill switch status
      */
     public boolean isMasterKillSwitchActive() {
-        return featureFlagConfig.isMasterKillSwitch();
+        return snapshot.isMasterKillSwitch();
     }
 
     /**
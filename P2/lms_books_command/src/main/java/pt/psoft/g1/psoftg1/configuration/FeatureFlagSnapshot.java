@@ -0,0 +1,257 @@
+package pt.psoft.g1.psoftg1.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled view of FeatureFlagConfig, rebuilt by FeatureFlagService when the configuration
+ * is refreshed. Toggles are read once (no reflection per request), strategies are resolved per flag, and
+ * the write routes guarded by a flag get a precomputed decision for FeatureFlagInterceptor.
+ */
+public final class FeatureFlagSnapshot {
+
+    public enum Strategy { SIMPLE, DARK_LAUNCH, AB_TESTING }
+
+    public enum Decision { ALLOW, KILL_SWITCH, FEATURE_DISABLED }
+
+    /**
+     * Write routes guarded by a feature flag ("*" matches one path segment). Only the part of the decision
+     * that is the same for every user is taken here; per-user strategies are left to the controllers.
+     */
+    static final List<Route> GUARDED_ROUTES = List.of(
+            new Route("PUT", "/api/books/*", "book-creation"),
+            new Route("PATCH", "/api/books/*", "book-update"),
+            new Route("POST", "/api/books/create-complete", "batch-operations"),
+            new Route("POST", "/api/authors", "author-creation"),
+            new Route("PATCH", "/api/authors/*", "author-update"));
+
+    private final boolean masterKillSwitch;
+    private final Map<String, Flag> flags;
+    private final boolean darkLaunchEnabled;
+    private final int darkLaunchTrafficPercentage;
+    private final Set<String> darkLaunchUsers;
+    private final Set<String> darkLaunchRoles;
+    // Only the routes whose decision is not ALLOW; empty while every guarded feature is on
+    private final CompiledRoute[] refusedRoutes;
+
+    private FeatureFlagSnapshot(FeatureFlagConfig config, MeterRegistry meterRegistry) {
+        this.masterKillSwitch = config.isMasterKillSwitch();
+        this.flags = compileFlags(config, meterRegistry);
+
+        FeatureFlagConfig.DarkLaunch darkLaunch = config.getDarkLaunch();
+        this.darkLaunchEnabled = darkLaunch.isEnabled();
+        this.darkLaunchTrafficPercentage = darkLaunch.getTrafficPercentage();
+        this.darkLaunchUsers = Set.copyOf(Arrays.asList(darkLaunch.getAllowedUsers()));
+        this.darkLaunchRoles = Set.copyOf(Arrays.asList(darkLaunch.getAllowedRoles()));
+
+        this.refusedRoutes = GUARDED_ROUTES.stream()
+                .filter(route -> isRefused(flags.get(route.feature())))
+                .map(route -> new CompiledRoute(route, flags.get(route.feature())))
+                .toArray(CompiledRoute[]::new);
+    }
+
+    public static FeatureFlagSnapshot compile(FeatureFlagConfig config, MeterRegistry meterRegistry) {
+        return new FeatureFlagSnapshot(config, meterRegistry);
+    }
+
+    public boolean isMasterKillSwitch() {
+        return masterKillSwitch;
+    }
+
+    /**
+     * The flag of a feature, by kebab-case or camelCase name, or null when there is no such feature
+     */
+    public Flag flag(String featureName) {
+        return flags.get(featureName);
+    }
+
+    public boolean isDarkLaunchEnabled() {
+        return darkLaunchEnabled;
+    }
+
+    public int getDarkLaunchTrafficPercentage() {
+        return darkLaunchTrafficPercentage;
+    }
+
+    public boolean isAllowedForDarkLaunch(String username, String role) {
+        return darkLaunchEnabled && (darkLaunchUsers.contains(username) || darkLaunchRoles.contains(role));
+    }
+
+    /**
+     * Interceptor decision for a write request; GET requests never reach this table
+     */
+    public Decision decide(String method, String path) {
+        if (masterKillSwitch) {
+            return Decision.KILL_SWITCH;
+        }
+        for (CompiledRoute route : refusedRoutes) {
+            if (route.matches(method, path)) {
+                return Decision.FEATURE_DISABLED;
+            }
+        }
+        return Decision.ALLOW;
+    }
+
+    /**
+     * The disabled feature guarding a route, for logging and metrics of a FEATURE_DISABLED decision
+     */
+    public Flag guardingFlag(String method, String path) {
+        for (CompiledRoute route : refusedRoutes) {
+            if (route.matches(method, path)) {
+                return route.flag;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRefused(Flag flag) {
+        // A route naming an unknown feature is left to the controller
+        return flag != null && !flag.isToggledOn();
+    }
+
+    private static Map<String, Flag> compileFlags(FeatureFlagConfig config, MeterRegistry meterRegistry) {
+        Map<String, Flag> flags = new HashMap<>();
+        for (Field field : FeatureFlagConfig.FeatureToggles.class.getDeclaredFields()) {
+            if (field.getType() != boolean.class) {
+                continue;
+            }
+            String name = toKebabCase(field.getName());
+            String strategy = config.getReleaseStrategy().getOrDefault(name, "SIMPLE");
+            Flag flag = new Flag(name, readToggle(field, config.getFeatures()), parseStrategy(strategy), meterRegistry);
+            flags.put(name, flag);
+            flags.put(field.getName(), flag);
+        }
+        return Map.copyOf(flags);
+    }
+
+    private static boolean readToggle(Field field, FeatureFlagConfig.FeatureToggles toggles) {
+        try {
+            field.setAccessible(true);
+            return field.getBoolean(toggles);
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    private static Strategy parseStrategy(String strategy) {
+        try {
+            return Strategy.valueOf(strategy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Strategy.SIMPLE;
+        }
+    }
+
+    private static String toKebabCase(String camelCase) {
+        StringBuilder result = new StringBuilder(camelCase.length() + 4);
+        for (char c : camelCase.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                result.append('-').append(Character.toLowerCase(c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * One feature: its toggle, strategy and evaluation counters (feature.flag.evaluations{flag,result})
+     */
+    public static final class Flag {
+        private final String name;
+        private final boolean toggledOn;
+        private final Strategy strategy;
+        private final long bucketSalt;
+        private final Counter enabled;
+        private final Counter disabled;
+
+        private Flag(String name, boolean toggledOn, Strategy strategy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.toggledOn = toggledOn;
+            this.strategy = strategy;
+            this.bucketSalt = FeatureBuckets.hash64(name);
+            this.enabled = Counter.builder("feature.flag.evaluations")
+                    .tags("flag", name, "result", "enabled")
+                    .register(meterRegistry);
+            this.disabled = Counter.builder("feature.flag.evaluations")
+                    .tags("flag", name, "result", "disabled")
+                    .register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isToggledOn() {
+            return toggledOn;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * Rollout bucket in [0, 100) of a user for this feature
+         */
+        public int bucketOf(String userId) {
+            return FeatureBuckets.bucket(bucketSalt, userId);
+        }
+
+        /**
+         * Counts the evaluation and returns its result
+         */
+        public boolean record(boolean result) {
+            (result ? enabled : disabled).increment();
+            return result;
+        }
+    }
+
+    record Route(String method, String pattern, String feature) {
+    }
+
+    private static final class CompiledRoute {
+        private final String method;
+        private final String[] segments;
+        private final Flag flag;
+
+        private CompiledRoute(Route route, Flag flag) {
+            this.method = route.method();
+            this.segments = route.pattern().substring(1).split("/");
+            this.flag = flag;
+        }
+
+        // Segment by segment, without splitting (allocating) the request path
+        private boolean matches(String method, String path) {
+            if (!this.method.equals(method)) {
+                return false;
+            }
+            int position = 0;
+            for (String segment : segments) {
+                if (position >= path.length() || path.charAt(position) != '/') {
+                    return false;
+                }
+                int start = position + 1;
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                if (segment.equals("*")) {
+                    if (end == start) {
+                        return false;
+                    }
+                } else if (end - start != segment.length() || !path.startsWith(segment, start)) {
+                    return false;
+                }
+                position = end;
+            }
+            // Allow a trailing slash, nothing else
+            return position == path.length() || (position == path.length() - 1 && path.charAt(position) == '/');
+        }
+    }
+}
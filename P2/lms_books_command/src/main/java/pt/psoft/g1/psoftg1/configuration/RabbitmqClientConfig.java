@@ -10,6 +10,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.api.BookRabbitmqController;
 import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookRequestRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookSagaEngine;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
 import pt.psoft.g1.psoftg1.shared.model.AuthorEvents;
@@ -125,6 +126,16 @@ public class RabbitmqClientConfig {
         return new Queue("lending.validation.response", true);
     }
 
+    @Bean
+    public Queue lendingValidationBatchRequestQueue() {
+        return new Queue("lending.validation.batch.request", true);
+    }
+
+    @Bean
+    public Queue lendingValidationBatchResponseQueue() {
+        return new Queue("lending.validation.batch.response", true);
+    }
+
     // Bindings permanecem iguais
     @Bean
     public Binding binding1(DirectExchange direct,
@@ -271,6 +282,22 @@ public class RabbitmqClientConfig {
                 .with("lending.validation.response");
     }
 
+    @Bean
+    public Binding lendingValidationBatchRequestBinding(DirectExchange direct,
+                                                          Queue lendingValidationBatchRequestQueue){
+        return BindingBuilder.bind(lendingValidationBatchRequestQueue)
+                .to(direct)
+                .with("lending.validation.batch.request");
+    }
+
+    @Bean
+    public Binding lendingValidationBatchResponseBinding(DirectExchange direct,
+                                                           Queue lendingValidationBatchResponseQueue){
+        return BindingBuilder.bind(lendingValidationBatchResponseQueue)
+                .to(direct)
+                .with("lending.validation.batch.response");
+    }
+
     @Bean
     public BookRabbitmqController receiver(
             BookService bookService,
@@ -279,7 +306,8 @@ public class RabbitmqClientConfig {
             GenreRepository genreRepository,
             PendingBookRequestRepository pendingBookRequestRepository,
             BookEventsPublisher bookEventsPublisher,
+            BookSagaEngine bookSagaEngine,
             @Qualifier("autoDeleteQueue_Book_Created") Queue autoDeleteQueue_Book_Created){
-        return new BookRabbitmqController(bookService, bookRepository, authorRepository, genreRepository, pendingBookRequestRepository, bookEventsPublisher);
+        return new BookRabbitmqController(bookService, bookRepository, authorRepository, genreRepository, pendingBookRequestRepository, bookEventsPublisher, bookSagaEngine);
     }
 }
\ No newline at end of file
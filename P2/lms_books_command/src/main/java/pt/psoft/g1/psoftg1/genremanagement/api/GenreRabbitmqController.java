@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.genremanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -10,8 +9,8 @@ import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 import pt.psoft.g1.psoftg1.genremanagement.publishers.GenreEventsPublisher;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
 import pt.psoft.g1.psoftg1.genremanagement.services.GenreService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @Component
@@ -29,9 +28,7 @@ public class GenreRabbitmqController {
         String genreName = null;
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookRequestedEvent bookRequestedEvent = objectMapper.readValue(jsonReceived, BookRequestedEvent.class);
+            BookRequestedEvent bookRequestedEvent = AmqpCodec.decode(msg.getBody(), BookRequestedEvent.class);
 
             System.out.println(" [x] Received Book Requested by AMQP (GenreCmd): " + bookRequestedEvent.getBookId() +
                               " - Genre: " + bookRequestedEvent.getGenreName());
@@ -90,10 +87,8 @@ public class GenreRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Book_Finalized_Genre.name}")
     public void receiveBookFinalized(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
             pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent event =
-                objectMapper.readValue(jsonReceived, pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent.class);
+                AmqpCodec.decode(msg.getBody(), pt.psoft.g1.psoftg1.bookmanagement.api.BookFinalizedEvent.class);
 
             System.out.println(" [x] Received Book Finalized by AMQP (GenreCmd):");
             System.out.println("     - Book ID: " + event.getBookId());
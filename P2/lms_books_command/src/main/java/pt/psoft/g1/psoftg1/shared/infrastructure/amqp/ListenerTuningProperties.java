@@ -0,0 +1,60 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.amqp;
+
+import lombok.Data;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-queue consumption settings for the RabbitMQ listener containers.
+ *
+ * Queues without an entry keep the spring.rabbitmq.listener.simple.* defaults. Anonymous queues get a
+ * new name on every start, so they are tuned by the id of their @RabbitListener instead. Example:
+ * lms.amqp.listeners.queues[lending.validation.request].prefetch=50
+ * lms.amqp.listeners.listeners[lending-created].prefetch=50
+ */
+@ConfigurationProperties(prefix = "lms.amqp.listeners")
+@Data
+public class ListenerTuningProperties {
+
+    /** Settings by queue name. */
+    private Map<String, Tuning> queues = new HashMap<>();
+
+    /** Settings by @RabbitListener id. */
+    private Map<String, Tuning> listeners = new HashMap<>();
+
+    @Data
+    public static class Tuning {
+        private Integer concurrency;
+        private Integer maxConcurrency;
+        private Integer prefetch;
+    }
+
+    /**
+     * Applies the settings of the container's listener id or, failing that, of the first configured
+     * queue the container consumes from.
+     */
+    public void applyTo(SimpleMessageListenerContainer container) {
+        Tuning tuning = container.getListenerId() != null ? listeners.get(container.getListenerId()) : null;
+        for (String queueName : container.getQueueNames()) {
+            if (tuning != null) {
+                break;
+            }
+            tuning = queues.get(queueName);
+        }
+        if (tuning == null) {
+            return;
+        }
+        if (tuning.getMaxConcurrency() != null) {
+            container.setMaxConcurrentConsumers(tuning.getMaxConcurrency());
+        }
+        if (tuning.getConcurrency() != null) {
+            container.setConcurrentConsumers(tuning.getConcurrency());
+        }
+        if (tuning.getPrefetch() != null) {
+            container.setPrefetchCount(tuning.getPrefetch());
+        }
+    }
+}
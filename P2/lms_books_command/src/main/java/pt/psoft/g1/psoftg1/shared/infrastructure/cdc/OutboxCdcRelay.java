@@ -0,0 +1,330 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.cdc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.OutboxCdcCheckpoint;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxCdcCheckpointRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+import pt.psoft.g1.psoftg1.shared.services.ConfirmedOutboxSender;
+import pt.psoft.g1.psoftg1.shared.services.OutboxMessage;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Change-data-capture outbox relay, active with {@code outbox.relay.mode=cdc}.
+ *
+ * Instead of polling the outbox table, it tails the Postgres WAL through logical replication
+ * (pgoutput plugin, publication on the outbox table) and publishes each committed insert as soon
+ * as its transaction commits. After the broker confirms a transaction's events they are marked
+ * processed and the commit LSN is persisted in {@link OutboxCdcCheckpoint}, which is where
+ * streaming resumes after a restart.
+ *
+ * Requires {@code wal_level=logical} and a user allowed to create publications and replication slots.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.mode", havingValue = "cdc")
+@Slf4j
+public class OutboxCdcRelay implements SmartLifecycle {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfirmedOutboxSender sender;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCdcCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${outbox.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout:10000}")
+    private long confirmTimeoutMillis;
+
+    @Value("${outbox.cdc.table:outbox_events}")
+    private String table;
+
+    @Value("${outbox.cdc.slot-name:outbox_relay}")
+    private String slotName;
+
+    @Value("${outbox.cdc.publication:outbox_publication}")
+    private String publication;
+
+    @Value("${outbox.cdc.idle-wait:10}")
+    private long idleWaitMillis;
+
+    @Value("${outbox.cdc.reconnect-delay:5000}")
+    private long reconnectDelayMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxCdcRelay(JdbcTemplate jdbcTemplate,
+                          ConfirmedOutboxSender sender,
+                          OutboxEventRepository outboxEventRepository,
+                          OutboxCdcCheckpointRepository checkpointRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sender = sender;
+        this.outboxEventRepository = outboxEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events published and confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox events nacked or not confirmed in time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-cdc-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean initialized = false;
+        while (running) {
+            try {
+                if (!initialized) {
+                    initialize();
+                    initialized = true;
+                }
+                stream();
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("OutboxCdcRelay: replication stream failed, reconnecting in {} ms", reconnectDelayMillis, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(reconnectDelayMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the publication and replication slot if needed. On the very first start (no checkpoint),
+     * events written before the slot existed are drained from the table once.
+     */
+    private void initialize() {
+        requireIdentifier(table);
+        requireIdentifier(slotName);
+        requireIdentifier(publication);
+
+        Integer publications = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_publication WHERE pubname = ?", Integer.class, publication);
+        if (publications == null || publications == 0) {
+            jdbcTemplate.execute("CREATE PUBLICATION " + publication + " FOR TABLE " + table);
+            log.info("OutboxCdcRelay: created publication {} for table {}", publication, table);
+        }
+
+        Integer slots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_replication_slots WHERE slot_name = ?", Integer.class, slotName);
+        if (slots == null || slots == 0) {
+            jdbcTemplate.queryForList("SELECT pg_create_logical_replication_slot(?, 'pgoutput')", slotName);
+            log.info("OutboxCdcRelay: created replication slot {}", slotName);
+        }
+
+        if (!checkpointRepository.existsById(slotName)) {
+            drainBacklog();
+        }
+    }
+
+    private void stream() throws SQLException, InterruptedException {
+        try (Connection connection = openReplicationConnection()) {
+            ChainedLogicalStreamBuilder builder = connection.unwrap(PGConnection.class)
+                    .getReplicationAPI()
+                    .replicationStream()
+                    .logical()
+                    .withSlotName(slotName)
+                    .withSlotOption("proto_version", 1)
+                    .withSlotOption("publication_names", publication)
+                    .withStatusInterval(10, TimeUnit.SECONDS);
+            checkpointRepository.findById(slotName)
+                    .ifPresent(checkpoint -> builder.withStartPosition(LogSequenceNumber.valueOf(checkpoint.getLsn())));
+
+            PGReplicationStream stream = builder.start();
+            log.info("OutboxCdcRelay: streaming {} from slot {}", table, slotName);
+
+            PgOutputDecoder decoder = new PgOutputDecoder();
+            List<OutboxMessage> transaction = new ArrayList<>();
+            while (running) {
+                ByteBuffer buffer = stream.readPending();
+                if (buffer == null) {
+                    TimeUnit.MILLISECONDS.sleep(idleWaitMillis);
+                    continue;
+                }
+
+                PgOutputDecoder.Message message = decoder.decode(buffer);
+                switch (message.getKind()) {
+                    case BEGIN -> transaction.clear();
+                    case INSERT -> {
+                        if (table.equals(message.getTable())) {
+                            transaction.add(toOutboxMessage(message.getValues()));
+                        }
+                    }
+                    case COMMIT -> {
+                        LogSequenceNumber lsn = LogSequenceNumber.valueOf(message.getEndLsn());
+                        if (!transaction.isEmpty()) {
+                            publish(transaction);
+                            transaction.clear();
+                            saveCheckpoint(lsn.asLong());
+                        }
+                        stream.setAppliedLSN(lsn);
+                        stream.setFlushedLSN(lsn);
+                    }
+                    default -> {
+                        // relation, type, origin, update, delete, truncate: nothing to relay
+                    }
+                }
+            }
+            stream.close();
+        }
+    }
+
+    /**
+     * Retry events that were nacked or not confirmed while streaming
+     */
+    @Scheduled(fixedDelayString = "${outbox.retry-interval:60000}")
+    public void retryFailedEvents() {
+        List<OutboxMessage> retryable = outboxEventRepository.findFailedEventsForRetry().stream()
+                .filter(event -> !event.hasExceededMaxRetries(maxRetries))
+                .map(OutboxMessage::from)
+                .toList();
+        if (!retryable.isEmpty()) {
+            log.info("OutboxCdcRelay: retrying {} failed events", retryable.size());
+            publish(retryable);
+        }
+    }
+
+    private void publish(List<OutboxMessage> messages) {
+        Map<Long, String> failures = sender.publish(messages, confirmTimeoutMillis);
+        List<Long> confirmed = messages.stream()
+                .map(OutboxMessage::getId)
+                .filter(id -> !failures.containsKey(id))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!confirmed.isEmpty()) {
+                outboxEventRepository.markAsProcessed(confirmed, LocalDateTime.now());
+            }
+            failures.forEach((id, reason) -> outboxEventRepository.findById(id).ifPresent(event -> {
+                log.warn("Event {} was not confirmed by the broker: {}", id, reason);
+                event.incrementRetryCount();
+                event.setErrorMessage(reason);
+            }));
+        });
+
+        publishedCounter.increment(confirmed.size());
+        failedCounter.increment(failures.size());
+    }
+
+    private void drainBacklog() {
+        int locked;
+        do {
+            locked = transactionTemplate.execute(status -> {
+                List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(maxRetries, PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    publish(batch.stream().map(OutboxMessage::from).toList());
+                }
+                return batch.size();
+            });
+        } while (locked == batchSize);
+    }
+
+    private void saveCheckpoint(long lsn) {
+        OutboxCdcCheckpoint checkpoint = checkpointRepository.findById(slotName)
+                .orElseGet(() -> new OutboxCdcCheckpoint(slotName, lsn));
+        checkpoint.advanceTo(lsn);
+        checkpointRepository.save(checkpoint);
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, username);
+        PGProperty.PASSWORD.set(properties, password);
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static OutboxMessage toOutboxMessage(Map<String, String> row) {
+        return new OutboxMessage(
+                Long.valueOf(row.get("id")),
+                row.get("aggregate_type"),
+                row.get("event_type"),
+                row.get("payload"));
+    }
+
+    private static void requireIdentifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid Postgres identifier: " + name);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.cdc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal decoder for the pgoutput logical replication protocol (proto_version 1).
+ * Only what the outbox relay needs is decoded: Begin, Commit, Relation and Insert.
+ * Every other message type is reported as {@link Kind#OTHER}.
+ *
+ * Not thread-safe: keeps the relation (table) descriptions sent by the server.
+ */
+public class PgOutputDecoder {
+
+    public enum Kind { BEGIN, COMMIT, RELATION, INSERT, OTHER }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Message {
+        private final Kind kind;
+        /** Table name for INSERT / RELATION messages */
+        private final String table;
+        /** Column name to text value for INSERT messages */
+        private final Map<String, String> values;
+        /** End LSN of the transaction for COMMIT messages */
+        private final long endLsn;
+    }
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    public Message decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        return switch (type) {
+            case 'B' -> {
+                buffer.getLong(); // final LSN
+                buffer.getLong(); // commit timestamp
+                buffer.getInt();  // xid
+                yield new Message(Kind.BEGIN, null, null, 0);
+            }
+            case 'C' -> {
+                buffer.get();     // flags
+                buffer.getLong(); // commit LSN
+                long endLsn = buffer.getLong();
+                buffer.getLong(); // commit timestamp
+                yield new Message(Kind.COMMIT, null, null, endLsn);
+            }
+            case 'R' -> {
+                Relation relation = readRelation(buffer);
+                relations.put(relation.id, relation);
+                yield new Message(Kind.RELATION, relation.name, null, 0);
+            }
+            case 'I' -> {
+                Relation relation = relations.get(buffer.getInt());
+                if (relation == null) {
+                    throw new IllegalStateException("Insert received for unknown relation");
+                }
+                buffer.get(); // 'N' (new tuple)
+                yield new Message(Kind.INSERT, relation.name, readTuple(buffer, relation), 0);
+            }
+            default -> new Message(Kind.OTHER, null, null, 0);
+        };
+    }
+
+    private static Relation readRelation(ByteBuffer buffer) {
+        int id = buffer.getInt();
+        readString(buffer); // namespace
+        String name = readString(buffer);
+        buffer.get(); // replica identity
+        short columnCount = buffer.getShort();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags
+            columns.add(readString(buffer));
+            buffer.getInt(); // type oid
+            buffer.getInt(); // type modifier
+        }
+        return new Relation(id, name, columns);
+    }
+
+    private static Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            char kind = (char) buffer.get();
+            String value = null;
+            if (kind == 't') {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            // 'n' (null) and 'u' (unchanged TOAST, never sent for inserts) carry no data
+            values.put(relation.columns.get(i), value);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // advance to the terminating NUL
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @AllArgsConstructor
+    private static class Relation {
+        private final int id;
+        private final String name;
+        private final List<String> columns;
+    }
+}
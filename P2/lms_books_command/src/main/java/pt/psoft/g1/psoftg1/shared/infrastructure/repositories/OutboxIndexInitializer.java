@@ -0,0 +1,49 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.repositories;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates partial indexes on the outbox table, which JPA cannot express.
+ * They only cover the rows each query is looking for, so they stay small while the table grows:
+ * unprocessed rows for the relays, failed rows for retries, processed rows for the retention sweeper.
+ * The dead-letter table also gets its one-row-per-event index when it existed before that column was unique.
+ *
+ * PostgreSQL only; other databases (H2 in tests) are left with the primary key.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(1)
+@Slf4j
+public class OutboxIndexInitializer implements CommandLineRunner {
+
+    private static final String[] INDEXES = {
+            "CREATE INDEX IF NOT EXISTS idx_outbox_events_unprocessed ON outbox_events (id) WHERE processed = false",
+            "CREATE INDEX IF NOT EXISTS idx_outbox_events_retry ON outbox_events (last_retry_at) WHERE processed = false AND retry_count > 0",
+            "CREATE INDEX IF NOT EXISTS idx_outbox_events_processed_at ON outbox_events (processed_at) WHERE processed = true",
+            "CREATE UNIQUE INDEX IF NOT EXISTS uk_outbox_dead_letters_event ON outbox_dead_letters (outbox_event_id)"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(database)) {
+            return;
+        }
+        for (String ddl : INDEXES) {
+            try {
+                jdbcTemplate.execute(ddl);
+            } catch (Exception e) {
+                log.warn("Could not create outbox index: {}", ddl, e);
+            }
+        }
+    }
+}
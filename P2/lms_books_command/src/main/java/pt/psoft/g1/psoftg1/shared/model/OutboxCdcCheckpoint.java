@@ -0,0 +1,40 @@
+package pt.psoft.g1.psoftg1.shared.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last WAL position (LSN) whose outbox inserts were published by the CDC relay.
+ * One row per replication slot; used as start position when the relay restarts.
+ */
+@Entity
+@Table(name = "outbox_cdc_checkpoint")
+@NoArgsConstructor
+@Getter
+public class OutboxCdcCheckpoint {
+
+    @Id
+    private String slotName;
+
+    @Column(nullable = false)
+    private Long lsn;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public OutboxCdcCheckpoint(String slotName, Long lsn) {
+        this.slotName = slotName;
+        advanceTo(lsn);
+    }
+
+    public void advanceTo(Long lsn) {
+        this.lsn = lsn;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,62 @@
+package pt.psoft.g1.psoftg1.shared.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox event that exceeded {@code outbox.max-retries}.
+ * Moved out of the outbox table so relays stop scanning it; kept here for inspection or manual replay.
+ */
+@Entity
+@Table(name = "outbox_dead_letters")
+@NoArgsConstructor
+@Getter
+public class OutboxDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Unique, so an event is dead-lettered once even if two sweepers get past the row locks
+    @Column(nullable = false, unique = true)
+    private Long outboxEventId;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private String aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private Integer retryCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime deadLetteredAt;
+
+    public OutboxDeadLetter(OutboxEvent event) {
+        this.outboxEventId = event.getId();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.eventType = event.getEventType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+        this.retryCount = event.getRetryCount();
+        this.errorMessage = event.getErrorMessage();
+        this.deadLetteredAt = LocalDateTime.now();
+    }
+}
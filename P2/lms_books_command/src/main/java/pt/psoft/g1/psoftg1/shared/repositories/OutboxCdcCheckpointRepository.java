@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.shared.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import pt.psoft.g1.psoftg1.shared.model.OutboxCdcCheckpoint;
+
+public interface OutboxCdcCheckpointRepository extends JpaRepository<OutboxCdcCheckpoint, String> {
+}
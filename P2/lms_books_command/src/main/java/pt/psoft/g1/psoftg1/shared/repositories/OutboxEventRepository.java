@@ -1,10 +1,18 @@
 package pt.psoft.g1.psoftg1.shared.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
@@ -22,8 +30,53 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
     List<OutboxEvent> findFailedEventsForRetry();
 
     /**
-     * Delete old processed events (for cleanup)
+     * Lock the next page of publishable events (SELECT ... FOR UPDATE SKIP LOCKED).
+     * Rows already locked by another replica are skipped, so several relays can drain in parallel.
+     * Must be called inside a transaction; the locks are held until it commits.
      */
-    void deleteByProcessedTrueAndProcessedAtBefore(LocalDateTime before);
-}
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processed = false AND e.retryCount < :maxRetries ORDER BY e.id ASC")
+    List<OutboxEvent> lockNextBatch(@Param("maxRetries") int maxRetries, Pageable pageable);
+
+    /**
+     * Mark a whole batch of events as processed with a single UPDATE
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processed = true, e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markAsProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Number of events still waiting to be published
+     */
+    long countByProcessedFalse();
+
+    /**
+     * Creation time of the oldest event still waiting to be published (null when the outbox is drained)
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.processed = false")
+    LocalDateTime findOldestUnprocessedCreatedAt();
 
+    /**
+     * Ids of events processed before the given instant, oldest first (one retention chunk per page)
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.processed = true AND e.processedAt < :before ORDER BY e.id ASC")
+    List<Long> findProcessedIdsBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Lock unprocessed events that will never be relayed again because they exceeded the retry limit
+     * (SELECT ... FOR UPDATE SKIP LOCKED), so the sweepers of two replicas never move the same event.
+     * Must be called inside a transaction; the locks are held until it commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processed = false AND e.retryCount >= :maxRetries ORDER BY e.id ASC")
+    List<OutboxEvent> findExhaustedEvents(@Param("maxRetries") int maxRetries, Pageable pageable);
+
+    /**
+     * Delete a chunk of events with a single DELETE
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
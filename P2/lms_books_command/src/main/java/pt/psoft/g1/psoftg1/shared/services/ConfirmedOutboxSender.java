@@ -0,0 +1,93 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox messages asynchronously and waits for the broker's publisher confirms.
+ * Every message goes to its specific exchange and to LMS.direct (see {@link OutboxRouting}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ConfirmedOutboxSender {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    /**
+     * Publish all messages, then wait (up to the timeout, for the whole batch) for their confirms.
+     *
+     * @return failure reason per message id; messages not in the map were acked on every exchange
+     */
+    public Map<Long, String> publish(List<OutboxMessage> messages, long timeoutMillis) {
+        Map<OutboxMessage, List<CorrelationData>> inFlight = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            List<CorrelationData> confirms = new ArrayList<>(2);
+            confirms.add(send(message, OutboxRouting.specificExchange(message.getAggregateType())));
+            confirms.add(send(message, OutboxRouting.LMS_DIRECT_EXCHANGE));
+            inFlight.put(message, confirms);
+        }
+
+        Map<Long, String> failures = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Map.Entry<OutboxMessage, List<CorrelationData>> entry : inFlight.entrySet()) {
+            String failure = awaitConfirms(entry.getValue(), deadline);
+            if (failure != null) {
+                failures.put(entry.getKey().getId(), failure);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * A send that fails synchronously is reported through an already-completed nack.
+     */
+    private CorrelationData send(OutboxMessage message, String exchange) {
+        CorrelationData correlation = new CorrelationData(message.getId() + ":" + exchange);
+        try {
+            rabbitTemplate.convertAndSend(exchange, message.getEventType(), message.getPayload(), correlation);
+            if (!publisherConfirmsEnabled()) {
+                // Without confirms a successful send is the strongest guarantee we can get
+                correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            }
+        } catch (Exception e) {
+            correlation.getFuture().complete(new CorrelationData.Confirm(false, e.getMessage()));
+        }
+        return correlation;
+    }
+
+    /**
+     * @return null when every publish of the message was acked, otherwise the failure reason
+     */
+    private String awaitConfirms(List<CorrelationData> confirms, long deadline) {
+        for (CorrelationData correlation : confirms) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    return "Nack for " + correlation.getId() + ": " + confirm.getReason();
+                }
+            } catch (TimeoutException e) {
+                return "Confirm timeout for " + correlation.getId();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Interrupted waiting for confirm of " + correlation.getId();
+            } catch (Exception e) {
+                return "Confirm failed for " + correlation.getId() + ": " + e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private boolean publisherConfirmsEnabled() {
+        return rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+    }
+}
@@ -0,0 +1,91 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed pool of single-threaded lanes. Work is routed to a lane by hashing its key, so all work
+ * for the same key runs one at a time, in submission order, while different keys run in parallel.
+ *
+ * Work submitted from inside a lane for a key of the same lane runs inline instead of deadlocking.
+ */
+public class LaneExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+    private final ThreadLocal<Integer> currentLane = new ThreadLocal<>();
+
+    public LaneExecutor(String name, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be at least 1");
+        }
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            final int lane = i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    currentLane.set(lane);
+                    runnable.run();
+                }, name + "-lane-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Lane that owns the key. Hash bits are spread so similar keys (e.g. ISBNs) do not cluster.
+     */
+    public int laneOf(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    /**
+     * Run the work on the key's lane and wait for its result.
+     * Exceptions thrown by the work are rethrown unchanged.
+     */
+    public <T> T execute(String key, Callable<T> work) throws Exception {
+        int lane = laneOf(key);
+        Integer current = currentLane.get();
+        if (current != null && current == lane) {
+            return work.call();
+        }
+
+        Future<T> future = lanes[lane].submit(work);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
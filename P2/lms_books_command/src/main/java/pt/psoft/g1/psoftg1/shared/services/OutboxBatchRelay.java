@@ -0,0 +1,149 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, batched outbox relay, active with {@code outbox.relay.mode=batch}.
+ *
+ * Each batch is handled in one transaction:
+ * 1. lock up to {@code outbox.relay.batch-size} rows with FOR UPDATE SKIP LOCKED (replicas drain in parallel)
+ * 2. publish all of them asynchronously with publisher confirms
+ * 3. wait for the confirms and mark the confirmed events processed with a single bulk UPDATE
+ * Events that are nacked or not confirmed in time get their retry count incremented and are
+ * picked up again by a later batch until {@code outbox.max-retries} is reached.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.mode", havingValue = "batch")
+@Slf4j
+public class OutboxBatchRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ConfirmedOutboxSender sender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${outbox.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-tick:20}")
+    private int maxBatchesPerTick;
+
+    @Value("${outbox.relay.confirm-timeout:10000}")
+    private long confirmTimeoutMillis;
+
+    public OutboxBatchRelay(OutboxEventRepository outboxEventRepository,
+                            ConfirmedOutboxSender sender,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sender = sender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events published and confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox events nacked or not confirmed in time")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to lock, publish, confirm and mark one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Age of the oldest outbox event waiting to be published")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox in bounded batches. Stops early when a batch comes back partially filled.
+     */
+    @Scheduled(fixedDelayString = "${outbox.polling-interval:5000}")
+    public void relayPendingEvents() {
+        try {
+            for (int i = 0; i < maxBatchesPerTick; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+            refreshLag();
+        } catch (Exception e) {
+            log.error("Error in OutboxBatchRelay.relayPendingEvents()", e);
+        }
+    }
+
+    /**
+     * Relay a single batch.
+     *
+     * @return number of events locked for this batch (published or failed)
+     */
+    public int relayBatch() {
+        Integer locked = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(maxRetries, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, String> failures = sender.publish(
+                    batch.stream().map(OutboxMessage::from).toList(), confirmTimeoutMillis);
+
+            List<Long> confirmed = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                String failure = failures.get(event.getId());
+                if (failure == null) {
+                    confirmed.add(event.getId());
+                } else {
+                    log.warn("Event {} was not confirmed by the broker: {}", event.getId(), failure);
+                    event.incrementRetryCount();
+                    event.setErrorMessage(failure);
+                }
+            }
+
+            if (!confirmed.isEmpty()) {
+                outboxEventRepository.markAsProcessed(confirmed, LocalDateTime.now());
+            }
+
+            publishedCounter.increment(confirmed.size());
+            failedCounter.increment(batch.size() - confirmed.size());
+            log.info("OutboxBatchRelay: published {}/{} events", confirmed.size(), batch.size());
+            return batch.size();
+        }));
+        return locked == null ? 0 : locked;
+    }
+
+    private void refreshLag() {
+        pendingEvents.set(outboxEventRepository.countByProcessedFalse());
+        LocalDateTime oldest = outboxEventRepository.findOldestUnprocessedCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
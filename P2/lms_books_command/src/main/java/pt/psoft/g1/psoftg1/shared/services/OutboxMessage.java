@@ -0,0 +1,23 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+
+/**
+ * The part of an outbox row that is needed to publish it.
+ * Decoupled from the JPA entity so relays that do not load entities (e.g. CDC) can share the sender.
+ */
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private final Long id;
+    private final String aggregateType;
+    private final String eventType;
+    private final String payload;
+
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getEventType(), event.getPayload());
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
@@ -13,8 +14,12 @@ import java.util.List;
 /**
  * Background job that reads events from the outbox table and publishes them to RabbitMQ.
  * Runs periodically to ensure reliable event delivery.
+ *
+ * This is the legacy one-event-at-a-time relay, active with {@code outbox.relay.mode=polling}.
+ * See {@link OutboxBatchRelay} for the bounded, batched relay.
  */
 @Component
+@ConditionalOnProperty(name = "outbox.relay.mode", havingValue = "polling", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class OutboxPublisher {
@@ -48,7 +53,7 @@ public class OutboxPublisher {
                     }
 
                     // Publish to both the specific exchange and LMS.direct for cross-service communication
-                    String specificExchange = determineSpecificExchange(event.getAggregateType());
+                    String specificExchange = OutboxRouting.specificExchange(event.getAggregateType());
 
                     log.info("Publishing event {} - Type: {} - Aggregate: {} - Exchanges: {} and LMS.direct",
                         event.getId(), event.getEventType(), event.getAggregateId(), specificExchange);
@@ -65,7 +70,7 @@ public class OutboxPublisher {
 
                     // Also publish to LMS.direct (for lendings_query, readers_query, etc)
                     rabbitTemplate.convertAndSend(
-                        "LMS.direct",
+                        OutboxRouting.LMS_DIRECT_EXCHANGE,
                         event.getEventType(),
                         event.getPayload()
                     );
@@ -108,7 +113,7 @@ public class OutboxPublisher {
                 log.info("Retrying event {} (attempt {}/{})",
                     event.getId(), event.getRetryCount() + 1, maxRetries);
 
-                String specificExchange = determineSpecificExchange(event.getAggregateType());
+                String specificExchange = OutboxRouting.specificExchange(event.getAggregateType());
 
                 // Publish to both exchanges
                 rabbitTemplate.convertAndSend(
@@ -118,7 +123,7 @@ public class OutboxPublisher {
                 );
 
                 rabbitTemplate.convertAndSend(
-                    "LMS.direct",
+                    OutboxRouting.LMS_DIRECT_EXCHANGE,
                     event.getEventType(),
                     event.getPayload()
                 );
@@ -133,15 +138,4 @@ public class OutboxPublisher {
             }
         }
     }
-
-    /**
-     * Determine which specific exchange to use based on aggregate type
-     */
-    private String determineSpecificExchange(String aggregateType) {
-        return switch (aggregateType) {
-            case "Author" -> "authors.exchange";
-            case "Genre" -> "genres.exchange";
-            default -> "books.exchange"; // Book and default
-        };
-    }
 }
@@ -0,0 +1,133 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.OutboxDeadLetter;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxDeadLetterRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the outbox table small:
+ * - deletes events processed more than {@code outbox.retention.days} ago
+ * - moves events that exceeded {@code outbox.max-retries} to the dead-letter table
+ *
+ * Both jobs work in chunks of {@code outbox.retention.chunk-size} rows, one short transaction per chunk,
+ * so no long-running lock is held on the outbox table while the relays are writing to it.
+ *
+ * The sweeper runs on every replica. The exhausted chunk is locked with SKIP LOCKED, and the dead-letter
+ * table has one row per outbox event, so an event is never dead-lettered twice.
+ */
+@Component
+@Slf4j
+public class OutboxRetentionSweeper {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deletedCounter;
+    private final Counter deadLetteredCounter;
+
+    @Value("${outbox.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${outbox.retention.days:7}")
+    private int retentionDays;
+
+    @Value("${outbox.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${outbox.retention.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    public OutboxRetentionSweeper(OutboxEventRepository outboxEventRepository,
+                                  OutboxDeadLetterRepository deadLetterRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletedCounter = Counter.builder("outbox.retention.deleted")
+                .description("Processed outbox events deleted by the retention sweeper")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("outbox.dead-lettered")
+                .description("Outbox events moved to the dead-letter table after exceeding max retries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delete processed events older than the retention period, once a day by default
+     */
+    @Scheduled(cron = "${outbox.retention.cron:0 30 3 * * *}")
+    public void purgeProcessedEvents() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            int deleted = deleteProcessedChunk(before);
+            total += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("OutboxRetentionSweeper: deleted {} events processed before {}", total, before);
+        }
+    }
+
+    /**
+     * Move events that will never be relayed again to the dead-letter table
+     */
+    @Scheduled(fixedDelayString = "${outbox.retry-interval:60000}")
+    public void moveExhaustedEventsToDeadLetter() {
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            if (deadLetterChunk() < chunkSize) {
+                break;
+            }
+        }
+    }
+
+    public int deleteProcessedChunk(LocalDateTime before) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxEventRepository.findProcessedIdsBefore(before, PageRequest.of(0, chunkSize));
+            return ids.isEmpty() ? 0 : outboxEventRepository.deleteByIds(ids);
+        });
+        int count = deleted == null ? 0 : deleted;
+        deletedCounter.increment(count);
+        return count;
+    }
+
+    public int deadLetterChunk() {
+        Integer moved;
+        try {
+            moved = transactionTemplate.execute(status -> {
+                List<OutboxEvent> exhausted = outboxEventRepository.findExhaustedEvents(maxRetries, PageRequest.of(0, chunkSize));
+                if (exhausted.isEmpty()) {
+                    return 0;
+                }
+                deadLetterRepository.saveAllAndFlush(exhausted.stream().map(OutboxDeadLetter::new).toList());
+                outboxEventRepository.deleteByIds(exhausted.stream().map(OutboxEvent::getId).toList());
+                exhausted.forEach(event -> log.error("Event {} ({} {}) exceeded max retries ({}) and was dead-lettered: {}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), maxRetries, event.getErrorMessage()));
+                return exhausted.size();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another replica dead-lettered some of these events first; the rest are picked up next cycle
+            log.warn("OutboxRetentionSweeper: dead-letter chunk rolled back, events already moved by another replica");
+            moved = 0;
+        }
+        int count = moved == null ? 0 : moved;
+        deadLetteredCounter.increment(count);
+        return count;
+    }
+}
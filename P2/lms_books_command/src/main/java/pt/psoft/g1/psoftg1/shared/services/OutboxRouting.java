@@ -0,0 +1,25 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+/**
+ * Routing rules shared by every outbox relay engine.
+ * Each event is published to the exchange of its aggregate (for books_query, etc)
+ * and to LMS.direct (for lendings_query, readers_query, etc).
+ */
+public final class OutboxRouting {
+
+    public static final String LMS_DIRECT_EXCHANGE = "LMS.direct";
+
+    private OutboxRouting() {
+    }
+
+    /**
+     * Determine which specific exchange to use based on aggregate type
+     */
+    public static String specificExchange(String aggregateType) {
+        return switch (aggregateType) {
+            case "Author" -> "authors.exchange";
+            case "Genre" -> "genres.exchange";
+            default -> "books.exchange"; // Book and default
+        };
+    }
+}
@@ -13,6 +13,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.api.BookRabbitmqController;
 import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookRequestRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookSagaEngine;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
@@ -55,6 +56,9 @@ public class BooksCDCConsumerIT {
     @MockBean
     BookEventsPublisher bookEventsPublisher;
 
+    @MockBean
+    BookSagaEngine bookSagaEngine;
+
     @MockBean
     BookService bookService;
 
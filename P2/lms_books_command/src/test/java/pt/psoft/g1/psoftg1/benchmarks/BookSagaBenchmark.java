@@ -0,0 +1,244 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.model.PendingBookRequest;
+import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookRequestRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookSagaEngine;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Author and genre "pending created" events of 50 sagas, delivered at the same time by the two listener
+ * queues, against a store with a 0.5 ms round trip and a @Version check:
+ * - before: the listeners' former loop (reload, set the flag, save, reload in tryCreateBook), retrying
+ *   optimistic lock conflicts after Thread.sleep(50), copied below
+ * - lanes: BookSagaEngine
+ * One operation is the 50 sagas reaching BOTH_PENDING_CREATED.
+ *
+ * Run like AmqpDecodeBenchmark:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.BookSagaBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSagaBenchmark {
+
+    private static final int SAGAS = 50;
+    private static final long ROUND_TRIP_NANOS = 500_000;
+
+    private final Map<String, PendingBookRequest> stored = new ConcurrentHashMap<>();
+    private final String[] isbns = new String[SAGAS];
+    private PendingBookRequestRepository pendingRepository;
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+    private BookSagaEngine engine;
+    private ExecutorService listeners;
+    private PrintStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The saga code logs every step
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        for (int saga = 0; saga < SAGAS; saga++) {
+            isbns[saga] = String.format("978%010d", saga);
+        }
+        pendingRepository = stub(PendingBookRequestRepository.class, (method, args) -> switch (method) {
+            case "findByBookId" -> findByBookId((String) args[0]);
+            case "save" -> save((PendingBookRequest) args[0]);
+            default -> throw new UnsupportedOperationException(method);
+        });
+        bookRepository = stub(BookRepository.class, (method, args) -> {
+            roundTrip();
+            return Optional.empty();
+        });
+        // No author: the saga stops at BOTH_PENDING_CREATED in both versions
+        authorRepository = stub(AuthorRepository.class, (method, args) -> {
+            roundTrip();
+            return List.of();
+        });
+        engine = new BookSagaEngine(stub(BookService.class, null), bookRepository, authorRepository,
+                stub(GenreRepository.class, null), pendingRepository, stub(BookEventsPublisher.class, null), 16, 1024);
+        listeners = Executors.newFixedThreadPool(2);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetSagas() {
+        stored.clear();
+        for (String isbn : isbns) {
+            PendingBookRequest request = new PendingBookRequest(isbn, "Title", null, "Author", "Genre");
+            request.setStatus(PendingBookRequest.RequestStatus.PENDING_AUTHOR_CREATION);
+            request.setVersion(0L);
+            stored.put(isbn, request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        listeners.shutdown();
+        engine.destroy();
+        System.setOut(out);
+    }
+
+    @Benchmark
+    public void before() throws Exception {
+        deliver(isbn -> legacyPendingCreated(isbn, true), isbn -> legacyPendingCreated(isbn, false));
+    }
+
+    @Benchmark
+    public void lanes() throws Exception {
+        deliver(engine::onAuthorPendingCreated, engine::onGenrePendingCreated);
+    }
+
+    private void deliver(Listener authorQueue, Listener genreQueue) throws Exception {
+        Future<?> authors = listeners.submit(() -> {
+            for (String isbn : isbns) {
+                authorQueue.receive(isbn);
+            }
+            return null;
+        });
+        Future<?> genres = listeners.submit(() -> {
+            for (String isbn : isbns) {
+                genreQueue.receive(isbn);
+            }
+            return null;
+        });
+        authors.get();
+        genres.get();
+    }
+
+    private void legacyPendingCreated(String isbn, boolean author) throws InterruptedException {
+        int maxRetries = 3;
+        for (int attempt = 0; attempt < maxRetries; attempt++) {
+            try {
+                Optional<PendingBookRequest> pendingRequestOpt = pendingRepository.findByBookId(isbn);
+                if (pendingRequestOpt.isPresent()) {
+                    PendingBookRequest pendingRequest = pendingRequestOpt.get();
+                    if (author) {
+                        pendingRequest.setAuthorPendingReceived(true);
+                    } else {
+                        pendingRequest.setGenrePendingReceived(true);
+                    }
+                    if (pendingRequest.isAuthorPendingReceived() && pendingRequest.isGenrePendingReceived()) {
+                        pendingRequest.setStatus(PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED);
+                    }
+                    pendingRepository.save(pendingRequest);
+                    legacyTryCreateBook(isbn);
+                }
+                break;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt < maxRetries - 1) {
+                    Thread.sleep(50);
+                } else {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void legacyTryCreateBook(String isbn) {
+        if (bookRepository.findByIsbn(isbn).isPresent()) {
+            return;
+        }
+        Optional<PendingBookRequest> pendingRequestOpt = pendingRepository.findByBookId(isbn);
+        if (pendingRequestOpt.isPresent()
+                && pendingRequestOpt.get().getStatus() == PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED) {
+            authorRepository.searchByNameName(pendingRequestOpt.get().getAuthorName());
+        }
+    }
+
+    private Optional<PendingBookRequest> findByBookId(String isbn) {
+        roundTrip();
+        PendingBookRequest request = stored.get(isbn);
+        return request == null ? Optional.empty() : Optional.of(copy(request));
+    }
+
+    private PendingBookRequest save(PendingBookRequest request) {
+        roundTrip();
+        PendingBookRequest saved = copy(request);
+        saved.setVersion(request.getVersion() + 1);
+        PendingBookRequest previous = stored.computeIfPresent(request.getBookId(),
+                (isbn, current) -> current.getVersion().equals(request.getVersion()) ? saved : current);
+        if (previous != saved) {
+            throw new ObjectOptimisticLockingFailureException(PendingBookRequest.class, request.getBookId());
+        }
+        return copy(saved);
+    }
+
+    private static PendingBookRequest copy(PendingBookRequest request) {
+        PendingBookRequest copy = new PendingBookRequest(request.getBookId(), request.getTitle(),
+                request.getDescription(), request.getAuthorName(), request.getGenreName());
+        copy.setStatus(request.getStatus());
+        copy.setAuthorPendingReceived(request.isAuthorPendingReceived());
+        copy.setGenrePendingReceived(request.isGenrePendingReceived());
+        copy.setVersion(request.getVersion());
+        return copy;
+    }
+
+    private static void roundTrip() {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    private interface Listener {
+        void receive(String isbn) throws Exception;
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals") ? proxy == args[0] : method.getName().equals("hashCode")
+                        ? System.identityHashCode(proxy) : type.getSimpleName();
+            }
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.invoke(method.getName(), args);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookSagaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
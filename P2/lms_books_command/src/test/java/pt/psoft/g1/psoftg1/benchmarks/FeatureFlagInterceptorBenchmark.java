@@ -0,0 +1,159 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import pt.psoft.g1.psoftg1.configuration.ABTestingService;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagConfig;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagInterceptor;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagService;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feature flag cost of a write request (PATCH /api/books/{isbn}, book-update on DARK_LAUNCH at 50%):
+ * FeatureFlagInterceptor.preHandle plus the controller's isFeatureEnabled, before (config walk with a
+ * reflective toggle lookup and a shared java.util.Random, copied below) and after (precompiled snapshot).
+ * Runs on 4 threads so the shared Random contends as it does under load. The old service also sat behind
+ * two @RefreshScope proxies, which are not reproduced here, so the "before" numbers are a lower bound.
+ *
+ * Run like AmqpDecodeBenchmark:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.FeatureFlagInterceptorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class FeatureFlagInterceptorBenchmark {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/books/9780134685991");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private LegacyFeatureFlags legacy;
+    private FeatureFlagInterceptor interceptor;
+    private FeatureFlagService featureFlagService;
+
+    @State(Scope.Thread)
+    public static class AuthenticatedUser {
+        // As the resource server builds it from the bearer token
+        private final Authentication authentication = new JwtAuthenticationToken(
+                Jwt.withTokenValue("token").header("alg", "RS256")
+                        .subject("1,librarian-" + Thread.currentThread().getId()).build(),
+                List.of(new SimpleGrantedAuthority("ROLE_LIBRARIAN")));
+
+        @Setup(Level.Trial)
+        public void authenticate() {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        @TearDown(Level.Trial)
+        public void clear() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Without a logback config the root level is DEBUG, and the debug lines would be all we measure
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+
+        FeatureFlagConfig config = new FeatureFlagConfig();
+        config.getReleaseStrategy().put("book-update", "DARK_LAUNCH");
+        config.getDarkLaunch().setTrafficPercentage(50);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        featureFlagService = new FeatureFlagService(config, new ABTestingService(config, meterRegistry), meterRegistry);
+        featureFlagService.refreshSnapshot();
+        interceptor = new FeatureFlagInterceptor(featureFlagService);
+        legacy = new LegacyFeatureFlags(config);
+    }
+
+    @Benchmark
+    public boolean before(AuthenticatedUser user) {
+        return legacy.preHandle(request) && legacy.isFeatureEnabled("book-update");
+    }
+
+    @Benchmark
+    public boolean after(AuthenticatedUser user) throws Exception {
+        return interceptor.preHandle(request, response, null) && featureFlagService.isFeatureEnabled("book-update");
+    }
+
+    @Benchmark
+    public boolean preHandleOnlyAfter(AuthenticatedUser user) throws Exception {
+        return interceptor.preHandle(request, response, null);
+    }
+
+    /**
+     * FeatureFlagInterceptor/FeatureFlagService as they were before the snapshot (dark launch path only)
+     */
+    static final class LegacyFeatureFlags {
+        private final FeatureFlagConfig featureFlagConfig;
+        private final Random random = new Random();
+
+        LegacyFeatureFlags(FeatureFlagConfig featureFlagConfig) {
+            this.featureFlagConfig = featureFlagConfig;
+        }
+
+        boolean preHandle(MockHttpServletRequest request) {
+            String method = request.getMethod();
+            String path = request.getRequestURI();
+            if (method.equals("GET") || path.contains("/actuator")) {
+                return true;
+            }
+            return !featureFlagConfig.isMasterKillSwitch();
+        }
+
+        boolean isFeatureEnabled(String featureName) {
+            if (featureFlagConfig.isMasterKillSwitch() || !featureFlagConfig.isFeatureEnabled(featureName)) {
+                return false;
+            }
+            String strategy = featureFlagConfig.getReleaseStrategy().getOrDefault(featureName, "SIMPLE");
+            if (!strategy.toUpperCase().equals("DARK_LAUNCH")) {
+                return true;
+            }
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (featureFlagConfig.getDarkLaunch().isEnabled() && auth != null && auth.isAuthenticated()) {
+                String role = auth.getAuthorities().iterator().next().getAuthority();
+                if (featureFlagConfig.isUserAllowedForDarkLaunch(auth.getName(), role)) {
+                    return true;
+                }
+            }
+            int trafficPercentage = featureFlagConfig.getDarkLaunch().getTrafficPercentage();
+            return trafficPercentage > 0 && random.nextInt(100) < trafficPercentage;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FeatureFlagInterceptorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
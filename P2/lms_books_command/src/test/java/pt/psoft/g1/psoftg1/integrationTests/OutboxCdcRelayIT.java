@@ -0,0 +1,93 @@
+package pt.psoft.g1.psoftg1.integrationTests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pt.psoft.g1.psoftg1.shared.infrastructure.cdc.OutboxCdcRelay;
+import pt.psoft.g1.psoftg1.shared.model.OutboxCdcCheckpoint;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxCdcCheckpointRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+import pt.psoft.g1.psoftg1.shared.services.ConfirmedOutboxSender;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Streams real WAL changes from a containerized Postgres (wal_level=logical) through the CDC relay.
+ * The broker and JPA repositories are mocked; only the replication path is real.
+ */
+@Testcontainers
+class OutboxCdcRelayIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withCommand("postgres", "-c", "wal_level=logical");
+
+    private final ConfirmedOutboxSender sender = mock(ConfirmedOutboxSender.class);
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OutboxCdcCheckpointRepository checkpointRepository = mock(OutboxCdcCheckpointRepository.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxCdcRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS outbox_events (" +
+                "id BIGSERIAL PRIMARY KEY, aggregate_type VARCHAR(255) NOT NULL, aggregate_id VARCHAR(255) NOT NULL, " +
+                "event_type VARCHAR(255) NOT NULL, payload TEXT NOT NULL, created_at TIMESTAMP NOT NULL, " +
+                "processed BOOLEAN NOT NULL, processed_at TIMESTAMP, retry_count INTEGER, " +
+                "last_retry_at TIMESTAMP, error_message TEXT)");
+
+        when(sender.publish(anyList(), anyLong())).thenReturn(Map.of());
+
+        relay = new OutboxCdcRelay(jdbcTemplate, sender, outboxEventRepository, checkpointRepository,
+                new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "url", postgres.getJdbcUrl());
+        ReflectionTestUtils.setField(relay, "username", postgres.getUsername());
+        ReflectionTestUtils.setField(relay, "password", postgres.getPassword());
+        ReflectionTestUtils.setField(relay, "maxRetries", 5);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(relay, "table", "outbox_events");
+        ReflectionTestUtils.setField(relay, "slotName", "outbox_relay_it");
+        ReflectionTestUtils.setField(relay, "publication", "outbox_publication_it");
+        ReflectionTestUtils.setField(relay, "idleWaitMillis", 10L);
+        ReflectionTestUtils.setField(relay, "reconnectDelayMillis", 500L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    void committedOutboxInsertIsPublishedAndCheckpointed() {
+        relay.start();
+        // The checkpoint lookup happens right after the slot is created; inserts from then on are retained
+        verify(checkpointRepository, timeout(15000)).existsById("outbox_relay_it");
+
+        jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at, processed, retry_count) " +
+                "VALUES ('Book', '9780134685991', 'BOOK_CREATED', '{\"isbn\":\"9780134685991\"}', now(), false, 0)");
+
+        verify(sender, timeout(15000)).publish(argThat(messages -> messages.size() == 1
+                && "BOOK_CREATED".equals(messages.get(0).getEventType())
+                && "Book".equals(messages.get(0).getAggregateType())
+                && messages.get(0).getPayload().contains("9780134685991")), anyLong());
+        verify(outboxEventRepository, timeout(15000)).markAsProcessed(eq(List.of(1L)), any());
+        verify(checkpointRepository, timeout(15000)).save(any(OutboxCdcCheckpoint.class));
+    }
+}
@@ -0,0 +1,99 @@
+package pt.psoft.g1.psoftg1.integrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.OutboxDeadLetter;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxDeadLetterRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+import pt.psoft.g1.psoftg1.shared.services.OutboxRetentionSweeper;
+import pt.psoft.g1.psoftg1.smokeTests.TestRabbitMockConfig;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two replicas sweeping the same exhausted event at once, against H2: the second chunk must not copy
+ * an event that the first one has locked.
+ */
+@SpringBootTest(
+    classes = pt.psoft.g1.psoftg1.LMSBooks.class
+)
+@ActiveProfiles("test")
+@Import(TestRabbitMockConfig.class)
+class OutboxDeadLetterConcurrencyTest {
+
+    @Autowired
+    private OutboxRetentionSweeper sweeper;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService replicas = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        replicas.shutdownNow();
+        deadLetterRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentChunksDeadLetterAnEventOnce() throws Exception {
+        OutboxEvent event = new OutboxEvent("Book", "9780134685991", "BOOK_CREATED", "{}");
+        for (int retry = 0; retry < 5; retry++) {
+            event.incrementRetryCount();
+        }
+        Long eventId = outboxEventRepository.save(event).getId();
+
+        // The first replica moves the chunk and keeps its transaction open while the second one sweeps
+        CountDownLatch moved = new CountDownLatch(1);
+        CountDownLatch secondSwept = new CountDownLatch(1);
+        TransactionTemplate firstTransaction = new TransactionTemplate(transactionManager);
+        Future<Integer> first = replicas.submit(() -> firstTransaction.execute(status -> {
+            int count = sweeper.deadLetterChunk();
+            moved.countDown();
+            try {
+                secondSwept.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return count;
+        }));
+        assertThat(moved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> second = replicas.submit(sweeper::deadLetterChunk);
+        try {
+            second.get(500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Waiting on the first replica's row lock
+        }
+        secondSwept.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS) + second.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        List<OutboxDeadLetter> deadLetters = deadLetterRepository.findAll().stream()
+                .filter(deadLetter -> deadLetter.getOutboxEventId().equals(eventId))
+                .toList();
+        assertThat(deadLetters).hasSize(1);
+        assertThat(outboxEventRepository.findById(eventId)).isEmpty();
+    }
+}
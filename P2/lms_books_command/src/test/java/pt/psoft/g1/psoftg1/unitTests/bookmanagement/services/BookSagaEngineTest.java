@@ -0,0 +1,165 @@
+package pt.psoft.g1.psoftg1.unitTests.bookmanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.model.PendingBookRequest;
+import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookRequestRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookSagaEngine;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSagaEngineTest {
+
+    private static final String ISBN = "9780134685991";
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private PendingBookRequestRepository pendingBookRequestRepository;
+
+    @Mock
+    private BookEventsPublisher bookEventsPublisher;
+
+    private BookSagaEngine engine;
+    private PendingBookRequest request;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BookSagaEngine(bookService, bookRepository, authorRepository, genreRepository,
+                pendingBookRequestRepository, bookEventsPublisher, 4, 16);
+        request = new PendingBookRequest(ISBN, "Effective Java", null, "Joshua Bloch", "Programming");
+        request.setStatus(PendingBookRequest.RequestStatus.PENDING_AUTHOR_CREATION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    @Test
+    void concurrentPendingEventsAreSerializedAndTriggerFinalizationOnce() throws Exception {
+        Author author = mock(Author.class);
+        when(author.getAuthorNumber()).thenReturn(1L);
+        when(author.getName()).thenReturn("Joshua Bloch");
+        when(pendingBookRequestRepository.findByBookId(ISBN)).thenReturn(Optional.of(request));
+        when(pendingBookRequestRepository.save(any(PendingBookRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.findByIsbn(ISBN)).thenReturn(Optional.empty());
+        when(authorRepository.searchByNameName("Joshua Bloch")).thenReturn(List.of(author));
+
+        ExecutorService listeners = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> authorEvent = listeners.submit(() -> {
+                start.await();
+                engine.onAuthorPendingCreated(ISBN);
+                return null;
+            });
+            Future<?> genreEvent = listeners.submit(() -> {
+                start.await();
+                engine.onGenrePendingCreated(ISBN);
+                return null;
+            });
+            start.countDown();
+            authorEvent.get();
+            genreEvent.get();
+        } finally {
+            listeners.shutdown();
+        }
+
+        assertEquals(PendingBookRequest.RequestStatus.BOTH_PENDING_CREATED, request.getStatus());
+        // State is kept on the lane: loaded once, saved once per transition
+        verify(pendingBookRequestRepository, times(1)).findByBookId(ISBN);
+        verify(pendingBookRequestRepository, times(2)).save(request);
+        verify(bookService, times(1)).publishBookFinalized(1L, "Joshua Bloch", ISBN, "Programming", "Effective Java", null);
+    }
+
+    @Test
+    void conflictingUpdateFromAnotherReplicaIsReappliedOnFreshState() throws Exception {
+        PendingBookRequest fresh = new PendingBookRequest(ISBN, "Effective Java", null, "Joshua Bloch", "Programming");
+        fresh.setStatus(PendingBookRequest.RequestStatus.PENDING_AUTHOR_CREATION);
+        fresh.setAuthorFinalizedReceived(true);
+        when(pendingBookRequestRepository.findByBookId(ISBN)).thenReturn(Optional.of(request), Optional.of(fresh));
+        when(pendingBookRequestRepository.save(any(PendingBookRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(PendingBookRequest.class, ISBN))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.findByIsbn(ISBN)).thenReturn(Optional.empty());
+        when(authorRepository.searchByNameName("Joshua Bloch")).thenReturn(List.of());
+
+        engine.onGenreFinalized(ISBN);
+
+        assertEquals(PendingBookRequest.RequestStatus.BOTH_FINALIZED, fresh.getStatus());
+        verify(pendingBookRequestRepository, times(2)).findByBookId(ISBN);
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void failureEndsTheSagaAndDropsItsState() throws Exception {
+        when(pendingBookRequestRepository.findByBookId(ISBN)).thenReturn(Optional.of(request));
+        when(pendingBookRequestRepository.save(any(PendingBookRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        engine.onAuthorCreationFailed(ISBN, "Duplicate author");
+        engine.onAuthorCreationFailed(ISBN, "Duplicate author");
+
+        assertEquals(PendingBookRequest.RequestStatus.FAILED, request.getStatus());
+        assertEquals("Author creation failed: Duplicate author", request.getErrorMessage());
+        // Terminal state is not cached, the second event reloads it
+        verify(pendingBookRequestRepository, times(2)).findByBookId(ISBN);
+        verifyNoInteractions(bookService, bookEventsPublisher);
+    }
+
+    @Test
+    void failedSaveDoesNotLeaveTheChangedStateCached() throws Exception {
+        PendingBookRequest fresh = new PendingBookRequest(ISBN, "Effective Java", null, "Joshua Bloch", "Programming");
+        fresh.setStatus(PendingBookRequest.RequestStatus.PENDING_AUTHOR_CREATION);
+        fresh.setAuthorPendingReceived(true);
+        when(pendingBookRequestRepository.findByBookId(ISBN)).thenReturn(Optional.of(request), Optional.of(fresh));
+        when(pendingBookRequestRepository.save(any(PendingBookRequest.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.findByIsbn(ISBN)).thenReturn(Optional.empty());
+
+        engine.onAuthorPendingCreated(ISBN);
+        assertThrows(DataAccessResourceFailureException.class, () -> engine.onGenrePendingCreated(ISBN));
+        engine.onAuthorFinalized(ISBN);
+
+        // The cached state changed by the failed save was dropped: the next event reloads the stored one
+        verify(pendingBookRequestRepository, times(2)).findByBookId(ISBN);
+        assertTrue(fresh.isAuthorFinalizedReceived());
+        assertFalse(fresh.isGenrePendingReceived());
+        assertEquals(PendingBookRequest.RequestStatus.PENDING_AUTHOR_CREATION, fresh.getStatus());
+        verifyNoInteractions(bookService);
+    }
+}
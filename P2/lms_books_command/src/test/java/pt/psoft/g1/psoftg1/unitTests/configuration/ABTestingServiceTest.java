@@ -0,0 +1,102 @@
+package pt.psoft.g1.psoftg1.unitTests.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pt.psoft.g1.psoftg1.configuration.ABTestingService;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ABTestingServiceTest {
+
+    @Mock
+    private FeatureFlagConfig featureFlagConfig;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ABTestingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ABTestingService(featureFlagConfig, meterRegistry);
+    }
+
+    @Test
+    void assignmentIsStableAndFollowsTheTrafficSplit() {
+        service.createExperiment("new-search", 30);
+
+        int inB = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String variant = service.assignVariant("new-search", "user-" + i);
+            assertEquals(variant, service.assignVariant("new-search", "user-" + i));
+            if (variant.equals("B")) {
+                inB++;
+            }
+        }
+
+        assertTrue(inB > 2_700 && inB < 3_300, "B got " + inB);
+    }
+
+    @Test
+    void raisingTheSplitOnlyMovesUsersFromAToB() {
+        service.createExperiment("new-search", 20);
+        boolean[] wasB = new boolean[1_000];
+        for (int i = 0; i < wasB.length; i++) {
+            wasB[i] = service.assignVariant("new-search", "user-" + i).equals("B");
+        }
+
+        service.updateTrafficDistribution("new-search", 60);
+
+        for (int i = 0; i < wasB.length; i++) {
+            if (wasB[i]) {
+                assertEquals("B", service.assignVariant("new-search", "user-" + i));
+            }
+        }
+    }
+
+    @Test
+    void resultsAggregateEventsAndCustomMetrics() {
+        service.createExperiment("new-search", 0);
+        for (int i = 0; i < 500; i++) {
+            String user = "user-" + i;
+            if (i % 4 == 0) {
+                service.recordFailure("new-search", user);
+            } else {
+                service.recordSuccess("new-search", user);
+            }
+            service.recordMetric("new-search", user, "latency", i % 100);
+        }
+
+        ABTestingService.ExperimentResults results = service.getExperimentResults("new-search");
+        ABTestingService.ExperimentMetrics variantA = results.getVariantAMetrics();
+
+        assertEquals(1_000, variantA.getTotalEvents());
+        assertEquals(375, variantA.getSuccessEvents());
+        assertEquals(125, variantA.getFailureEvents());
+        assertEquals(49.5, variantA.getAverageMetric("latency"), 1e-9);
+        ABTestingService.MetricSummary latency = variantA.getCustomMetrics().get("latency");
+        assertEquals(500, latency.count());
+        assertTrue(latency.p95() >= 90 && latency.p95() <= 100, "p95 was " + latency.p95());
+        assertEquals(0, results.getVariantBMetrics().getTotalEvents());
+        assertEquals(500, results.getTotalUsers(), 25);
+        assertEquals(375.0, meterRegistry.get("abtest.events")
+                .tags("experiment", "new-search", "variant", "A", "outcome", "success").counter().count());
+    }
+
+    @Test
+    void recreatingAnExperimentResetsItsMeters() {
+        service.createExperiment("new-search", 0);
+        service.recordSuccess("new-search", "user-1");
+
+        service.createExperiment("new-search", 0);
+
+        assertEquals(0, service.getExperimentResults("new-search").getVariantAMetrics().getTotalEvents());
+        assertEquals(0.0, meterRegistry.get("abtest.events")
+                .tags("experiment", "new-search", "variant", "A", "outcome", "success").counter().count());
+    }
+}
@@ -0,0 +1,109 @@
+package pt.psoft.g1.psoftg1.unitTests.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pt.psoft.g1.psoftg1.configuration.ABTestingService;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagConfig;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagInterceptor;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagService;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagSnapshot;
+import pt.psoft.g1.psoftg1.configuration.FeatureFlagSnapshot.Decision;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureFlagSnapshotTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FeatureFlagConfig config;
+    private FeatureFlagService service;
+
+    @BeforeEach
+    void setUp() {
+        config = new FeatureFlagConfig();
+        service = new FeatureFlagService(config, new ABTestingService(config, meterRegistry), meterRegistry);
+        service.refreshSnapshot();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void decisionTableFollowsTogglesAndKillSwitch() {
+        config.getFeatures().setBookUpdate(false);
+        service.refreshSnapshot();
+        FeatureFlagSnapshot snapshot = service.snapshot();
+
+        assertEquals(Decision.FEATURE_DISABLED, snapshot.decide("PATCH", "/api/books/9780134685991"));
+        assertEquals(Decision.ALLOW, snapshot.decide("PUT", "/api/books/9780134685991"));
+        assertEquals(Decision.ALLOW, snapshot.decide("PATCH", "/api/books/9780134685991/photo"));
+        assertEquals(Decision.ALLOW, snapshot.decide("POST", "/api/books/search"));
+
+        config.setMasterKillSwitch(true);
+        service.refreshSnapshot();
+
+        assertEquals(Decision.KILL_SWITCH, service.snapshot().decide("POST", "/api/books/search"));
+        // The snapshot taken before the refresh is unchanged
+        assertEquals(Decision.ALLOW, snapshot.decide("POST", "/api/books/search"));
+    }
+
+    @Test
+    void interceptorRefusesDisabledRoutes() throws Exception {
+        config.getFeatures().setAuthorCreation(false);
+        service.refreshSnapshot();
+        FeatureFlagInterceptor interceptor = new FeatureFlagInterceptor(service);
+
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/authors"), refused, null));
+        assertEquals(503, refused.getStatus());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/authors/1"),
+                new MockHttpServletResponse(), null));
+        assertEquals(1.0, meterRegistry.get("feature.flag.evaluations")
+                .tags("flag", "author-creation", "result", "disabled").counter().count());
+    }
+
+    @Test
+    void flagsAreFoundByEitherNameAndCounted() {
+        assertTrue(service.isFeatureEnabled("book-creation"));
+        assertTrue(service.isFeatureEnabled("bookCreation"));
+        assertFalse(service.isFeatureEnabled("experimental-bulk-import"));
+        assertFalse(service.isFeatureEnabled("no-such-feature"));
+
+        assertEquals(2.0, meterRegistry.get("feature.flag.evaluations")
+                .tags("flag", "book-creation", "result", "enabled").counter().count());
+    }
+
+    @Test
+    void darkLaunchTrafficIsStablePerUser() {
+        config.getReleaseStrategy().put("batch-operations", "DARK_LAUNCH");
+        config.getDarkLaunch().setTrafficPercentage(50);
+        service.refreshSnapshot();
+
+        int allowed = 0;
+        for (int i = 0; i < 1_000; i++) {
+            authenticate("user-" + i);
+            boolean first = service.isFeatureEnabled("batch-operations");
+            assertEquals(first, service.isFeatureEnabled("batch-operations"));
+            if (first) {
+                allowed++;
+            }
+        }
+
+        assertTrue(allowed > 400 && allowed < 600, "allowed " + allowed);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_LIBRARIAN"))));
+    }
+}
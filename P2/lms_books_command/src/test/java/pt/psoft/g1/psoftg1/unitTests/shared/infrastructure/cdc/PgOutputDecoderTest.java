@@ -0,0 +1,95 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.infrastructure.cdc;
+
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.shared.infrastructure.cdc.PgOutputDecoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgOutputDecoderTest {
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+
+    private static void string(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static ByteBuffer relation() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('R');
+        out.writeInt(16384);
+        string(out, "public");
+        string(out, "outbox_events");
+        out.writeByte('d');
+        out.writeShort(3);
+        for (String column : new String[]{"id", "event_type", "error_message"}) {
+            out.writeByte(0);
+            string(out, column);
+            out.writeInt(25);
+            out.writeInt(-1);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer insert() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('I');
+        out.writeInt(16384);
+        out.writeByte('N');
+        out.writeShort(3);
+        for (String value : new String[]{"42", "BOOK_CREATED"}) {
+            byte[] data = value.getBytes(StandardCharsets.UTF_8);
+            out.writeByte('t');
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        out.writeByte('n');
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @Test
+    void decodesInsertUsingPreviouslySentRelation() throws IOException {
+        PgOutputDecoder.Message relation = decoder.decode(relation());
+        assertEquals(PgOutputDecoder.Kind.RELATION, relation.getKind());
+        assertEquals("outbox_events", relation.getTable());
+
+        PgOutputDecoder.Message insert = decoder.decode(insert());
+        assertEquals(PgOutputDecoder.Kind.INSERT, insert.getKind());
+        assertEquals("outbox_events", insert.getTable());
+        assertEquals("42", insert.getValues().get("id"));
+        assertEquals("BOOK_CREATED", insert.getValues().get("event_type"));
+        assertTrue(insert.getValues().containsKey("error_message"));
+        assertNull(insert.getValues().get("error_message"));
+    }
+
+    @Test
+    void decodesCommitEndLsn() {
+        ByteBuffer commit = ByteBuffer.allocate(1 + 1 + 8 + 8 + 8);
+        commit.put((byte) 'C').put((byte) 0).putLong(100L).putLong(123456789L).putLong(0L).flip();
+
+        PgOutputDecoder.Message message = decoder.decode(commit);
+
+        assertEquals(PgOutputDecoder.Kind.COMMIT, message.getKind());
+        assertEquals(123456789L, message.getEndLsn());
+    }
+
+    @Test
+    void insertForUnknownRelationIsRejected() {
+        assertThrows(IllegalStateException.class, () -> decoder.decode(insert()));
+    }
+
+    @Test
+    void unsupportedMessagesAreReportedAsOther() {
+        ByteBuffer truncate = ByteBuffer.wrap(new byte[]{'T', 0, 0, 0, 0});
+
+        assertEquals(PgOutputDecoder.Kind.OTHER, decoder.decode(truncate).getKind());
+    }
+}
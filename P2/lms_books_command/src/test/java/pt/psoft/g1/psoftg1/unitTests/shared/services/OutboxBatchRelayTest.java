@@ -0,0 +1,105 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+import pt.psoft.g1.psoftg1.shared.services.ConfirmedOutboxSender;
+import pt.psoft.g1.psoftg1.shared.services.OutboxBatchRelay;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxBatchRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxBatchRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxBatchRelay(outboxEventRepository, new ConfirmedOutboxSender(rabbitTemplate), transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(relay, "maxRetries", 5);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerTick", 10);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMillis", 1000L);
+    }
+
+    private OutboxEvent event(long id, String aggregateType) {
+        OutboxEvent event = new OutboxEvent(aggregateType, "id-" + id, "BOOK_CREATED", "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    @Test
+    void emptyBatchDoesNotTouchTheBroker() {
+        when(outboxEventRepository.lockNextBatch(eq(5), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(rabbitTemplate);
+        verify(outboxEventRepository, never()).markAsProcessed(anyCollection(), any());
+    }
+
+    @Test
+    void confirmedBatchIsMarkedProcessedWithSingleUpdate() {
+        OutboxEvent book = event(1L, "Book");
+        OutboxEvent author = event(2L, "Author");
+        when(outboxEventRepository.lockNextBatch(eq(5), any(Pageable.class))).thenReturn(List.of(book, author));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(rabbitTemplate).convertAndSend(eq("books.exchange"), eq("BOOK_CREATED"), eq("{}"), any(CorrelationData.class));
+        verify(rabbitTemplate).convertAndSend(eq("authors.exchange"), eq("BOOK_CREATED"), eq("{}"), any(CorrelationData.class));
+        verify(rabbitTemplate, times(2)).convertAndSend(eq("LMS.direct"), eq("BOOK_CREATED"), eq("{}"), any(CorrelationData.class));
+        verify(outboxEventRepository, times(1)).markAsProcessed(eq(List.of(1L, 2L)), any());
+        assertEquals(2.0, meterRegistry.counter("outbox.relay.published").count());
+    }
+
+    @Test
+    void failedPublishIsRetriedLaterInsteadOfMarkedProcessed() {
+        OutboxEvent ok = event(1L, "Book");
+        OutboxEvent broken = event(2L, "Genre");
+        when(outboxEventRepository.lockNextBatch(eq(5), any(Pageable.class))).thenReturn(List.of(ok, broken));
+        lenient().when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        lenient().doThrow(new AmqpException("channel closed")).when(rabbitTemplate)
+                .convertAndSend(eq("genres.exchange"), anyString(), any(Object.class), any(CorrelationData.class));
+
+        relay.relayBatch();
+
+        verify(outboxEventRepository).markAsProcessed(eq(List.of(1L)), any());
+        assertEquals(1, broken.getRetryCount());
+        assertNotNull(broken.getErrorMessage());
+        assertEquals(0, ok.getRetryCount());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.failed").count());
+    }
+}
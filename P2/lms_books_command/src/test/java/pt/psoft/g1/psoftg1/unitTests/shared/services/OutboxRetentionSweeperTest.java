@@ -0,0 +1,103 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.psoft.g1.psoftg1.shared.model.OutboxDeadLetter;
+import pt.psoft.g1.psoftg1.shared.model.OutboxEvent;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxDeadLetterRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.OutboxEventRepository;
+import pt.psoft.g1.psoftg1.shared.services.OutboxRetentionSweeper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRetentionSweeperTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRetentionSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new OutboxRetentionSweeper(outboxEventRepository, deadLetterRepository, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sweeper, "maxRetries", 5);
+        ReflectionTestUtils.setField(sweeper, "retentionDays", 7);
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+        ReflectionTestUtils.setField(sweeper, "maxChunksPerRun", 10);
+    }
+
+    @Test
+    void purgeDeletesInChunksUntilAPartialChunk() {
+        when(outboxEventRepository.findProcessedIdsBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(outboxEventRepository.deleteByIds(anyCollection())).thenReturn(2, 1);
+
+        sweeper.purgeProcessedEvents();
+
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIds(List.of(3L));
+        verify(outboxEventRepository, times(2)).findProcessedIdsBefore(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void purgeIsNoOpWhenNothingExpired() {
+        when(outboxEventRepository.findProcessedIdsBefore(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        sweeper.purgeProcessedEvents();
+
+        verify(outboxEventRepository, never()).deleteByIds(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exhaustedEventsAreMovedToDeadLetterTable() {
+        OutboxEvent event = new OutboxEvent("Book", "9780134685991", "BOOK_CREATED", "{}");
+        ReflectionTestUtils.setField(event, "id", 7L);
+        ReflectionTestUtils.setField(event, "retryCount", 5);
+        event.setErrorMessage("Confirm timeout");
+        when(outboxEventRepository.findExhaustedEvents(eq(5), any(Pageable.class))).thenReturn(List.of(event));
+
+        assertEquals(1, sweeper.deadLetterChunk());
+
+        ArgumentCaptor<List<OutboxDeadLetter>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterRepository).saveAllAndFlush(captor.capture());
+        OutboxDeadLetter deadLetter = captor.getValue().get(0);
+        assertEquals(7L, deadLetter.getOutboxEventId());
+        assertEquals("Confirm timeout", deadLetter.getErrorMessage());
+        assertEquals(5, deadLetter.getRetryCount());
+        verify(outboxEventRepository).deleteByIds(List.of(7L));
+    }
+
+    @Test
+    void chunkAlreadyDeadLetteredByAnotherReplicaIsSkipped() {
+        OutboxEvent event = new OutboxEvent("Book", "9780134685991", "BOOK_CREATED", "{}");
+        ReflectionTestUtils.setField(event, "id", 7L);
+        when(outboxEventRepository.findExhaustedEvents(eq(5), any(Pageable.class))).thenReturn(List.of(event));
+        when(deadLetterRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("uk_outbox_dead_letters_event"));
+
+        assertEquals(0, sweeper.deadLetterChunk());
+
+        verify(outboxEventRepository, never()).deleteByIds(anyCollection());
+    }
+}
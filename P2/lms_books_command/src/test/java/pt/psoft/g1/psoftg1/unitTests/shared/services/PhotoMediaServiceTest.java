@@ -0,0 +1,87 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import pt.psoft.g1.psoftg1.shared.services.FileStorageProperties;
+import pt.psoft.g1.psoftg1.shared.services.FileStorageService;
+import pt.psoft.g1.psoftg1.shared.services.PhotoCache;
+import pt.psoft.g1.psoftg1.shared.services.PhotoMediaService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoMediaServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private PhotoCache photoCache;
+    private PhotoMediaService photoMediaService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageProperties properties = new FileStorageProperties();
+        properties.setUploadDir(uploadDir.toString());
+        properties.setPhotoMaxSize(20000);
+        photoCache = new PhotoCache(100, 60, new SimpleMeterRegistry());
+        photoMediaService = new PhotoMediaService(new FileStorageService(properties), photoCache);
+    }
+
+    @Test
+    void photoIsServedWithValidatorsAndCachedOnFirstRead() throws IOException {
+        Files.write(uploadDir.resolve("cover.png"), new byte[]{1, 2, 3, 4});
+
+        ResponseEntity<Resource> first = photoMediaService.photoResponse("cover.png");
+        ResponseEntity<Resource> second = photoMediaService.photoResponse("cover.png");
+
+        assertEquals(MediaType.IMAGE_PNG, first.getHeaders().getContentType());
+        assertNotNull(first.getHeaders().getETag());
+        assertFalse(first.getHeaders().getETag().startsWith("W/"));
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertTrue(first.getHeaders().getLastModified() > 0);
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, second.getBody().getInputStream().readAllBytes());
+        assertEquals(4, second.getBody().contentLength());
+        assertEquals(0.5, photoCache.hitRatio());
+    }
+
+    @Test
+    void photoTooBigForTheCacheIsStreamedFromDisk() throws IOException {
+        Files.write(uploadDir.resolve("big.jpg"), new byte[80]);
+
+        ResponseEntity<Resource> response = photoMediaService.photoResponse("big.jpg");
+
+        assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertInstanceOf(FileSystemResource.class, response.getBody());
+        assertEquals(0, photoCache.usedBytes());
+    }
+
+    @Test
+    void missingFileGivesEmptyResponse() {
+        ResponseEntity<Resource> response = photoMediaService.photoResponse("missing.png");
+
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyServedAndIgnoresStaleEntries() {
+        photoCache.put("a.png", 1L, ByteBuffer.allocateDirect(40));
+        photoCache.put("b.png", 1L, ByteBuffer.allocateDirect(40));
+        assertNotNull(photoCache.get("a.png", 1L));
+        photoCache.put("c.png", 1L, ByteBuffer.allocateDirect(40));
+
+        assertNull(photoCache.get("b.png", 1L));
+        assertNotNull(photoCache.get("a.png", 1L));
+        assertNull(photoCache.get("a.png", 2L));
+        assertEquals(80, photoCache.usedBytes());
+    }
+}
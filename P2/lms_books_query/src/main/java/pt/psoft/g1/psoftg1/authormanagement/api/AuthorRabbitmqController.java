@@ -1,15 +1,15 @@
 package pt.psoft.g1.psoftg1.authormanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.services.AuthorService;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 import org.springframework.amqp.core.Message;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @Service
@@ -18,15 +18,13 @@ public class AuthorRabbitmqController {
 
     private final AuthorRepository authorRepository;
     private final BookService bookService;
+    private final AuthorService authorService;
 
     @RabbitListener(queues = "#{autoDeleteQueue_Author_Created.name}")
     public void receiveAuthorCreatedMsg(Message msg) {
 
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            AuthorViewAMQP authorViewAMQP = objectMapper.readValue(jsonReceived, AuthorViewAMQP.class);
+            AuthorViewAMQP authorViewAMQP = AmqpCodec.decode(msg.getBody(), AuthorViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Author Created: " + authorViewAMQP.getName() + " (ID: " + authorViewAMQP.getAuthorNumber() + ")");
 
@@ -68,17 +66,14 @@ public class AuthorRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Author_Updated.name}")
     public void receiveAuthorUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            AuthorViewAMQP authorViewAMQP = objectMapper.readValue(jsonReceived, AuthorViewAMQP.class);
+            AuthorViewAMQP authorViewAMQP = AmqpCodec.decode(msg.getBody(), AuthorViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Author Updated: " + authorViewAMQP.getName());
 
-            // Find and update author
-            Optional<Author> existing = authorRepository.findByAuthorNumber(authorViewAMQP.getAuthorNumber());
-            if (existing.isPresent()) {
-                System.out.println(" [QUERY] ✅ Author found and can be updated: " + authorViewAMQP.getName());
+            // Update the author and its copy in every book
+            Optional<Author> updated = authorService.applyAuthorUpdated(authorViewAMQP);
+            if (updated.isPresent()) {
+                System.out.println(" [QUERY] ✅ Author updated in query model: " + authorViewAMQP.getName());
             } else {
                 System.out.println(" [QUERY] ⚠️ Author does not exist in query model. Nothing to update.");
             }
@@ -92,10 +87,7 @@ public class AuthorRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Author_Deleted.name}")
     public void receiveAuthorDeleted(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            AuthorViewAMQP authorViewAMQP = objectMapper.readValue(jsonReceived, AuthorViewAMQP.class);
+            AuthorViewAMQP authorViewAMQP = AmqpCodec.decode(msg.getBody(), AuthorViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Author Deleted: " + authorViewAMQP.getName());
 
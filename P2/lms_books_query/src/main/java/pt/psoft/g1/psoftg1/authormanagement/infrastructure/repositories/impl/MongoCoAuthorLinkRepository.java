@@ -0,0 +1,91 @@
+package pt.psoft.g1.psoftg1.authormanagement.infrastructure.repositories.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.authormanagement.model.CoAuthorLinks;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.CoAuthorLinkRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class MongoCoAuthorLinkRepository implements CoAuthorLinkRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<CoAuthorLinks> findByAuthorNumber(Long authorNumber) {
+        return Optional.ofNullable(mongoTemplate.findById(authorNumber, CoAuthorLinks.class));
+    }
+
+    @Override
+    public boolean seed(Long authorNumber, Map<Long, Set<String>> sharedBooks, Long expectedRevision) {
+        Map<String, List<String>> stored = new HashMap<>();
+        sharedBooks.forEach((coAuthor, isbns) -> stored.put(String.valueOf(coAuthor), new ArrayList<>(isbns)));
+
+        Criteria criteria = Criteria.where("_id").is(authorNumber);
+        criteria = expectedRevision == null
+                ? criteria.and("revision").exists(false)
+                : criteria.and("revision").is(expectedRevision);
+        Update update = new Update()
+                .set("sharedBooks", stored)
+                .set("seeded", true)
+                .inc("revision", 1L)
+                // Counts of the first version of this collection
+                .unset("links");
+        try {
+            // No match with the document present: the upsert's insert hits the _id and fails
+            mongoTemplate.upsert(new Query(criteria), update, CoAuthorLinks.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void applyBookAuthors(String isbn, Collection<Long> previousAuthors, Collection<Long> currentAuthors) {
+        Set<Long> before = new HashSet<>(previousAuthors);
+        Set<Long> after = new HashSet<>(currentAuthors);
+        Set<Long> involved = new HashSet<>(before);
+        involved.addAll(after);
+
+        for (Long author : involved) {
+            Update update = new Update();
+            boolean changed = false;
+            for (Long coAuthor : involved) {
+                if (coAuthor.equals(author)) {
+                    continue;
+                }
+                boolean linked = after.contains(author) && after.contains(coAuthor);
+                boolean wasLinked = before.contains(author) && before.contains(coAuthor);
+                if (linked && !wasLinked) {
+                    update.addToSet("sharedBooks." + coAuthor, isbn);
+                    changed = true;
+                } else if (wasLinked && !linked) {
+                    update.pull("sharedBooks." + coAuthor, isbn);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                // Upsert: a seed counting the books concurrently sees the revision move and recounts
+                mongoTemplate.upsert(byAuthor(author), update.inc("revision", 1L), CoAuthorLinks.class);
+            }
+        }
+    }
+
+    private static Query byAuthor(Long authorNumber) {
+        return new Query(Criteria.where("_id").is(authorNumber));
+    }
+}
@@ -1,7 +1,9 @@
 package pt.psoft.g1.psoftg1.authormanagement.infrastructure.repositories.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -10,9 +12,12 @@ import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Repository
 public interface SpringDataAuthorRepository extends AuthorRepository, AuthorRepoCustom, MongoRepository<Author, String> {
@@ -21,14 +26,24 @@ public interface SpringDataAuthorRepository extends AuthorRepository, AuthorRepo
         return ((AuthorRepoCustom) this).findByAuthorNumberCustom(authorNumber);
     }
 
+    default Optional<Author> findAny() {
+        return ((AuthorRepoCustom) this).findAnyCustom();
+    }
+
     default List<Author> findCoAuthorsByAuthorNumber(Long authorNumber) {
         return ((AuthorRepoCustom) this).findCoAuthorsByAuthorNumberCustom(authorNumber);
     }
+
+    default Map<Long, Set<String>> findSharedBooksByAuthorNumber(Long authorNumber) {
+        return ((AuthorRepoCustom) this).findSharedBooksByAuthorNumberCustom(authorNumber);
+    }
 }
 
 interface AuthorRepoCustom {
     Optional<Author> findByAuthorNumberCustom(Long authorNumber);
+    Optional<Author> findAnyCustom();
     List<Author> findCoAuthorsByAuthorNumberCustom(Long authorNumber);
+    Map<Long, Set<String>> findSharedBooksByAuthorNumberCustom(Long authorNumber);
 }
 
 @RequiredArgsConstructor
@@ -42,19 +57,37 @@ class AuthorRepoCustomImpl implements AuthorRepoCustom {
         return Optional.ofNullable(mongoTemplate.findOne(query, Author.class));
     }
 
+    @Override
+    public Optional<Author> findAnyCustom() {
+        return Optional.ofNullable(mongoTemplate.findOne(new Query(), Author.class));
+    }
+
     @Override
     public List<Author> findCoAuthorsByAuthorNumberCustom(Long authorNumber) {
-        // First find all books by this author
-        Query bookQuery = new Query();
-        bookQuery.addCriteria(Criteria.where("authors.$id").exists(true));
-        List<Book> books = mongoTemplate.find(bookQuery, Book.class);
-
-        // Extract all co-authors from these books (excluding the original author)
-        return books.stream()
-            .filter(book -> book.getAuthors() != null)
-            .flatMap(book -> book.getAuthors().stream())
-            .filter(author -> author.getAuthorNumber() != authorNumber)
-            .distinct()
-            .collect(Collectors.toList());
+        Map<Long, Set<String>> coAuthors = findSharedBooksByAuthorNumberCustom(authorNumber);
+        if (coAuthors.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("authorNumber").in(coAuthors.keySet()));
+        return mongoTemplate.find(query, Author.class);
+    }
+
+    /**
+     * Runs on the server, over the book_author_number multikey index: only the author's books are read
+     * and only the co-author numbers with the ISBNs they share come back.
+     */
+    @Override
+    public Map<Long, Set<String>> findSharedBooksByAuthorNumberCustom(Long authorNumber) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("authors.authorNumber").is(authorNumber)),
+                Aggregation.unwind("authors"),
+                Aggregation.match(Criteria.where("authors.authorNumber").ne(authorNumber)),
+                Aggregation.group("authors.authorNumber").addToSet("isbn.isbn").as("books"));
+
+        Map<Long, Set<String>> coAuthors = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Book.class, Document.class)) {
+            coAuthors.put(((Number) row.get("_id")).longValue(), new HashSet<>(row.getList("books", String.class)));
+        }
+        return coAuthors;
     }
 }
@@ -0,0 +1,60 @@
+package pt.psoft.g1.psoftg1.authormanagement.model;
+
+import lombok.Getter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materialized co-author adjacency of one author: co-author number -> ISBNs of the shared books.
+ * Keys are strings because Mongo document keys must be.
+ *
+ * Book events add and remove ISBNs (idempotent) and bump the revision, creating the document when
+ * needed. Only a seeded document, built from the books with no book event in between, is complete.
+ */
+@Document(collection = "co_author_links")
+public class CoAuthorLinks {
+    @Id
+    @Getter
+    private Long authorNumber;
+
+    @Getter
+    private Map<String, List<String>> sharedBooks = new HashMap<>();
+
+    @Getter
+    private boolean seeded;
+
+    /** Bumped by every write; a seed only lands on the revision its count started from. */
+    @Getter
+    private Long revision;
+
+    public CoAuthorLinks(Long authorNumber, Map<String, List<String>> sharedBooks, boolean seeded, Long revision) {
+        this.authorNumber = authorNumber;
+        this.sharedBooks = sharedBooks;
+        this.seeded = seeded;
+        this.revision = revision;
+    }
+
+    protected CoAuthorLinks() {
+        // for ORM only
+    }
+
+    /**
+     * Co-author number -> number of shared books.
+     */
+    public Map<Long, Integer> sharedBookCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (sharedBooks != null) {
+            sharedBooks.forEach((coAuthor, isbns) -> {
+                // A co-author's list empties when the last shared book loses one of the two authors
+                if (isbns != null && !isbns.isEmpty()) {
+                    counts.put(Long.valueOf(coAuthor), isbns.size());
+                }
+            });
+        }
+        return counts;
+    }
+}
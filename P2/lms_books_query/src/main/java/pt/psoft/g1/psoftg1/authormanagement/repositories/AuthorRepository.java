@@ -5,8 +5,11 @@ import org.springframework.data.domain.Pageable;
 import pt.psoft.g1.psoftg1.authormanagement.api.AuthorLendingView;
 import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface AuthorRepository {
 
@@ -20,8 +23,17 @@ public interface AuthorRepository {
 
     Iterable<Author> findAll();
 
+    Optional<Author> findAny();
+
     void delete(Author author);
 
     List<Author> findCoAuthorsByAuthorNumber(Long authorNumber);
 
+    /**
+     * Co-author number -> ISBNs of the books shared with the author.
+     */
+    Map<Long, Set<String>> findSharedBooksByAuthorNumber(Long authorNumber);
+
+    List<Author> findByAuthorNumberIn(Collection<Long> authorNumbers);
+
 }
@@ -0,0 +1,29 @@
+package pt.psoft.g1.psoftg1.authormanagement.repositories;
+
+import pt.psoft.g1.psoftg1.authormanagement.model.CoAuthorLinks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface CoAuthorLinkRepository {
+
+    /**
+     * The stored adjacency of the author, seeded or only touched by book events so far.
+     */
+    Optional<CoAuthorLinks> findByAuthorNumber(Long authorNumber);
+
+    /**
+     * Stores an adjacency built from the books (co-author number -> shared ISBNs), unless a book event
+     * changed the author's adjacency after expectedRevision was read (null: no adjacency was stored).
+     * Returns whether it was stored.
+     */
+    boolean seed(Long authorNumber, Map<Long, Set<String>> sharedBooks, Long expectedRevision);
+
+    /**
+     * Applies the change of a book's author list to the adjacencies of its authors; a deleted book
+     * has no current authors. Adjacencies that do not exist yet are created unseeded.
+     */
+    void applyBookAuthors(String isbn, Collection<Long> previousAuthors, Collection<Long> currentAuthors);
+}
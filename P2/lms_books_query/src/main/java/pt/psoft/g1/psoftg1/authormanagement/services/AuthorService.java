@@ -1,6 +1,7 @@
 package pt.psoft.g1.psoftg1.authormanagement.services;
 
 import pt.psoft.g1.psoftg1.authormanagement.api.AuthorLendingView;
+import pt.psoft.g1.psoftg1.authormanagement.api.AuthorViewAMQP;
 import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 
@@ -19,6 +20,13 @@ public interface AuthorService {
 
     Author partialUpdate(Long authorNumber, UpdateAuthorRequest resource, long desiredVersion);
 
+    /**
+     * Applies an author update from the command side and refreshes the author's copy in its books.
+     *
+     * @return the updated author, empty when the author is not in the query model
+     */
+    Optional<Author> applyAuthorUpdated(AuthorViewAMQP authorViewAMQP);
+
     List<Book> findBooksByAuthorNumber(Long authorNumber);
 
     List<Author> findCoAuthorsByAuthorNumber(Long authorNumber);
@@ -6,21 +6,29 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import pt.psoft.g1.psoftg1.authormanagement.api.AuthorLendingView;
+import pt.psoft.g1.psoftg1.authormanagement.api.AuthorViewAMQP;
 import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.authormanagement.model.CoAuthorLinks;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.CoAuthorLinkRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AuthorServiceImpl implements AuthorService {
+    private static final int CO_AUTHOR_SEED_ATTEMPTS = 3;
+
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
+    private final CoAuthorLinkRepository coAuthorLinkRepository;
     private final AuthorMapper mapper;
     private final PhotoRepository photoRepository;
 
@@ -88,7 +96,36 @@ public class AuthorServiceImpl implements AuthorService {
         // in the meantime some other user might have changed this object on the
         // database, so concurrency control will still be applied when we try to save
         // this updated object
-        return authorRepository.save(author);
+        final Author saved = authorRepository.save(author);
+
+        // books embed a copy of their authors' names
+        if (request.getName() != null) {
+            bookRepository.renameAuthor(authorNumber, saved.getName());
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Author> applyAuthorUpdated(final AuthorViewAMQP authorViewAMQP) {
+        Optional<Author> existing = authorRepository.findByAuthorNumber(authorViewAMQP.getAuthorNumber());
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Author author = existing.get();
+        boolean renamed = authorViewAMQP.getName() != null && !authorViewAMQP.getName().equals(author.getName());
+        if (renamed) {
+            author.setName(authorViewAMQP.getName());
+        }
+        if (authorViewAMQP.getBio() != null) {
+            author.setBio(authorViewAMQP.getBio());
+        }
+        Author saved = authorRepository.save(author);
+
+        if (renamed) {
+            long books = bookRepository.renameAuthor(saved.getAuthorNumber(), saved.getName());
+            System.out.println(" [QUERY] ✅ Author name updated in " + books + " books");
+        }
+        return Optional.of(saved);
     }
 
     @Override
@@ -98,7 +135,30 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     public List<Author> findCoAuthorsByAuthorNumber(Long authorNumber) {
-        return authorRepository.findCoAuthorsByAuthorNumber(authorNumber);
+        Set<Long> coAuthors = findCoAuthorNumbers(authorNumber);
+        if (coAuthors.isEmpty()) {
+            return List.of();
+        }
+        return authorRepository.findByAuthorNumberIn(coAuthors);
+    }
+
+    /**
+     * Reads the stored adjacency or seeds it from the books. A seed is dropped when a book event touched
+     * the author while the books were read (that book may be missing from the read), so it is redone;
+     * an author that keeps changing gets the fresh read without storing it.
+     */
+    private Set<Long> findCoAuthorNumbers(Long authorNumber) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<CoAuthorLinks> stored = coAuthorLinkRepository.findByAuthorNumber(authorNumber);
+            if (stored.isPresent() && stored.get().isSeeded()) {
+                return stored.get().sharedBookCounts().keySet();
+            }
+            Map<Long, Set<String>> sharedBooks = authorRepository.findSharedBooksByAuthorNumber(authorNumber);
+            Long revision = stored.map(CoAuthorLinks::getRevision).orElse(null);
+            if (coAuthorLinkRepository.seed(authorNumber, sharedBooks, revision) || attempt == CO_AUTHOR_SEED_ATTEMPTS) {
+                return sharedBooks.keySet();
+            }
+        }
     }
 
     @Override
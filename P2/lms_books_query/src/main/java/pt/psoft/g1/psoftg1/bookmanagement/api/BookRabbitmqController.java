@@ -1,13 +1,11 @@
 package pt.psoft.g1.psoftg1.bookmanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.core.Message;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Service
 @RequiredArgsConstructor
@@ -20,9 +18,7 @@ public class BookRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Book_Created.name}")
     public void receiveBookCreatedMsg(Message msg) {
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Book Created: " + bookViewAMQP.getIsbn());
 
@@ -41,9 +37,7 @@ public class BookRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Book_Updated.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Book Updated: " + bookViewAMQP.getIsbn());
 
@@ -62,9 +56,7 @@ public class BookRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Book_Finalized.name}")
     public void receiveBookFinalized(Message msg) {
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            BookFinalizedEvent event = objectMapper.readValue(jsonReceived, BookFinalizedEvent.class);
+            BookFinalizedEvent event = AmqpCodec.decode(msg.getBody(), BookFinalizedEvent.class);
 
             System.out.println(" [QUERY] 📥 Received Book Finalized: " + event.getBookId());
 
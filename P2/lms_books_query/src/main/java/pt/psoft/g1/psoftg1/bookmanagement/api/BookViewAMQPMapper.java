@@ -5,8 +5,8 @@ import org.mapstruct.factory.Mappers;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.BookAuthor;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookCountDTO;
 import pt.psoft.g1.psoftg1.shared.api.MapperInterface;
 
@@ -29,7 +29,7 @@ public abstract class BookViewAMQPMapper extends MapperInterface {
 
     public abstract List<BookViewAMQP> toBookViewAMQP(List<Book> bookList);
 
-    protected List<Long> mapAuthors(List<Author> authors) {
-        return authors.stream().map(Author::getAuthorNumber).collect(Collectors.toList());
+    protected List<Long> mapAuthors(List<BookAuthor> authors) {
+        return authors.stream().map(BookAuthor::getAuthorNumber).collect(Collectors.toList());
     }
 }
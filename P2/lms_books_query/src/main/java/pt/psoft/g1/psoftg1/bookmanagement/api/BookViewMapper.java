@@ -4,8 +4,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.BookAuthor;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookCountDTO;
 import pt.psoft.g1.psoftg1.shared.api.MapperInterface;
 
@@ -26,8 +26,8 @@ public abstract class BookViewMapper extends MapperInterface {
 
     public abstract List<BookView> toBookView(List<Book> bookList);
 
-    protected List<String> mapAuthors(List<Author> authors) {
-        return authors.stream().map(Author::getName).collect(Collectors.toList());
+    protected List<String> mapAuthors(List<BookAuthor> authors) {
+        return authors.stream().map(BookAuthor::getName).collect(Collectors.toList());
     }
 
     @Named(value = "mapBookLinks")
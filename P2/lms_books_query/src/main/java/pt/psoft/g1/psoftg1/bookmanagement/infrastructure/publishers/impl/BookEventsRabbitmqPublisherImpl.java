@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.bookmanagement.infrastructure.publishers.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -12,6 +11,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
 
 import pt.psoft.g1.psoftg1.shared.model.BookEvents;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Service
 @RequiredArgsConstructor
@@ -49,8 +49,7 @@ public class BookEventsRabbitmqPublisherImpl implements BookEventsPublisher {
             BookViewAMQP bookViewAMQP = bookViewAMQPMapper.toBookViewAMQP(book);
             bookViewAMQP.setVersion(currentVersion);
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            String bookViewAMQPinString = objectMapper.writeValueAsString(bookViewAMQP);
+            String bookViewAMQPinString = AmqpCodec.encode(bookViewAMQP);
 
             this.template.convertAndSend(direct.getName(), bookEventType, bookViewAMQPinString);
 
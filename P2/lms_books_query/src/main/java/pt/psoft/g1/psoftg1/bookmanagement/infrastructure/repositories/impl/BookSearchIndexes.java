@@ -0,0 +1,71 @@
+package pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+
+import java.util.stream.Stream;
+
+/**
+ * Creates the indexes behind book search and fills the search keys of books stored before they existed.
+ * Runs after BookSnapshotMigration, so every book is already in its embedded shape.
+ *
+ * Each key index ends with titleKey and _id, the search sort order, so a page is read straight from the index.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndexes {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(Book.class);
+        indexes.ensureIndex(new Index().on("titleKey", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                .named("book_title_key"));
+        indexes.ensureIndex(new Index().on("genreKey", Sort.Direction.ASC).on("titleKey", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC).named("book_genre_key"));
+        indexes.ensureIndex(new Index().on("authors.nameKey", Sort.Direction.ASC).on("titleKey", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC).named("book_author_name_key"));
+        // Multikey; drives the co-author aggregation and the author rename fan-out
+        indexes.ensureIndex(new Index().on("authors.authorNumber", Sort.Direction.ASC).named("book_author_number"));
+        indexes.ensureIndex(new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .onField("title.title", 2F)
+                .onField("description.description")
+                .named("book_text")
+                .build());
+
+        backfillSearchKeys();
+    }
+
+    private void backfillSearchKeys() {
+        Query missing = new Query(Criteria.where("titleKey").exists(false));
+        int updated = 0;
+        try (Stream<Book> books = mongoTemplate.stream(missing, Book.class)) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                book.refreshSearchKeys();
+                // Only the keys: leaves @Version untouched so concurrent writers are not rejected
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(book.getId())),
+                        new Update().set("titleKey", book.getTitleKey())
+                                .set("genreKey", book.getGenreKey()),
+                        Book.class);
+                updated++;
+            }
+        }
+        if (updated > 0) {
+            System.out.println(" [x] Search keys filled for " + updated + " books");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl;
+
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.BookAuthor;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * One-shot rewrite of books stored with genre and authors as DBRefs into the embedded shape
+ * (BookGenre / BookAuthor), in chunks: the references of a chunk are resolved with one query per
+ * collection and the chunk is written with one bulk update. Books already embedded are not matched,
+ * so later startups do nothing.
+ *
+ * Runs in the first lifecycle phase, before the listener containers and the web server start, so no
+ * event or request meets a book in the old shape.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSnapshotMigration implements SmartLifecycle {
+
+    private static final int CHUNK_SIZE = 500;
+
+    // Indexes on fields the embedded shape no longer has
+    private static final List<String> LEGACY_INDEXES = List.of("book_author_keys", "book_author_numbers");
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    public void migrate() {
+        dropLegacyIndexes();
+
+        Query legacy = new Query(new Criteria().orOperator(
+                Criteria.where("genre.$id").exists(true),
+                Criteria.where("authors.$id").exists(true)));
+        legacy.fields().include("_id", "genre", "authors");
+
+        int migrated = 0;
+        List<Document> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Document> books = mongoTemplate.stream(legacy, Document.class, mongoTemplate.getCollectionName(Book.class))) {
+            for (Document book : (Iterable<Document>) books::iterator) {
+                chunk.add(book);
+                if (chunk.size() == CHUNK_SIZE) {
+                    migrated += migrateChunk(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            migrated += migrateChunk(chunk);
+        }
+        if (migrated > 0) {
+            System.out.println(" [x] Embedded genre and authors into " + migrated + " books");
+        }
+    }
+
+    private void dropLegacyIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(Book.class);
+        for (IndexInfo index : indexes.getIndexInfo()) {
+            if (LEGACY_INDEXES.contains(index.getName())) {
+                indexes.dropIndex(index.getName());
+            }
+        }
+    }
+
+    private int migrateChunk(List<Document> books) {
+        Set<Object> genreIds = new HashSet<>();
+        Set<Object> authorIds = new HashSet<>();
+        for (Document book : books) {
+            Object genreId = refId(book.get("genre"));
+            if (genreId != null) {
+                genreIds.add(genreId);
+            }
+            for (Object author : book.getList("authors", Object.class, List.of())) {
+                Object authorId = refId(author);
+                if (authorId != null) {
+                    authorIds.add(authorId);
+                }
+            }
+        }
+        Map<Object, Document> genres = findByIds("genres", genreIds);
+        Map<Object, Document> authors = findByIds("authors", authorIds);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, mongoTemplate.getCollectionName(Book.class));
+        for (Document book : books) {
+            Update update = new Update().unset("authorKeys").unset("authorNumbers");
+
+            // A genre that is no longer a reference is already embedded and kept as is
+            Object genreId = refId(book.get("genre"));
+            if (genreId != null && genres.containsKey(genreId)) {
+                String genre = genres.get(genreId).getString("genre");
+                update.set("genre", new Document("genre", genre))
+                        .set("genreKey", StringUtilsCustom.foldForSearch(genre));
+            } else if (genreId != null) {
+                System.out.println(" [x] ⚠️ Book " + book.get("_id") + " references a missing genre, left empty");
+                update.unset("genre");
+            }
+
+            List<Document> embedded = new ArrayList<>();
+            for (Object authorRef : book.getList("authors", Object.class, List.of())) {
+                Object authorId = refId(authorRef);
+                if (authorId == null) {
+                    embedded.add((Document) authorRef);
+                    continue;
+                }
+                Document author = authors.get(authorId);
+                if (author == null) {
+                    System.out.println(" [x] ⚠️ Book " + book.get("_id") + " references a missing author, dropped");
+                    continue;
+                }
+                Document name = author.get("name", Document.class);
+                BookAuthor snapshot = new BookAuthor(((Number) author.get("authorNumber")).longValue(),
+                        name != null ? name.getString("name") : null);
+                embedded.add(new Document("authorNumber", snapshot.getAuthorNumber())
+                        .append("name", snapshot.getName())
+                        .append("nameKey", snapshot.getNameKey()));
+            }
+            update.set("authors", embedded);
+
+            bulk.updateOne(new Query(Criteria.where("_id").is(book.get("_id"))), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private Map<Object, Document> findByIds(String collection, Set<Object> ids) {
+        Map<Object, Document> found = new HashMap<>();
+        if (ids.isEmpty()) {
+            return found;
+        }
+        for (Document document : mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), Document.class, collection)) {
+            found.put(document.get("_id"), document);
+        }
+        return found;
+    }
+
+    /**
+     * Id a stored reference points to, or null when the value is not a reference.
+     */
+    private static Object refId(Object value) {
+        if (value instanceof DBRef ref) {
+            return ref.getId();
+        }
+        if (value instanceof Document document && document.containsKey("$id")) {
+            return document.get("$id");
+        }
+        return null;
+    }
+}
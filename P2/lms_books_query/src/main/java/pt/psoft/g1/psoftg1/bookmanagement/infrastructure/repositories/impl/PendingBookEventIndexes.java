@@ -0,0 +1,54 @@
+package pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.bookmanagement.model.PendingBookEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Creates the indexes of the pending book events: one per dependency key, so a GenreCreated or AuthorCreated
+ * event reads only the events waiting for it, and a TTL index that drops events whose genre or author never
+ * arrives. Events stored before createdAt existed are stamped now, so they expire too.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingBookEventIndexes {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${pending-books.expire-after:7d}")
+    private Duration expireAfter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(PendingBookEvent.class);
+        indexes.ensureIndex(new Index().on("bookId", Sort.Direction.ASC).unique().named("pending_book_id"));
+        indexes.ensureIndex(new Index().on("genreName", Sort.Direction.ASC).named("pending_book_genre"));
+        indexes.ensureIndex(new Index().on("authorId", Sort.Direction.ASC).named("pending_book_author"));
+        try {
+            indexes.ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(expireAfter)
+                    .named("pending_book_expiry"));
+        } catch (Exception e) {
+            // An existing TTL index keeps its expiry until it is dropped
+            System.out.println(" [x] Could not create the pending book expiry index: " + e.getMessage());
+        }
+
+        long stamped = mongoTemplate.updateMulti(new Query(Criteria.where("createdAt").exists(false)),
+                new Update().set("createdAt", Instant.now()), PendingBookEvent.class).getModifiedCount();
+        if (stamped > 0) {
+            System.out.println(" [x] Expiry set for " + stamped + " pending book events");
+        }
+    }
+}
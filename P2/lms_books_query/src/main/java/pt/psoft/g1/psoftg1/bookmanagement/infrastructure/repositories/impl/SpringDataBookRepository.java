@@ -1,20 +1,33 @@
 package pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl;
 
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.BookAuthor;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.services.SearchBooksQuery;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface SpringDataBookRepository extends BookRepository, BookRepoCustom, MongoRepository<Book, String> {
@@ -38,6 +51,14 @@ public interface SpringDataBookRepository extends BookRepository, BookRepoCustom
     default List<Book> findBooksByAuthorNumber(Long authorNumber) {
         return ((BookRepoCustom) this).findBooksByAuthorNumberCustom(authorNumber);
     }
+
+    default Set<String> findExistingIsbns(Collection<String> isbns) {
+        return ((BookRepoCustom) this).findExistingIsbnsCustom(isbns);
+    }
+
+    default List<String> insertAll(List<Book> books) {
+        return ((BookRepoCustom) this).insertAllCustom(books);
+    }
 }
 
 interface BookRepoCustom {
@@ -47,12 +68,26 @@ interface BookRepoCustom {
     List<Book> findByTitleCustom(String title);
     List<Book> findByAuthorNameCustom(String authorName);
     List<Book> findBooksByAuthorNumberCustom(Long authorNumber);
+    long renameAuthor(long authorNumber, String name);
+    Set<String> findExistingIsbnsCustom(Collection<String> isbns);
+    List<String> insertAllCustom(List<Book> books);
 }
 
 @RequiredArgsConstructor
 class BookRepoCustomImpl implements BookRepoCustom {
+    private static final int DUPLICATE_KEY = 11000;
+
     private final MongoTemplate mongoTemplate;
 
+    /**
+     * Anchored prefix match on a folded search key, as a range so the index on the key is used.
+     * A trailing '%' or '*' is accepted as an explicit prefix marker.
+     */
+    static Criteria prefix(String searchKeyField, String value) {
+        String key = StringUtilsCustom.foldForSearch(value.replaceAll("[%*]+$", ""));
+        return Criteria.where(searchKeyField).gte(key).lt(key + Character.MAX_VALUE);
+    }
+
     @Override
     public Optional<Book> findByIsbnCustom(String isbn) {
         Query query = new Query();
@@ -65,18 +100,34 @@ class BookRepoCustomImpl implements BookRepoCustom {
         Query query = new Query();
 
         if (StringUtils.hasText(searchQuery.getTitle())) {
-            query.addCriteria(Criteria.where("title.title").regex("^" + searchQuery.getTitle(), "i"));
+            query.addCriteria(prefix("titleKey", searchQuery.getTitle()));
         }
 
         if (StringUtils.hasText(searchQuery.getGenre())) {
-            query.addCriteria(Criteria.where("genre.genre").regex("^" + searchQuery.getGenre(), "i"));
+            query.addCriteria(prefix("genreKey", searchQuery.getGenre()));
         }
 
         if (StringUtils.hasText(searchQuery.getAuthorName())) {
-            query.addCriteria(Criteria.where("authors.name.name").regex("^" + searchQuery.getAuthorName(), "i"));
+            query.addCriteria(prefix("authors.nameKey", searchQuery.getAuthorName()));
         }
 
-        query.skip((long) (page.getNumber() - 1) * page.getLimit());
+        if (StringUtils.hasText(searchQuery.getText())) {
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(searchQuery.getText()));
+        }
+
+        // Stable order so a page can continue from the last book of the previous one
+        query.with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("id")));
+
+        Optional<Book> last = StringUtils.hasText(searchQuery.getAfterIsbn())
+                ? findByIsbnCustom(searchQuery.getAfterIsbn())
+                : Optional.empty();
+        if (last.isPresent()) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("titleKey").gt(last.get().getTitleKey()),
+                    Criteria.where("titleKey").is(last.get().getTitleKey()).and("id").gt(last.get().getId())));
+        } else {
+            query.skip((long) (page.getNumber() - 1) * page.getLimit());
+        }
         query.limit(page.getLimit());
 
         return mongoTemplate.find(query, Book.class);
@@ -85,21 +136,21 @@ class BookRepoCustomImpl implements BookRepoCustom {
     @Override
     public List<Book> findByGenreCustom(String genre) {
         Query query = new Query();
-        query.addCriteria(Criteria.where("genre.genre").regex(genre, "i"));
+        query.addCriteria(prefix("genreKey", genre));
         return mongoTemplate.find(query, Book.class);
     }
 
     @Override
     public List<Book> findByTitleCustom(String title) {
         Query query = new Query();
-        query.addCriteria(Criteria.where("title.title").regex(title, "i"));
+        query.addCriteria(prefix("titleKey", title));
         return mongoTemplate.find(query, Book.class);
     }
 
     @Override
     public List<Book> findByAuthorNameCustom(String authorName) {
         Query query = new Query();
-        query.addCriteria(Criteria.where("authors.name.name").regex(authorName, "i"));
+        query.addCriteria(prefix("authors.nameKey", authorName));
         return mongoTemplate.find(query, Book.class);
     }
 
@@ -109,4 +160,68 @@ class BookRepoCustomImpl implements BookRepoCustom {
         query.addCriteria(Criteria.where("authors.authorNumber").is(authorNumber));
         return mongoTemplate.find(query, Book.class);
     }
+
+    /**
+     * One multi-document update: every book of the author gets the new name (and name key) on its copy
+     * of that author, matched through the book_author_number index.
+     */
+    @Override
+    public long renameAuthor(long authorNumber, String name) {
+        BookAuthor renamed = new BookAuthor(authorNumber, name);
+        Update update = new Update()
+                .set("authors.$[author].name", renamed.getName())
+                .set("authors.$[author].nameKey", renamed.getNameKey())
+                .filterArray(Criteria.where("author.authorNumber").is(authorNumber));
+        return mongoTemplate.updateMulti(new Query(Criteria.where("authors.authorNumber").is(authorNumber)),
+                update, Book.class).getModifiedCount();
+    }
+
+    @Override
+    public Set<String> findExistingIsbnsCustom(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("isbn.isbn").in(isbns));
+        return new HashSet<>(mongoTemplate.findDistinct(query, "isbn.isbn", Book.class, String.class));
+    }
+
+    /**
+     * Books are written as documents with version 0, as MongoTemplate.insert would, since bulk inserts do not
+     * initialize @Version and a later save would otherwise insert the book again. Duplicate keys count as stored.
+     */
+    @Override
+    public List<String> insertAllCustom(List<Book> books) {
+        List<String> isbns = new ArrayList<>(books.size());
+        if (books.isEmpty()) {
+            return isbns;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Book.class);
+        for (Book book : books) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(book, document);
+            document.putIfAbsent("version", 0L);
+            bulk.insert(document);
+            isbns.add(book.getIsbn());
+        }
+
+        try {
+            bulk.execute();
+            return isbns;
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    failed.add(error.getIndex());
+                }
+            }
+            List<String> stored = new ArrayList<>(isbns.size() - failed.size());
+            for (int index = 0; index < isbns.size(); index++) {
+                if (!failed.contains(index)) {
+                    stored.add(isbns.get(index));
+                }
+            }
+            return stored;
+        }
+    }
 }
@@ -6,11 +6,11 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import pt.psoft.g1.psoftg1.authormanagement.model.Author;
 import pt.psoft.g1.psoftg1.exceptions.ConflictException;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 import pt.psoft.g1.psoftg1.shared.model.EntityWithPhoto;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,17 +33,26 @@ public class Book extends EntityWithPhoto {
     @NotNull
     private Title title;
 
+    // Embedded copies instead of references: a book is read and searched without touching other collections
     @Getter
-    @DBRef
     @NotNull
-    private Genre genre;
+    private BookGenre genre;
 
     @Getter
-    @DBRef
-    private List<Author> authors = new ArrayList<>();
+    private List<BookAuthor> authors = new ArrayList<>();
 
     private Description description;
 
+    /*
+     * Folded copies (see StringUtilsCustom.foldForSearch) of the title and genre; author names are folded
+     * on each BookAuthor. The keys are indexed at startup (BookSearchIndexes) and queried by prefix range.
+     */
+    @Getter
+    private String titleKey;
+
+    @Getter
+    private String genreKey;
+
     private void setTitle(String title) {
         this.title = new Title(title);
     }
@@ -57,11 +66,15 @@ public class Book extends EntityWithPhoto {
     }
 
     private void setGenre(Genre genre) {
-        this.genre = genre;
+        this.genre = BookGenre.of(genre);
     }
 
     private void setAuthors(List<Author> authors) {
-        this.authors = authors;
+        List<BookAuthor> snapshots = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            snapshots.add(BookAuthor.of(author));
+        }
+        this.authors = snapshots;
     }
 
     public String getDescription() {
@@ -83,6 +96,7 @@ public class Book extends EntityWithPhoto {
 
         setAuthors(authors);
         setPhotoInternal(photoURI);
+        refreshSearchKeys();
     }
 
     protected Book() {
@@ -126,6 +140,23 @@ public class Book extends EntityWithPhoto {
         if (photoURI != null)
             setPhotoInternal(photoURI);
 
+        refreshSearchKeys();
+    }
+
+    /**
+     * Recomputes the title and genre search keys.
+     */
+    public void refreshSearchKeys() {
+        this.titleKey = title != null ? StringUtilsCustom.foldForSearch(title.toString()) : null;
+        this.genreKey = genre != null ? StringUtilsCustom.foldForSearch(genre.getGenre()) : null;
+    }
+
+    public List<Long> getAuthorNumbers() {
+        List<Long> numbers = new ArrayList<>(authors.size());
+        for (BookAuthor author : authors) {
+            numbers.add(author.getAuthorNumber());
+        }
+        return numbers;
     }
 
     public String getIsbn() {
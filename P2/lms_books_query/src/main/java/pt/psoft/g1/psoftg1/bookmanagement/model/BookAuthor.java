@@ -0,0 +1,38 @@
+package pt.psoft.g1.psoftg1.bookmanagement.model;
+
+import lombok.Getter;
+import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
+
+/**
+ * Copy of an author embedded in each of its books: what book reads and searches need, without a
+ * lookup into the authors collection. Kept current by the author rename fan-out (BookRepository.renameAuthor).
+ */
+@Getter
+public class BookAuthor {
+
+    private long authorNumber;
+
+    private String name;
+
+    // Folded name (StringUtilsCustom.foldForSearch), searched by prefix
+    private String nameKey;
+
+    protected BookAuthor() {
+        // for ORM only
+    }
+
+    public BookAuthor(long authorNumber, String name) {
+        this.authorNumber = authorNumber;
+        this.name = name;
+        this.nameKey = name != null ? StringUtilsCustom.foldForSearch(name) : null;
+    }
+
+    public static BookAuthor of(Author author) {
+        return new BookAuthor(author.getAuthorNumber(), author.getName());
+    }
+
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,29 @@
+package pt.psoft.g1.psoftg1.bookmanagement.model;
+
+import lombok.Getter;
+import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
+
+/**
+ * Copy of the genre embedded in each book. A genre is identified by its name, so the copy never goes stale.
+ */
+@Getter
+public class BookGenre {
+
+    private String genre;
+
+    protected BookGenre() {
+        // for ORM only
+    }
+
+    public BookGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public static BookGenre of(Genre genre) {
+        return new BookGenre(genre.getGenre());
+    }
+
+    public String toString() {
+        return genre;
+    }
+}
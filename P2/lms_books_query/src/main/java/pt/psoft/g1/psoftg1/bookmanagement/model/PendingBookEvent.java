@@ -7,9 +7,14 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 /**
  * Represents a finalized book event that is waiting for its genre to be created
  * This handles out-of-order event processing (BookFinalized arrives before GenreCreated)
+ *
+ * Events are looked up by the dependency they wait for (genreName, authorId) and expire after
+ * pending-books.expire-after; the indexes are created by PendingBookEventIndexes.
  */
 @Document(collection = "pending_book_events")
 @Getter
@@ -23,8 +28,10 @@ public class PendingBookEvent {
     @Indexed(unique = true)
     private String bookId;
 
+    @Indexed
     private String genreName;
 
+    @Indexed
     private Long authorId;
 
     private String authorName;
@@ -33,6 +40,8 @@ public class PendingBookEvent {
 
     private String description;
 
+    private Instant createdAt;
+
     public PendingBookEvent(String bookId, String genreName, Long authorId, String authorName, String title, String description) {
         this.bookId = bookId;
         this.genreName = genreName;
@@ -40,5 +49,6 @@ public class PendingBookEvent {
         this.authorName = authorName;
         this.title = title;
         this.description = description;
+        this.createdAt = Instant.now();
     }
 }
@@ -8,8 +8,10 @@ import pt.psoft.g1.psoftg1.bookmanagement.services.BookCountDTO;
 import pt.psoft.g1.psoftg1.bookmanagement.services.SearchBooksQuery;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  *
@@ -28,9 +30,28 @@ public interface BookRepository {
 
     List<Book> findBooksByAuthorNumber(Long authorNumber);
 
+    /**
+     * Updates the embedded copy of the author in all of its books.
+     *
+     * @return number of books changed
+     */
+    long renameAuthor(long authorNumber, String name);
+
     List<Book> searchBooks(pt.psoft.g1.psoftg1.shared.services.Page page, SearchBooksQuery query);
 
     Book save(Book book);
 
+    /**
+     * The isbns, among the given ones, of books already stored.
+     */
+    Set<String> findExistingIsbns(Collection<String> isbns);
+
+    /**
+     * Inserts new books in one unordered bulk write.
+     *
+     * @return isbns of the books stored after the call, inserted here or already present
+     */
+    List<String> insertAll(List<Book> books);
+
     void delete(Book book);
 }
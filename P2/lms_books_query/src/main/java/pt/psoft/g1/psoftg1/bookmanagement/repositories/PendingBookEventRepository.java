@@ -11,4 +11,5 @@ import java.util.Optional;
 public interface PendingBookEventRepository extends MongoRepository<PendingBookEvent, String> {
     Optional<PendingBookEvent> findByBookId(String bookId);
     List<PendingBookEvent> findByGenreName(String genreName);
+    List<PendingBookEvent> findByAuthorId(Long authorId);
 }
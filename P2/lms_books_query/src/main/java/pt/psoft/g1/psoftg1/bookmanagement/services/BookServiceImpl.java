@@ -16,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookEventRepository;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.CoAuthorLinkRepository;
 import pt.psoft.g1.psoftg1.exceptions.ConflictException;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
@@ -23,8 +24,11 @@ import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
 import pt.psoft.g1.psoftg1.shared.services.Page;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import pt.psoft.g1.psoftg1.authormanagement.api.AuthorViewAMQP;
 import pt.psoft.g1.psoftg1.genremanagement.api.GenreViewAMQP;
@@ -38,6 +42,7 @@ public class BookServiceImpl implements BookService {
     private final GenreRepository genreRepository;
     private final AuthorRepository authorRepository;
     private final AuthorService authorService;
+    private final CoAuthorLinkRepository coAuthorLinkRepository;
     private final PhotoRepository photoRepository;
     private final PendingBookEventRepository pendingBookEventRepository;
 
@@ -95,6 +100,7 @@ public class BookServiceImpl implements BookService {
 
         try {
             Book savedBook = bookRepository.save(newBook);
+            coAuthorLinkRepository.applyBookAuthors(isbn, List.of(), savedBook.getAuthorNumbers());
             return savedBook;
         } catch (DuplicateKeyException e) {
             // Book already exists, return the existing one
@@ -176,9 +182,11 @@ public class BookServiceImpl implements BookService {
         else
             authors = null;
 
+        List<Long> previousAuthors = book.getAuthorNumbers();
         book.applyPatch(currentVersion, title, description, photoURI, genreObj, authors);
 
         Book updatedBook = bookRepository.save(book);
+        coAuthorLinkRepository.applyBookAuthors(updatedBook.getIsbn(), previousAuthors, updatedBook.getAuthorNumbers());
 
         return updatedBook;
     }
@@ -215,7 +223,7 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public List<Book> findByAuthorName(String authorName) {
-        return bookRepository.findByAuthorName(authorName + "%");
+        return bookRepository.findByAuthorName(authorName);
     }
 
     public Book findByIsbn(String isbn) {
@@ -286,11 +294,7 @@ public class BookServiceImpl implements BookService {
             Author author = authorOpt.get();
 
             // Try to find a suitable genre
-            Optional<Genre> genreOpt = Optional.empty();
-            for (Genre g : genreRepository.findAll()) {
-                genreOpt = Optional.of(g);
-                break;
-            }
+            Optional<Genre> genreOpt = genreRepository.findAny();
             if (genreOpt.isEmpty()) {
                 System.out.println(" [QUERY] ⚠️ No genre available yet to create book with");
                 return;
@@ -343,11 +347,7 @@ public class BookServiceImpl implements BookService {
             Genre genre = genreOpt.get();
 
             // Try to find a suitable author
-            Optional<Author> authorOpt = Optional.empty();
-            for (Author a : authorRepository.findAll()) {
-                authorOpt = Optional.of(a);
-                break;
-            }
+            Optional<Author> authorOpt = authorRepository.findAny();
             if (authorOpt.isEmpty()) {
                 System.out.println(" [QUERY] ⚠️ No author available yet to create book with");
                 return;
@@ -447,74 +447,7 @@ public class BookServiceImpl implements BookService {
      * This handles out-of-order event processing
      */
     public void processPendingBooksForGenre(String genreName) {
-        List<PendingBookEvent> pendingEvents = pendingBookEventRepository.findByGenreName(genreName);
-
-        if (pendingEvents.isEmpty()) {
-            return;
-        }
-
-        System.out.println(" [QUERY] 🔄 Processing " + pendingEvents.size() + " pending book events for genre: " + genreName);
-
-        for (PendingBookEvent pending : pendingEvents) {
-            try {
-                // Check if book already exists
-                if (bookRepository.findByIsbn(pending.getBookId()).isPresent()) {
-                    System.out.println(" [QUERY] ℹ️ Pending book already created: " + pending.getBookId());
-                    pendingBookEventRepository.delete(pending);
-                    continue;
-                }
-
-                // Get the genre (we know it exists now)
-                Optional<Genre> genreOpt = genreRepository.findByString(genreName);
-                if (genreOpt.isEmpty()) {
-                    System.out.println(" [QUERY] ⚠️ Genre still not available: " + genreName);
-                    continue;
-                }
-
-                // Get the author - if not available, keep the pending event for retry
-                Optional<Author> authorOpt = authorRepository.findByAuthorNumber(pending.getAuthorId());
-                if (authorOpt.isEmpty()) {
-                    System.out.println(" [QUERY] ⏳ Author not yet available for pending book: " + pending.getBookId() +
-                                     " (ID: " + pending.getAuthorId() + "), will retry when author is created");
-                    // Don't delete - we'll try again when author is created
-                    continue;
-                }
-
-                // Create the book with all required info
-                Genre genre = genreOpt.get();
-                Author author = authorOpt.get();
-
-                Book newBook = new Book(
-                    pending.getBookId(),
-                    pending.getTitle(),
-                    pending.getDescription(),
-                    genre,
-                    List.of(author),
-                    null
-                );
-
-                try {
-                    Book savedBook = bookRepository.save(newBook);
-                    System.out.println(" [QUERY] ✅ Pending book finalized and created: " + pending.getBookId() +
-                                     " with author: " + pending.getAuthorName() +
-                                     " and genre: " + genreName);
-
-                    // Remove from pending only after successful creation
-                    pendingBookEventRepository.delete(pending);
-                } catch (DuplicateKeyException duplicateEx) {
-                    // Another replica created the book first - this is expected in distributed systems
-                    System.out.println(" [QUERY] ℹ️ Pending book already created by another replica: " + pending.getBookId());
-                    // Clean up the pending event since book now exists
-                    pendingBookEventRepository.delete(pending);
-                } catch (Exception e) {
-                    System.out.println(" [QUERY] ⚠️ ERROR saving book: " + e.getClass().getName() + " - " + e.getMessage());
-                    e.printStackTrace();
-                }
-
-            } catch (Exception e) {
-                System.out.println(" [QUERY] ⚠️ Could not process pending book event: " + e.getMessage());
-            }
-        }
+        resolvePendingBooks(pendingBookEventRepository.findByGenreName(genreName), "genre: " + genreName);
     }
 
     /**
@@ -522,81 +455,84 @@ public class BookServiceImpl implements BookService {
      * This handles out-of-order event processing where genre is ready but author isn't yet
      */
     public void processPendingBooksForAuthor(Long authorId) {
-        List<PendingBookEvent> pendingEvents = pendingBookEventRepository.findAll();
-
-        List<PendingBookEvent> relevantPending = new ArrayList<>();
-
-        for (PendingBookEvent pending : pendingEvents) {
-            if (pending.getAuthorId().equals(authorId)) {
-                relevantPending.add(pending);
-            }
-        }
+        resolvePendingBooks(pendingBookEventRepository.findByAuthorId(authorId), "author ID: " + authorId);
+    }
 
-        if (relevantPending.isEmpty()) {
+    /**
+     * Resolves the pending events of one genre or author with one read each for the books already stored,
+     * the genres and the authors they need, one bulk insert of the books that can now be created and one
+     * delete of the resolved events. Events still missing their genre or author are kept for the next
+     * trigger, or until they expire (see PendingBookEventIndexes).
+     */
+    private void resolvePendingBooks(List<PendingBookEvent> pendingEvents, String trigger) {
+        if (pendingEvents.isEmpty()) {
             return;
         }
 
-        System.out.println(" [QUERY] 🔄 Checking " + relevantPending.size() + " pending book events for author ID: " + authorId);
+        System.out.println(" [QUERY] 🔄 Processing " + pendingEvents.size() + " pending book events for " + trigger);
 
-        for (PendingBookEvent pending : relevantPending) {
-            try {
-                // Check if book already exists
-                if (bookRepository.findByIsbn(pending.getBookId()).isPresent()) {
+        try {
+            Set<String> existingIsbns = bookRepository.findExistingIsbns(
+                    pendingEvents.stream().map(PendingBookEvent::getBookId).toList());
+            Map<String, Genre> genres = new HashMap<>();
+            for (Genre genre : genreRepository.findByGenreIn(
+                    pendingEvents.stream().map(PendingBookEvent::getGenreName).distinct().toList())) {
+                genres.put(genre.getGenre(), genre);
+            }
+            Map<Long, Author> authors = new HashMap<>();
+            for (Author author : authorRepository.findByAuthorNumberIn(
+                    pendingEvents.stream().map(PendingBookEvent::getAuthorId).distinct().toList())) {
+                authors.put(author.getAuthorNumber(), author);
+            }
+
+            List<String> resolved = new ArrayList<>();
+            Map<String, PendingBookEvent> pendingByIsbn = new HashMap<>();
+            List<Book> newBooks = new ArrayList<>();
+            for (PendingBookEvent pending : pendingEvents) {
+                if (existingIsbns.contains(pending.getBookId()) || pendingByIsbn.containsKey(pending.getBookId())) {
                     System.out.println(" [QUERY] ℹ️ Pending book already created: " + pending.getBookId());
-                    pendingBookEventRepository.delete(pending);
+                    resolved.add(pending.getId());
                     continue;
                 }
 
-                // Get the genre
-                Optional<Genre> genreOpt = genreRepository.findByString(pending.getGenreName());
-                if (genreOpt.isEmpty()) {
+                Genre genre = genres.get(pending.getGenreName());
+                if (genre == null) {
                     System.out.println(" [QUERY] ⏳ Genre still not available for pending book: " + pending.getBookId() +
                                      " (Genre: " + pending.getGenreName() + "), will retry when genre is created");
-                    // Don't delete - we'll try again when genre is created via processPendingBooksForGenre
                     continue;
                 }
 
-                // Get the author (we know it exists since this method was called for this author)
-                Optional<Author> authorOpt = authorRepository.findByAuthorNumber(authorId);
-                if (authorOpt.isEmpty()) {
-                    System.out.println(" [QUERY] ⏳ Author not found by ID: " + authorId + " for pending book: " + pending.getBookId());
+                Author author = authors.get(pending.getAuthorId());
+                if (author == null) {
+                    System.out.println(" [QUERY] ⏳ Author not yet available for pending book: " + pending.getBookId() +
+                                     " (ID: " + pending.getAuthorId() + "), will retry when author is created");
                     continue;
                 }
 
-                // Both genre and author exist - create the book now!
-                Genre genre = genreOpt.get();
-                Author author = authorOpt.get();
-
-                Book newBook = new Book(
-                    pending.getBookId(),
-                    pending.getTitle(),
-                    pending.getDescription(),
-                    genre,
-                    List.of(author),
-                    null
-                );
-
                 try {
-                    Book savedBook = bookRepository.save(newBook);
-                    System.out.println(" [QUERY] ✅ Pending book finalized and created: " + pending.getBookId() +
-                                     " with author: " + pending.getAuthorName() +
-                                     " and genre: " + pending.getGenreName());
-
-                    // Remove from pending only after successful creation
-                    pendingBookEventRepository.delete(pending);
-                } catch (DuplicateKeyException duplicateEx) {
-                    // Another replica created the book first - this is expected in distributed systems
-                    System.out.println(" [QUERY] ℹ️ Pending book already created by another replica: " + pending.getBookId());
-                    // Clean up the pending event since book now exists
-                    pendingBookEventRepository.delete(pending);
+                    newBooks.add(new Book(pending.getBookId(), pending.getTitle(), pending.getDescription(),
+                            genre, List.of(author), null));
+                    pendingByIsbn.put(pending.getBookId(), pending);
                 } catch (Exception e) {
-                    System.out.println(" [QUERY] ⚠️ ERROR saving book: " + e.getClass().getName() + " - " + e.getMessage());
-                    e.printStackTrace();
+                    System.out.println(" [QUERY] ⚠️ Could not process pending book event: " + e.getMessage());
                 }
+            }
 
-            } catch (Exception e) {
-                System.out.println(" [QUERY] ⚠️ Could not process pending book event: " + e.getMessage());
+            // Books already created by another replica are reported as stored too
+            for (String isbn : bookRepository.insertAll(newBooks)) {
+                PendingBookEvent pending = pendingByIsbn.get(isbn);
+                System.out.println(" [QUERY] ✅ Pending book finalized and created: " + isbn +
+                                 " with author: " + pending.getAuthorName() +
+                                 " and genre: " + pending.getGenreName());
+                resolved.add(pending.getId());
             }
+
+            // Remove from pending only after successful creation
+            if (!resolved.isEmpty()) {
+                pendingBookEventRepository.deleteAllById(resolved);
+            }
+        } catch (Exception e) {
+            System.out.println(" [QUERY] ⚠️ Could not process pending book events for " + trigger + ": " + e.getMessage());
         }
     }
 
@@ -17,4 +17,18 @@ public class SearchBooksQuery {
 
     @Getter
     private String authorName;
+
+    /** Free-text search on title and description (text index) */
+    @Getter
+    private String text;
+
+    /** Keyset pagination: ISBN of the last book of the previous page; takes precedence over the page number */
+    @Getter
+    private String afterIsbn;
+
+    public SearchBooksQuery(String title, String genre, String authorName) {
+        this.title = title;
+        this.genre = genre;
+        this.authorName = authorName;
+    }
 }
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import pt.psoft.g1.psoftg1.authormanagement.api.AuthorRabbitmqController;
 import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.services.AuthorService;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookRabbitmqController;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
 import pt.psoft.g1.psoftg1.genremanagement.api.GenreRabbitmqController;
@@ -183,8 +184,9 @@ public class RabbitmqClientConfig {
     public AuthorRabbitmqController authorReceiver(
             AuthorRepository authorRepository,
             BookService bookService,
+            AuthorService authorService,
             @Qualifier("autoDeleteQueue_Author_Created") Queue autoDeleteQueue_Author_Created) {
-        return new AuthorRabbitmqController(authorRepository, bookService);
+        return new AuthorRabbitmqController(authorRepository, bookService, authorService);
     }
 
     @Bean
@@ -1,15 +1,14 @@
 package pt.psoft.g1.psoftg1.genremanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 import org.springframework.amqp.core.Message;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @Service
@@ -23,10 +22,7 @@ public class GenreRabbitmqController {
     public void receiveGenreCreatedMsg(Message msg) {
 
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            GenreViewAMQP genreViewAMQP = objectMapper.readValue(jsonReceived, GenreViewAMQP.class);
+            GenreViewAMQP genreViewAMQP = AmqpCodec.decode(msg.getBody(), GenreViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Genre Created: " + genreViewAMQP.getGenre());
 
@@ -58,10 +54,7 @@ public class GenreRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Genre_Updated.name}")
     public void receiveGenreUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            GenreViewAMQP genreViewAMQP = objectMapper.readValue(jsonReceived, GenreViewAMQP.class);
+            GenreViewAMQP genreViewAMQP = AmqpCodec.decode(msg.getBody(), GenreViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Genre Updated: " + genreViewAMQP.getGenre());
 
@@ -82,10 +75,7 @@ public class GenreRabbitmqController {
     @RabbitListener(queues = "#{autoDeleteQueue_Genre_Deleted.name}")
     public void receiveGenreDeleted(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            GenreViewAMQP genreViewAMQP = objectMapper.readValue(jsonReceived, GenreViewAMQP.class);
+            GenreViewAMQP genreViewAMQP = AmqpCodec.decode(msg.getBody(), GenreViewAMQP.class);
 
             System.out.println(" [QUERY] 📥 Received Genre Deleted: " + genreViewAMQP.getGenre());
 
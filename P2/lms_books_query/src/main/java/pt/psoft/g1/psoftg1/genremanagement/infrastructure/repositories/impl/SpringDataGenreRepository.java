@@ -24,10 +24,15 @@ public interface SpringDataGenreRepository extends GenreRepository, GenreRepoCus
         // Delegate to custom implementation
         return ((GenreRepoCustom) this).findByGenreNameCustom(genreName);
     }
+
+    default Optional<Genre> findAny() {
+        return ((GenreRepoCustom) this).findAnyCustom();
+    }
 }
 
 interface GenreRepoCustom {
     Optional<Genre> findByGenreNameCustom(String genreName);
+    Optional<Genre> findAnyCustom();
 }
 
 @RequiredArgsConstructor
@@ -40,4 +45,9 @@ class GenreRepoCustomImpl implements GenreRepoCustom {
         query.addCriteria(Criteria.where("genre").is(genreName));
         return Optional.ofNullable(mongoTemplate.findOne(query, Genre.class));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<Genre> findAnyCustom() {
+        return Optional.ofNullable(mongoTemplate.findOne(new Query(), Genre.class));
+    }
+}
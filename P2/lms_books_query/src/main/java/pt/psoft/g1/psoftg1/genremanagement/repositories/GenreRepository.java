@@ -8,6 +8,7 @@ import pt.psoft.g1.psoftg1.genremanagement.services.GenreLendingsDTO;
 import pt.psoft.g1.psoftg1.genremanagement.services.GenreLendingsPerMonthDTO;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,10 @@ public interface GenreRepository {
 
     Optional<Genre> findByString(String genreName);
 
+    List<Genre> findByGenreIn(Collection<String> genreNames);
+
+    Optional<Genre> findAny();
+
     Genre save(Genre genre);
 
 //    Page<GenreBookCountDTO> findTop5GenreByBookCount(Pageable pageable);
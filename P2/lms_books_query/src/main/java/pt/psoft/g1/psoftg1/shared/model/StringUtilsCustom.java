@@ -4,6 +4,8 @@ import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
 import org.springframework.util.StringUtils;
 
+import java.text.Normalizer;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 public class StringUtilsCustom {
@@ -34,6 +36,24 @@ public class StringUtilsCustom {
         return Pattern.matches(pattern, str);
     }
 
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Search key of a text: lowercase, without accents and with single spaces, so "  Émile  Zola" and "emile zola"
+     * share the same key. Used for the shadow fields that back index-friendly prefix searches.
+     *
+     * @return the folded text, or {@code null} for {@code null}
+     */
+    public static String foldForSearch(String str) {
+        if (str == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(str, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(folded.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
     public static boolean startsOrEndsInWhiteSpace(String str) {
         return !str.startsWith(" ") && !str.endsWith(" ");
     }
@@ -110,6 +110,17 @@ public class FileStorageService {
         return image;
     }
 
+    /**
+     * Location of a stored file, which must lie inside the upload directory.
+     */
+    public Path getFilePath(final String fileName) {
+        final Path filePath = fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.startsWith(fileStorageLocation)) {
+            throw new NotFoundException("File not found " + fileName);
+        }
+        return filePath;
+    }
+
     // Returns the string of the fileName of the file (UUID.FILE_FORMAT) stored in the uploads folder | null for error
     // or no photo
     public String getRequestPhoto(MultipartFile file) {
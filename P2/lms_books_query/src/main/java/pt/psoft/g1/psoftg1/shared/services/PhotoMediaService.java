@@ -0,0 +1,147 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Builds photo responses that are streamed instead of loaded whole on the heap.
+ *
+ * The body is a Resource, so Spring MVC answers Range requests with 206 regions and, from the ETag and
+ * Last-Modified set here, conditional requests with 304. Photo files are never rewritten (each upload gets
+ * a new file name), so the file name plus modification time is a strong validator.
+ */
+@Service
+@RequiredArgsConstructor
+public class PhotoMediaService {
+
+    private final FileStorageService fileStorageService;
+    private final PhotoCache photoCache;
+
+    /**
+     * @return the photo, or an empty 200 when its file is missing
+     */
+    public ResponseEntity<Resource> photoResponse(String photoFile) {
+        String fileFormat = fileStorageService.getExtension(photoFile)
+                .orElseThrow(() -> new ValidationException("Unable to get file extension"));
+        Path path = fileStorageService.getFilePath(photoFile);
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return ResponseEntity.ok().build();
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        return ResponseEntity.ok()
+                .contentType(fileFormat.equals("png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+                .eTag(photoFile + "-" + lastModified)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .body(content(photoFile, path, attributes.size(), lastModified));
+    }
+
+    private Resource content(String photoFile, Path path, long size, long lastModified) {
+        ByteBuffer cached = photoCache.get(photoFile, lastModified);
+        if (cached != null) {
+            return new ByteBufferResource(cached, photoFile);
+        }
+        if (!photoCache.accepts(size)) {
+            return new FileSystemResource(path);
+        }
+
+        ByteBuffer content = ByteBuffer.allocateDirect((int) size);
+        try (FileChannel channel = FileChannel.open(path)) {
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // read until full or end of file
+            }
+        } catch (IOException e) {
+            return new FileSystemResource(path);
+        }
+        content.flip();
+        photoCache.put(photoFile, lastModified, content);
+        return new ByteBufferResource(content.asReadOnlyBuffer(), photoFile);
+    }
+
+    /**
+     * Serves a cached photo straight from its off-heap buffer.
+     */
+    static class ByteBufferResource extends AbstractResource {
+
+        private final ByteBuffer content;
+        private final String fileName;
+
+        ByteBufferResource(ByteBuffer content, String fileName) {
+            this.content = content;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return content.remaining();
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached photo [" + fileName + "]";
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer view = content.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return view.hasRemaining() ? view.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if (!view.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(length, view.remaining());
+                    view.get(bytes, offset, count);
+                    return count;
+                }
+
+                @Override
+                public long skip(long n) {
+                    int count = (int) Math.max(0, Math.min(n, view.remaining()));
+                    view.position(view.position() + count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return view.remaining();
+                }
+            };
+        }
+    }
+}
@@ -7,8 +7,10 @@ import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class BookTest {
@@ -64,4 +66,22 @@ class BookTest {
         assertDoesNotThrow(() -> new Book(validIsbn, validTitle, null, validGenre, authors, null));
     }
 
-}
\ No newline at end of file
+    @Test
+    void ensureSearchKeysAreFolded() {
+        authors.add(validAuthor1);
+        Book book = new Book(validIsbn, validTitle, null, validGenre, authors, null);
+        assertEquals("encantos de contar", book.getTitleKey());
+        assertEquals("fantasia", book.getGenreKey());
+        assertEquals("joao alberto", book.getAuthors().get(0).getNameKey());
+    }
+
+    @Test
+    void ensureAuthorsAndGenreAreEmbeddedCopies() {
+        authors.add(new Author(7L, "João Alberto", "Nasceu em Chaves.", null));
+        Book book = new Book(validIsbn, validTitle, null, validGenre, authors, null);
+        assertEquals("Fantasia", book.getGenre().getGenre());
+        assertEquals(7L, book.getAuthors().get(0).getAuthorNumber());
+        assertEquals("João Alberto", book.getAuthors().get(0).getName());
+        assertEquals(List.of(7L), book.getAuthorNumbers());
+    }
+}
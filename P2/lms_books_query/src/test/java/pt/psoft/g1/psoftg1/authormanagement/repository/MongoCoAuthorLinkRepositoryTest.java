@@ -0,0 +1,93 @@
+package pt.psoft.g1.psoftg1.authormanagement.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import pt.psoft.g1.psoftg1.authormanagement.infrastructure.repositories.impl.MongoCoAuthorLinkRepository;
+import pt.psoft.g1.psoftg1.authormanagement.model.CoAuthorLinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MongoCoAuthorLinkRepositoryTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MongoCoAuthorLinkRepository repository = new MongoCoAuthorLinkRepository(mongoTemplate);
+
+    @Test
+    void newBookLinksEveryPairOfAuthors() {
+        repository.applyBookAuthors("B", List.of(), List.of(1L, 2L, 3L));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).upsert(any(Query.class), updates.capture(), eq(CoAuthorLinks.class));
+        for (Update update : updates.getAllValues()) {
+            assertEquals(2, ((Document) update.getUpdateObject().get("$addToSet")).size());
+            assertEquals(1L, ((Document) update.getUpdateObject().get("$inc")).get("revision"));
+        }
+    }
+
+    @Test
+    void replacedAuthorIsUnlinked() {
+        repository.applyBookAuthors("B", List.of(1L, 2L), List.of(1L, 3L));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).upsert(queries.capture(), updates.capture(), eq(CoAuthorLinks.class));
+        for (int i = 0; i < 3; i++) {
+            Object author = queries.getAllValues().get(i).getQueryObject().get("_id");
+            Document update = updates.getAllValues().get(i).getUpdateObject();
+            if (author.equals(1L)) {
+                assertEquals("B", ((Document) update.get("$pull")).get("sharedBooks.2"));
+                assertNotNull(((Document) update.get("$addToSet")).get("sharedBooks.3"));
+            } else if (author.equals(2L)) {
+                assertEquals("B", ((Document) update.get("$pull")).get("sharedBooks.1"));
+                assertNull(update.get("$addToSet"));
+            } else {
+                assertNotNull(((Document) update.get("$addToSet")).get("sharedBooks.1"));
+                assertNull(update.get("$pull"));
+            }
+        }
+    }
+
+    @Test
+    void deletedBookIsUnlinkedFromAllItsAuthors() {
+        repository.applyBookAuthors("B", List.of(1L, 2L), List.of());
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), updates.capture(), eq(CoAuthorLinks.class));
+        for (Update update : updates.getAllValues()) {
+            assertEquals(1, ((Document) update.getUpdateObject().get("$pull")).size());
+        }
+    }
+
+    @Test
+    void unchangedAuthorsTouchNothing() {
+        repository.applyBookAuthors("B", List.of(1L, 2L), List.of(2L, 1L));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void seedOnlyLandsOnTheRevisionItStartedFrom() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.upsert(queries.capture(), any(Update.class), eq(CoAuthorLinks.class)))
+                .thenReturn(null)
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        assertTrue(repository.seed(1L, Map.of(2L, Set.of("A")), 4L));
+        assertFalse(repository.seed(1L, Map.of(2L, Set.of("A")), null));
+
+        assertEquals(4L, queries.getAllValues().get(0).getQueryObject().get("revision"));
+        assertEquals(new Document("$exists", false), queries.getAllValues().get(1).getQueryObject().get("revision"));
+    }
+}
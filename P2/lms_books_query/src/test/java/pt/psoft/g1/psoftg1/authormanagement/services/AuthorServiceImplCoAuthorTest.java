@@ -0,0 +1,72 @@
+package pt.psoft.g1.psoftg1.authormanagement.services;
+
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.authormanagement.model.CoAuthorLinks;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.CoAuthorLinkRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuthorServiceImplCoAuthorTest {
+
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final CoAuthorLinkRepository coAuthorLinkRepository = mock(CoAuthorLinkRepository.class);
+    private final AuthorServiceImpl service = new AuthorServiceImpl(authorRepository, mock(BookRepository.class),
+            coAuthorLinkRepository, mock(AuthorMapper.class), mock(PhotoRepository.class));
+
+    @Test
+    void bookCreatedWhileSeedingIsNotLost() {
+        // The first read of the books misses book B; its event bumps the revision before the seed lands
+        when(coAuthorLinkRepository.findByAuthorNumber(1L)).thenReturn(
+                Optional.empty(),
+                Optional.of(new CoAuthorLinks(1L, Map.of("3", List.of("B")), false, 1L)));
+        when(authorRepository.findSharedBooksByAuthorNumber(1L)).thenReturn(
+                Map.of(2L, Set.of("A")),
+                Map.of(2L, Set.of("A"), 3L, Set.of("B")));
+        when(coAuthorLinkRepository.seed(1L, Map.of(2L, Set.of("A")), null)).thenReturn(false);
+        when(coAuthorLinkRepository.seed(1L, Map.of(2L, Set.of("A"), 3L, Set.of("B")), 1L)).thenReturn(true);
+        when(authorRepository.findByAuthorNumberIn(Set.of(2L, 3L))).thenReturn(List.of(author(2L), author(3L)));
+
+        List<Author> coAuthors = service.findCoAuthorsByAuthorNumber(1L);
+
+        assertEquals(2, coAuthors.size());
+        verify(coAuthorLinkRepository, times(2)).seed(eq(1L), any(), any());
+    }
+
+    @Test
+    void seededAdjacencyIsServedWithoutReadingTheBooks() {
+        when(coAuthorLinkRepository.findByAuthorNumber(1L)).thenReturn(Optional.of(new CoAuthorLinks(1L,
+                Map.of("2", List.of("A", "B"), "3", List.of()), true, 4L)));
+        when(authorRepository.findByAuthorNumberIn(Set.of(2L))).thenReturn(List.of(author(2L)));
+
+        assertEquals(1, service.findCoAuthorsByAuthorNumber(1L).size());
+        verify(authorRepository, never()).findSharedBooksByAuthorNumber(anyLong());
+    }
+
+    @Test
+    void authorThatKeepsChangingGetsTheFreshReadUnstored() {
+        when(coAuthorLinkRepository.findByAuthorNumber(1L)).thenReturn(Optional.empty());
+        when(authorRepository.findSharedBooksByAuthorNumber(1L)).thenReturn(Map.of(2L, Set.of("A")));
+        when(coAuthorLinkRepository.seed(any(), any(), any())).thenReturn(false);
+        when(authorRepository.findByAuthorNumberIn(Set.of(2L))).thenReturn(List.of(author(2L)));
+
+        assertEquals(1, service.findCoAuthorsByAuthorNumber(1L).size());
+        verify(coAuthorLinkRepository, times(3)).seed(eq(1L), any(), any());
+    }
+
+    private static Author author(long number) {
+        return new Author(number, "Author " + number, "Bio", null);
+    }
+}
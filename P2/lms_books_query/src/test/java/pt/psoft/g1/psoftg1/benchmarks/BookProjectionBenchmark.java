@@ -0,0 +1,119 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl.BookSearchIndexes;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reads behind one page of GET /api/books?title= (100k books by default), with genre and authors stored
+ * as DBRefs (each book of the page resolves its genre and its authors, as the DBRef mapping did) against the
+ * embedded copies (one query). SampleTime mode, so the JMH report includes p0.99.
+ *
+ * Uses -Dbench.mongo.uri when given (the databases are rebuilt), otherwise starts a MongoDB container.
+ * -Dbench.books changes the dataset size. Run like AmqpDecodeBenchmark:
+ * java -Dbench.books=100000 -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.BookProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    private MongoDBContainer container;
+    private MongoClient client;
+    private MongoTemplate references;
+    private MongoTemplate embedded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("bench.mongo.uri");
+        if (uri == null) {
+            container = new MongoDBContainer("mongo:6.0");
+            container.start();
+            uri = container.getReplicaSetUrl("books_bench");
+        }
+        client = MongoClients.create(uri);
+        int books = Integer.getInteger("bench.books", 100_000);
+
+        references = new MongoTemplate(client, "books_bench_refs");
+        BookSearchDataset.generate(references.getDb(), books, true);
+        new BookSearchIndexes(references).ensureIndexes();
+
+        embedded = new MongoTemplate(client, "books_bench_embedded");
+        BookSearchDataset.generate(embedded.getDb(), books, false);
+        new BookSearchIndexes(embedded).ensureIndexes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private static Query titlePage(String value) {
+        String key = StringUtilsCustom.foldForSearch(value);
+        return new Query(Criteria.where("titleKey").gte(key).lt(key + Character.MAX_VALUE))
+                .with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("_id"))).limit(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Document> titleSearchWithReferences() {
+        List<Document> page = references.find(titlePage("the"), Document.class, "books");
+        List<Document> resolved = new ArrayList<>(page.size());
+        for (Document book : page) {
+            DBRef genre = book.get("genre", DBRef.class);
+            List<Object> authorIds = new ArrayList<>();
+            for (DBRef author : book.getList("authors", DBRef.class)) {
+                authorIds.add(author.getId());
+            }
+            resolved.add(new Document(book)
+                    .append("genre", references.findById(genre.getId(), Document.class, "genres"))
+                    .append("authors", references.find(new Query(Criteria.where("_id").in(authorIds)), Document.class, "authors")));
+        }
+        return resolved;
+    }
+
+    @Benchmark
+    public List<Document> titleSearchEmbedded() {
+        return embedded.find(titlePage("the"), Document.class, "books");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookProjectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
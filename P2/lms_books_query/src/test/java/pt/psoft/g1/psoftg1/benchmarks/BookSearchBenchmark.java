@@ -0,0 +1,140 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import pt.psoft.g1.psoftg1.bookmanagement.infrastructure.repositories.impl.BookSearchIndexes;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Book search latency over a large books collection (1M by default): the old case-insensitive regex and
+ * skip pagination against the folded-key prefix ranges and keyset pagination. SampleTime mode, so the JMH
+ * report includes p0.99.
+ *
+ * Uses -Dbench.mongo.uri when given (the database is rebuilt), otherwise starts a MongoDB container.
+ * -Dbench.books changes the dataset size. Run like AmqpDecodeBenchmark:
+ * java -Dbench.books=1000000 -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.BookSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_PAGE = 500;
+
+    private MongoDBContainer container;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private Document deepPageLast;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("bench.mongo.uri");
+        if (uri == null) {
+            container = new MongoDBContainer("mongo:6.0");
+            container.start();
+            uri = container.getReplicaSetUrl("books_bench");
+        }
+        client = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(client, "books_bench");
+
+        BookSearchDataset.generate(mongoTemplate.getDb(), Integer.getInteger("bench.books", 1_000_000));
+        new BookSearchIndexes(mongoTemplate).ensureIndexes();
+
+        // The book a keyset request for page DEEP_PAGE + 1 would continue from
+        Query page = prefixTitle("the").with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("_id")))
+                .skip((long) DEEP_PAGE * PAGE_SIZE - 1).limit(1);
+        deepPageLast = mongoTemplate.findOne(page, Document.class, "books");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private static Query prefixTitle(String value) {
+        String key = StringUtilsCustom.foldForSearch(value);
+        return new Query(Criteria.where("titleKey").gte(key).lt(key + Character.MAX_VALUE));
+    }
+
+    @Benchmark
+    public List<Document> regexTitleFirstPage() {
+        Query query = new Query(Criteria.where("title.title").regex("^the", "i")).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    @Benchmark
+    public List<Document> prefixTitleFirstPage() {
+        Query query = prefixTitle("the").with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("_id"))).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    @Benchmark
+    public List<Document> regexAuthorFirstPage() {
+        // unanchored and case-insensitive: no index can serve it, every book is scanned
+        Query query = new Query(Criteria.where("authors.name").regex("saramago", "i")).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    @Benchmark
+    public List<Document> prefixAuthorFirstPage() {
+        String key = StringUtilsCustom.foldForSearch("José Saramago");
+        Query query = new Query(Criteria.where("authors.nameKey").gte(key).lt(key + Character.MAX_VALUE))
+                .with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("_id"))).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    @Benchmark
+    public List<Document> regexTitleDeepPageWithSkip() {
+        Query query = new Query(Criteria.where("title.title").regex("^the", "i"))
+                .skip((long) DEEP_PAGE * PAGE_SIZE).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    @Benchmark
+    public List<Document> prefixTitleDeepPageWithKeyset() {
+        String lastKey = deepPageLast.getString("titleKey");
+        Query query = prefixTitle("the")
+                .addCriteria(new Criteria().orOperator(
+                        Criteria.where("titleKey").gt(lastKey),
+                        Criteria.where("titleKey").is(lastKey).and("_id").gt(deepPageLast.getObjectId("_id"))))
+                .with(Sort.by(Sort.Order.asc("titleKey"), Sort.Order.asc("_id"))).limit(PAGE_SIZE);
+        return mongoTemplate.find(query, Document.class, "books");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import pt.psoft.g1.psoftg1.shared.model.StringUtilsCustom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic books collection for search benchmarks, in the stored shape of Book (genre and authors embedded,
+ * search keys filled) or in the legacy shape with genre and authors as DBRefs. Deterministic for a given size,
+ * so runs are comparable.
+ */
+public final class BookSearchDataset {
+
+    private static final String[] WORDS = {
+            "the", "lost", "river", "night", "garden", "empire", "silent", "winter", "shadow", "ocean",
+            "crown", "broken", "light", "city", "memory", "secret", "iron", "golden", "last", "storm",
+            "história", "coração", "mar", "sombra", "cidade", "noite", "jardim", "segredo", "ferro", "último"};
+
+    private static final String[] FIRST_NAMES = {"José", "Maria", "João", "Ana", "Émile", "Jane", "George", "Inês", "Luís", "Sofia"};
+    private static final String[] LAST_NAMES = {"Saramago", "Queirós", "Zola", "Austen", "Orwell", "Pessoa", "Eliot", "Andrade", "Lobo", "Brontë"};
+
+    private static final int GENRES = 40;
+    private static final int AUTHORS = 20_000;
+    private static final int BATCH = 10_000;
+
+    private BookSearchDataset() {
+    }
+
+    /**
+     * Drops and recreates the books, genres and authors collections with the given number of books.
+     */
+    public static void generate(MongoDatabase database, int books) {
+        generate(database, books, false);
+    }
+
+    /**
+     * @param legacyRefs store genre and authors as DBRefs, as books were before they were embedded
+     */
+    public static void generate(MongoDatabase database, int books, boolean legacyRefs) {
+        Random random = new Random(42);
+        MongoCollection<Document> genreCollection = database.getCollection("genres");
+        MongoCollection<Document> authorCollection = database.getCollection("authors");
+        MongoCollection<Document> bookCollection = database.getCollection("books");
+        genreCollection.drop();
+        authorCollection.drop();
+        bookCollection.drop();
+
+        List<Document> genres = new ArrayList<>();
+        for (int i = 0; i < GENRES; i++) {
+            genres.add(new Document("_id", new ObjectId()).append("genre", capitalize(word(random)) + " " + i));
+        }
+        genreCollection.insertMany(genres);
+
+        List<Document> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            authors.add(new Document("_id", new ObjectId()).append("authorNumber", (long) i + 1)
+                    .append("name", new Document("name", name)).append("version", 0L));
+        }
+        authorCollection.insertMany(authors);
+
+        List<Document> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < books; i++) {
+            Document genre = genres.get(random.nextInt(GENRES));
+            Document author = authors.get(random.nextInt(AUTHORS));
+            String title = capitalize(word(random)) + " " + word(random) + " " + word(random) + " " + i;
+            String authorName = author.get("name", Document.class).getString("name");
+            String authorKey = StringUtilsCustom.foldForSearch(authorName);
+
+            Document book = new Document("_id", new ObjectId())
+                    .append("version", 0L)
+                    .append("isbn", new Document("isbn", String.format("978%010d", i)))
+                    .append("title", new Document("title", title))
+                    .append("description", new Document("description", "A story about " + word(random) + " and " + word(random)))
+                    .append("titleKey", StringUtilsCustom.foldForSearch(title))
+                    .append("genreKey", StringUtilsCustom.foldForSearch(genre.getString("genre")))
+                    .append("_class", "pt.psoft.g1.psoftg1.bookmanagement.model.Book");
+            if (legacyRefs) {
+                book.append("genre", new com.mongodb.DBRef("genres", genre.getObjectId("_id")))
+                        .append("authors", List.of(new com.mongodb.DBRef("authors", author.getObjectId("_id"))))
+                        .append("authorKeys", List.of(authorKey));
+            } else {
+                book.append("genre", new Document("genre", genre.getString("genre")))
+                        .append("authors", List.of(new Document("authorNumber", author.getLong("authorNumber"))
+                                .append("name", authorName).append("nameKey", authorKey)));
+            }
+            batch.add(book);
+            if (batch.size() == BATCH) {
+                bookCollection.insertMany(batch, new InsertManyOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            bookCollection.insertMany(batch, new InsertManyOptions().ordered(false));
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,78 @@
+package pt.psoft.g1.psoftg1.bookmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pt.psoft.g1.psoftg1.authormanagement.model.Author;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.AuthorRepository;
+import pt.psoft.g1.psoftg1.authormanagement.repositories.CoAuthorLinkRepository;
+import pt.psoft.g1.psoftg1.authormanagement.services.AuthorService;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.model.PendingBookEvent;
+import pt.psoft.g1.psoftg1.bookmanagement.publishers.BookEventsPublisher;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.PendingBookEventRepository;
+import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
+import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
+import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BookServiceImplPendingTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final GenreRepository genreRepository = mock(GenreRepository.class);
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final PendingBookEventRepository pendingBookEventRepository = mock(PendingBookEventRepository.class);
+    private final BookServiceImpl service = new BookServiceImpl(bookRepository, genreRepository, authorRepository,
+            mock(AuthorService.class), mock(CoAuthorLinkRepository.class), mock(PhotoRepository.class),
+            pendingBookEventRepository, mock(BookEventsPublisher.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void authorEventResolvesItsPendingBooksInBulk() {
+        when(pendingBookEventRepository.findByAuthorId(1L)).thenReturn(List.of(
+                pending("p1", "9782826012092", "Fantasy"),
+                pending("p2", "9780306406157", "Fantasy"),
+                pending("p3", "9781234567897", "Horror")));
+        when(bookRepository.findExistingIsbns(any())).thenReturn(Set.of("9780306406157"));
+        when(genreRepository.findByGenreIn(any())).thenReturn(List.of(new Genre("Fantasy")));
+        when(authorRepository.findByAuthorNumberIn(any())).thenReturn(List.of(new Author(1L, "Author", "Bio", null)));
+        when(bookRepository.insertAll(anyList())).thenAnswer(call ->
+                ((List<Book>) call.getArgument(0)).stream().map(Book::getIsbn).toList());
+
+        service.processPendingBooksForAuthor(1L);
+
+        ArgumentCaptor<List<Book>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository).insertAll(inserted.capture());
+        assertEquals(List.of("9782826012092"), inserted.getValue().stream().map(Book::getIsbn).toList());
+        // The Horror book keeps waiting for its genre
+        verify(pendingBookEventRepository).deleteAllById(List.of("p2", "p1"));
+        verify(bookRepository, never()).findByIsbn(any());
+        verify(bookRepository, never()).save(any());
+        verify(pendingBookEventRepository, never()).findAll();
+    }
+
+    @Test
+    void failedInsertsStayPending() {
+        when(pendingBookEventRepository.findByGenreName("Fantasy")).thenReturn(List.of(pending("p1", "9782826012092", "Fantasy")));
+        when(bookRepository.findExistingIsbns(any())).thenReturn(Set.of());
+        when(genreRepository.findByGenreIn(any())).thenReturn(List.of(new Genre("Fantasy")));
+        when(authorRepository.findByAuthorNumberIn(any())).thenReturn(List.of(new Author(1L, "Author", "Bio", null)));
+        when(bookRepository.insertAll(anyList())).thenReturn(List.of());
+
+        service.processPendingBooksForGenre("Fantasy");
+
+        verify(pendingBookEventRepository, never()).deleteAllById(any());
+    }
+
+    private static PendingBookEvent pending(String id, String isbn, String genre) {
+        return new PendingBookEvent(id, isbn, genre, 1L, "Author", "Title " + isbn, "Description", Instant.now());
+    }
+}
@@ -0,0 +1,136 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Rate, Trend } from 'k6/metrics';
+
+// Custom metrics
+const lendingsAccepted = new Counter('lendings_accepted');
+const lendingsValidated = new Counter('lendings_validated');
+const createFailures = new Rate('create_failures');
+const createDuration = new Trend('create_duration', true);
+
+// Configuration
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8091';
+const AUTH_TOKEN = __ENV.AUTH_TOKEN || '';
+const BATCHING = __ENV.BATCHING || 'on';                             // label only, see below
+const USERNAMES = (__ENV.USERNAMES || 'manuel@gmail.com').split(',');  // readers seeded in the service
+
+// Lending throughput through the async book validation path (lending.validation.*), with batching on and off.
+// Batching is a property of the service, so run the script once per setting against a restarted service:
+//   lending.validation.batch.enabled=true  -> k6 run -e BATCHING=on  k6/validation-batching.js
+//   lending.validation.batch.enabled=false -> k6 run -e BATCHING=off k6/validation-batching.js
+// and compare "Validated lendings/sec" of validation-batching-on.json and validation-batching-off.json.
+//
+// Every lending uses a fresh ISBN, so it is never answered by the local ISBN index and always goes through
+// the Books service. Validated lendings are counted from the lending.validation.fallback{path=async} timer
+// (one sample per validation response applied).
+export const options = {
+    scenarios: {
+        validation_batching: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 200),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '1m',
+            preAllocatedVUs: 50,
+            maxVUs: 400,
+        },
+    },
+    thresholds: {
+        create_failures: ['rate<0.05'],
+    },
+};
+
+function headers() {
+    const result = { 'Content-Type': 'application/json' };
+    if (AUTH_TOKEN) {
+        result['Authorization'] = `Bearer ${AUTH_TOKEN}`;
+    }
+    return result;
+}
+
+function validationsApplied() {
+    const res = http.get(`${BASE_URL}/actuator/metrics/lending.validation.fallback?tag=path:async`, { headers: headers() });
+    if (res.status !== 200) {
+        return 0;
+    }
+    const count = res.json('measurements').find((m) => m.statistic === 'COUNT');
+    return count ? count.value : 0;
+}
+
+// ISBN-13 with a valid check digit, unique per iteration
+function freshIsbn() {
+    const body = `979${String(Date.now() % 1e6).padStart(6, '0')}${String((__VU * 1000 + __ITER) % 1000).padStart(3, '0')}`;
+    let sum = 0;
+    for (let i = 0; i < 12; i++) {
+        sum += Number(body[i]) * (i % 2 === 0 ? 1 : 3);
+    }
+    return body + ((10 - (sum % 10)) % 10);
+}
+
+export function setup() {
+    return { validatedAtStart: validationsApplied() };
+}
+
+export default function() {
+    const payload = JSON.stringify({
+        isbn: freshIsbn(),
+        username: USERNAMES[(__VU + __ITER) % USERNAMES.length],
+    });
+
+    const res = http.post(`${BASE_URL}/api/lendings`, payload, { headers: headers() });
+    const accepted = check(res, { 'lending is 201/202': (r) => r.status === 201 || r.status === 202 });
+    createFailures.add(!accepted);
+    createDuration.add(res.timings.duration);
+    if (accepted) {
+        lendingsAccepted.add(1);
+    }
+}
+
+export function teardown(data) {
+    // Let the last batches come back before reading the counter
+    const deadline = Date.now() + 5000;
+    let validated = validationsApplied() - data.validatedAtStart;
+    while (Date.now() < deadline) {
+        const current = validationsApplied() - data.validatedAtStart;
+        if (current === validated && current > 0) {
+            break;
+        }
+        validated = current;
+        sleep(0.5);
+    }
+    lendingsValidated.add(validated);
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const accepted = data.metrics.lendings_accepted ? data.metrics.lendings_accepted.values.count : 0;
+    const validated = data.metrics.lendings_validated ? data.metrics.lendings_validated.values.count : 0;
+
+    const summary = {
+        timestamp: new Date().toISOString(),
+        batching: BATCHING,
+        metrics: {
+            lendings_accepted: accepted,
+            lendings_validated: validated,
+            accepted_per_second: accepted / seconds,
+            validated_per_second: validated / seconds,
+            create_duration_p95: data.metrics.create_duration ? data.metrics.create_duration.values['p(95)'] : 0,
+            create_failures: data.metrics.create_failures ? data.metrics.create_failures.values.rate : 0,
+        },
+    };
+
+    return {
+        [`validation-batching-${BATCHING}.json`]: JSON.stringify(summary, null, 2),
+        stdout: `
+================================================================================
+                 K6 VALIDATION BATCHING SUMMARY (batching ${BATCHING})
+================================================================================
+Accepted lendings:        ${accepted}
+Validated lendings:       ${validated}
+Accepted lendings/sec:    ${summary.metrics.accepted_per_second.toFixed(2)}
+Validated lendings/sec:   ${summary.metrics.validated_per_second.toFixed(2)}
+P95 create time:          ${summary.metrics.create_duration_p95.toFixed(2)} ms
+Create failure rate:      ${(summary.metrics.create_failures * 100).toFixed(2)}%
+================================================================================
+`,
+    };
+}
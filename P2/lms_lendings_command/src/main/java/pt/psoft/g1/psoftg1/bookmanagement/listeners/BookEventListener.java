@@ -1,49 +1,54 @@
 package pt.psoft.g1.psoftg1.bookmanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class BookEventListener {
     private final BookService bookService;
 
-    @RabbitListener(queues = "#{bookCreatedQueue.name}")
-    public void receiveBookCreated(Message msg) {
-
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
-
-            System.out.println(" [x] Received Book Created by AMQP: " + msg + ".");
+    @RabbitListener(queues = "#{bookCreatedQueue.name}", containerFactory = "batchRabbitListenerContainerFactory")
+    public void receiveBookCreated(List<Message> messages) {
+        List<BookViewAMQP> books = new ArrayList<>(messages.size());
+        for (Message msg : messages) {
             try {
-                bookService.create(bookViewAMQP);
-                System.out.println(" [x] New book inserted from AMQP: " + msg + ".");
-            } catch (Exception e) {
-                System.out.println(" [x] Book already exists. No need to store it.");
+                books.add(AmqpCodec.decode(msg.getBody(), BookViewAMQP.class));
+            }
+            catch(Exception ex) {
+                System.out.println(" [x] Exception receiving book event from AMQP: '" + ex.getMessage() + "'");
             }
         }
-        catch(Exception ex) {
-            System.out.println(" [x] Exception receiving book event from AMQP: '" + ex.getMessage() + "'");
+        System.out.println(" [x] Received " + books.size() + " Book Created events by AMQP");
+
+        try {
+            bookService.createAll(books);
+        } catch (Exception e) {
+            // One bad event rolls back the batch: apply them one by one so the others still get stored
+            System.out.println(" [x] Batch insert failed (" + e.getMessage() + "), storing books one by one");
+            for (BookViewAMQP bookViewAMQP : books) {
+                try {
+                    bookService.create(bookViewAMQP);
+                    System.out.println(" [x] New book inserted from AMQP: " + bookViewAMQP.getIsbn() + ".");
+                } catch (Exception ex) {
+                    System.out.println(" [x] Book already exists. No need to store it.");
+                }
+            }
         }
     }
 
     @RabbitListener(queues = "#{bookUpdatedQueue.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [x] Received Book Updated by AMQP: " + msg + ".");
             try {
@@ -59,7 +64,19 @@ public class BookEventListener {
     }
 
     @RabbitListener(queues = "#{bookDeletedQueue.name}")
-    public void receiveBookDeleted(String in) {
-        System.out.println(" [x] Received Book Deleted '" + in + "'");
+    public void receiveBookDeleted(Message msg) {
+        try {
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
+
+            System.out.println(" [x] Received Book Deleted by AMQP: " + bookViewAMQP.getIsbn() + ".");
+            try {
+                bookService.delete(bookViewAMQP.getIsbn());
+            } catch (Exception e) {
+                System.out.println(" [x] Book does not exist locally. Nothing to delete.");
+            }
+        }
+        catch(Exception ex) {
+            System.out.println(" [x] Exception receiving book event from AMQP: '" + ex.getMessage() + "'");
+        }
     }
 }
@@ -3,6 +3,7 @@ package pt.psoft.g1.psoftg1.bookmanagement.repositories;
 import org.springframework.data.repository.query.Param;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -13,5 +14,13 @@ public interface BookRepository {
 
     Optional<Book> findByIsbn(@Param("isbn") String isbn);
     Book save(Book book);
+    List<Book> saveAll(List<Book> books);
     void delete(Book book);
+
+    /**
+     * ISBNs of the books received from the Books service (placeholders excluded).
+     */
+    default List<String> findValidatedIsbns() {
+        return List.of();
+    }
 }
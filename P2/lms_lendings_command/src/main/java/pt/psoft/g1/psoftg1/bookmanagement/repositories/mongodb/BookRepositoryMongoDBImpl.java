@@ -11,6 +11,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.model.mongodb.BookMongoDB;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.mappers.BookMapperMongoDB;
 
+import java.util.List;
 import java.util.Optional;
 
 @Profile("mongodb")
@@ -65,6 +66,13 @@ public class BookRepositoryMongoDBImpl implements BookRepository {
         return bookMapperMongoDB.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        List<BookMongoDB> documents = books.stream().map(bookMapperMongoDB::toMongoDB).toList();
+
+        return bookRepositoryMongoDB.saveAll(documents).stream().map(bookMapperMongoDB::toDomain).toList();
+    }
+
     @Override
     public void delete(Book book) {
         // Assuming you have a method to delete by ISBN or ID
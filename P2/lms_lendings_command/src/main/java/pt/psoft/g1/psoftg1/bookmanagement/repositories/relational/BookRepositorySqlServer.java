@@ -5,6 +5,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import pt.psoft.g1.psoftg1.bookmanagement.model.relational.BookEntity;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BookRepositorySqlServer extends CrudRepository<BookEntity, Long> {
@@ -13,6 +14,11 @@ public interface BookRepositorySqlServer extends CrudRepository<BookEntity, Long
             "WHERE b.isbn.isbn = :isbn")
     Optional<BookEntity> findByIsbn(@Param("isbn") String isbn);
 
+    @Query("SELECT b.isbn.isbn " +
+            "FROM BookEntity b " +
+            "WHERE b.title.title <> :placeholderTitle")
+    List<String> findIsbnsWithTitleOtherThan(@Param("placeholderTitle") String placeholderTitle);
+
 
 
 
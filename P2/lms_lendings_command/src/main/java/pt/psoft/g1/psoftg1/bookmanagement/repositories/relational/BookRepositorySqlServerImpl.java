@@ -10,6 +10,8 @@ import pt.psoft.g1.psoftg1.bookmanagement.model.relational.BookEntity;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.mappers.BookEntityMapper;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Profile("sqlServer")
@@ -52,10 +54,26 @@ public class BookRepositorySqlServerImpl implements BookRepository {
 
     }
 
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        List<BookEntity> entities = books.stream().map(bookEntityMapper::toEntity).toList();
+
+        List<Book> saved = new ArrayList<>(entities.size());
+        for (BookEntity savedEntity : bookRepositorySqlServer.saveAll(entities)) {
+            saved.add(bookEntityMapper.toModel(savedEntity));
+        }
+        return saved;
+    }
+
     @Override
     public void delete(Book book) {
 
     }
 
+    @Override
+    public List<String> findValidatedIsbns() {
+        return bookRepositorySqlServer.findIsbnsWithTitleOtherThan("Pending Validation");
+    }
+
 
 }
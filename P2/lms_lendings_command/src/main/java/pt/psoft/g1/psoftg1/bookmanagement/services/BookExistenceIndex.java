@@ -0,0 +1,168 @@
+package pt.psoft.g1.psoftg1.bookmanagement.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ISBNs known to exist in the Books service, so most lendings are validated locally instead of
+ * through the lending.validation round trip (or the blocking HTTP check).
+ *
+ * The set is exact: ISBNs are stored as longs rather than strings (see encode), which also
+ * makes removal on BOOK_DELETED trivial. It is seeded at startup from the local book table (placeholders
+ * excluded) and kept up to date from the book events and positive validation responses. An ISBN that is
+ * not in the set is not rejected, it only takes the existing fallback.
+ *
+ * Metrics:
+ * - lending.book_index.lookups{result=hit|miss}
+ * - lending.book_index.size
+ * - lending.validation.fallback{path=async|http}: time until a fallback validation answered
+ */
+@Component
+public class BookExistenceIndex {
+
+    private static final long ISBN10_OFFSET = 10_000_000_000_000L;
+
+    private final BookRepository bookRepository;
+    private final int maxPendingFallbacks;
+
+    private final Set<Long> isbns = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> pendingFallbacks = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer asyncFallback;
+    private final Timer httpFallback;
+
+    public BookExistenceIndex(BookRepository bookRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${lending.book-index.max-pending-fallbacks:10000}") int maxPendingFallbacks) {
+        this.bookRepository = bookRepository;
+        this.maxPendingFallbacks = maxPendingFallbacks;
+        this.hits = Counter.builder("lending.book_index.lookups").tag("result", "hit")
+                .description("Lending validations answered by the local ISBN index")
+                .register(meterRegistry);
+        this.misses = Counter.builder("lending.book_index.lookups").tag("result", "miss")
+                .description("Lending validations that fell back to the Books service")
+                .register(meterRegistry);
+        this.asyncFallback = Timer.builder("lending.validation.fallback").tag("path", "async")
+                .register(meterRegistry);
+        this.httpFallback = Timer.builder("lending.validation.fallback").tag("path", "http")
+                .register(meterRegistry);
+        Gauge.builder("lending.book_index.size", isbns, Set::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        int seeded = 0;
+        for (String isbn : bookRepository.findValidatedIsbns()) {
+            if (add(isbn)) {
+                seeded++;
+            }
+        }
+        System.out.println(" [x] Book existence index seeded with " + seeded + " ISBNs");
+    }
+
+    /**
+     * Lookup on the lending validation path; counts as a hit or a miss.
+     */
+    public boolean isKnown(String isbn) {
+        long key = encode(isbn);
+        boolean known = key >= 0 && isbns.contains(key);
+        (known ? hits : misses).increment();
+        return known;
+    }
+
+    /**
+     * @return true if the ISBN was not in the index yet
+     */
+    public boolean add(String isbn) {
+        long key = encode(isbn);
+        return key >= 0 && isbns.add(key);
+    }
+
+    public void remove(String isbn) {
+        long key = encode(isbn);
+        if (key >= 0) {
+            isbns.remove(key);
+        }
+    }
+
+    /**
+     * Marks the start of an async validation round trip for the lending.
+     */
+    public void fallbackStarted(String lendingNumber) {
+        // Responses that never come must not grow the map forever
+        if (pendingFallbacks.size() < maxPendingFallbacks) {
+            pendingFallbacks.put(lendingNumber, System.nanoTime());
+        }
+    }
+
+    public void fallbackFinished(String lendingNumber) {
+        Long started = pendingFallbacks.remove(lendingNumber);
+        if (started != null) {
+            asyncFallback.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * The validation request of the lending was never sent, so no response will finish its round trip.
+     */
+    public void fallbackAbandoned(String lendingNumber) {
+        pendingFallbacks.remove(lendingNumber);
+    }
+
+    /**
+     * Runs a synchronous existence check against the Books service and records its latency.
+     */
+    public boolean timedHttpFallback(BooleanSupplier check) {
+        return httpFallback.record(() -> check.getAsBoolean());
+    }
+
+    /**
+     * ISBN as a number, or -1 when the value is not an ISBN-10/13. ISBN-13 values are below 10^13;
+     * ISBN-10 values are placed above, with the check digit (0-10, 'X' = 10) in base 11.
+     */
+    static long encode(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+        if (isbn.length() == 13) {
+            return digits(isbn, 13);
+        }
+        if (isbn.length() == 10) {
+            long prefix = digits(isbn, 9);
+            char check = isbn.charAt(9);
+            int checkDigit = check == 'X' || check == 'x' ? 10 : (check >= '0' && check <= '9' ? check - '0' : -1);
+            if (prefix < 0 || checkDigit < 0) {
+                return -1;
+            }
+            return ISBN10_OFFSET + prefix * 11 + checkDigit;
+        }
+        return -1;
+    }
+
+    private static long digits(String value, int count) {
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -14,6 +14,12 @@ public interface BookService {
 
     Book create(BookViewAMQP book);
 
+    /**
+     * Creates a batch of books in one transaction. Books that already exist are skipped,
+     * placeholders are filled in with the received data.
+     */
+    List<Book> createAll(List<BookViewAMQP> books);
+
     Book update(BookViewAMQP book);
 
     void delete(String isbn);
@@ -3,12 +3,17 @@ package pt.psoft.g1.psoftg1.bookmanagement.services;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.exceptions.ConflictException;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,6 +22,7 @@ import java.util.Optional;
 public class BookServiceImpl implements BookService {
 
 	private final BookRepository bookRepository;
+	private final BookExistenceIndex bookExistenceIndex;
 
 
 	@Override
@@ -34,7 +40,9 @@ public class BookServiceImpl implements BookService {
 			// Check if it's a placeholder - if so, update it with real data
 			if (existing.getTitle().toString().equals("Pending Validation")) {
 				System.out.println(" [BOOKS] 🔄 Updating placeholder book with real data for ISBN: " + isbn);
-				return updateBookData(existing, title, description, photoURI);
+				Book updated = updateBookData(existing, title, description, photoURI);
+				bookExistenceIndex.add(isbn);
+				return updated;
 			} else {
 				System.out.println(" [BOOKS] ⚠️ Book already exists with real data for ISBN: " + isbn);
 				throw new ConflictException("Book with ISBN " + isbn + " already exists");
@@ -42,10 +50,41 @@ public class BookServiceImpl implements BookService {
 		}
 
 		Book bookCreated = create(isbn, title, description, photoURI);
+		bookExistenceIndex.add(isbn);
 
 		return bookCreated;
 	}
 
+	@Override
+	@Transactional
+	public List<Book> createAll(List<BookViewAMQP> books) {
+		// Last event wins when the same ISBN shows up twice in one batch
+		Map<String, BookViewAMQP> byIsbn = new LinkedHashMap<>();
+		for (BookViewAMQP book : books) {
+			byIsbn.put(book.getIsbn(), book);
+		}
+
+		List<Book> result = new ArrayList<>(byIsbn.size());
+		List<Book> newBooks = new ArrayList<>();
+		for (BookViewAMQP book : byIsbn.values()) {
+			Optional<Book> existingBook = bookRepository.findByIsbn(book.getIsbn());
+			if (existingBook.isEmpty()) {
+				newBooks.add(new Book(book.getIsbn(), book.getTitle(), book.getDescription(), null));
+			} else if (existingBook.get().getTitle().toString().equals("Pending Validation")) {
+				result.add(updateBookData(existingBook.get(), book.getTitle(), book.getDescription(), null));
+			} else {
+				System.out.println(" [BOOKS] ⚠️ Book already exists with real data for ISBN: " + book.getIsbn());
+			}
+		}
+
+		result.addAll(bookRepository.saveAll(newBooks));
+		System.out.println(" [BOOKS] ✅ " + newBooks.size() + " new books created in one batch");
+		for (Book book : result) {
+			bookExistenceIndex.add(book.getIsbn());
+		}
+		return result;
+	}
+
 	private Book create( String isbn,
 						 String title,
 						 String description,
@@ -88,6 +127,8 @@ public class BookServiceImpl implements BookService {
 
 	@Override
 	public void delete(String isbn) {
+		// New lendings of this ISBN go back to the Books service for validation
+		bookExistenceIndex.remove(isbn);
 		Book book = bookRepository.findByIsbn(isbn).orElseThrow();
 
 		bookRepository.delete(book);
@@ -0,0 +1,76 @@
+package pt.psoft.g1.psoftg1.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.ListenerMetricsAdvice;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.ListenerTuningProperties;
+
+/**
+ * Listener container factories: the default one (one message per call) and a batch one for
+ * projection queues, both tunable per queue through lms.amqp.listeners.* and instrumented.
+ */
+@Configuration
+@EnableConfigurationProperties(ListenerTuningProperties.class)
+public class RabbitListenerConfig {
+
+    @Bean
+    public ListenerMetricsAdvice listenerMetricsAdvice(MeterRegistry meterRegistry) {
+        return new ListenerMetricsAdvice(meterRegistry);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerTuningProperties tuning,
+            ListenerMetricsAdvice listenerMetricsAdvice) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAdviceChain(listenerMetricsAdvice);
+        factory.setContainerCustomizer(tuning::applyTo);
+        return factory;
+    }
+
+    /**
+     * Consumer-side batching: the listener receives a List<Message> of up to batch-size messages.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerTuningProperties tuning,
+            ListenerMetricsAdvice listenerMetricsAdvice) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(tuning.getBatchSize());
+        factory.setReceiveTimeout(tuning.getBatchReceiveTimeout());
+        factory.setAdviceChain(listenerMetricsAdvice);
+        factory.setContainerCustomizer(tuning::applyTo);
+        return factory;
+    }
+
+    /**
+     * amqp.queue.depth: messages waiting in each tuned queue, i.e. the consumer lag in messages.
+     */
+    @Bean
+    public MeterBinder queueDepthMetrics(AmqpAdmin amqpAdmin, ListenerTuningProperties tuning) {
+        return registry -> tuning.getQueues().keySet().forEach(queue ->
+                Gauge.builder("amqp.queue.depth", amqpAdmin, admin -> {
+                            QueueInformation info = admin.getQueueInfo(queue);
+                            return info != null ? info.getMessageCount() : Double.NaN;
+                        })
+                        .tag("queue", queue)
+                        .register(registry));
+    }
+}
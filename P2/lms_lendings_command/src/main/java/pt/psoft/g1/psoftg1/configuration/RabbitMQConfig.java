@@ -129,6 +129,16 @@ public class RabbitMQConfig {
         return new Queue("lending.validation.response", true);
     }
 
+    @Bean
+    public Queue lendingValidationBatchRequestQueue() {
+        return new Queue("lending.validation.batch.request", true);
+    }
+
+    @Bean
+    public Queue lendingValidationBatchResponseQueue() {
+        return new Queue("lending.validation.batch.response", true);
+    }
+
     @Bean
     public Binding bookLendingRequestBinding(@Qualifier("directExchange") DirectExchange direct,
                                              @Qualifier("bookLendingRequestQueue") Queue queue) {
@@ -290,6 +300,22 @@ public class RabbitMQConfig {
                 .with("lending.validation.response");
     }
 
+    @Bean
+    public Binding lendingValidationBatchRequestBinding(@Qualifier("directExchange") DirectExchange direct,
+                                                          @Qualifier("lendingValidationBatchRequestQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with("lending.validation.batch.request");
+    }
+
+    @Bean
+    public Binding lendingValidationBatchResponseBinding(@Qualifier("directExchange") DirectExchange direct,
+                                                           @Qualifier("lendingValidationBatchResponseQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with("lending.validation.batch.response");
+    }
+
     @Bean
     public BookEventListener bookReceiver(BookService bookService) {
         return new BookEventListener(bookService);
@@ -17,6 +17,7 @@ import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.CreateLendingRequest;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.OverdueMaterializer;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SearchLendingQuery;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SetLendingReturnedRequest;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
@@ -24,9 +25,10 @@ import pt.psoft.g1.psoftg1.shared.api.ListResponse;
 import pt.psoft.g1.psoftg1.shared.services.ConcurrencyService;
 import pt.psoft.g1.psoftg1.shared.services.Page;
 import pt.psoft.g1.psoftg1.shared.services.SearchRequest;
-import pt.psoft.g1.psoftg1.usermanagement.model.User;
-import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Lendings", description = "Endpoints for managing Lendings")
@@ -36,8 +38,9 @@ import java.util.List;
 public class LendingController {
     private final LendingService lendingService;
     private final ReaderService readerService;
-    private final UserService userService;
+    private final PrincipalResolver principalResolver;
     private final ConcurrencyService concurrencyService;
+    private final OverdueMaterializer overdueMaterializer;
 
     private final LendingViewMapper lendingViewMapper;
 
@@ -169,9 +172,9 @@ public class LendingController {
 
         // Authorization: Only the Reader who made the lending can return the book
         if (authentication != null && authentication.isAuthenticated()) {
-            User loggedUser = userService.getAuthenticatedUser(authentication);
-            final var loggedReaderDetails = readerService.findByUsername(loggedUser.getUsername())
-                    .orElseThrow(() -> new NotFoundException("Reader not found for user: " + loggedUser.getUsername()));
+            AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
+            final var loggedReaderDetails = readerService.findByUsername(loggedUser.username())
+                    .orElseThrow(() -> new NotFoundException("Reader not found for user: " + loggedUser.username()));
 
             // Check if logged Reader matches the one associated with the lending
             if (!loggedReaderDetails.getReaderNumber().equals(maybeLending.getReaderDetails().getReaderNumber())) {
@@ -197,16 +200,28 @@ public class LendingController {
     //
     //    return ResponseEntity.ok().body(lendingViewMapper.toLendingsAverageDurationView(lendingService.getAverageDuration()));
     //}
-    //
-    //@Operation(summary = "Get list of overdue lendings")
-    //@GetMapping(value = "/overdue")
-    //public ListResponse<LendingView> getOverdueLendings(@Valid @RequestBody Page page) {
-    //    final List<Lending> overdueLendings = lendingService.getOverdue(page);
-    //    if(overdueLendings.isEmpty())
-    //        throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-    //                "No lendinds to show.");
-    //    return new ListResponse<>(lendingViewMapper.toLendingView(overdueLendings));
-    //}
+
+    @Operation(summary = "Get list of overdue lendings, oldest limit date first")
+    @GetMapping(value = "/overdue")
+    public ListResponse<LendingView> getOverdueLendings(
+            @Parameter(description = "Lending number of the last lending of the previous page")
+            @RequestParam(value = "after", required = false) final String afterLendingNumber,
+            @RequestParam(value = "limit", defaultValue = "10") final int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 100");
+        }
+        final List<Lending> overdueLendings = lendingService.getOverdue(afterLendingNumber, limit);
+        if(overdueLendings.isEmpty())
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "No lendinds to show.");
+        return new ListResponse<>(lendingViewMapper.toLendingView(overdueLendings));
+    }
+
+    @Operation(summary = "Mark overdue lendings and accrue their fines now instead of waiting for the daily run")
+    @PostMapping(value = "/overdue/materialize")
+    public ResponseEntity<Integer> materializeOverdue() {
+        return ResponseEntity.ok(overdueMaterializer.materialize(LocalDate.now()));
+    }
 
     @PostMapping("/search")
     public ListResponse<LendingView> searchReaders(
@@ -1,10 +1,10 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +21,7 @@ public class LendingRabbitmqController {
         try {
             System.out.println(" [LENDING] 📥 Received book validation response");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            LendingValidationResponse response = objectMapper.readValue(message, LendingValidationResponse.class);
+            LendingValidationResponse response = AmqpCodec.decode(message, LendingValidationResponse.class);
 
             System.out.println(" [LENDING] 📋 Processing validation for lending: " + response.getLendingNumber() +
                              " | Book exists: " + response.isBookExists());
@@ -35,4 +34,31 @@ public class LendingRabbitmqController {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Respostas de um lote de validação (lending.validation.batch.request). O lote é aplicado numa só
+     * transação; se falhar, as respostas são aplicadas uma a uma como no listener acima.
+     */
+    @RabbitListener(queues = "lending.validation.batch.response")
+    public void receiveLendingValidationBatchResponse(String message) {
+        LendingValidationBatchResponse batch;
+        try {
+            batch = AmqpCodec.decode(message, LendingValidationBatchResponse.class);
+        } catch (Exception e) {
+            System.err.println(" [LENDING] ❌ Error decoding validation batch response: " + e.getMessage());
+            return;
+        }
+
+        System.out.println(" [LENDING] 📥 Received validation batch " + batch.getBatchId() +
+                         " | Responses: " + batch.getResponses().size());
+        try {
+            lendingService.processBookValidationResponses(batch.getResponses());
+        } catch (Exception e) {
+            System.err.println(" [LENDING] ⚠️ Validation batch " + batch.getBatchId() +
+                             " failed (" + e.getMessage() + "), applying responses one by one");
+            for (LendingValidationResponse response : batch.getResponses()) {
+                lendingService.processBookValidationResponse(response);
+            }
+        }
+    }
 }
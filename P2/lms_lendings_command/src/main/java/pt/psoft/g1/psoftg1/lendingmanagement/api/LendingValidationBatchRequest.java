@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LendingValidationBatchRequest {
+    private String batchId;  // ID do lote, devolvido no LendingValidationBatchResponse
+    private List<LendingValidationRequest> requests = new ArrayList<>();
+}
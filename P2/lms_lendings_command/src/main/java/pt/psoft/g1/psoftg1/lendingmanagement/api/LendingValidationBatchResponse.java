@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LendingValidationBatchResponse {
+    private String batchId;  // Mesmo ID do lote para correlação
+    private List<LendingValidationResponse> responses = new ArrayList<>();
+}
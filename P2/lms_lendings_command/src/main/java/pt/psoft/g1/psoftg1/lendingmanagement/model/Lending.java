@@ -76,6 +76,9 @@ public class Lending {
     @Getter
     private Integer daysOverdue;
 
+    /** Set by the overdue materializer while the lending is outstanding past its limit date */
+    private boolean overdue;
+
 
     private IdGeneratorFactory idGeneratorFactory;
 
@@ -122,7 +125,7 @@ public class Lending {
         }
     }
     @Builder
-    public Lending(long pk, Book book, ReaderDetails readerDetails, LendingNumber lendingNumber, LocalDate startDate, LocalDate limitDate, LocalDate returnedDate, int fineValuePerDayInCents, String genId, boolean readerValid, boolean bookValid, String lendingStatus, long version, String commentary, Integer grade) {
+    public Lending(long pk, Book book, ReaderDetails readerDetails, LendingNumber lendingNumber, LocalDate startDate, LocalDate limitDate, LocalDate returnedDate, int fineValuePerDayInCents, String genId, boolean readerValid, boolean bookValid, String lendingStatus, long version, String commentary, Integer grade, boolean overdue) {
         try {
             this.book = Objects.requireNonNull(book);
 
@@ -149,6 +152,7 @@ public class Lending {
         this.commentary = commentary;
         this.grade = grade;
         this.pk = pk;
+        this.overdue = overdue;
     }
 
     public void setReturned(final long desiredVersion, final String comment, final Integer grade) {
@@ -174,6 +178,7 @@ public class Lending {
 
         this.returnedDate = LocalDate.now();
         this.lendingStatus = "DELIVERED";
+        this.overdue = false;
     }
 
     public int getDaysDelayed() {
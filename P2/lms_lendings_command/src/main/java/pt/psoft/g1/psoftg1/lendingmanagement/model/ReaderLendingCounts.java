@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model;
+
+/**
+ * Lendings a reader has not returned yet, and how many of them are overdue.
+ */
+public record ReaderLendingCounts(int outstanding, int overdue) {
+}
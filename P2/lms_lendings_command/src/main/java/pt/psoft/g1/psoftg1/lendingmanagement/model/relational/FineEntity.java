@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.Setter;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Fine;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 /**
@@ -50,6 +52,18 @@ public class FineEntity{
         this.lendingEntity = Objects.requireNonNull(lending);
     }
 
+    /**
+     * Fine opened by the overdue materializer, accrued up to {@code today}. The lending's own
+     * fine value per day is not persisted, so the configured value is passed in.
+     */
+    public static FineEntity open(LendingEntity lending, int fineValuePerDayInCents, LocalDate today) {
+        FineEntity fine = new FineEntity();
+        fine.lendingEntity = Objects.requireNonNull(lending);
+        fine.fineValuePerDayInCents = fineValuePerDayInCents;
+        fine.accrue(today);
+        return fine;
+    }
+
     /** Protected empty constructor for ORM only. */
     protected FineEntity() {
         this.fineValuePerDayInCents = 0;
@@ -62,4 +76,19 @@ public class FineEntity{
     public void recalculateFine() {
         this.centsValue = fineValuePerDayInCents * lendingEntity.getDaysDelayed();
     }
+
+    /**
+     * Sets the fine to the days the lending is late on {@code day}.
+     *
+     * @return true when the value changed
+     */
+    public boolean accrue(LocalDate day) {
+        int days = Math.max((int) ChronoUnit.DAYS.between(lendingEntity.getLimitDate(), day), 0);
+        int value = fineValuePerDayInCents * days;
+        if (value == centsValue) {
+            return false;
+        }
+        this.centsValue = value;
+        return true;
+    }
 }
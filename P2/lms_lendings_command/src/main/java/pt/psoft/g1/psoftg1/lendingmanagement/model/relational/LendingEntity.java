@@ -26,7 +26,11 @@ import java.util.Optional;
 @Getter
 @Entity
 @Table(uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"LENDING_NUMBER"})})
+        @UniqueConstraint(columnNames = {"LENDING_NUMBER"})},
+        indexes = {
+                // GET /api/lendings/overdue pages over (limit_date, pk); the materializer finds newly late lendings
+                @Index(name = "idx_lending_overdue", columnList = "overdue, returned_date, limit_date, pk"),
+                @Index(name = "idx_lending_reader_outstanding", columnList = "reader_details_pk, returned_date")})
 @NoArgsConstructor
 public class LendingEntity {
     @Getter
@@ -81,6 +85,9 @@ public class LendingEntity {
 
     private Integer daysOverdue;
 
+    @Column(nullable = false)
+    private boolean overdue;
+
     @Setter
     @Column
     private boolean readerValid;
@@ -103,7 +110,7 @@ public class LendingEntity {
      */
 
     @Builder
-    public LendingEntity(long pk,BookEntity book, ReaderDetailsEntity readerDetails, LendingNumberEntity lendingNumber, LocalDate startDate, LocalDate limitDate, LocalDate returnedDate, int fineValuePerDayInCents, boolean readerValid, String lendingStatus, boolean bookValid, long version, String commentary, Integer grade) {
+    public LendingEntity(long pk,BookEntity book, ReaderDetailsEntity readerDetails, LendingNumberEntity lendingNumber, LocalDate startDate, LocalDate limitDate, LocalDate returnedDate, int fineValuePerDayInCents, boolean readerValid, String lendingStatus, boolean bookValid, long version, String commentary, Integer grade, boolean overdue) {
         try {
             this.book = Objects.requireNonNull(book);
             this.readerDetails = Objects.requireNonNull(readerDetails);
@@ -124,6 +131,7 @@ public class LendingEntity {
         this.commentary = commentary;
         this.grade = grade;
         this.pk = pk;
+        this.overdue = overdue;
     }
 
     public void setReturned(final long desiredVersion, final String commentary, final Integer grade) {
@@ -149,6 +157,17 @@ public class LendingEntity {
 
         this.returnedDate = LocalDate.now();
         this.lendingStatus = "DELIVERED";
+        this.overdue = false;
+    }
+
+    /**
+     * Flags an outstanding lending that is past its limit date on {@code today} as overdue.
+     */
+    public void markOverdue(final LocalDate today) {
+        if (this.returnedDate != null || !this.limitDate.isBefore(today)) {
+            throw new IllegalArgumentException("Lending is not overdue");
+        }
+        this.overdue = true;
     }
 
     public int getDaysDelayed() {
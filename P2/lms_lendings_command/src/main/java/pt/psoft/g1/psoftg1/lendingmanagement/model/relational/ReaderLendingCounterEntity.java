@@ -0,0 +1,35 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per reader: lendings not returned yet and, of those, the ones marked overdue.
+ * Kept up to date by the lending repository, so eligibility checks read a single row.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "reader_lending_counters")
+public class ReaderLendingCounterEntity {
+
+    @Id
+    @Column(name = "reader_number", length = 32)
+    private String readerNumber;
+
+    @Column(nullable = false)
+    private int outstanding;
+
+    @Column(nullable = false)
+    private int overdue;
+
+    public ReaderLendingCounterEntity(String readerNumber, int outstanding, int overdue) {
+        this.readerNumber = readerNumber;
+        this.outstanding = outstanding;
+        this.overdue = overdue;
+    }
+}
@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.publishers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -8,13 +7,16 @@ import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookSagaViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingDetailsView;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingReturnedEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationBatchRequest;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationRequest;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQPMapper;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderSagaViewAMQP;
 import pt.psoft.g1.psoftg1.shared.model.LendingEvents;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -48,8 +50,7 @@ public class LendingEventPublisher {
             request.setIsbn(isbn);
             request.setLendingNumber(lendingNumber);
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonRequest = objectMapper.writeValueAsString(request);
+            String jsonRequest = AmqpCodec.encode(request);
 
             template.convertAndSend(direct.getName(), "lending.validation.request", jsonRequest);
 
@@ -64,6 +65,27 @@ public class LendingEventPublisher {
         }
     }
 
+    /**
+     * Envia vários pedidos de validação numa só mensagem; o Books responde com um único
+     * LendingValidationBatchResponse. Usado pelo LendingValidationBatcher.
+     */
+    public String requestBookValidationBatch(List<LendingValidationRequest> requests) {
+        try {
+            String batchId = UUID.randomUUID().toString();
+
+            String jsonRequest = AmqpCodec.encode(new LendingValidationBatchRequest(batchId, requests));
+
+            template.convertAndSend(direct.getName(), "lending.validation.batch.request", jsonRequest);
+
+            System.out.println(" [LENDING] 📤 Sent book validation batch " + batchId + " | Requests: " + requests.size());
+
+            return batchId;
+        } catch (Exception e) {
+            System.err.println(" [LENDING] ❌ Error sending validation batch: " + e.getMessage());
+            throw new RuntimeException("Failed to send book validation batch", e);
+        }
+    }
+
     // ========== LENDING EVENTS ==========
 
     public void sendLendingCreated(Lending lending) {
@@ -78,14 +100,16 @@ public class LendingEventPublisher {
         sendLendingEvent(lending, currentVersion, LendingEvents.LENDING_DELETED);
     }
 
+    public void sendLendingOverdue(Lending lending) {
+        sendLendingEvent(lending, lending.getVersion(), LendingEvents.LENDING_OVERDUE);
+    }
+
     public void sendLendingEvent(Lending lending, Long currentVersion, String lendingEventType) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             LendingViewAMQP lendingViewAMQP = lendingViewAMQPMapper.toLendingViewAMQP(lending);
             lendingViewAMQP.setVersion(currentVersion.toString());
 
-            String jsonString = objectMapper.writeValueAsString(lendingViewAMQP);
+            String jsonString = AmqpCodec.encode(lendingViewAMQP);
 
             this.template.convertAndSend(direct.getName(), lendingEventType, jsonString);
             System.out.println(" [x] Sent '" + lending.getLendingNumber() + "'");
@@ -96,10 +120,8 @@ public class LendingEventPublisher {
 
     public void sendLendingReturned(String lendingId, String bookId, String readerId, String comment, Integer grade) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             LendingReturnedEvent event = new LendingReturnedEvent(lendingId, bookId, readerId, comment, grade);
-            String jsonString = objectMapper.writeValueAsString(event);
+            String jsonString = AmqpCodec.encode(event);
 
             this.template.convertAndSend(direct.getName(), LendingEvents.LENDING_RETURNED, jsonString);
             System.out.println(" [x] Sent LendingReturned event: lendingId=" + lendingId + ", bookId=" + bookId);
@@ -112,8 +134,6 @@ public class LendingEventPublisher {
 
     public void sendBookCreatedInLending(LendingDetailsView lendingDetailsView, String lendingNumber) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             BookSagaViewAMQP bookViewAMQP = new BookSagaViewAMQP();
             bookViewAMQP.setLendingNumber(lendingNumber);
             bookViewAMQP.setIsbn(lendingDetailsView.getBookIsbn());
@@ -122,7 +142,7 @@ public class LendingEventPublisher {
             bookViewAMQP.setAuthorIds(lendingDetailsView.getBookAuthorIds());
             bookViewAMQP.setGenre(lendingDetailsView.getBookGenre());
 
-            String jsonString = objectMapper.writeValueAsString(bookViewAMQP);
+            String jsonString = AmqpCodec.encode(bookViewAMQP);
 
             this.template.convertAndSend(direct.getName(), "book.lending.requests", jsonString);
             System.out.println(" [x] Sent '" + lendingDetailsView.getBookIsbn() + "'");
@@ -133,8 +153,6 @@ public class LendingEventPublisher {
 
     public void sendReaderCreatedInLending(LendingDetailsView resource, String lendingNumber) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             ReaderSagaViewAMQP readerViewAMQP = new ReaderSagaViewAMQP();
             readerViewAMQP.setLendingNumber(lendingNumber);
             readerViewAMQP.setUsername(resource.getReaderUsername());
@@ -148,7 +166,7 @@ public class LendingEventPublisher {
             readerViewAMQP.setThirdParty(resource.isReaderThirdParty());
             readerViewAMQP.setInterestList(resource.getReaderInterestList());
 
-            String jsonString = objectMapper.writeValueAsString(readerViewAMQP);
+            String jsonString = AmqpCodec.encode(readerViewAMQP);
 
             this.template.convertAndSend(direct.getName(), "reader.lending.requests", jsonString);
             System.out.println(" [x] Sent '" + resource.getReaderUsername() + "'");
@@ -0,0 +1,133 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.publishers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the book validation requests of the async path into lending.validation.batch.request messages.
+ * A batch is sent when it reaches max-size or, at the latest, max-wait-ms after its first request, so a
+ * lending waits at most that long more for its validation.
+ *
+ * With lending.validation.batch.enabled=false every request is sent on its own (lending.validation.request),
+ * as before. A batch that cannot be sent is retried request by request; the future of a request that still
+ * cannot be sent fails, so the caller can undo its lending.
+ */
+@Component
+public class LendingValidationBatcher implements DisposableBean {
+
+    private final LendingEventPublisher lendingEventPublisher;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxWaitMs;
+
+    private final ScheduledExecutorService flusher;
+    private List<Pending> buffer = new ArrayList<>();
+
+    public LendingValidationBatcher(LendingEventPublisher lendingEventPublisher,
+                                    @Value("${lending.validation.batch.enabled:true}") boolean enabled,
+                                    @Value("${lending.validation.batch.max-size:100}") int maxSize,
+                                    @Value("${lending.validation.batch.max-wait-ms:20}") long maxWaitMs) {
+        this.lendingEventPublisher = lendingEventPublisher;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.maxWaitMs = maxWaitMs;
+        this.flusher = enabled ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lending-validation-batcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Queues a validation request for the lending. When batching is disabled the request is sent right away.
+     *
+     * @return completes once the request is sent, or fails when neither its batch nor the request on its own
+     * could be sent
+     */
+    public CompletableFuture<Void> submit(String isbn, String lendingNumber) {
+        if (!enabled) {
+            try {
+                lendingEventPublisher.requestBookValidation(isbn, lendingNumber);
+                return CompletableFuture.completedFuture(null);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Pending pending = new Pending(new LendingValidationRequest(UUID.randomUUID().toString(), isbn, lendingNumber),
+                new CompletableFuture<>());
+        List<Pending> full = null;
+        synchronized (this) {
+            buffer.add(pending);
+            if (buffer.size() >= maxSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                flusher.schedule(this::flush, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return pending.sent();
+    }
+
+    /**
+     * Sends whatever is buffered.
+     */
+    public void flush() {
+        List<Pending> pending;
+        synchronized (this) {
+            pending = drain();
+        }
+        if (!pending.isEmpty()) {
+            send(pending);
+        }
+    }
+
+    private List<Pending> drain() {
+        List<Pending> drained = buffer;
+        buffer = new ArrayList<>();
+        return drained;
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            lendingEventPublisher.requestBookValidationBatch(batch.stream().map(Pending::request).toList());
+        } catch (Exception e) {
+            System.out.println(" [x] Validation batch of " + batch.size() + " not sent, sending requests one by one");
+            for (Pending pending : batch) {
+                LendingValidationRequest request = pending.request();
+                try {
+                    lendingEventPublisher.requestBookValidation(request.getIsbn(), request.getLendingNumber());
+                    pending.sent().complete(null);
+                } catch (Exception ex) {
+                    System.out.println(" [x] ⚠️ Validation request for lending " + request.getLendingNumber() + " not sent: " + ex.getMessage());
+                    pending.sent().completeExceptionally(ex);
+                }
+            }
+            return;
+        }
+        batch.forEach(pending -> pending.sent().complete(null));
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+    }
+
+    private record Pending(LendingValidationRequest request, CompletableFuture<Void> sent) {
+    }
+}
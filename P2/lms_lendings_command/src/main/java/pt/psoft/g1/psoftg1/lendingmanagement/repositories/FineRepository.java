@@ -2,6 +2,7 @@ package pt.psoft.g1.psoftg1.lendingmanagement.repositories;
 
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Fine;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 public interface FineRepository {
@@ -11,4 +12,13 @@ public interface FineRepository {
 
     Fine save(Fine fine);
 
+    /**
+     * Brings up to batchSize fines of overdue lendings, after the given fine, up to date for {@code today}.
+     *
+     * @return the cursor to pass for the next batch, or -1 when no fines are left
+     */
+    default long accrueOverdueFines(LocalDate today, long afterFine, int batchSize) {
+        return -1;
+    }
+
 }
@@ -5,18 +5,68 @@ import java.util.List;
 import java.util.Optional;
 
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.ReaderLendingCounts;
 import pt.psoft.g1.psoftg1.shared.services.Page;
 
 public interface LendingRepository {
     Optional<Lending> findByLendingNumber(String lendingNumber);
     List<Lending> listByReaderNumberAndIsbn(String readerNumber, String isbn);
     int getCountFromCurrentYear();
+
+    /**
+     * Sequence number for a new lending of the current year.
+     */
+    default int nextSequenceFromCurrentYear() {
+        return getCountFromCurrentYear() + 1;
+    }
     List<Lending> listOutstandingByReaderNumber(String readerNumber);
+
+    /**
+     * Outstanding and overdue lendings of a reader, for the lending eligibility rules.
+     */
+    default ReaderLendingCounts readerLendingCounts(String readerNumber) {
+        List<Lending> outstanding = listOutstandingByReaderNumber(readerNumber);
+        int overdue = (int) outstanding.stream().filter(lending -> lending.getDaysDelayed() > 0).count();
+        return new ReaderLendingCounts(outstanding.size(), overdue);
+    }
+    /**
+     * Average duration in days of the returned lendings, or null when none has been returned.
+     */
     Double getAverageDuration();
     Double getAvgLendingDurationByIsbn(String isbn);
 
+    /**
+     * Recomputes the running duration totals from the lendings and corrects the ones that drifted.
+     *
+     * @return the totals that had drifted, with their stored and recomputed values
+     */
+    default List<LendingDurationDrift> reconcileDurationStats() {
+        // Only the relational store keeps running totals
+        return List.of();
+    }
+
 
     List<Lending> getOverdue(Page page);
+
+    /**
+     * Overdue lendings ordered by limit date, starting after the given lending (keyset pagination).
+     *
+     * @param afterLendingNumber last lending of the previous page, or null for the first page
+     */
+    default List<Lending> getOverdueAfter(String afterLendingNumber, int limit) {
+        // Without the materialized overdue flag only the first page can be served
+        return afterLendingNumber == null ? getOverdue(new Page(1, limit)) : List.of();
+    }
+
+    /**
+     * Marks up to batchSize outstanding lendings past their limit date as overdue and opens their fine.
+     *
+     * @return the lendings marked in this batch
+     */
+    default List<Lending> markOverdue(LocalDate today, int fineValuePerDayInCents, int batchSize) {
+        return List.of();
+    }
     List<Lending> searchLendings(Page page, String readerNumber, String isbn, Boolean returned, LocalDate startDate, LocalDate endDate);
 
     Lending save(Lending lending);
@@ -1,10 +1,12 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.repositories.relational.sqlServer;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Fine;
 
 import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.FineEntity;
@@ -13,6 +15,8 @@ import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.mappers.FineEntityMapper;
 
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Profile("sqlServer")
@@ -24,21 +28,34 @@ public class FineRepositorySqlServerImpl  implements FineRepository {
 
     private final FineEntityMapper fineEntityMapper;
 
+    private final EntityManager em;
+
 
     @Autowired
     @Lazy
-    public FineRepositorySqlServerImpl(FineRepositorySqlServer fineRepositorySqlServer,FineEntityMapper fineEntityMapper) {
+    public FineRepositorySqlServerImpl(FineRepositorySqlServer fineRepositorySqlServer,FineEntityMapper fineEntityMapper, EntityManager em) {
         this.fineRepositorySqlServer = fineRepositorySqlServer;
         this.fineEntityMapper = fineEntityMapper;
+        this.em = em;
     }
     @Override
     public Optional<Fine> findByLendingNumber(String lendingNumber) {
-        return fineRepositorySqlServer.findByLendingNumber(lendingNumber);
+        return fineRepositorySqlServer.findByLendingNumber(lendingNumber).map(fineEntityMapper::sqlServerToModel);
     }
 
     @Override
     public Fine save(Fine fine) {
 
+        // A lending that was already marked overdue has its fine open: settle it instead of adding a second one
+        if (fine.getLending() != null) {
+            Optional<FineEntity> open = fineRepositorySqlServer.findByLendingNumber(fine.getLending().getLendingNumber());
+            if (open.isPresent()) {
+                FineEntity fineEntity = open.get();
+                LocalDate returnedDate = fine.getLending().getReturnedDate();
+                fineEntity.accrue(returnedDate != null ? returnedDate : LocalDate.now());
+                return fineEntityMapper.sqlServerToModel(fineRepositorySqlServer.save(fineEntity));
+            }
+        }
 
         FineEntity fineEntity = fineEntityMapper.modelToSqlServer(fine);
 
@@ -46,4 +63,24 @@ public class FineRepositorySqlServerImpl  implements FineRepository {
 
         return fineEntityMapper.sqlServerToModel(savedEntity);
     }
+
+    @Override
+    @Transactional
+    public long accrueOverdueFines(LocalDate today, long afterFine, int batchSize) {
+        // Keyset over the fine pk; only the fines whose value moved are written
+        final List<FineEntity> fines = em.createQuery(
+                "SELECT f FROM FineEntity f JOIN FETCH f.lendingEntity l " +
+                        "WHERE l.overdue = true AND l.returnedDate IS NULL AND f.pk > :afterFine " +
+                        "ORDER BY f.pk", FineEntity.class)
+                .setParameter("afterFine", afterFine)
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (fines.isEmpty()) {
+            return -1;
+        }
+        for (FineEntity fine : fines) {
+            fine.accrue(today);
+        }
+        return fines.get(fines.size() - 1).getPk();
+    }
 }
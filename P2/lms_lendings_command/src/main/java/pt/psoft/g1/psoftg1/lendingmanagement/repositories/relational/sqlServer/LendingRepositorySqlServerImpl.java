@@ -8,17 +8,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.model.relational.BookEntity;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.relational.BookRepositorySqlServer;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.ReaderLendingCounts;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.FineEntity;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.ReaderLendingCounterEntity;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.model.relational.ReaderDetailsEntity;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.relational.ReaderRepositorySqlServer;
 import pt.psoft.g1.psoftg1.shared.services.Page;
+import pt.psoft.g1.psoftg1.shared.services.SequenceBlockAllocator;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingDurationStatsEntity;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingEntity;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.mappers.LendingEntityMapper;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
@@ -27,8 +36,12 @@ import pt.psoft.g1.psoftg1.usermanagement.model.relational.UserEntity;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.relational.UserRepositorySqlServer;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Profile("sqlServer")
@@ -42,6 +55,9 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     private final UserRepositorySqlServer userRepositorySqlServer;
     private final BookRepositorySqlServer bookRepository;
+    private final SequenceBlockAllocator sequenceAllocator;
+    private final ReaderLendingCounterRepositorySqlServer counterRepository;
+    private final LendingDurationStatsRepositorySqlServer durationStatsRepository;
 
     @PersistenceContext
     private final EntityManager em;
@@ -49,12 +65,15 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     @Autowired
     @Lazy
-    public LendingRepositorySqlServerImpl(LendingRepositorySqlServer lendingRepositorySqlServer, LendingEntityMapper lendingEntityMapper, ReaderRepositorySqlServer readerDetailsRepository, UserRepositorySqlServer userRepositorySqlServer, EntityManager em, BookRepositorySqlServer bookRepository) {
+    public LendingRepositorySqlServerImpl(LendingRepositorySqlServer lendingRepositorySqlServer, LendingEntityMapper lendingEntityMapper, ReaderRepositorySqlServer readerDetailsRepository, UserRepositorySqlServer userRepositorySqlServer, EntityManager em, BookRepositorySqlServer bookRepository, SequenceBlockAllocator sequenceAllocator, ReaderLendingCounterRepositorySqlServer counterRepository, LendingDurationStatsRepositorySqlServer durationStatsRepository) {
         this.lendingRepositorySqlServer = lendingRepositorySqlServer;
         this.lendingEntityMapper = lendingEntityMapper;
         this.readerDetailsRepository = readerDetailsRepository;
         this.userRepositorySqlServer = userRepositorySqlServer;
         this.bookRepository= bookRepository;
+        this.sequenceAllocator = sequenceAllocator;
+        this.counterRepository = counterRepository;
+        this.durationStatsRepository = durationStatsRepository;
         this.em = em;
     }
 
@@ -90,6 +109,13 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
         return this.lendingRepositorySqlServer.getCountFromCurrentYear();
     }
 
+    @Override
+    public int nextSequenceFromCurrentYear() {
+        // Atomic across replicas; seeded from the current count the first time a year is used
+        return (int) sequenceAllocator.next("lending-" + LocalDate.now().getYear(),
+                lendingRepositorySqlServer::getCountFromCurrentYear);
+    }
+
     @Override
     public List<Lending> listOutstandingByReaderNumber(String readerNumber) {
         List <Lending> lendings = new ArrayList<>();
@@ -102,14 +128,133 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     }
 
+    @Override
+    public ReaderLendingCounts readerLendingCounts(String readerNumber) {
+        ReaderLendingCounterEntity counter = counterRepository.findById(readerNumber)
+                .orElseGet(() -> seedCounter(readerNumber));
+        return new ReaderLendingCounts(counter.getOutstanding(), counter.getOverdue());
+    }
+
+    /**
+     * First lookup for a reader: the row is created from the lendings table and kept by save/delete from then on.
+     */
+    private ReaderLendingCounterEntity seedCounter(String readerNumber) {
+        ReaderLendingCounterEntity counter = new ReaderLendingCounterEntity(readerNumber,
+                lendingRepositorySqlServer.countOutstandingByReaderNumber(readerNumber),
+                lendingRepositorySqlServer.countOverdueByReaderNumber(readerNumber));
+        try {
+            return counterRepository.save(counter);
+        } catch (DataIntegrityViolationException e) {
+            // Another request seeded it first
+            return counterRepository.findById(readerNumber).orElse(counter);
+        }
+    }
+
+    /**
+     * Applies the change of a lending to its reader's counter. Readers without a row are left alone,
+     * their row is seeded from the lendings table on the next lookup.
+     */
+    private void adjustCounter(String readerNumber, boolean wasOutstanding, boolean wasOverdue,
+                               boolean isOutstanding, boolean isOverdue) {
+        int outstanding = (isOutstanding ? 1 : 0) - (wasOutstanding ? 1 : 0);
+        int overdue = (isOverdue ? 1 : 0) - (wasOverdue ? 1 : 0);
+        if (outstanding != 0 || overdue != 0) {
+            counterRepository.adjust(readerNumber, outstanding, overdue);
+        }
+    }
+
     @Override
     public Double getAverageDuration() {
-        return this.lendingRepositorySqlServer.getAverageDuration();
+        return durationStats(LendingDurationStatsEntity.ALL_BOOKS).average();
     }
 
     @Override
     public Double getAvgLendingDurationByIsbn(String isbn) {
-        return this.lendingRepositorySqlServer.getAvgLendingDurationByIsbn(isbn);
+        return durationStats(isbn).average();
+    }
+
+    private LendingDurationTotals durationStats(String isbn) {
+        LendingDurationStatsEntity stats = durationStatsRepository.findById(isbn)
+                .orElseGet(() -> seedDurationStats(isbn));
+        return new LendingDurationTotals(isbn, stats.getReturned(), stats.getTotalDays());
+    }
+
+    /**
+     * First lookup for a book (or for all books): the row is created from the lendings table and kept by
+     * save/delete from then on.
+     */
+    private LendingDurationStatsEntity seedDurationStats(String isbn) {
+        LendingDurationTotals totals = LendingDurationStatsEntity.ALL_BOOKS.equals(isbn)
+                ? lendingRepositorySqlServer.sumDurations()
+                : lendingRepositorySqlServer.sumDurationsByIsbn(isbn);
+        LendingDurationStatsEntity stats = new LendingDurationStatsEntity(isbn, totals.returned(), totals.totalDays());
+        try {
+            return durationStatsRepository.save(stats);
+        } catch (DataIntegrityViolationException e) {
+            // Another request seeded it first
+            return durationStatsRepository.findById(isbn).orElse(stats);
+        }
+    }
+
+    /**
+     * What a lending adds to the duration totals of its book: nothing until it is returned.
+     */
+    private static LendingDurationTotals durationOf(LendingEntity lending) {
+        if (lending.getReturnedDate() == null || lending.getBook() == null) {
+            return null;
+        }
+        return new LendingDurationTotals(lending.getBook().getIsbn(), 1,
+                ChronoUnit.DAYS.between(lending.getStartDate(), lending.getReturnedDate()));
+    }
+
+    /**
+     * Replaces the contribution of a lending to its book's totals and to the totals of all books. Books without
+     * a row are left alone, their row is seeded from the lendings table on the next lookup.
+     */
+    private void adjustDurationStats(LendingDurationTotals before, LendingDurationTotals after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            durationStatsRepository.adjust(before.isbn(), -1, -before.totalDays());
+        }
+        if (after != null) {
+            durationStatsRepository.adjust(after.isbn(), 1, after.totalDays());
+        }
+        long returned = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long totalDays = (after != null ? after.totalDays() : 0) - (before != null ? before.totalDays() : 0);
+        if (returned != 0 || totalDays != 0) {
+            durationStatsRepository.adjust(LendingDurationStatsEntity.ALL_BOOKS, returned, totalDays);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<LendingDurationDrift> reconcileDurationStats() {
+        Map<String, LendingDurationTotals> recomputed = new HashMap<>();
+        long returned = 0;
+        long totalDays = 0;
+        for (LendingDurationTotals totals : lendingRepositorySqlServer.sumDurationsGroupedByIsbn()) {
+            recomputed.put(totals.isbn(), totals);
+            returned += totals.returned();
+            totalDays += totals.totalDays();
+        }
+        recomputed.put(LendingDurationStatsEntity.ALL_BOOKS,
+                new LendingDurationTotals(LendingDurationStatsEntity.ALL_BOOKS, returned, totalDays));
+
+        List<LendingDurationDrift> drifts = new ArrayList<>();
+        for (LendingDurationStatsEntity stats : durationStatsRepository.findAll()) {
+            LendingDurationTotals expected = recomputed.getOrDefault(stats.getIsbn(),
+                    new LendingDurationTotals(stats.getIsbn(), 0, 0));
+            if (stats.getReturned() != expected.returned() || stats.getTotalDays() != expected.totalDays()) {
+                drifts.add(new LendingDurationDrift(stats.getIsbn(), stats.getReturned(), stats.getTotalDays(),
+                        expected.returned(), expected.totalDays()));
+                // Corrected by the difference, like any other change to the row
+                durationStatsRepository.adjust(stats.getIsbn(), expected.returned() - stats.getReturned(),
+                        expected.totalDays() - stats.getTotalDays());
+            }
+        }
+        return drifts;
     }
 
     @Override
@@ -141,6 +286,58 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
         return lendings;
     }
 
+    @Override
+    public List<Lending> getOverdueAfter(String afterLendingNumber, int limit) {
+        // Keyset over (limitDate, pk), served by idx_lending_overdue
+        String jpql = "SELECT l FROM LendingEntity l " +
+                "WHERE l.overdue = true AND l.returnedDate IS NULL ";
+        LendingEntity after = null;
+        if (afterLendingNumber != null) {
+            after = lendingRepositorySqlServer.findByLendingNumber(afterLendingNumber).orElse(null);
+            if (after == null) {
+                return List.of();
+            }
+            jpql += "AND (l.limitDate > :afterLimitDate OR (l.limitDate = :afterLimitDate AND l.pk > :afterPk)) ";
+        }
+        final TypedQuery<LendingEntity> q = em.createQuery(jpql + "ORDER BY l.limitDate, l.pk", LendingEntity.class);
+        if (after != null) {
+            q.setParameter("afterLimitDate", after.getLimitDate());
+            q.setParameter("afterPk", after.getPk());
+        }
+        q.setMaxResults(limit);
+
+        List<Lending> lendings = new ArrayList<>();
+        for (LendingEntity lendingEntity : q.getResultList()) {
+            lendings.add(lendingEntityMapper.sqlServerToModel(lendingEntity));
+        }
+        return lendings;
+    }
+
+    @Override
+    @Transactional
+    public List<Lending> markOverdue(LocalDate today, int fineValuePerDayInCents, int batchSize) {
+        final List<LendingEntity> late = em.createQuery(
+                "SELECT l FROM LendingEntity l " +
+                        "WHERE l.overdue = false AND l.returnedDate IS NULL AND l.limitDate < :today " +
+                        "ORDER BY l.limitDate, l.pk", LendingEntity.class)
+                .setParameter("today", today)
+                .setMaxResults(batchSize)
+                .getResultList();
+
+        for (LendingEntity lending : late) {
+            lending.markOverdue(today);
+            em.persist(FineEntity.open(lending, fineValuePerDayInCents, today));
+            adjustCounter(lending.getReaderDetails().getReaderNumber(), true, false, true, true);
+        }
+        em.flush();
+
+        List<Lending> marked = new ArrayList<>(late.size());
+        for (LendingEntity lending : late) {
+            marked.add(lendingEntityMapper.sqlServerToModel(lending));
+        }
+        return marked;
+    }
+
     @Override
     public List<Lending> searchLendings(Page page, String readerNumber, String isbn, Boolean returned, LocalDate startDate, LocalDate endDate) {
         final CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -185,10 +382,19 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
     }
 
     @Override
+    @Transactional
     public Lending save(Lending lending) {
 
         LendingEntity entity = lendingEntityMapper.modelToSqlServer(lending);
 
+        Optional<LendingEntity> before = entity.getPk() != null && entity.getPk() != 0
+                ? lendingRepositorySqlServer.findById(entity.getPk())
+                : Optional.empty();
+        boolean wasOutstanding = before.isPresent() && before.get().getReturnedDate() == null;
+        boolean wasOverdue = wasOutstanding && before.get().isOverdue();
+        // Captured before the save, which merges the new state into the same managed entity
+        LendingDurationTotals durationBefore = before.map(LendingRepositorySqlServerImpl::durationOf).orElse(null);
+
 
         if (entity.getBook() != null && entity.getBook().getIsbn() != null) {
             Optional<BookEntity> existingBookOptional = bookRepository.findByIsbn(entity.getBook().getIsbn());
@@ -227,12 +433,22 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
 
         LendingEntity savedEntity = lendingRepositorySqlServer.save(entity); // delega o save para o JPA
+        boolean isOutstanding = savedEntity.getReturnedDate() == null;
+        adjustCounter(savedEntity.getReaderDetails().getReaderNumber(), wasOutstanding, wasOverdue,
+                isOutstanding, isOutstanding && savedEntity.isOverdue());
+        adjustDurationStats(durationBefore, durationOf(savedEntity));
         return lendingEntityMapper.sqlServerToModel(savedEntity);
     }
 
     @Override
+    @Transactional
     public void delete(Lending lending) {
-        lendingRepositorySqlServer.delete(lendingEntityMapper.modelToSqlServer(lending));
+        LendingEntity entity = lendingEntityMapper.modelToSqlServer(lending);
+        lendingRepositorySqlServer.delete(entity);
+        boolean wasOutstanding = entity.getReturnedDate() == null;
+        adjustCounter(entity.getReaderDetails().getReaderNumber(), wasOutstanding, wasOutstanding && entity.isOverdue(),
+                false, false);
+        adjustDurationStats(durationOf(entity), null);
     }
 
     @Override
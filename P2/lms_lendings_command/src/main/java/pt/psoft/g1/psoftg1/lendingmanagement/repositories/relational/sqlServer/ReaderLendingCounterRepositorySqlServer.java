@@ -0,0 +1,21 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories.relational.sqlServer;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.ReaderLendingCounterEntity;
+
+@Repository
+public interface ReaderLendingCounterRepositorySqlServer extends CrudRepository<ReaderLendingCounterEntity, String> {
+
+    /**
+     * Adds the deltas in place; returns 0 when the reader has no counter row yet.
+     */
+    @Modifying
+    @Query("UPDATE ReaderLendingCounterEntity c " +
+            "SET c.outstanding = c.outstanding + :outstanding, c.overdue = c.overdue + :overdue " +
+            "WHERE c.readerNumber = :readerNumber")
+    int adjust(@Param("readerNumber") String readerNumber, @Param("outstanding") int outstanding, @Param("overdue") int overdue);
+}
@@ -0,0 +1,37 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+
+import java.util.List;
+
+/**
+ * Recomputes the running lending duration totals from scratch once a day and reports the rows that drifted
+ * (a lending changed outside the repository, or returned while its book's row was being seeded).
+ * A lending returned while this runs may be reported as drift and is set right by the next run.
+ */
+@Service
+@RequiredArgsConstructor
+public class LendingDurationStatsReconciler {
+
+    private final LendingRepository lendingRepository;
+
+    @Scheduled(cron = "${lending.duration-stats.reconcile-cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        reconcile();
+    }
+
+    public synchronized List<LendingDurationDrift> reconcile() {
+        List<LendingDurationDrift> drifts = lendingRepository.reconcileDurationStats();
+        for (LendingDurationDrift drift : drifts) {
+            System.out.println(" [x] Lending duration stats drifted for " + drift.isbn() + ": stored "
+                    + drift.storedReturned() + " returned / " + drift.storedTotalDays() + " days, recomputed "
+                    + drift.returned() + " returned / " + drift.totalDays() + " days");
+        }
+        System.out.println(" [x] Lending duration stats reconciled: " + drifts.size() + " rows corrected");
+        return drifts;
+    }
+}
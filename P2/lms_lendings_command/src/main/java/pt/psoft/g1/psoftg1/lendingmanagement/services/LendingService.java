@@ -27,6 +27,12 @@ public interface LendingService {
     Lending setReturned(String id, SetLendingReturnedRequest resource, long desiredVersion);
     Double getAverageDuration();
     List<Lending> getOverdue(Page page);
+
+    /**
+     * @param afterLendingNumber last lending of the previous page, or null for the first page
+     * @return overdue lendings, oldest limit date first
+     */
+    List<Lending> getOverdue(String afterLendingNumber, int limit);
     Double getAvgLendingDurationByIsbn(String isbn);
     List<Lending> searchLendings(Page page, SearchLendingQuery request);
 
@@ -44,4 +50,7 @@ public interface LendingService {
 
     // Novo método para processar respostas de validação via RabbitMQ
     void processBookValidationResponse(pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse response);
+
+    // Respostas de um lote de validação, aplicadas numa só transação
+    void processBookValidationResponses(List<pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse> responses);
 }
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookExistenceIndex;
 import pt.psoft.g1.psoftg1.exceptions.LendingForbiddenException;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.external.service.BooksServiceClient;
@@ -13,7 +15,9 @@ import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingDetailsView;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Fine;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.ReaderLendingCounts;
 import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingValidationBatcher;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
@@ -24,9 +28,11 @@ import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -37,7 +43,9 @@ public class LendingServiceImpl implements LendingService{
     private final BookRepository bookRepository;
     private final ReaderRepository readerRepository;
     private final LendingEventPublisher lendingEventPublisher;
+    private final LendingValidationBatcher lendingValidationBatcher;
     private final BooksServiceClient booksServiceClient;
+    private final BookExistenceIndex bookExistenceIndex;
 
     @Value("${lendingDurationInDays}")
     private int lendingDurationInDays;
@@ -71,24 +79,19 @@ public class LendingServiceImpl implements LendingService{
 
     @Override
     public Lending create(final CreateLendingRequest resource) {
-        int count = 0;
         System.out.println(" [LENDING] Creating Lending");
 
         final var readerDetails = readerRepository.findByUsername(resource.getUsername())
             .orElseThrow(() -> new NotFoundException("Reader not found"));
 
-        Iterable<Lending> lendingList = lendingRepository.listOutstandingByReaderNumber(readerDetails.getReaderNumber());
         System.out.println(" [LENDING] Validating reader lending rules...");
-        for (Lending lending : lendingList) {
+        checkReaderMayBorrow(readerDetails.getReaderNumber());
 
-            //Business rule: cannot create a lending if user has late outstanding books to return.
-            if (lending.getDaysDelayed() > 0) {
-                throw new LendingForbiddenException("Reader has book(s) past their due date");
-            }
-            count++;
-            //Business rule: cannot create a lending if user already has 3 outstanding books to return.
-            if (count >= 3) {
-                throw new LendingForbiddenException("Reader has three books outstanding already");
+        // Book known to the Books service and synchronized locally: validate now, no round trip
+        if (bookExistenceIndex.isKnown(resource.getIsbn())) {
+            Optional<Book> knownBook = bookRepository.findByIsbn(resource.getIsbn());
+            if (knownBook.isPresent()) {
+                return createValidated(knownBook.get(), readerDetails);
             }
         }
 
@@ -102,7 +105,7 @@ public class LendingServiceImpl implements LendingService{
 
         System.out.println(" [LENDING] Reader details: " + readerDetails.getReaderNumber());
 
-        int seq = lendingRepository.getCountFromCurrentYear()+1;
+        int seq = lendingRepository.nextSequenceFromCurrentYear();
         System.out.println(" [LENDING] Creating Lending object with seq: " + seq);
 
         final Lending l = new Lending(bookToUse, readerDetails, seq, lendingDurationInDays, fineValuePerDayInCents);
@@ -117,26 +120,74 @@ public class LendingServiceImpl implements LendingService{
         System.out.println(" [LENDING] Lending saved with pending status: " + saved.getLendingNumber());
 
         // Send asynchronous validation request to Books Command via RabbitMQ
-        try {
-            lendingEventPublisher.requestBookValidation(resource.getIsbn(), saved.getLendingNumber());
-            System.out.println(" [LENDING] 📤 Validation request sent for: " + saved.getLendingNumber());
-        } catch (Exception e) {
-            System.err.println(" [LENDING] ❌ Failed to send validation request: " + e.getMessage());
-            // If we can't send the validation request, delete the pending lending
-            lendingRepository.delete(saved);
-            throw new RuntimeException("Failed to initiate book validation for lending", e);
+        // If it can't be sent, no response will ever come: delete the pending lending
+        CompletableFuture<Void> sent = lendingValidationBatcher.submit(resource.getIsbn(), saved.getLendingNumber())
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        discardUnsentLending(saved, failure);
+                    }
+                });
+        if (sent.isCompletedExceptionally()) {
+            try {
+                sent.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("Failed to initiate book validation for lending", e.getCause());
+            }
         }
+        bookExistenceIndex.fallbackStarted(saved.getLendingNumber());
+        System.out.println(" [LENDING] 📤 Validation request queued for: " + saved.getLendingNumber());
 
         // Return immediately - validation will happen asynchronously
         // Client receives 202 ACCEPTED
         return saved;
     }
 
+    private void discardUnsentLending(Lending lending, Throwable failure) {
+        System.err.println(" [LENDING] ❌ Failed to send validation request: " + failure.getMessage());
+        bookExistenceIndex.fallbackAbandoned(lending.getLendingNumber());
+        try {
+            lendingRepository.delete(lending);
+            System.out.println(" [LENDING] 🗑️ Pending lending deleted: " + lending.getLendingNumber());
+        } catch (Exception e) {
+            System.err.println(" [LENDING] ❌ Pending lending " + lending.getLendingNumber() + " not deleted: " + e.getMessage());
+        }
+    }
+
+    private Lending createValidated(Book book, ReaderDetails readerDetails) {
+        int seq = lendingRepository.nextSequenceFromCurrentYear();
+        final Lending l = new Lending(book, readerDetails, seq, lendingDurationInDays, fineValuePerDayInCents);
+        l.setBookValid(true);
+        l.setReaderValid(true);
+        l.setLendingStatus("VALIDATED");
+
+        Lending saved = lendingRepository.save(l);
+        System.out.println(" [LENDING] ✅ Book validated locally, lending created: " + saved.getLendingNumber());
+        lendingEventPublisher.sendLendingCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Lending rules, checked against the reader's outstanding/overdue counter.
+     */
+    private void checkReaderMayBorrow(String readerNumber) {
+        ReaderLendingCounts counts = lendingRepository.readerLendingCounts(readerNumber);
+
+        //Business rule: cannot create a lending if user has late outstanding books to return.
+        if (counts.overdue() > 0) {
+            throw new LendingForbiddenException("Reader has book(s) past their due date");
+        }
+        //Business rule: cannot create a lending if user already has 3 outstanding books to return.
+        if (counts.outstanding() >= 3) {
+            throw new LendingForbiddenException("Reader has three books outstanding already");
+        }
+    }
+
     @Override
     public Lending createWithDetails(LendingDetailsView resource) {
         // Validate that the book exists in the Books service
         System.out.println("Checking if book exists in Books service with ISBN: " + resource.getBookIsbn());
-        boolean bookExists = booksServiceClient.checkBookExists(resource.getBookIsbn());
+        boolean bookExists = bookExistenceIndex.isKnown(resource.getBookIsbn())
+                || bookExistenceIndex.timedHttpFallback(() -> booksServiceClient.checkBookExists(resource.getBookIsbn()));
         if (!bookExists) {
             throw new NotFoundException("Book with ISBN " + resource.getBookIsbn() + " does not exist in Books service");
         }
@@ -149,7 +200,7 @@ public class LendingServiceImpl implements LendingService{
 
 
 
-        int seq = lendingRepository.getCountFromCurrentYear()+1;
+        int seq = lendingRepository.nextSequenceFromCurrentYear();
         // Criar o Lending
         final var lending = new Lending(book, readerDetails, seq, lendingDurationInDays, fineValuePerDayInCents);
 
@@ -216,8 +267,7 @@ public class LendingServiceImpl implements LendingService{
 
     @Override
     public Double getAverageDuration(){
-        Double avg = lendingRepository.getAverageDuration();
-        return Double.valueOf(String.format(Locale.US,"%.1f", avg));
+        return roundToOneDecimal(lendingRepository.getAverageDuration());
     }
 
     @Override
@@ -228,10 +278,14 @@ public class LendingServiceImpl implements LendingService{
         return lendingRepository.getOverdue(page);
     }
 
+    @Override
+    public List<Lending> getOverdue(String afterLendingNumber, int limit) {
+        return lendingRepository.getOverdueAfter(afterLendingNumber, limit);
+    }
+
     @Override
     public Double getAvgLendingDurationByIsbn(String isbn){
-        Double avg = lendingRepository.getAvgLendingDurationByIsbn(isbn);
-        return Double.valueOf(String.format(Locale.US,"%.1f", avg));
+        return roundToOneDecimal(lendingRepository.getAvgLendingDurationByIsbn(isbn));
     }
 
     @Override
@@ -270,29 +324,14 @@ public class LendingServiceImpl implements LendingService{
     @Override
     public Lending create(LendingViewAMQP resource) {
 
-        int count = 0;
         System.out.println("Creating Lending");
-        Iterable<Lending> lendingList = lendingRepository.listOutstandingByReaderNumber(resource.getReaderNumber());
-        System.out.println("Lending list");
-        for (Lending lending : lendingList) {
-
-            //Business rule: cannot create a lending if user has late outstanding books to return.
-            if (lending.getDaysDelayed() > 0) {
-                throw new LendingForbiddenException("Reader has book(s) past their due date");
-            }
-            count++;
-            System.out.println(count);
-            //Business rule: cannot create a lending if user already has 3 outstanding books to return.
-            if (count >= 3) {
-                throw new LendingForbiddenException("Reader has three books outstanding already");
-            }
-        }
+        checkReaderMayBorrow(resource.getReaderNumber());
 
         final var b = bookRepository.findByIsbn(resource.getIsbn())
                 .orElseThrow(() -> new NotFoundException("Book not found"));
         final var r = readerRepository.findByReaderNumber(resource.getReaderNumber())
                 .orElseThrow(() -> new NotFoundException("Reader not found"));
-        int seq = lendingRepository.getCountFromCurrentYear()+1;
+        int seq = lendingRepository.nextSequenceFromCurrentYear();
         final Lending l = new Lending(b,r,seq, lendingDurationInDays, fineValuePerDayInCents );
 
         l.setReaderValid(true);
@@ -377,46 +416,11 @@ public class LendingServiceImpl implements LendingService{
     @Override
     public void processBookValidationResponse(pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse response) {
         try {
-            System.out.println(" [LENDING] 🔄 Processing book validation response for lending: " + response.getLendingNumber());
-
-            // Find the lending by lending number
-            Lending lending = lendingRepository.findByLendingNumber(response.getLendingNumber())
-                    .orElseThrow(() -> new NotFoundException("Lending not found: " + response.getLendingNumber()));
-
-            if (response.isBookExists()) {
-                // Book exists - validate and finalize the lending
-                System.out.println(" [LENDING] ✅ Book validated successfully: " + response.getIsbn());
-
-                // Try to get the real book from local repository (synchronized from Books Command events)
-                Optional<Book> realBook = bookRepository.findByIsbn(response.getIsbn());
-
-                if (realBook.isPresent() && !realBook.get().getTitle().toString().equals("Pending Validation")) {
-                    // Real book data is available, update the lending with it
-                    System.out.println(" [LENDING] 📚 Updating lending with real book data: " + realBook.get().getTitle());
-                    lending.setBook(realBook.get());
-                } else {
-                    System.out.println(" [LENDING] ⚠️ Real book data not yet synchronized, keeping placeholder");
-                }
-
-                lending.setBookValid(true);
-                lending.setLendingStatus("VALIDATED");
-
-                Lending saved = lendingRepository.save(lending);
-
-                if (saved != null) {
-                    lendingEventPublisher.sendLendingCreated(saved);
-                    System.out.println(" [LENDING] 📤 Lending created event sent: " + saved.getLendingNumber());
-                }
-            } else {
-                // Book does not exist - reject the lending
-                System.out.println(" [LENDING] ❌ Book validation failed: " + response.getIsbn());
-                System.out.println(" [LENDING] ⚠️ Rejecting lending: " + response.getLendingNumber());
-
-                // Delete the pending lending
-                lendingRepository.delete(lending);
-                System.out.println(" [LENDING] 🗑️ Pending lending deleted: " + response.getLendingNumber());
+            Lending saved = applyValidationResponse(response);
+            if (saved != null) {
+                lendingEventPublisher.sendLendingCreated(saved);
+                System.out.println(" [LENDING] 📤 Lending created event sent: " + saved.getLendingNumber());
             }
-
         } catch (NotFoundException e) {
             System.err.println(" [LENDING] ❌ Lending not found: " + response.getLendingNumber());
         } catch (Exception e) {
@@ -424,4 +428,77 @@ public class LendingServiceImpl implements LendingService{
             e.printStackTrace();
         }
     }
+
+    /**
+     * Applies all the responses of a validation batch in one transaction; the lending created events are only
+     * sent once every response was applied. Responses for lendings that no longer exist are skipped, any other
+     * failure rolls the whole batch back and is thrown to the caller.
+     */
+    @Override
+    @Transactional
+    public void processBookValidationResponses(List<pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse> responses) {
+        List<Lending> validated = new ArrayList<>();
+        for (pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse response : responses) {
+            try {
+                Lending saved = applyValidationResponse(response);
+                if (saved != null) {
+                    validated.add(saved);
+                }
+            } catch (NotFoundException e) {
+                System.err.println(" [LENDING] ❌ Lending not found: " + response.getLendingNumber());
+            }
+        }
+        for (Lending saved : validated) {
+            lendingEventPublisher.sendLendingCreated(saved);
+        }
+        System.out.println(" [LENDING] 📤 Validation batch applied: " + responses.size() + " responses, " +
+                validated.size() + " lendings validated");
+    }
+
+    /**
+     * @return the validated lending, or null when the lending was rejected
+     */
+    private Lending applyValidationResponse(pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationResponse response) {
+        System.out.println(" [LENDING] 🔄 Processing book validation response for lending: " + response.getLendingNumber());
+        bookExistenceIndex.fallbackFinished(response.getLendingNumber());
+
+        // Find the lending by lending number
+        Lending lending = lendingRepository.findByLendingNumber(response.getLendingNumber())
+                .orElseThrow(() -> new NotFoundException("Lending not found: " + response.getLendingNumber()));
+
+        if (response.isBookExists()) {
+            // Book exists - validate and finalize the lending
+            System.out.println(" [LENDING] ✅ Book validated successfully: " + response.getIsbn());
+            bookExistenceIndex.add(response.getIsbn());
+
+            // Try to get the real book from local repository (synchronized from Books Command events)
+            Optional<Book> realBook = bookRepository.findByIsbn(response.getIsbn());
+
+            if (realBook.isPresent() && !realBook.get().getTitle().toString().equals("Pending Validation")) {
+                // Real book data is available, update the lending with it
+                System.out.println(" [LENDING] 📚 Updating lending with real book data: " + realBook.get().getTitle());
+                lending.setBook(realBook.get());
+            } else {
+                System.out.println(" [LENDING] ⚠️ Real book data not yet synchronized, keeping placeholder");
+            }
+
+            lending.setBookValid(true);
+            lending.setLendingStatus("VALIDATED");
+
+            return lendingRepository.save(lending);
+        }
+
+        // Book does not exist - reject the lending
+        System.out.println(" [LENDING] ❌ Book validation failed: " + response.getIsbn());
+        System.out.println(" [LENDING] ⚠️ Rejecting lending: " + response.getLendingNumber());
+
+        // Delete the pending lending
+        lendingRepository.delete(lending);
+        System.out.println(" [LENDING] 🗑️ Pending lending deleted: " + response.getLendingNumber());
+        return null;
+    }
+
+    private static Double roundToOneDecimal(Double value) {
+        return value == null ? null : Math.round(value * 10) / 10.0;
+    }
 }
@@ -0,0 +1,97 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+import pt.psoft.g1.psoftg1.shared.services.JobLock;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Materializes the overdue state once a day instead of deriving it from the current date on every read:
+ * - lendings past their limit date are marked overdue, get their fine and a LENDING_OVERDUE event
+ * - the fines of lendings still overdue are brought up to date
+ *
+ * Both steps run in batches of {@code lending.overdue.batch-size}, one short transaction per batch.
+ * Running it again on the same day changes nothing.
+ *
+ * The scheduled run happens on one replica only: the others find its job lock held and skip the day.
+ */
+@Service
+@PropertySource({"classpath:config/library.properties"})
+public class OverdueMaterializer {
+
+    private static final String JOB_NAME = "overdue-materializer";
+
+    private final LendingRepository lendingRepository;
+    private final FineRepository fineRepository;
+    private final LendingEventPublisher lendingEventPublisher;
+    private final JobLock jobLock;
+
+    @Value("${fineValuePerDayInCents}")
+    private int fineValuePerDayInCents;
+
+    @Value("${lending.overdue.batch-size:500}")
+    private int batchSize;
+
+    @Value("${lending.overdue.lock-at-most-for:1h}")
+    private Duration lockAtMostFor;
+
+    @Value("${lending.overdue.lock-at-least-for:5m}")
+    private Duration lockAtLeastFor;
+
+    public OverdueMaterializer(LendingRepository lendingRepository,
+                               FineRepository fineRepository,
+                               LendingEventPublisher lendingEventPublisher,
+                               JobLock jobLock) {
+        this.lendingRepository = lendingRepository;
+        this.fineRepository = fineRepository;
+        this.lendingEventPublisher = lendingEventPublisher;
+        this.jobLock = jobLock;
+    }
+
+    @Scheduled(cron = "${lending.overdue.cron:0 5 0 * * *}")
+    public void scheduledRun() {
+        if (!jobLock.tryAcquire(JOB_NAME, lockAtMostFor)) {
+            System.out.println(" [x] Overdue materialization skipped: another replica is running it");
+            return;
+        }
+        try {
+            materialize(LocalDate.now());
+        } finally {
+            jobLock.release(JOB_NAME, lockAtLeastFor);
+        }
+    }
+
+    /**
+     * @return number of lendings newly marked overdue
+     */
+    public synchronized int materialize(LocalDate today) {
+        int marked = 0;
+        List<Lending> batch;
+        do {
+            batch = lendingRepository.markOverdue(today, fineValuePerDayInCents, batchSize);
+            for (Lending lending : batch) {
+                lendingEventPublisher.sendLendingOverdue(lending);
+            }
+            marked += batch.size();
+        } while (batch.size() == batchSize);
+
+        int accrued = 0;
+        long cursor = 0;
+        while ((cursor = fineRepository.accrueOverdueFines(today, cursor, batchSize)) >= 0) {
+            accrued++;
+        }
+
+        System.out.println(" [x] Overdue materialized for " + today + ": " + marked + " lendings marked, "
+                + accrued + " fine batches accrued");
+        return marked;
+    }
+}
@@ -1,14 +1,15 @@
 package pt.psoft.g1.psoftg1.readermanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -16,36 +17,41 @@ public class ReaderEventListener {
 
     private final ReaderService readerService;
 
-    @RabbitListener(queues = "#{readerCreatedQueue.name}")
-    public void receiveReaderCreated(Message msg) {
-
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
-
-            System.out.println(" [x] Received Reader Created event via AMQP - Reader Number: " + readerViewAMQP.getReaderNumber());
+    @RabbitListener(queues = "#{readerCreatedQueue.name}", containerFactory = "batchRabbitListenerContainerFactory")
+    public void receiveReaderCreated(List<Message> messages) {
+        List<ReaderViewAMQP> readers = new ArrayList<>(messages.size());
+        for (Message msg : messages) {
             try {
-                readerService.create(readerViewAMQP);
-                System.out.println(" [x] Reader successfully stored in lendings_command service");
-            } catch (Exception e) {
-                System.out.println(" [x] Error creating reader in lendings_command: " + e.getMessage());
+                readers.add(AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class));
+            }
+            catch(Exception ex) {
+                System.out.println(" [x] Exception receiving reader created event from AMQP: " + ex.getMessage());
+                ex.printStackTrace();
             }
         }
-        catch(Exception ex) {
-            System.out.println(" [x] Exception receiving reader created event from AMQP: " + ex.getMessage());
-            ex.printStackTrace();
+        System.out.println(" [x] Received " + readers.size() + " Reader Created events via AMQP");
+
+        try {
+            readerService.createAll(readers);
+            System.out.println(" [x] Readers successfully stored in lendings_command service");
+        } catch (Exception e) {
+            // One bad event rolls back the batch: apply them one by one so the others still get stored
+            System.out.println(" [x] Batch insert failed (" + e.getMessage() + "), storing readers one by one");
+            for (ReaderViewAMQP readerViewAMQP : readers) {
+                try {
+                    readerService.create(readerViewAMQP);
+                    System.out.println(" [x] Reader successfully stored in lendings_command service");
+                } catch (Exception ex) {
+                    System.out.println(" [x] Error creating reader in lendings_command: " + ex.getMessage());
+                }
+            }
         }
     }
 
     @RabbitListener(queues = "#{readerUpdatedQueue.name}")
     public void receiveReaderUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class);
 
             System.out.println(" [x] Received Reader Updated event via AMQP - Reader Number: " + readerViewAMQP.getReaderNumber());
             try {
@@ -65,10 +71,7 @@ public class ReaderEventListener {
         System.out.println(" [x] Received Reader Deleted event via AMQP");
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(in.getBytes(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(in, ReaderViewAMQP.class);
 
             System.out.println(" [x] Processing Reader Deleted - Reader Number: " + readerViewAMQP.getReaderNumber());
             try {
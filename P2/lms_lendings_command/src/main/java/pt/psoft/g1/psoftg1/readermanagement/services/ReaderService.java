@@ -15,6 +15,11 @@ public interface ReaderService {
 
     ReaderDetails create(ReaderViewAMQP reader);
 
+    /**
+     * Creates a batch of readers in one transaction.
+     */
+    List<ReaderDetails> createAll(List<ReaderViewAMQP> readers);
+
     ReaderDetails update(ReaderViewAMQP reader);
 
     void delete(ReaderViewAMQP reader);
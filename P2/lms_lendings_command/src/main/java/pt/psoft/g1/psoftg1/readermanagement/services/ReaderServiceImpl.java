@@ -2,12 +2,15 @@ package pt.psoft.g1.psoftg1.readermanagement.services;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -50,6 +53,17 @@ public class ReaderServiceImpl implements ReaderService {
         return saved;
     }
 
+    @Override
+    @Transactional
+    public List<ReaderDetails> createAll(List<ReaderViewAMQP> readers) {
+        // Each reader still resolves its own User, but the whole batch commits once
+        List<ReaderDetails> created = new ArrayList<>(readers.size());
+        for (ReaderViewAMQP reader : readers) {
+            created.add(create(reader));
+        }
+        return created;
+    }
+
     @Override
     public ReaderDetails update(ReaderViewAMQP reader) {
         Optional<ReaderDetails> existingReader = readerRepo.findByReaderNumber(reader.getReaderNumber());
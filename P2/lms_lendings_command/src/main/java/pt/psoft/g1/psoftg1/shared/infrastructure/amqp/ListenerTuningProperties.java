@@ -0,0 +1,57 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.amqp;
+
+import lombok.Data;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-queue consumption settings for the RabbitMQ listener containers.
+ *
+ * Queues without an entry keep the spring.rabbitmq.listener.simple.* defaults. Example:
+ * lms.amqp.listeners.queues[lending.book.created].prefetch=250
+ */
+@ConfigurationProperties(prefix = "lms.amqp.listeners")
+@Data
+public class ListenerTuningProperties {
+
+    /** Messages delivered to a batch listener in one call (and applied in one transaction). */
+    private int batchSize = 100;
+
+    /** How long a batch consumer waits for more messages before handing over a partial batch (ms). */
+    private long batchReceiveTimeout = 200;
+
+    /** Settings by queue name. */
+    private Map<String, Tuning> queues = new HashMap<>();
+
+    @Data
+    public static class Tuning {
+        private Integer concurrency;
+        private Integer maxConcurrency;
+        private Integer prefetch;
+    }
+
+    /**
+     * Applies the settings of the first configured queue the container consumes from.
+     */
+    public void applyTo(SimpleMessageListenerContainer container) {
+        for (String queueName : container.getQueueNames()) {
+            Tuning tuning = queues.get(queueName);
+            if (tuning == null) {
+                continue;
+            }
+            if (tuning.getMaxConcurrency() != null) {
+                container.setMaxConcurrentConsumers(tuning.getMaxConcurrency());
+            }
+            if (tuning.getConcurrency() != null) {
+                container.setConcurrentConsumers(tuning.getConcurrency());
+            }
+            if (tuning.getPrefetch() != null) {
+                container.setPrefetchCount(tuning.getPrefetch());
+            }
+            return;
+        }
+    }
+}
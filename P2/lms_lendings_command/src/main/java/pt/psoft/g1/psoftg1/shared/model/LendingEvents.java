@@ -6,4 +6,5 @@ public interface LendingEvents {
         public static final String LENDING_UPDATED = "LENDING_UPDATED";
         public static final String LENDING_DELETED = "LENDING_DELETED";
         public static final String LENDING_RETURNED = "LENDING_RETURNED";
+        public static final String LENDING_OVERDUE = "LENDING_OVERDUE";
 }
@@ -0,0 +1,28 @@
+package pt.psoft.g1.psoftg1.shared.model.mongodb;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * MongoDB document of a scheduled job lock, see JobLockEntity.
+ */
+@Document(collection = "job_locks")
+@NoArgsConstructor
+@Getter
+@Setter
+public class JobLockMongoDB {
+
+    @Id
+    private String name;
+
+    private Instant lockedAt;
+
+    private Instant lockedUntil;
+
+    private String lockedBy;
+}
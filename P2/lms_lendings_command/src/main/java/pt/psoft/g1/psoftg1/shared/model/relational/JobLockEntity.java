@@ -0,0 +1,40 @@
+package pt.psoft.g1.psoftg1.shared.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One row per scheduled job (e.g. "overdue-materializer"): the replica running it and until when no
+ * other replica may start it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "job_locks")
+public class JobLockEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", nullable = false, length = 64)
+    private String lockedBy;
+
+    public JobLockEntity(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,32 @@
+package pt.psoft.g1.psoftg1.shared.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per named sequence (e.g. "lending-2025"): the next value no replica has reserved yet.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "sequence_counters")
+public class SequenceCounterEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    public SequenceCounterEntity(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+}
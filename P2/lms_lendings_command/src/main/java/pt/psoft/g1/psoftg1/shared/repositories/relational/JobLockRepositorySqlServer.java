@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.shared.repositories.relational;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import pt.psoft.g1.psoftg1.shared.model.relational.JobLockEntity;
+
+import java.util.Optional;
+
+public interface JobLockRepositorySqlServer extends CrudRepository<JobLockEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM JobLockEntity l WHERE l.name = :name")
+    Optional<JobLockEntity> findForUpdate(String name);
+}
@@ -0,0 +1,21 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import java.time.Duration;
+
+/**
+ * Lets a single replica run a scheduled job: the others find the lock held and skip their run.
+ */
+public interface JobLock {
+
+    /**
+     * @param atMostFor how long the lock is held if this replica dies before releasing it
+     * @return whether this replica holds the lock and should run the job
+     */
+    boolean tryAcquire(String name, Duration atMostFor);
+
+    /**
+     * Releases a lock this replica holds, keeping it until at least {@code atLeastFor} after it was taken,
+     * so replicas whose scheduler fires a little later do not run the job again.
+     */
+    void release(String name, Duration atLeastFor);
+}
@@ -0,0 +1,59 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.shared.model.mongodb.JobLockMongoDB;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Job locks in the job_locks collection. A lock is taken with one upsert matching only an expired lock,
+ * so a held lock makes the upsert collide on _id.
+ */
+@Profile("mongodb")
+@Component
+public class JobLockMongoDBImpl implements JobLock {
+
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLockMongoDBImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, Duration atMostFor) {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(name).and("lockedUntil").lte(now)),
+                    new Update().set("lockedAt", now).set("lockedUntil", now.plus(atMostFor)).set("lockedBy", owner),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    JobLockMongoDB.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, Duration atLeastFor) {
+        JobLockMongoDB lock = mongoTemplate.findOne(
+                new Query(Criteria.where("_id").is(name).and("lockedBy").is(owner)), JobLockMongoDB.class);
+        if (lock == null) {
+            return;
+        }
+        Instant earliest = lock.getLockedAt().plus(atLeastFor);
+        Instant now = Instant.now();
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(name).and("lockedBy").is(owner)),
+                new Update().set("lockedUntil", earliest.isAfter(now) ? earliest : now), JobLockMongoDB.class);
+    }
+}
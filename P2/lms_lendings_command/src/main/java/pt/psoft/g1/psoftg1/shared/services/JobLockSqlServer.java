@@ -0,0 +1,65 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.relational.JobLockEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.JobLockRepositorySqlServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Job locks in the job_locks table, taken and released with a row lock in their own short transaction.
+ */
+@Profile("sqlServer")
+@Component
+public class JobLockSqlServer implements JobLock {
+
+    private final JobLockRepositorySqlServer lockRepository;
+    private final TransactionTemplate lockTransaction;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLockSqlServer(JobLockRepositorySqlServer lockRepository, PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean tryAcquire(String name, Duration atMostFor) {
+        try {
+            return Boolean.TRUE.equals(lockTransaction.execute(status -> {
+                Instant now = Instant.now();
+                JobLockEntity lock = lockRepository.findForUpdate(name).orElseGet(() -> new JobLockEntity(name));
+                if (lock.getLockedUntil() != null && lock.getLockedUntil().isAfter(now)) {
+                    return false;
+                }
+                lock.setLockedAt(now);
+                lock.setLockedUntil(now.plus(atMostFor));
+                lock.setLockedBy(owner);
+                lockRepository.save(lock);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another replica created the row first, so it holds the lock
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, Duration atLeastFor) {
+        lockTransaction.executeWithoutResult(status -> lockRepository.findForUpdate(name)
+                .filter(lock -> owner.equals(lock.getLockedBy()))
+                .ifPresent(lock -> {
+                    Instant earliest = lock.getLockedAt().plus(atLeastFor);
+                    Instant now = Instant.now();
+                    lock.setLockedUntil(earliest.isAfter(now) ? earliest : now);
+                    lockRepository.save(lock);
+                }));
+    }
+}
@@ -0,0 +1,18 @@
+package pt.psoft.g1.psoftg1.usermanagement.services;
+
+import pt.psoft.g1.psoftg1.usermanagement.model.Role;
+
+import java.util.Set;
+
+/**
+ * The authenticated user as the controllers need it: who it is and which roles it has.
+ *
+ * @param userId id of the user in the auth service (first part of the JWT subject)
+ * @param roles  role names without the "ROLE_" prefix, e.g. LIBRARIAN
+ */
+public record AuthenticatedPrincipal(String userId, String username, Set<String> roles) {
+
+    public boolean isLibrarian() {
+        return roles.contains(Role.LIBRARIAN);
+    }
+}
@@ -0,0 +1,128 @@
+package pt.psoft.g1.psoftg1.usermanagement.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.usermanagement.model.Librarian;
+import pt.psoft.g1.psoftg1.usermanagement.model.Role;
+import pt.psoft.g1.psoftg1.usermanagement.model.User;
+import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the authenticated principal of a request without the per-request user lookup of
+ * UserService.getAuthenticatedUser.
+ *
+ * Tokens issued by the auth service carry the user id and username in the subject ("id,username") and the
+ * roles in the "roles" claim, so the principal is normally built from the claims alone. Tokens without roles
+ * fall back to the local user, through a bounded LRU keyed by user id whose entries expire after
+ * auth.principal-cache.ttl-seconds. This service does not receive the user events, so a changed role is seen
+ * once its entry expires.
+ *
+ * Metrics:
+ * - auth.principal.claims: principals built from the token claims
+ * - auth.principal.cache.requests{result=hit|miss}: fallback lookups, a miss being one database query
+ */
+@Component
+public class PrincipalResolver {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private record Entry(AuthenticatedPrincipal principal, long expiresAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    private final Counter claims;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalResolver(UserRepository userRepository,
+                             @Value("${auth.principal-cache.max-entries:10000}") int maxEntries,
+                             @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalResolver.this.maxEntries;
+            }
+        };
+        this.claims = Counter.builder("auth.principal.claims").register(meterRegistry);
+        this.hits = Counter.builder("auth.principal.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", this, PrincipalResolver::size).register(meterRegistry);
+    }
+
+    public AuthenticatedPrincipal resolve(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            throw new AccessDeniedException("User is not logged in");
+        }
+
+        // split is present because jwt is storing the id before the username, separated by a comma
+        String[] subject = jwt.getClaimAsString("sub").split(",");
+        if (subject.length < 2) {
+            throw new AccessDeniedException("User is not logged in");
+        }
+        String userId = subject[0];
+        String username = subject[1];
+
+        // Raw claim: getClaimAsStringList goes through the conversion service, which costs more than the rest
+        if (jwt.getClaims().get("roles") instanceof Collection<?> roles && !roles.isEmpty()) {
+            claims.increment();
+            Set<String> names = new HashSet<>();
+            for (Object role : roles) {
+                String name = String.valueOf(role);
+                names.add(name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : name);
+            }
+            return new AuthenticatedPrincipal(userId, username, names);
+        }
+
+        AuthenticatedPrincipal cached = cached(userId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new AccessDeniedException("User is not logged in"));
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(userId, user.getUsername(),
+                user instanceof Librarian ? Set.of(Role.LIBRARIAN) : Set.of(Role.READER));
+        synchronized (this) {
+            entries.put(userId, new Entry(principal, System.nanoTime() + ttlNanos));
+        }
+        return principal;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized AuthenticatedPrincipal cached(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry.principal();
+    }
+}
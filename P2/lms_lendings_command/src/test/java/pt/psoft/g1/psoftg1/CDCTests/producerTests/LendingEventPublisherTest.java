@@ -97,7 +97,7 @@ public class LendingEventPublisherTest {
 
         LendingNumber lendingNumber = new LendingNumber(1);
 
-        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null);
+        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null, false);
 
         lendingEventPublisher.sendLendingCreated(lending);
 
@@ -138,7 +138,7 @@ public class LendingEventPublisherTest {
 
         LendingNumber lendingNumber = new LendingNumber(1);
 
-        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null);
+        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null, false);
 
         lendingEventPublisher.sendLendingUpdated(lending, lending.getVersion());
 
@@ -177,7 +177,7 @@ public class LendingEventPublisherTest {
 
         LendingNumber lendingNumber = new LendingNumber(1);
 
-        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null);
+        Lending lending = new Lending(1,book,readerDetails,lendingNumber,s,r,r,200,"gen-11",true,true,"VAlIDATED",1L,"", null, false);
 
         lendingEventPublisher.sendLendingDeleted(lending, lending.getVersion());
 
@@ -0,0 +1,70 @@
+package pt.psoft.g1.psoftg1.unitTests.bookmanagement.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookExistenceIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookExistenceIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookRepository bookRepository;
+    private BookExistenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookRepository = mock(BookRepository.class);
+        index = new BookExistenceIndex(bookRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void seededIsbnsAreKnownAndLookupsAreCounted() {
+        when(bookRepository.findValidatedIsbns()).thenReturn(List.of("9782722203402", "080442957X"));
+
+        index.seed();
+
+        assertTrue(index.isKnown("9782722203402"));
+        assertTrue(index.isKnown("080442957X"));
+        assertFalse(index.isKnown("9789722328296"));
+        assertEquals(2.0, meterRegistry.get("lending.book_index.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("lending.book_index.lookups").tag("result", "miss").counter().count());
+        assertEquals(2.0, meterRegistry.get("lending.book_index.size").gauge().value());
+    }
+
+    @Test
+    void isbn10CheckDigitXDoesNotCollideWithOtherIsbns() {
+        index.add("123456789X");
+
+        assertFalse(index.isKnown("1234567900"));
+        assertFalse(index.isKnown("1234567890"));
+        assertTrue(index.isKnown("123456789x"));
+    }
+
+    @Test
+    void removedAndMalformedIsbnsTakeTheFallback() {
+        index.add("9782722203402");
+        index.remove("9782722203402");
+
+        assertFalse(index.isKnown("9782722203402"));
+        assertFalse(index.add("97827222034:2"));
+        assertFalse(index.isKnown(null));
+    }
+
+    @Test
+    void fallbackLatencyIsRecordedOncePerLending() {
+        index.fallbackStarted("2025/1");
+        index.fallbackFinished("2025/1");
+        index.fallbackFinished("2025/1");
+        index.fallbackFinished("2025/2");
+
+        assertEquals(1, meterRegistry.get("lending.validation.fallback").tag("path", "async").timer().count());
+    }
+}
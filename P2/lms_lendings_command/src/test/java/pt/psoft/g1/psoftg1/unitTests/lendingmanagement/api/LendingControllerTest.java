@@ -21,6 +21,7 @@ import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewMapper;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.CreateLendingRequest;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.OverdueMaterializer;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SearchLendingQuery;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SetLendingReturnedRequest;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
@@ -29,8 +30,8 @@ import pt.psoft.g1.psoftg1.shared.services.ConcurrencyService;
 import pt.psoft.g1.psoftg1.shared.services.Page;
 import pt.psoft.g1.psoftg1.usermanagement.model.Librarian;
 import pt.psoft.g1.psoftg1.usermanagement.model.Role;
-import pt.psoft.g1.psoftg1.usermanagement.model.User;
-import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
 
 import java.util.*;
 
@@ -54,11 +55,14 @@ class LendingControllerTest {
     private LendingService lendingService;
 
     @MockBean
-    private UserService userService;
+    private PrincipalResolver principalResolver;
 
     @MockBean
     private ConcurrencyService concurrencyService;
 
+    @MockBean
+    private OverdueMaterializer overdueMaterializer;
+
     @MockBean
     private LendingViewMapper lendingViewMapper;
 
@@ -127,10 +131,31 @@ class LendingControllerTest {
 
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
-    void testSetLendingReturned() throws Exception {
-        User user = mock(User.class);
-        when(user.getUsername()).thenReturn("testuser");
+    void testGetOverdueLendings_AfterCursor() throws Exception {
+        when(lendingService.getOverdue("2024/001", 20)).thenReturn(List.of(lending));
+        when(lendingViewMapper.toLendingView(anyList())).thenReturn(List.of(lendingView));
+
+        mockMvc.perform(get("/api/lendings/overdue")
+                        .param("after", "2024/001")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isNotEmpty());
+
+        verify(lendingService, times(1)).getOverdue("2024/001", 20);
+    }
 
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void testGetOverdueLendings_LimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/lendings/overdue").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(lendingService, never()).getOverdue(any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void testSetLendingReturned() throws Exception {
         ReaderDetails reader = mock(ReaderDetails.class);
         when(reader.getReaderNumber()).thenReturn("2024/1");
         when(lending.getReaderDetails()).thenReturn(reader);
@@ -142,7 +167,7 @@ class LendingControllerTest {
         when(lendingService.setReturned(eq("2024/1"), any(SetLendingReturnedRequest.class), anyLong())).thenReturn(lending);
         when(concurrencyService.getVersionFromIfMatchHeader("1")).thenReturn(1L);
         when(lendingViewMapper.toLendingView(any(Lending.class))).thenReturn(lendingView);
-        when(userService.getAuthenticatedUser(any())).thenReturn(user);
+        when(principalResolver.resolve(any())).thenReturn(new AuthenticatedPrincipal("1", "testuser", Set.of(Role.READER)));
         when(readerService.findByUsername("testuser")).thenReturn(Optional.of(reader));
 
         mockMvc.perform(patch("/api/lendings/2024/001")
@@ -0,0 +1,104 @@
+package pt.psoft.g1.psoftg1.unitTests.lendingmanagement.publishers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingValidationRequest;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingValidationBatcher;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class LendingValidationBatcherTest {
+
+    private LendingEventPublisher lendingEventPublisher;
+    private LendingValidationBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        lendingEventPublisher = mock(LendingEventPublisher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsABatchWhenMaxSizeIsReached() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, true, 2, 60_000);
+
+        batcher.submit("9782826012092", "2025/1");
+        verify(lendingEventPublisher, never()).requestBookValidationBatch(anyList());
+        batcher.submit("9782826012092", "2025/2");
+
+        ArgumentCaptor<List<LendingValidationRequest>> batch = ArgumentCaptor.forClass(List.class);
+        verify(lendingEventPublisher).requestBookValidationBatch(batch.capture());
+        assertEquals(List.of("2025/1", "2025/2"),
+                batch.getValue().stream().map(LendingValidationRequest::getLendingNumber).toList());
+    }
+
+    @Test
+    void sendsAPartialBatchAfterMaxWait() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, true, 100, 10);
+
+        batcher.submit("9782826012092", "2025/1");
+
+        verify(lendingEventPublisher, timeout(2000)).requestBookValidationBatch(anyList());
+    }
+
+    @Test
+    void retriesRequestsOneByOneWhenTheBatchCannotBeSent() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, true, 2, 60_000);
+        when(lendingEventPublisher.requestBookValidationBatch(anyList())).thenThrow(new RuntimeException("broker down"));
+
+        batcher.submit("9782826012092", "2025/1");
+        batcher.submit("9789720706386", "2025/2");
+
+        verify(lendingEventPublisher).requestBookValidation("9782826012092", "2025/1");
+        verify(lendingEventPublisher).requestBookValidation("9789720706386", "2025/2");
+    }
+
+    @Test
+    void failsTheFutureOfRequestsThatCannotBeSentOnTheirOwn() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, true, 2, 60_000);
+        when(lendingEventPublisher.requestBookValidationBatch(anyList())).thenThrow(new RuntimeException("broker down"));
+        doThrow(new RuntimeException("broker down")).when(lendingEventPublisher).requestBookValidation("9789720706386", "2025/2");
+
+        CompletableFuture<Void> first = batcher.submit("9782826012092", "2025/1");
+        CompletableFuture<Void> second = batcher.submit("9789720706386", "2025/2");
+
+        assertTrue(first.isDone());
+        assertFalse(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void failsTheFutureWhenDisabledAndTheRequestCannotBeSent() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, false, 100, 20);
+        doThrow(new RuntimeException("broker down")).when(lendingEventPublisher).requestBookValidation("9782826012092", "2025/1");
+
+        assertTrue(batcher.submit("9782826012092", "2025/1").isCompletedExceptionally());
+    }
+
+    @Test
+    void sendsEachRequestWhenDisabled() {
+        batcher = new LendingValidationBatcher(lendingEventPublisher, false, 100, 20);
+
+        batcher.submit("9782826012092", "2025/1");
+
+        verify(lendingEventPublisher).requestBookValidation("9782826012092", "2025/1");
+        verify(lendingEventPublisher, never()).requestBookValidationBatch(anyList());
+    }
+}
@@ -0,0 +1,31 @@
+package pt.psoft.g1.psoftg1.unitTests.lendingmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingDurationStatsReconciler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class LendingDurationStatsReconcilerTest {
+
+    @Test
+    void reportsTheDriftFoundByTheRepository() {
+        LendingRepository lendingRepository = mock(LendingRepository.class);
+        List<LendingDurationDrift> drifts = List.of(new LendingDurationDrift("*", 7, 23, 3, 23));
+        when(lendingRepository.reconcileDurationStats()).thenReturn(drifts);
+
+        assertEquals(drifts, new LendingDurationStatsReconciler(lendingRepository).reconcile());
+        verify(lendingRepository, times(1)).reconcileDurationStats();
+    }
+
+    @Test
+    void storesWithoutRunningTotalsReportNoDrift() {
+        LendingRepository lendingRepository = mock(LendingRepository.class, CALLS_REAL_METHODS);
+
+        assertEquals(List.of(), new LendingDurationStatsReconciler(lendingRepository).reconcile());
+    }
+}
@@ -294,6 +294,15 @@ class LendingServiceImplTest {
         assertEquals(15.7, avgDuration);
     }
 
+    @Test
+    void testGetAverageDurationRoundsToOneDecimalAndIsNullWithoutReturns() {
+        when(lendingRepository.getAverageDuration()).thenReturn(23.0 / 3);
+        assertEquals(7.7, lendingService.getAverageDuration());
+
+        when(lendingRepository.getAverageDuration()).thenReturn(null);
+        assertNull(lendingService.getAverageDuration());
+    }
+
     @Test
     void testGetOverdue() {
         Page page = mock(Page.class);
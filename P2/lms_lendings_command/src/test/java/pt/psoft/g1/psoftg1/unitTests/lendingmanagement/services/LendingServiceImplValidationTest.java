@@ -0,0 +1,114 @@
+package pt.psoft.g1.psoftg1.unitTests.lendingmanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.bookmanagement.services.BookExistenceIndex;
+import pt.psoft.g1.psoftg1.external.service.BooksServiceClient;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.ReaderLendingCounts;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingValidationBatcher;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.CreateLendingRequest;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingServiceImpl;
+import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
+import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
+import pt.psoft.g1.psoftg1.shared.services.generator.ApplicationContextProvider;
+import pt.psoft.g1.psoftg1.shared.services.generator.IdGenerator;
+import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lendings of the async validation path whose validation request cannot be sent are deleted, whether the
+ * request is sent right away or later with its batch.
+ */
+class LendingServiceImplValidationTest {
+
+    private static final String ISBN = "9782826012092";
+
+    private final LendingRepository lendingRepository = mock(LendingRepository.class);
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final ReaderRepository readerRepository = mock(ReaderRepository.class);
+    private final LendingEventPublisher lendingEventPublisher = mock(LendingEventPublisher.class);
+    private final BookExistenceIndex bookExistenceIndex = mock(BookExistenceIndex.class);
+    private LendingValidationBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBean(IdGenerator.class)).thenReturn(mock(IdGenerator.class));
+        new ApplicationContextProvider().setApplicationContext(context);
+
+        ReaderDetails reader = mock(ReaderDetails.class);
+        when(reader.getReaderNumber()).thenReturn("2025/1");
+        when(readerRepository.findByUsername("reader@mail.com")).thenReturn(Optional.of(reader));
+        when(lendingRepository.readerLendingCounts("2025/1")).thenReturn(new ReaderLendingCounts(0, 0));
+        when(bookRepository.findByIsbn(ISBN)).thenReturn(Optional.of(mock(Book.class)));
+        when(lendingRepository.nextSequenceFromCurrentYear()).thenReturn(7);
+        when(lendingRepository.save(any())).thenAnswer(call -> call.getArgument(0));
+
+        doThrow(new RuntimeException("broker down")).when(lendingEventPublisher).requestBookValidationBatch(anyList());
+        doThrow(new RuntimeException("broker down")).when(lendingEventPublisher).requestBookValidation(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.destroy();
+    }
+
+    @Test
+    void requestSentRightAwayFailsTheCreationAndDeletesTheLending() {
+        LendingServiceImpl service = service(new LendingValidationBatcher(lendingEventPublisher, true, 1, 60_000));
+
+        assertThrows(RuntimeException.class, () -> service.create(new CreateLendingRequest(ISBN, "reader@mail.com")));
+
+        verify(lendingRepository).delete(any(Lending.class));
+        verify(bookExistenceIndex, never()).fallbackStarted(any());
+    }
+
+    @Test
+    void requestOfABatchSentLaterDeletesTheLendingWhenNotSent() {
+        LendingServiceImpl service = service(new LendingValidationBatcher(lendingEventPublisher, true, 100, 10));
+
+        Lending created = service.create(new CreateLendingRequest(ISBN, "reader@mail.com"));
+
+        assertEquals("PENDING_VALIDATION", created.getLendingStatus());
+        verify(lendingRepository, timeout(2000)).delete(created);
+        verify(lendingEventPublisher).requestBookValidation(ISBN, created.getLendingNumber());
+        verify(bookExistenceIndex).fallbackAbandoned(created.getLendingNumber());
+    }
+
+    @Test
+    void sentRequestKeepsTheLending() {
+        reset(lendingEventPublisher);
+        LendingServiceImpl service = service(new LendingValidationBatcher(lendingEventPublisher, true, 1, 60_000));
+
+        Lending created = service.create(new CreateLendingRequest(ISBN, "reader@mail.com"));
+
+        verify(lendingEventPublisher).requestBookValidationBatch(anyList());
+        verify(lendingRepository, never()).delete(any());
+        verify(bookExistenceIndex).fallbackStarted(created.getLendingNumber());
+    }
+
+    private LendingServiceImpl service(LendingValidationBatcher batcher) {
+        this.batcher = batcher;
+        LendingServiceImpl service = new LendingServiceImpl(lendingRepository, mock(FineRepository.class), bookRepository,
+                readerRepository, lendingEventPublisher, batcher, mock(BooksServiceClient.class), bookExistenceIndex,
+                mock(UserRepository.class));
+        ReflectionTestUtils.setField(service, "lendingDurationInDays", 14);
+        ReflectionTestUtils.setField(service, "fineValuePerDayInCents", 200);
+        return service;
+    }
+}
@@ -0,0 +1,101 @@
+package pt.psoft.g1.psoftg1.unitTests.lendingmanagement.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.OverdueMaterializer;
+import pt.psoft.g1.psoftg1.shared.services.JobLock;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OverdueMaterializerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private LendingRepository lendingRepository;
+    private FineRepository fineRepository;
+    private LendingEventPublisher lendingEventPublisher;
+    private JobLock jobLock;
+    private OverdueMaterializer overdueMaterializer;
+
+    @BeforeEach
+    void setUp() {
+        lendingRepository = mock(LendingRepository.class);
+        fineRepository = mock(FineRepository.class);
+        lendingEventPublisher = mock(LendingEventPublisher.class);
+        jobLock = mock(JobLock.class);
+        overdueMaterializer = new OverdueMaterializer(lendingRepository, fineRepository, lendingEventPublisher, jobLock);
+        ReflectionTestUtils.setField(overdueMaterializer, "fineValuePerDayInCents", 200);
+        ReflectionTestUtils.setField(overdueMaterializer, "batchSize", 2);
+        ReflectionTestUtils.setField(overdueMaterializer, "lockAtMostFor", Duration.ofHours(1));
+        ReflectionTestUtils.setField(overdueMaterializer, "lockAtLeastFor", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void marksInBatchesUntilAShortBatchAndPublishesEachLending() {
+        Lending first = mock(Lending.class);
+        Lending second = mock(Lending.class);
+        Lending third = mock(Lending.class);
+        when(lendingRepository.markOverdue(TODAY, 200, 2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(fineRepository.accrueOverdueFines(TODAY, 0, 2)).thenReturn(-1L);
+
+        int marked = overdueMaterializer.materialize(TODAY);
+
+        assertEquals(3, marked);
+        verify(lendingRepository, times(2)).markOverdue(TODAY, 200, 2);
+        verify(lendingEventPublisher).sendLendingOverdue(first);
+        verify(lendingEventPublisher).sendLendingOverdue(second);
+        verify(lendingEventPublisher).sendLendingOverdue(third);
+    }
+
+    @Test
+    void accruesFinesFollowingTheCursorUntilExhausted() {
+        when(lendingRepository.markOverdue(TODAY, 200, 2)).thenReturn(List.of());
+        when(fineRepository.accrueOverdueFines(TODAY, 0, 2)).thenReturn(7L);
+        when(fineRepository.accrueOverdueFines(TODAY, 7, 2)).thenReturn(12L);
+        when(fineRepository.accrueOverdueFines(TODAY, 12, 2)).thenReturn(-1L);
+
+        assertEquals(0, overdueMaterializer.materialize(TODAY));
+
+        verify(fineRepository).accrueOverdueFines(TODAY, 12, 2);
+        verifyNoInteractions(lendingEventPublisher);
+    }
+
+    @Test
+    void scheduledRunSkipsWhileAnotherReplicaHoldsTheLock() {
+        when(jobLock.tryAcquire("overdue-materializer", Duration.ofHours(1))).thenReturn(false);
+
+        overdueMaterializer.scheduledRun();
+
+        verifyNoInteractions(lendingRepository, fineRepository, lendingEventPublisher);
+        verify(jobLock, never()).release(any(), any());
+    }
+
+    @Test
+    void scheduledRunReleasesTheLockEvenWhenItFails() {
+        when(jobLock.tryAcquire("overdue-materializer", Duration.ofHours(1))).thenReturn(true);
+        when(lendingRepository.markOverdue(any(), anyInt(), anyInt())).thenThrow(new IllegalStateException("down"));
+
+        try {
+            overdueMaterializer.scheduledRun();
+        } catch (IllegalStateException expected) {
+            // The scheduler logs it
+        }
+
+        verify(jobLock).release(eq("overdue-materializer"), eq(Duration.ofMinutes(5)));
+    }
+}
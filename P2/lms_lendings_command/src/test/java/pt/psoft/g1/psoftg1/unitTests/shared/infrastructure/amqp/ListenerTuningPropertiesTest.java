@@ -0,0 +1,49 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.infrastructure.amqp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.ListenerTuningProperties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ListenerTuningPropertiesTest {
+
+    private static SimpleMessageListenerContainer container(String queue) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(mock(ConnectionFactory.class));
+        container.setQueueNames(queue);
+        return container;
+    }
+
+    @Test
+    void appliesSettingsOfTheConsumedQueue() {
+        ListenerTuningProperties.Tuning tuning = new ListenerTuningProperties.Tuning();
+        tuning.setConcurrency(2);
+        tuning.setMaxConcurrency(4);
+        tuning.setPrefetch(250);
+        ListenerTuningProperties properties = new ListenerTuningProperties();
+        properties.getQueues().put("lending.book.created", tuning);
+        SimpleMessageListenerContainer container = container("lending.book.created");
+
+        properties.applyTo(container);
+
+        assertEquals(2, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+        assertEquals(4, ReflectionTestUtils.getField(container, "maxConcurrentConsumers"));
+        assertEquals(250, ReflectionTestUtils.getField(container, "prefetchCount"));
+    }
+
+    @Test
+    void queuesWithoutSettingsKeepTheirDefaults() {
+        ListenerTuningProperties properties = new ListenerTuningProperties();
+        properties.getQueues().put("lending.book.created", new ListenerTuningProperties.Tuning());
+        SimpleMessageListenerContainer container = container("lending.reader.created");
+        Object defaultPrefetch = ReflectionTestUtils.getField(container, "prefetchCount");
+
+        properties.applyTo(container);
+
+        assertEquals(1, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+        assertEquals(defaultPrefetch, ReflectionTestUtils.getField(container, "prefetchCount"));
+    }
+}
@@ -0,0 +1,70 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.psoft.g1.psoftg1.shared.model.relational.JobLockEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.JobLockRepositorySqlServer;
+import pt.psoft.g1.psoftg1.shared.services.JobLockSqlServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLockSqlServerTest {
+
+    @Mock
+    private JobLockRepositorySqlServer lockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void onlyOneReplicaHoldsTheLockUntilItIsReleased() {
+        JobLockEntity row = new JobLockEntity("job");
+        when(lockRepository.findForUpdate("job")).thenReturn(Optional.of(row));
+        JobLockSqlServer first = new JobLockSqlServer(lockRepository, transactionManager);
+        JobLockSqlServer second = new JobLockSqlServer(lockRepository, transactionManager);
+
+        assertTrue(first.tryAcquire("job", Duration.ofHours(1)));
+        assertFalse(second.tryAcquire("job", Duration.ofHours(1)));
+
+        // Released right away, but kept for the minimum hold
+        first.release("job", Duration.ofMinutes(5));
+        assertEquals(row.getLockedAt().plus(Duration.ofMinutes(5)), row.getLockedUntil());
+        assertFalse(second.tryAcquire("job", Duration.ofHours(1)));
+
+        row.setLockedUntil(Instant.now().minusSeconds(1));
+        assertTrue(second.tryAcquire("job", Duration.ofHours(1)));
+    }
+
+    @Test
+    void onlyTheHolderReleases() {
+        JobLockEntity row = new JobLockEntity("job");
+        when(lockRepository.findForUpdate("job")).thenReturn(Optional.of(row));
+        JobLockSqlServer holder = new JobLockSqlServer(lockRepository, transactionManager);
+        JobLockSqlServer other = new JobLockSqlServer(lockRepository, transactionManager);
+        holder.tryAcquire("job", Duration.ofHours(1));
+        Instant lockedUntil = row.getLockedUntil();
+
+        other.release("job", Duration.ZERO);
+
+        assertEquals(lockedUntil, row.getLockedUntil());
+    }
+
+    @Test
+    void losingTheRaceToCreateTheRowMeansTheLockIsHeld() {
+        when(lockRepository.findForUpdate("job")).thenReturn(Optional.empty());
+        when(lockRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertFalse(new JobLockSqlServer(lockRepository, transactionManager).tryAcquire("job", Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,90 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.psoft.g1.psoftg1.shared.model.relational.SequenceCounterEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.SequenceCounterRepositorySqlServer;
+import pt.psoft.g1.psoftg1.shared.services.SequenceBlockAllocator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceBlockAllocatorTest {
+
+    @Mock
+    private SequenceCounterRepositorySqlServer counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SequenceCounterEntity counter = new SequenceCounterEntity("lending-2025", 6);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(counterRepository.findForUpdate("lending-2025")).thenReturn(Optional.of(counter));
+    }
+
+    @Test
+    void servesNumbersFromReservedBlock() {
+        SequenceBlockAllocator allocator = new SequenceBlockAllocator(counterRepository, transactionManager, 3);
+
+        assertEquals(6, allocator.next("lending-2025", () -> 0));
+        assertEquals(7, allocator.next("lending-2025", () -> 0));
+        assertEquals(8, allocator.next("lending-2025", () -> 0));
+        assertEquals(9, counter.getNextValue());
+        verify(counterRepository, times(1)).findForUpdate("lending-2025");
+
+        assertEquals(9, allocator.next("lending-2025", () -> 0));
+        assertEquals(12, counter.getNextValue());
+        verify(counterRepository, times(2)).findForUpdate("lending-2025");
+    }
+
+    @Test
+    void missingRowIsSeededFromExistingCount() {
+        when(counterRepository.findForUpdate("reader-2025")).thenReturn(Optional.empty());
+        SequenceBlockAllocator allocator = new SequenceBlockAllocator(counterRepository, transactionManager, 100);
+
+        assertEquals(42, allocator.next("reader-2025", () -> 41));
+        verify(counterRepository).save(argThat(c -> "reader-2025".equals(c.getName()) && c.getNextValue() == 142));
+    }
+
+    @Test
+    void concurrentCallersNeverShareANumber() throws Exception {
+        SequenceBlockAllocator allocator = new SequenceBlockAllocator(counterRepository, transactionManager, 10);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        assertTrue(seen.add(allocator.next("lending-2025", () -> 0)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2000, seen.size());
+        verify(counterRepository, times(200)).save(any(SequenceCounterEntity.class));
+    }
+}
@@ -0,0 +1,59 @@
+package pt.psoft.g1.psoftg1.unitTests.usermanagement.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import pt.psoft.g1.psoftg1.usermanagement.model.Librarian;
+import pt.psoft.g1.psoftg1.usermanagement.model.Role;
+import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalResolverTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PrincipalResolver resolver = new PrincipalResolver(userRepository, 100, 300, new SimpleMeterRegistry());
+
+    @Test
+    void buildsThePrincipalFromTheClaimsWithoutALookup() {
+        AuthenticatedPrincipal principal = resolver.resolve(token("1,reader@mail.com", List.of("ROLE_READER")));
+
+        assertEquals(new AuthenticatedPrincipal("1", "reader@mail.com", Set.of(Role.READER)), principal);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void tokensWithoutRolesLookTheUserUpOnce() {
+        Librarian librarian = mock(Librarian.class);
+        when(librarian.getUsername()).thenReturn("maria@mail.com");
+        when(userRepository.findByUsername("maria@mail.com")).thenReturn(Optional.of(librarian));
+
+        assertTrue(resolver.resolve(token("2,maria@mail.com", null)).isLibrarian());
+        assertTrue(resolver.resolve(token("2,maria@mail.com", null)).isLibrarian());
+
+        verify(userRepository, times(1)).findByUsername("maria@mail.com");
+    }
+
+    @Test
+    void rejectsTokensWithoutAUsername() {
+        assertThrows(AccessDeniedException.class, () -> resolver.resolve(token("2", List.of("ROLE_READER"))));
+        assertThrows(AccessDeniedException.class, () -> resolver.resolve(null));
+    }
+
+    private static JwtAuthenticationToken token(String subject, List<String> roles) {
+        Jwt.Builder jwt = Jwt.withTokenValue("token").header("alg", "none").claim("sub", subject);
+        if (roles != null) {
+            jwt.claim("roles", roles);
+        }
+        return new JwtAuthenticationToken(jwt.build());
+    }
+}
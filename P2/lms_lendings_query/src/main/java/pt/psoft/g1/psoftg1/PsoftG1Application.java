@@ -3,11 +3,14 @@ package pt.psoft.g1.psoftg1;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 @EnableJpaRepositories(basePackages = {
 	"pt.psoft.g1.psoftg1.bookmanagement.repositories",
 	"pt.psoft.g1.psoftg1.lendingmanagement.repositories",
+	"pt.psoft.g1.psoftg1.lendinganalytics.repositories",
 	"pt.psoft.g1.psoftg1.readermanagement.repositories",
 	"pt.psoft.g1.psoftg1.usermanagement.repositories",
 	"pt.psoft.g1.psoftg1.shared.repositories.relational"
@@ -1,28 +1,25 @@
 package pt.psoft.g1.psoftg1.bookmanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
 public class BookEventListener {
     private final BookService bookService;
+    private final PendingLendingEventService pendingLendingEventService;
 
     @RabbitListener(queues = "#{bookCreatedQueue.name}")
     public void receiveBookCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [x] Received Book Created by AMQP: " + msg + ".");
             try {
@@ -31,6 +28,8 @@ public class BookEventListener {
             } catch (Exception e) {
                 System.out.println(" [x] Book already exists. No need to store it.");
             }
+            // Lendings that arrived before this book
+            pendingLendingEventService.releaseForBook(bookViewAMQP.getIsbn());
         }
         catch(Exception ex) {
             System.out.println(" [x] Exception receiving book event from AMQP: '" + ex.getMessage() + "'");
@@ -40,10 +39,7 @@ public class BookEventListener {
     @RabbitListener(queues = "#{bookUpdatedQueue.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [x] Received Book Updated by AMQP: " + msg + ".");
             try {
@@ -53,7 +53,12 @@ public class Book extends EntityWithPhoto {
     }
 
 
-    // Get genre
+    /**
+     * Genre from the book events, null for books stored before it was kept.
+     */
+    @Getter
+    @Setter
+    private String genre;
 
     public String getIsbn(){
         return this.isbn.toString();
@@ -4,6 +4,7 @@ package pt.psoft.g1.psoftg1.bookmanagement.model.relational;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
+import lombok.Setter;
 import pt.psoft.g1.psoftg1.shared.model.EntityWithPhoto;
 
 @Entity
@@ -32,6 +33,10 @@ public class BookEntity extends EntityWithPhoto {
     @Embedded
     DescriptionEntity description;
 
+    @Getter
+    @Setter
+    private String genre;
+
     private void setTitle(String title) {this.title = new TitleEntity(title);}
 
     private void setIsbn(String isbn) {
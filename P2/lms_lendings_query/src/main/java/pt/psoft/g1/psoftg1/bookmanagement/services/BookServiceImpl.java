@@ -25,7 +25,7 @@ public class BookServiceImpl implements BookService {
 
 
 
-		Book bookCreated = create(isbn, title, description, photoURI);
+		Book bookCreated = create(isbn, title, description, photoURI, book.getGenre());
 
 		return bookCreated;
 	}
@@ -33,13 +33,15 @@ public class BookServiceImpl implements BookService {
 	private Book create( String isbn,
 						 String title,
 						 String description,
-						 String photoURI) {
+						 String photoURI,
+						 String genre) {
 
 		if (bookRepository.findByIsbn(isbn).isPresent()) {
 			throw new ConflictException("Book with ISBN " + isbn + " already exists");
 		}
 
 		Book newBook = new Book(isbn, title, description, photoURI);
+		newBook.setGenre(genre);
 
 		Book savedBook = bookRepository.save(newBook);
 
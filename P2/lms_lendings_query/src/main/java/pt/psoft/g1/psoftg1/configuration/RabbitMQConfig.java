@@ -7,8 +7,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import pt.psoft.g1.psoftg1.bookmanagement.listeners.BookEventListener;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
+import pt.psoft.g1.psoftg1.lendinganalytics.listeners.LendingAnalyticsListener;
+import pt.psoft.g1.psoftg1.lendinganalytics.services.LendingAnalyticsService;
 import pt.psoft.g1.psoftg1.lendingmanagement.listeners.LendingEventListener;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventService;
 import pt.psoft.g1.psoftg1.readermanagement.listeners.ReaderEventListener;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
 import pt.psoft.g1.psoftg1.shared.model.BookEvents;
@@ -79,6 +82,37 @@ public class RabbitMQConfig {
         return new Queue("lending.returned.events", true);  // Named durable queue
     }
 
+    // Lending analytics consumes its own copy of the lending events
+    @Bean
+    public Queue lendingAnalyticsCreatedQueue() {
+        return new Queue("lending.analytics.created", true);
+    }
+
+    @Bean
+    public Queue lendingAnalyticsUpdatedQueue() {
+        return new Queue("lending.analytics.updated", true);
+    }
+
+    @Bean
+    public Queue lendingAnalyticsReturnedQueue() {
+        return new Queue("lending.analytics.returned", true);
+    }
+
+    @Bean
+    public Queue lendingAnalyticsDeletedQueue() {
+        return new Queue("lending.analytics.deleted", true);
+    }
+
+    @Bean
+    public Queue lendingAnalyticsBookCreatedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Queue lendingAnalyticsBookUpdatedQueue() {
+        return new AnonymousQueue();
+    }
+
     @Bean
     public Queue readerCreatedQueue() {
         return new AnonymousQueue();
@@ -186,6 +220,54 @@ public class RabbitMQConfig {
                 .with(LendingEvents.LENDING_RETURNED);
     }
 
+    @Bean
+    public Binding lendingAnalyticsCreatedBinding(DirectExchange direct,
+                                                  @Qualifier("lendingAnalyticsCreatedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(LendingEvents.LENDING_CREATED);
+    }
+
+    @Bean
+    public Binding lendingAnalyticsUpdatedBinding(DirectExchange direct,
+                                                  @Qualifier("lendingAnalyticsUpdatedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(LendingEvents.LENDING_UPDATED);
+    }
+
+    @Bean
+    public Binding lendingAnalyticsReturnedBinding(DirectExchange direct,
+                                                   @Qualifier("lendingAnalyticsReturnedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(LendingEvents.LENDING_RETURNED);
+    }
+
+    @Bean
+    public Binding lendingAnalyticsDeletedBinding(DirectExchange direct,
+                                                  @Qualifier("lendingAnalyticsDeletedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(LendingEvents.LENDING_DELETED);
+    }
+
+    @Bean
+    public Binding lendingAnalyticsBookCreatedBinding(DirectExchange direct,
+                                                      @Qualifier("lendingAnalyticsBookCreatedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(BookEvents.BOOK_CREATED);
+    }
+
+    @Bean
+    public Binding lendingAnalyticsBookUpdatedBinding(DirectExchange direct,
+                                                      @Qualifier("lendingAnalyticsBookUpdatedQueue") Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(direct)
+                .with(BookEvents.BOOK_UPDATED);
+    }
+
     @Bean
     public Binding readerCreatedBinding(DirectExchange direct,
                                         @Qualifier("readerCreatedQueue") Queue queue) {
@@ -219,17 +301,22 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public BookEventListener bookReceiver(BookService bookService) {
-        return new BookEventListener(bookService);
+    public BookEventListener bookReceiver(BookService bookService, PendingLendingEventService pendingLendingEventService) {
+        return new BookEventListener(bookService, pendingLendingEventService);
+    }
+
+    @Bean
+    public LendingEventListener lendingReceiver(LendingService lendingService, PendingLendingEventService pendingLendingEventService) {
+        return new LendingEventListener(lendingService, pendingLendingEventService);
     }
 
     @Bean
-    public LendingEventListener lendingReceiver(LendingService lendingService) {
-        return new LendingEventListener(lendingService);
+    public LendingAnalyticsListener lendingAnalyticsReceiver(LendingAnalyticsService lendingAnalyticsService) {
+        return new LendingAnalyticsListener(lendingAnalyticsService);
     }
 
     @Bean
-    public ReaderEventListener readerReceiver(ReaderService readerService) {
-        return new ReaderEventListener(readerService);
+    public ReaderEventListener readerReceiver(ReaderService readerService, PendingLendingEventService pendingLendingEventService) {
+        return new ReaderEventListener(readerService, pendingLendingEventService);
     }
 }
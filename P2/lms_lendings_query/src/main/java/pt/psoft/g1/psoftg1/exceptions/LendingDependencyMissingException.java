@@ -0,0 +1,21 @@
+package pt.psoft.g1.psoftg1.exceptions;
+
+import lombok.Getter;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+
+/**
+ * A lending event refers to a book or reader this projection has not received yet.
+ */
+@Getter
+public class LendingDependencyMissingException extends NotFoundException {
+
+    private final PendingLendingEvent.Dependency dependency;
+
+    private final String dependencyKey;
+
+    public LendingDependencyMissingException(final PendingLendingEvent.Dependency dependency, final String dependencyKey) {
+        super((dependency == PendingLendingEvent.Dependency.BOOK ? "Book" : "Reader") + " not found yet: " + dependencyKey);
+        this.dependency = dependency;
+        this.dependencyKey = dependencyKey;
+    }
+}
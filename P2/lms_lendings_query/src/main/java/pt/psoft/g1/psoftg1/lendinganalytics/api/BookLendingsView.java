@@ -0,0 +1,14 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A book and its number of lendings.")
+public class BookLendingsView {
+    private String isbn;
+    private String title;
+    private Long lendingsCount;
+}
@@ -0,0 +1,13 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A genre and its number of books.")
+public class GenreBooksView {
+    private String genre;
+    private Long bookCount;
+}
@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Lending statistics of each genre in one month.")
+public class GenreLendingsPerMonthView {
+    private int year;
+    private int month;
+    private List<GenreLendingsView> values;
+}
@@ -0,0 +1,26 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.Locale;
+
+/**
+ * A value of a genre; averages are rounded to one decimal, like the GenreLendingsDTO of books_command.
+ */
+@Data
+@Schema(description = "A lending statistic of a genre.")
+public class GenreLendingsView {
+    private String genre;
+    private Number value;
+
+    public GenreLendingsView(String genre, Long value) {
+        this.genre = genre;
+        this.value = value;
+    }
+
+    public GenreLendingsView(String genre, Double value) {
+        this.genre = genre;
+        this.value = Double.valueOf(String.format(Locale.US, "%.1f", value));
+    }
+}
@@ -0,0 +1,77 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import pt.psoft.g1.psoftg1.lendinganalytics.services.LendingAnalyticsService;
+import pt.psoft.g1.psoftg1.shared.api.ListResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+@Tag(name = "Lending Analytics", description = "Lending statistics, from counters maintained by the lending events")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics")
+public class LendingAnalyticsController {
+
+    private final LendingAnalyticsService lendingAnalyticsService;
+
+    @Operation(summary = "Gets the most lent books in the last 12 months")
+    @GetMapping("/books/top")
+    public ListResponse<BookLendingsView> getTopBooks(@RequestParam(value = "limit", defaultValue = "5") final int limit) {
+        return new ListResponse<>(lendingAnalyticsService.getTopBooks(checkLimit(limit)));
+    }
+
+    @Operation(summary = "Gets the genres with most books")
+    @GetMapping("/genres/top")
+    public ListResponse<GenreBooksView> getTopGenres(@RequestParam(value = "limit", defaultValue = "5") final int limit) {
+        return new ListResponse<>(lendingAnalyticsService.getTopGenres(checkLimit(limit)));
+    }
+
+    @Operation(summary = "Gets the number of lendings per genre for each of the last 12 months")
+    @GetMapping("/genres/lendings-per-month")
+    public ListResponse<GenreLendingsPerMonthView> getLendingsPerMonthLastYearByGenre() {
+        return new ListResponse<>(lendingAnalyticsService.getLendingsPerMonthLastYearByGenre());
+    }
+
+    @Operation(summary = "Gets the average lendings per day of each genre in a month")
+    @GetMapping("/genres/average-lendings")
+    public ListResponse<GenreLendingsView> getAverageLendings(@RequestParam("year") final int year,
+                                                              @RequestParam("month") final int month) {
+        if (month < 1 || month > 12) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Month must be between 1 and 12");
+        }
+        return new ListResponse<>(lendingAnalyticsService.getAverageLendingsPerDay(YearMonth.of(year, month)));
+    }
+
+    @Operation(summary = "Gets the average lending duration per genre for each month in a period")
+    @GetMapping("/genres/average-duration")
+    public ListResponse<GenreLendingsPerMonthView> getAverageDuration(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate) {
+        try {
+            return new ListResponse<>(lendingAnalyticsService.getAverageDurationPerMonth(startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Recomputes the lending statistics from the stored lendings")
+    @PostMapping("/rebuild")
+    public Map<String, Long> rebuild() {
+        return Map.of("lendings", lendingAnalyticsService.rebuild());
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 100");
+        }
+        return limit;
+    }
+}
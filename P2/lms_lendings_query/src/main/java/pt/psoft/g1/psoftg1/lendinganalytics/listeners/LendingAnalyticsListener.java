@@ -0,0 +1,100 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.listeners;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
+import pt.psoft.g1.psoftg1.lendinganalytics.services.LendingAnalyticsService;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingReturnedEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+
+import java.time.LocalDate;
+
+/**
+ * Feeds the lending analytics from its own queues, so the projection neither competes with the read model
+ * for lending events nor depends on the read model having stored them.
+ */
+@Component
+@RequiredArgsConstructor
+public class LendingAnalyticsListener {
+
+    private final LendingAnalyticsService lendingAnalyticsService;
+
+    @RabbitListener(queues = "#{lendingAnalyticsCreatedQueue.name}")
+    public void receiveLendingCreated(Message msg) {
+        try {
+            LendingViewAMQP lending = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
+            withRetry(() -> lendingAnalyticsService.applyCreated(lending.getLendingNumber(), lending.getIsbn(),
+                    parseDate(lending.getStartDate()), parseDate(lending.getReturnedDate())));
+        } catch (Exception ex) {
+            System.out.println(" [x] Exception applying lending created to analytics: '" + ex.getMessage() + "'");
+        }
+    }
+
+    @RabbitListener(queues = "#{lendingAnalyticsUpdatedQueue.name}")
+    public void receiveLendingUpdated(Message msg) {
+        try {
+            LendingViewAMQP lending = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
+            LocalDate returnedDate = parseDate(lending.getReturnedDate());
+            // An update may be the first event seen for a lending; both calls are no-ops when already applied
+            withRetry(() -> lendingAnalyticsService.applyCreated(lending.getLendingNumber(), lending.getIsbn(),
+                    parseDate(lending.getStartDate()), returnedDate));
+            if (returnedDate != null) {
+                withRetry(() -> lendingAnalyticsService.applyReturned(lending.getLendingNumber(), returnedDate));
+            }
+        } catch (Exception ex) {
+            System.out.println(" [x] Exception applying lending updated to analytics: '" + ex.getMessage() + "'");
+        }
+    }
+
+    @RabbitListener(queues = "#{lendingAnalyticsReturnedQueue.name}")
+    public void receiveLendingReturned(Message msg) {
+        try {
+            LendingReturnedEvent event = AmqpCodec.decode(msg.getBody(), LendingReturnedEvent.class);
+            // The event carries no date; it is published when the lending is returned
+            withRetry(() -> lendingAnalyticsService.applyReturned(event.getLendingId(), LocalDate.now()));
+        } catch (Exception ex) {
+            System.out.println(" [x] Exception applying lending returned to analytics: '" + ex.getMessage() + "'");
+        }
+    }
+
+    @RabbitListener(queues = "#{lendingAnalyticsDeletedQueue.name}")
+    public void receiveLendingDeleted(Message msg) {
+        try {
+            LendingViewAMQP lending = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
+            withRetry(() -> lendingAnalyticsService.applyDeleted(lending.getLendingNumber()));
+        } catch (Exception ex) {
+            System.out.println(" [x] Exception applying lending deleted to analytics: '" + ex.getMessage() + "'");
+        }
+    }
+
+    @RabbitListener(queues = {"#{lendingAnalyticsBookCreatedQueue.name}", "#{lendingAnalyticsBookUpdatedQueue.name}"})
+    public void receiveBook(Message msg) {
+        try {
+            BookViewAMQP book = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
+            lendingAnalyticsService.recordBookGenre(book.getIsbn(), book.getGenre());
+        } catch (Exception ex) {
+            System.out.println(" [x] Exception recording book genre for analytics: '" + ex.getMessage() + "'");
+        }
+    }
+
+    /**
+     * Two listeners inserting the same fact or monthly counter at once: one fails on the key and,
+     * on the second attempt, finds the row the other one inserted.
+     */
+    private static void withRetry(Runnable apply) {
+        try {
+            apply.run();
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            apply.run();
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        return date != null && !date.isBlank() ? LocalDate.parse(date) : null;
+    }
+}
@@ -0,0 +1,4 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model;
+
+public record GenreBookCount(String genre, long books) {
+}
@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model;
+
+/**
+ * Counters of one genre in one month; genre is null for books whose genre is not known yet.
+ */
+public record GenreMonthTotals(int year, int month, String genre, long lendings, long returned, long durationDays) {
+}
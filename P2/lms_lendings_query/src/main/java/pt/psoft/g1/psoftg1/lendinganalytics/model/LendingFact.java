@@ -0,0 +1,38 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * What the analytics projection has applied for one lending. It makes event application idempotent:
+ * a lending is counted once (counted), its return once (returnedDate), and a deleted lending leaves a
+ * tombstone so a late or re-delivered creation is not counted again.
+ */
+@Getter
+@Setter
+public class LendingFact {
+
+    private String lendingNumber;
+    private String isbn;
+    private LocalDate startDate;
+    private LocalDate returnedDate;
+    private boolean counted;
+    private boolean deleted;
+    private Long version;
+
+    public LendingFact(String lendingNumber) {
+        this.lendingNumber = lendingNumber;
+    }
+
+    public YearMonth getStartMonth() {
+        return YearMonth.from(startDate);
+    }
+
+    public long getDurationInDays() {
+        return ChronoUnit.DAYS.between(startDate, returnedDate);
+    }
+}
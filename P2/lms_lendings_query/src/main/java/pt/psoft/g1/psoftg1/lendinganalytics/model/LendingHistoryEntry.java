@@ -0,0 +1,9 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model;
+
+import java.time.LocalDate;
+
+/**
+ * A lending of the read model, as replayed by a rebuild of the projection.
+ */
+public record LendingHistoryEntry(Long pk, String lendingNumber, String isbn, LocalDate startDate, LocalDate returnedDate) {
+}
@@ -0,0 +1,33 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Genre of a book, from the book events; the lending counters are keyed by ISBN and joined to it when
+ * read, so a book whose genre arrives (or changes) later is reported under its current genre.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "lending_analytics_book_genres")
+public class BookGenreEntity {
+
+    @Id
+    @Column(length = 16)
+    private String isbn;
+
+    @Column(nullable = false)
+    private String genre;
+
+    public BookGenreEntity(String isbn, String genre) {
+        this.isbn = isbn;
+        this.genre = genre;
+    }
+}
@@ -0,0 +1,43 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model.relational;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingFact;
+
+import java.time.LocalDate;
+
+/**
+ * Persistence model of {@link LendingFact}. Versioned, so a creation and a return of the same lending
+ * applied concurrently cannot both read the fact as untouched.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "lending_analytics_facts")
+public class LendingFactEntity {
+
+    @Id
+    @Column(name = "lending_number", length = 32)
+    private String lendingNumber;
+
+    @Column(length = 16)
+    private String isbn;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "returned_date")
+    private LocalDate returnedDate;
+
+    @Column(nullable = false)
+    private boolean counted;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Version
+    private Long version;
+}
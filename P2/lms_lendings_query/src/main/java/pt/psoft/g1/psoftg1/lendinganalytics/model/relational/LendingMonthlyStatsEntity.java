@@ -0,0 +1,58 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.model.relational;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated counters of the lendings of one book started in one month. period is year * 12 + month - 1,
+ * so month ranges are a single BETWEEN on the unique (period, isbn) index.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "lending_monthly_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uc_lending_monthly_stats", columnNames = {"period", "isbn"}))
+public class LendingMonthlyStatsEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String isbn;
+
+    @Column(nullable = false)
+    private int period;
+
+    @Column(name = "stats_year", nullable = false)
+    private int year;
+
+    @Column(name = "stats_month", nullable = false)
+    private int month;
+
+    @Column(nullable = false)
+    private long lendings;
+
+    @Column(nullable = false)
+    private long returned;
+
+    @Column(name = "duration_days", nullable = false)
+    private long durationDays;
+
+    public LendingMonthlyStatsEntity(String isbn, YearMonth month, long lendings, long returned, long durationDays) {
+        this.isbn = isbn;
+        this.period = periodOf(month);
+        this.year = month.getYear();
+        this.month = month.getMonthValue();
+        this.lendings = lendings;
+        this.returned = returned;
+        this.durationDays = durationDays;
+    }
+
+    public static int periodOf(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,57 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.repositories;
+
+import pt.psoft.g1.psoftg1.lendinganalytics.model.BookLendingCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreBookCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingFact;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LendingAnalyticsRepository {
+
+    Optional<LendingFact> findFact(String lendingNumber);
+
+    List<LendingFact> findFacts(Collection<String> lendingNumbers);
+
+    LendingFact saveFact(LendingFact fact);
+
+    /**
+     * Adds the deltas to the counters of (isbn, month), creating them when needed.
+     */
+    void addToMonth(String isbn, YearMonth month, long lendings, long returned, long durationDays);
+
+    void saveBookGenre(String isbn, String genre);
+
+    /**
+     * Adds the genre of every stored book that has one and no book genre yet.
+     *
+     * @return the number of book genres added
+     */
+    long backfillBookGenres();
+
+    /**
+     * Books with most lendings started from the given month on, most lent first.
+     */
+    List<BookLendingCount> findTopBooks(YearMonth from, int limit);
+
+    List<GenreBookCount> findTopGenresByBookCount(int limit);
+
+    /**
+     * Counters per (month, genre) for the months in [from, to], ordered by month.
+     */
+    List<GenreMonthTotals> findGenreTotals(YearMonth from, YearMonth to);
+
+    /**
+     * Lendings of the read model after the given primary key, in key order.
+     */
+    List<LendingHistoryEntry> findLendingHistory(long afterPk, int limit);
+
+    /**
+     * Removes facts and counters (book genres are kept, they do not come from lending events).
+     */
+    void clear();
+}
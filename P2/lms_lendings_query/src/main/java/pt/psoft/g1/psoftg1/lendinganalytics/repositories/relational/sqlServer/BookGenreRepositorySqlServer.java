@@ -0,0 +1,30 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.repositories.relational.sqlServer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreBookCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.BookGenreEntity;
+
+import java.util.List;
+
+@Repository
+public interface BookGenreRepositorySqlServer extends CrudRepository<BookGenreEntity, String> {
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendinganalytics.model.GenreBookCount(g.genre, COUNT(g)) " +
+            "FROM BookGenreEntity g " +
+            "GROUP BY g.genre " +
+            "ORDER BY COUNT(g) DESC, g.genre")
+    List<GenreBookCount> findTopGenresByBookCount(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO BookGenreEntity (isbn, genre) " +
+            "SELECT b.isbn.isbn, b.genre FROM BookEntity b " +
+            "WHERE b.genre IS NOT NULL AND b.genre <> '' " +
+            "AND NOT EXISTS (SELECT g.isbn FROM BookGenreEntity g WHERE g.isbn = b.isbn.isbn)")
+    int insertMissingFromBooks();
+}
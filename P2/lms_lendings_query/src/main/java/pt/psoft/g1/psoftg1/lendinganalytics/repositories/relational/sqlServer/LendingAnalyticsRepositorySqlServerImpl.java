@@ -0,0 +1,134 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.repositories.relational.sqlServer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.BookLendingCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreBookCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingFact;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.BookGenreEntity;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.LendingFactEntity;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.LendingMonthlyStatsEntity;
+import pt.psoft.g1.psoftg1.lendinganalytics.repositories.LendingAnalyticsRepository;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Profile("sqlServer")
+@Qualifier("lendingAnalyticsSqlServerRepo")
+@Component
+public class LendingAnalyticsRepositorySqlServerImpl implements LendingAnalyticsRepository {
+
+    private final LendingFactRepositorySqlServer lendingFactRepositorySqlServer;
+    private final LendingMonthlyStatsRepositorySqlServer lendingMonthlyStatsRepositorySqlServer;
+    private final BookGenreRepositorySqlServer bookGenreRepositorySqlServer;
+
+    @Autowired
+    @Lazy
+    public LendingAnalyticsRepositorySqlServerImpl(LendingFactRepositorySqlServer lendingFactRepositorySqlServer,
+                                                   LendingMonthlyStatsRepositorySqlServer lendingMonthlyStatsRepositorySqlServer,
+                                                   BookGenreRepositorySqlServer bookGenreRepositorySqlServer) {
+        this.lendingFactRepositorySqlServer = lendingFactRepositorySqlServer;
+        this.lendingMonthlyStatsRepositorySqlServer = lendingMonthlyStatsRepositorySqlServer;
+        this.bookGenreRepositorySqlServer = bookGenreRepositorySqlServer;
+    }
+
+    @Override
+    public Optional<LendingFact> findFact(String lendingNumber) {
+        return lendingFactRepositorySqlServer.findById(lendingNumber).map(this::toModel);
+    }
+
+    @Override
+    public List<LendingFact> findFacts(Collection<String> lendingNumbers) {
+        List<LendingFact> facts = new ArrayList<>();
+        for (LendingFactEntity entity : lendingFactRepositorySqlServer.findAllById(lendingNumbers)) {
+            facts.add(toModel(entity));
+        }
+        return facts;
+    }
+
+    @Override
+    public LendingFact saveFact(LendingFact fact) {
+        return toModel(lendingFactRepositorySqlServer.save(toEntity(fact)));
+    }
+
+    @Override
+    public void addToMonth(String isbn, YearMonth month, long lendings, long returned, long durationDays) {
+        int updated = lendingMonthlyStatsRepositorySqlServer.increment(isbn, LendingMonthlyStatsEntity.periodOf(month),
+                lendings, returned, durationDays);
+        if (updated == 0) {
+            // First lending of this book in the month; a concurrent insert fails on the unique key and is retried
+            lendingMonthlyStatsRepositorySqlServer.save(
+                    new LendingMonthlyStatsEntity(isbn, month, lendings, returned, durationDays));
+        }
+    }
+
+    @Override
+    public void saveBookGenre(String isbn, String genre) {
+        bookGenreRepositorySqlServer.save(new BookGenreEntity(isbn, genre));
+    }
+
+    @Override
+    public long backfillBookGenres() {
+        return bookGenreRepositorySqlServer.insertMissingFromBooks();
+    }
+
+    @Override
+    public List<BookLendingCount> findTopBooks(YearMonth from, int limit) {
+        return lendingMonthlyStatsRepositorySqlServer.findTopBooks(LendingMonthlyStatsEntity.periodOf(from),
+                PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<GenreBookCount> findTopGenresByBookCount(int limit) {
+        return bookGenreRepositorySqlServer.findTopGenresByBookCount(PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<GenreMonthTotals> findGenreTotals(YearMonth from, YearMonth to) {
+        return lendingMonthlyStatsRepositorySqlServer.findGenreTotals(LendingMonthlyStatsEntity.periodOf(from),
+                LendingMonthlyStatsEntity.periodOf(to));
+    }
+
+    @Override
+    public List<LendingHistoryEntry> findLendingHistory(long afterPk, int limit) {
+        return lendingMonthlyStatsRepositorySqlServer.findLendingHistory(afterPk, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void clear() {
+        lendingMonthlyStatsRepositorySqlServer.deleteAll();
+        lendingFactRepositorySqlServer.deleteAll();
+    }
+
+    private LendingFact toModel(LendingFactEntity entity) {
+        LendingFact fact = new LendingFact(entity.getLendingNumber());
+        fact.setIsbn(entity.getIsbn());
+        fact.setStartDate(entity.getStartDate());
+        fact.setReturnedDate(entity.getReturnedDate());
+        fact.setCounted(entity.isCounted());
+        fact.setDeleted(entity.isDeleted());
+        fact.setVersion(entity.getVersion());
+        return fact;
+    }
+
+    private LendingFactEntity toEntity(LendingFact fact) {
+        LendingFactEntity entity = new LendingFactEntity();
+        entity.setLendingNumber(fact.getLendingNumber());
+        entity.setIsbn(fact.getIsbn());
+        entity.setStartDate(fact.getStartDate());
+        entity.setReturnedDate(fact.getReturnedDate());
+        entity.setCounted(fact.isCounted());
+        entity.setDeleted(fact.isDeleted());
+        entity.setVersion(fact.getVersion());
+        return entity;
+    }
+}
@@ -0,0 +1,9 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.repositories.relational.sqlServer;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.LendingFactEntity;
+
+@Repository
+public interface LendingFactRepositorySqlServer extends CrudRepository<LendingFactEntity, String> {
+}
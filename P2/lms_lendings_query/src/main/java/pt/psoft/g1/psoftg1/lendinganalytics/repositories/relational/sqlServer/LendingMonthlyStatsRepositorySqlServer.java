@@ -0,0 +1,52 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.repositories.relational.sqlServer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.BookLendingCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.relational.LendingMonthlyStatsEntity;
+
+import java.util.List;
+
+@Repository
+public interface LendingMonthlyStatsRepositorySqlServer extends CrudRepository<LendingMonthlyStatsEntity, Long> {
+
+    // In-place increment, so concurrent listeners do not overwrite each other's counts
+    @Transactional
+    @Modifying
+    @Query("UPDATE LendingMonthlyStatsEntity s " +
+            "SET s.lendings = s.lendings + :lendings, s.returned = s.returned + :returned, " +
+            "s.durationDays = s.durationDays + :durationDays " +
+            "WHERE s.isbn = :isbn AND s.period = :period")
+    int increment(@Param("isbn") String isbn, @Param("period") int period, @Param("lendings") long lendings,
+                  @Param("returned") long returned, @Param("durationDays") long durationDays);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendinganalytics.model.BookLendingCount(s.isbn, SUM(s.lendings)) " +
+            "FROM LendingMonthlyStatsEntity s " +
+            "WHERE s.period >= :fromPeriod " +
+            "GROUP BY s.isbn " +
+            "HAVING SUM(s.lendings) > 0 " +
+            "ORDER BY SUM(s.lendings) DESC, s.isbn")
+    List<BookLendingCount> findTopBooks(@Param("fromPeriod") int fromPeriod, Pageable pageable);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals(" +
+            "s.year, s.month, g.genre, SUM(s.lendings), SUM(s.returned), SUM(s.durationDays)) " +
+            "FROM LendingMonthlyStatsEntity s LEFT JOIN BookGenreEntity g ON g.isbn = s.isbn " +
+            "WHERE s.period BETWEEN :fromPeriod AND :toPeriod " +
+            "GROUP BY s.period, s.year, s.month, g.genre " +
+            "ORDER BY s.period, g.genre")
+    List<GenreMonthTotals> findGenreTotals(@Param("fromPeriod") int fromPeriod, @Param("toPeriod") int toPeriod);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry(" +
+            "l.pk, l.lendingNumberEntity.lendingNumber, l.book.isbn.isbn, l.startDate, l.returnedDate) " +
+            "FROM LendingEntity l " +
+            "WHERE l.pk > :afterPk " +
+            "ORDER BY l.pk")
+    List<LendingHistoryEntry> findLendingHistory(@Param("afterPk") long afterPk, Pageable pageable);
+}
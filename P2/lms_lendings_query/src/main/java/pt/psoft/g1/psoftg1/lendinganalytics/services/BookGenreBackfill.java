@@ -0,0 +1,45 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the genres of the stored books on startup, so the genre reports of a first start do not wait for
+ * book events. Only books without a genre row are added, so later startups change nothing.
+ *
+ * Runs in the first lifecycle phase, before the listener containers start writing book genres.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookGenreBackfill implements SmartLifecycle {
+
+    private final LendingAnalyticsService lendingAnalyticsService;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try {
+            lendingAnalyticsService.backfillBookGenres();
+        } catch (Exception e) {
+            System.out.println(" [x] Could not backfill the lending analytics genres: " + e.getMessage());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,64 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.services;
+
+import pt.psoft.g1.psoftg1.lendinganalytics.api.BookLendingsView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreBooksView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsPerMonthView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsView;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Lending statistics kept up to date from the lending events instead of being computed over all lendings
+ * on every request. Applying an event more than once, or out of order, leaves the counters unchanged.
+ */
+public interface LendingAnalyticsService {
+
+    /**
+     * Counts a lending in the month it started; also counts its return when returnedDate is set.
+     */
+    void applyCreated(String lendingNumber, String isbn, LocalDate startDate, LocalDate returnedDate);
+
+    void applyReturned(String lendingNumber, LocalDate returnedDate);
+
+    void applyDeleted(String lendingNumber);
+
+    void recordBookGenre(String isbn, String genre);
+
+    /**
+     * Takes the genres of the stored books that no book event has recorded yet.
+     *
+     * @return the number of book genres added
+     */
+    long backfillBookGenres();
+
+    /**
+     * Most lent books in the last 12 months (current month included).
+     */
+    List<BookLendingsView> getTopBooks(int limit);
+
+    List<GenreBooksView> getTopGenres(int limit);
+
+    /**
+     * Lendings per genre for each of the last 12 months (current month included).
+     */
+    List<GenreLendingsPerMonthView> getLendingsPerMonthLastYearByGenre();
+
+    /**
+     * Average lendings per day of each genre in a month.
+     */
+    List<GenreLendingsView> getAverageLendingsPerDay(YearMonth month);
+
+    /**
+     * Average duration in days, per genre, of the returned lendings started in each month of [startDate, endDate].
+     */
+    List<GenreLendingsPerMonthView> getAverageDurationPerMonth(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recomputes the counters from the lendings of the read model, after backfilling the book genres.
+     *
+     * @return the number of lendings counted
+     */
+    long rebuild();
+}
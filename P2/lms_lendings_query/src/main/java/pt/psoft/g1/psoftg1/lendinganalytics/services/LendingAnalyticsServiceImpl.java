@@ -0,0 +1,245 @@
+package pt.psoft.g1.psoftg1.lendinganalytics.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.BookLendingsView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreBooksView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsPerMonthView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsView;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingFact;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry;
+import pt.psoft.g1.psoftg1.lendinganalytics.repositories.LendingAnalyticsRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class LendingAnalyticsServiceImpl implements LendingAnalyticsService {
+
+    static final String UNKNOWN_GENRE = "Unknown";
+    static final int REBUILD_PAGE_SIZE = 500;
+
+    private final LendingAnalyticsRepository lendingAnalyticsRepository;
+    private final BookRepository bookRepository;
+
+    @Override
+    @Transactional
+    public void applyCreated(String lendingNumber, String isbn, LocalDate startDate, LocalDate returnedDate) {
+        if (isbn == null || startDate == null) {
+            return;
+        }
+        LendingFact fact = lendingAnalyticsRepository.findFact(lendingNumber).orElseGet(() -> new LendingFact(lendingNumber));
+        if (fact.isCounted() || fact.isDeleted()) {
+            return;
+        }
+        fact.setIsbn(isbn);
+        fact.setStartDate(startDate);
+        fact.setCounted(true);
+        if (fact.getReturnedDate() == null) {
+            // A return that arrived before the creation is kept, it is the one that was applied first
+            fact.setReturnedDate(returnedDate);
+        }
+
+        if (fact.getReturnedDate() != null) {
+            lendingAnalyticsRepository.addToMonth(isbn, fact.getStartMonth(), 1, 1, durationOf(fact));
+        } else {
+            lendingAnalyticsRepository.addToMonth(isbn, fact.getStartMonth(), 1, 0, 0);
+        }
+        lendingAnalyticsRepository.saveFact(fact);
+    }
+
+    @Override
+    @Transactional
+    public void applyReturned(String lendingNumber, LocalDate returnedDate) {
+        LendingFact fact = lendingAnalyticsRepository.findFact(lendingNumber).orElseGet(() -> new LendingFact(lendingNumber));
+        if (fact.isDeleted() || fact.getReturnedDate() != null) {
+            return;
+        }
+        fact.setReturnedDate(returnedDate);
+
+        // Not counted yet: the creation will add the return with the lending
+        if (fact.isCounted()) {
+            lendingAnalyticsRepository.addToMonth(fact.getIsbn(), fact.getStartMonth(), 0, 1, durationOf(fact));
+        }
+        lendingAnalyticsRepository.saveFact(fact);
+    }
+
+    @Override
+    @Transactional
+    public void applyDeleted(String lendingNumber) {
+        LendingFact fact = lendingAnalyticsRepository.findFact(lendingNumber).orElseGet(() -> new LendingFact(lendingNumber));
+        if (fact.isDeleted()) {
+            return;
+        }
+        if (fact.isCounted()) {
+            if (fact.getReturnedDate() != null) {
+                lendingAnalyticsRepository.addToMonth(fact.getIsbn(), fact.getStartMonth(), -1, -1, -durationOf(fact));
+            } else {
+                lendingAnalyticsRepository.addToMonth(fact.getIsbn(), fact.getStartMonth(), -1, 0, 0);
+            }
+        }
+        fact.setDeleted(true);
+        lendingAnalyticsRepository.saveFact(fact);
+    }
+
+    @Override
+    public void recordBookGenre(String isbn, String genre) {
+        if (isbn == null || genre == null || genre.isBlank()) {
+            return;
+        }
+        lendingAnalyticsRepository.saveBookGenre(isbn, genre);
+    }
+
+    @Override
+    public long backfillBookGenres() {
+        long added = lendingAnalyticsRepository.backfillBookGenres();
+        if (added > 0) {
+            System.out.println(" [x] Lending analytics genres taken from " + added + " stored books");
+        }
+        return added;
+    }
+
+    @Override
+    public List<BookLendingsView> getTopBooks(int limit) {
+        return lendingAnalyticsRepository.findTopBooks(YearMonth.now().minusMonths(11), limit).stream()
+                .map(count -> new BookLendingsView(count.isbn(),
+                        bookRepository.findByIsbn(count.isbn()).map(book -> book.getTitle().toString()).orElse(null),
+                        count.lendings()))
+                .toList();
+    }
+
+    @Override
+    public List<GenreBooksView> getTopGenres(int limit) {
+        return lendingAnalyticsRepository.findTopGenresByBookCount(limit).stream()
+                .map(count -> new GenreBooksView(count.genre(), count.books()))
+                .toList();
+    }
+
+    @Override
+    public List<GenreLendingsPerMonthView> getLendingsPerMonthLastYearByGenre() {
+        YearMonth now = YearMonth.now();
+        return perMonth(lendingAnalyticsRepository.findGenreTotals(now.minusMonths(11), now),
+                totals -> totals.lendings() > 0 ? new GenreLendingsView(genreOf(totals), totals.lendings()) : null);
+    }
+
+    @Override
+    public List<GenreLendingsView> getAverageLendingsPerDay(YearMonth month) {
+        Map<String, Long> lendingsByGenre = new LinkedHashMap<>();
+        for (GenreMonthTotals totals : lendingAnalyticsRepository.findGenreTotals(month, month)) {
+            lendingsByGenre.merge(genreOf(totals), totals.lendings(), Long::sum);
+        }
+        List<GenreLendingsView> averages = new ArrayList<>();
+        lendingsByGenre.forEach((genre, lendings) -> {
+            if (lendings > 0) {
+                averages.add(new GenreLendingsView(genre, (double) lendings / month.lengthOfMonth()));
+            }
+        });
+        return averages;
+    }
+
+    @Override
+    public List<GenreLendingsPerMonthView> getAverageDurationPerMonth(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        return perMonth(lendingAnalyticsRepository.findGenreTotals(YearMonth.from(startDate), YearMonth.from(endDate)),
+                totals -> totals.returned() > 0
+                        ? new GenreLendingsView(genreOf(totals), (double) totals.durationDays() / totals.returned())
+                        : null);
+    }
+
+    @Override
+    public long rebuild() {
+        backfillBookGenres();
+        lendingAnalyticsRepository.clear();
+
+        long counted = 0;
+        long afterPk = 0;
+        List<LendingHistoryEntry> page;
+        do {
+            page = lendingAnalyticsRepository.findLendingHistory(afterPk, REBUILD_PAGE_SIZE);
+            counted += replay(page);
+            if (!page.isEmpty()) {
+                afterPk = page.get(page.size() - 1).pk();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        System.out.println(" [x] Lending analytics rebuilt from " + counted + " lendings");
+        return counted;
+    }
+
+    /**
+     * Counts one page of lendings, one counter update per (isbn, month). Facts the listeners wrote while the
+     * rebuild was running are kept: counted or deleted lendings are skipped, and a return that arrived before
+     * its creation is counted with the returned date it stored.
+     */
+    private long replay(List<LendingHistoryEntry> page) {
+        Map<String, LendingFact> facts = new HashMap<>();
+        lendingAnalyticsRepository.findFacts(page.stream().map(LendingHistoryEntry::lendingNumber).toList())
+                .forEach(fact -> facts.put(fact.getLendingNumber(), fact));
+
+        Map<String, Map<YearMonth, long[]>> deltas = new HashMap<>();
+        long counted = 0;
+        for (LendingHistoryEntry entry : page) {
+            LendingFact fact = facts.computeIfAbsent(entry.lendingNumber(), LendingFact::new);
+            if (entry.startDate() == null || fact.isCounted() || fact.isDeleted()) {
+                continue;
+            }
+            fact.setIsbn(entry.isbn());
+            fact.setStartDate(entry.startDate());
+            if (fact.getReturnedDate() == null) {
+                fact.setReturnedDate(entry.returnedDate());
+            }
+            fact.setCounted(true);
+            lendingAnalyticsRepository.saveFact(fact);
+
+            long[] delta = deltas.computeIfAbsent(entry.isbn(), isbn -> new HashMap<>())
+                    .computeIfAbsent(fact.getStartMonth(), month -> new long[3]);
+            delta[0]++;
+            if (fact.getReturnedDate() != null) {
+                delta[1]++;
+                delta[2] += durationOf(fact);
+            }
+            counted++;
+        }
+
+        deltas.forEach((isbn, months) -> months.forEach((month, delta) ->
+                lendingAnalyticsRepository.addToMonth(isbn, month, delta[0], delta[1], delta[2])));
+        return counted;
+    }
+
+    private static List<GenreLendingsPerMonthView> perMonth(List<GenreMonthTotals> totals,
+                                                            Function<GenreMonthTotals, GenreLendingsView> value) {
+        Map<YearMonth, List<GenreLendingsView>> byMonth = new LinkedHashMap<>();
+        for (GenreMonthTotals monthTotals : totals) {
+            GenreLendingsView view = value.apply(monthTotals);
+            if (view != null) {
+                byMonth.computeIfAbsent(YearMonth.of(monthTotals.year(), monthTotals.month()), month -> new ArrayList<>())
+                        .add(view);
+            }
+        }
+        List<GenreLendingsPerMonthView> result = new ArrayList<>(byMonth.size());
+        byMonth.forEach((month, values) -> result.add(
+                new GenreLendingsPerMonthView(month.getYear(), month.getMonthValue(), values)));
+        return result;
+    }
+
+    private static String genreOf(GenreMonthTotals totals) {
+        return totals.genre() != null ? totals.genre() : UNKNOWN_GENRE;
+    }
+
+    private static long durationOf(LendingFact fact) {
+        // A return dated before the start (clock skew between services) counts as a same-day return
+        return Math.max(fact.getDurationInDays(), 0);
+    }
+}
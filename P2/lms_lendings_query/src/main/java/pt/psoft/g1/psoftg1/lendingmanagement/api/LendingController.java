@@ -15,7 +15,9 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.CreateLendingRequest;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingDurationStatsReconciler;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SearchLendingQuery;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SetLendingReturnedRequest;
@@ -38,6 +40,7 @@ public class LendingController {
     private final ReaderService readerService;
     private final UserService userService;
     private final ConcurrencyService concurrencyService;
+    private final LendingDurationStatsReconciler lendingDurationStatsReconciler;
 
     private final LendingViewMapper lendingViewMapper;
 
@@ -184,6 +187,12 @@ public class LendingController {
         return ResponseEntity.ok().body(lendingViewMapper.toLendingsAverageDurationView(lendingService.getAverageDuration()));
     }
 
+    @Operation(summary = "Recompute the lending duration totals now instead of waiting for the daily run, listing the ones that drifted")
+    @PostMapping(value = "/avgDuration/reconcile")
+    public ListResponse<LendingDurationDrift> reconcileDurationStats() {
+        return new ListResponse<>(lendingDurationStatsReconciler.reconcile());
+    }
+
     @Operation(summary = "Get list of overdue lendings")
     @GetMapping(value = "/overdue")
     public ListResponse<LendingView> getOverdueLendings(@Valid @RequestBody Page page) {
@@ -1,30 +1,30 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.SagaCreationResponse;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingReturnedEvent;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
 public class LendingEventListener {
 
     private final LendingService lendingService;
+    private final PendingLendingEventService pendingLendingEventService;
 
     @RabbitListener(queues = "#{bookLendingResponseQueue.name}")
     public void receiveBookLendingResponse(Message msg) {
         try {
             // Usando ObjectMapper para converter a string JSON em um objeto BookCreationResponse
-            ObjectMapper objectMapper = new ObjectMapper();
-            String message = new String(msg.getBody(), StandardCharsets.UTF_8);
-            SagaCreationResponse response = objectMapper.readValue(message, SagaCreationResponse.class);
+            SagaCreationResponse response = AmqpCodec.decode(msg.getBody(), SagaCreationResponse.class);
 
             String lendingNumber = response.getLendingNumber();
             String status = response.getStatus();
@@ -46,9 +46,7 @@ public class LendingEventListener {
     public void receiveReaderLendingResponse(Message msg) {
         try {
             // Usando ObjectMapper para converter a string JSON em um objeto BookCreationResponse
-            ObjectMapper objectMapper = new ObjectMapper();
-            String message = new String(msg.getBody(), StandardCharsets.UTF_8);
-            SagaCreationResponse response = objectMapper.readValue(message, SagaCreationResponse.class);
+            SagaCreationResponse response = AmqpCodec.decode(msg.getBody(), SagaCreationResponse.class);
 
             String lendingNumber = response.getLendingNumber();
             String status = response.getStatus();
@@ -72,15 +70,14 @@ public class LendingEventListener {
     public void receiveBookCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Created by AMQP for: " + lendingViewAMQP.getLendingNumber());
             try {
                 lendingService.create(lendingViewAMQP);
                 System.out.println(" [x] New lending inserted from AMQP: " + lendingViewAMQP.getLendingNumber());
+            } catch (LendingDependencyMissingException e) {
+                pendingLendingEventService.park(PendingLendingEvent.EventType.CREATED, lendingViewAMQP, e);
             } catch (Exception e) {
                 System.out.println(" [x] Exception creating lending: '" + e.getMessage() + "'");
                 System.out.println(" [x] Stack trace: ");
@@ -96,15 +93,14 @@ public class LendingEventListener {
     @RabbitListener(queues = "#{lendingUpdatedQueue.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Updated by AMQP: " + msg + ".");
             try {
                 lendingService.update(lendingViewAMQP);
                 System.out.println(" [x] lending updated from AMQP: " + msg + ".");
+            } catch (LendingDependencyMissingException e) {
+                pendingLendingEventService.park(PendingLendingEvent.EventType.UPDATED, lendingViewAMQP, e);
             } catch (Exception e) {
                 System.out.println(" [x] lending does not exists or wrong version. Nothing stored.");
             }
@@ -119,10 +115,7 @@ public class LendingEventListener {
         System.out.println(" [x] Received lending Deleted '" + in + "'");
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(in.getBytes(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(in, LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Deleted by AMQP: " + in + ".");
             try {
@@ -140,9 +133,7 @@ public class LendingEventListener {
     @RabbitListener(queues = "#{lendingReturnedQueue.name}")
     public void receiveLendingReturned(Message msg) {
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            LendingReturnedEvent event = objectMapper.readValue(jsonReceived, LendingReturnedEvent.class);
+            LendingReturnedEvent event = AmqpCodec.decode(msg.getBody(), LendingReturnedEvent.class);
 
             System.out.println(" [x] Received LendingReturned by AMQP: lendingId=" + event.getLendingId() + 
                              ", bookId=" + event.getBookId() + ", comment=" + event.getComment() + ", grade=" + event.getGrade());
@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model;
+
+/**
+ * A duration statistics row that did not match the lendings table, found (and corrected) by reconciliation.
+ */
+public record LendingDurationDrift(String isbn, long storedReturned, long storedTotalDays, long returned, long totalDays) {
+}
@@ -0,0 +1,14 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model;
+
+/**
+ * Returned lendings of a book (or of all books) and the sum of their durations in days.
+ */
+public record LendingDurationTotals(String isbn, long returned, long totalDays) {
+
+    /**
+     * Average duration in days, or null when no lending has been returned.
+     */
+    public Double average() {
+        return returned == 0 ? null : (double) totalDays / returned;
+    }
+}
@@ -0,0 +1,48 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lending event that could not be applied yet because the book or reader it refers to has not
+ * reached this projection. It is parked under the missing dependency and re-applied as soon as
+ * the matching book/reader created event is stored.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PendingLendingEvent {
+
+    public enum EventType { CREATED, UPDATED }
+
+    public enum Dependency { BOOK, READER }
+
+    private Long id;
+
+    private EventType eventType;
+
+    private Dependency dependency;
+
+    /** ISBN or reader number that is missing */
+    private String dependencyKey;
+
+    private String lendingNumber;
+
+    /** The original LendingViewAMQP, as JSON */
+    private String payload;
+
+    private LocalDateTime parkedAt;
+
+    public PendingLendingEvent(EventType eventType, Dependency dependency, String dependencyKey,
+                               String lendingNumber, String payload) {
+        this.eventType = eventType;
+        this.dependency = dependency;
+        this.dependencyKey = dependencyKey;
+        this.lendingNumber = lendingNumber;
+        this.payload = payload;
+        this.parkedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of the returned lendings of one book, or of all books under {@link #ALL_BOOKS}.
+ * Kept up to date by the lending repository, so average durations read a single row.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "lending_duration_stats")
+public class LendingDurationStatsEntity {
+
+    public static final String ALL_BOOKS = "*";
+
+    @Id
+    @Column(name = "stats_key", length = 32)
+    private String isbn;
+
+    @Column(nullable = false)
+    private long returned;
+
+    @Column(name = "total_days", nullable = false)
+    private long totalDays;
+
+    public LendingDurationStatsEntity(String isbn, long returned, long totalDays) {
+        this.isbn = isbn;
+        this.returned = returned;
+        this.totalDays = totalDays;
+    }
+}
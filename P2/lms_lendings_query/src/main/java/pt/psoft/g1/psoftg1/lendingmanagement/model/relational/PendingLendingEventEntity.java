@@ -0,0 +1,46 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.model.relational;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistence model of {@link PendingLendingEvent}. Rows are looked up by the missing dependency
+ * when it arrives, hence the index.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "pending_lending_events",
+        indexes = @Index(name = "idx_pending_lending_dependency", columnList = "dependency, dependency_key"))
+public class PendingLendingEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private PendingLendingEvent.EventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PendingLendingEvent.Dependency dependency;
+
+    @Column(name = "dependency_key", nullable = false)
+    private String dependencyKey;
+
+    @Column(name = "lending_number", nullable = false)
+    private String lendingNumber;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "parked_at", nullable = false)
+    private LocalDateTime parkedAt;
+}
@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.publishers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -16,6 +15,7 @@ import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderSagaViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.shared.model.LendingEvents;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -31,8 +31,6 @@ public class LendingEventPublisher {
 
     public void sendBookCreatedInLending(LendingDetailsView lendingDetailsView, String lendingNumber) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             BookSagaViewAMQP bookViewAMQP = new BookSagaViewAMQP();
 
             bookViewAMQP.setLendingNumber(lendingNumber);
@@ -44,7 +42,7 @@ public class LendingEventPublisher {
 
 
 
-            String jsonString = objectMapper.writeValueAsString(bookViewAMQP);
+            String jsonString = AmqpCodec.encode(bookViewAMQP);
 
             this.template.convertAndSend(direct.getName(), "book.lending.requests", jsonString);
             System.out.println(" [x] Sent '" + lendingDetailsView.getBookIsbn() + "'");
@@ -70,13 +68,11 @@ public class LendingEventPublisher {
 
     public void sendLendingEvent(Lending lending, Long currentVersion, String lendingEventType) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             LendingViewAMQP lendingViewAMQP = lendingViewAMQPMapper.toLendingViewAMQP(lending);
             System.out.println(lendingViewAMQP);
             lendingViewAMQP.setVersion(currentVersion.toString());
 
-            String jsonString = objectMapper.writeValueAsString(lendingViewAMQP);
+            String jsonString = AmqpCodec.encode(lendingViewAMQP);
 
             this.template.convertAndSend(direct.getName(), lendingEventType, jsonString);
             System.out.println(" [x] Sent '" + lending.getLendingNumber() + "'");
@@ -89,8 +85,6 @@ public class LendingEventPublisher {
     public void sendReaderCreatedInLending(LendingDetailsView resource, String lendingNumber) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             ReaderSagaViewAMQP readerViewAMQP = new ReaderSagaViewAMQP();
 
             readerViewAMQP.setLendingNumber(lendingNumber);
@@ -107,7 +101,7 @@ public class LendingEventPublisher {
 
             // continuar
 
-            String jsonString = objectMapper.writeValueAsString(readerViewAMQP);
+            String jsonString = AmqpCodec.encode(readerViewAMQP);
 
             this.template.convertAndSend(direct.getName(), "reader.lending.requests", jsonString);
             System.out.println(" [x] Sent '" + resource.getReaderUsername() + "'");
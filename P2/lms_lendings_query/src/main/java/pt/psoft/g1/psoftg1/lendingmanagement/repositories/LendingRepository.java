@@ -1,6 +1,7 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.repositories;
 
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
 import pt.psoft.g1.psoftg1.shared.services.Page;
 
 import java.time.LocalDate;
@@ -12,9 +13,22 @@ public interface LendingRepository {
     List<Lending> listByReaderNumberAndIsbn(String readerNumber, String isbn);
     int getCountFromCurrentYear();
     List<Lending> listOutstandingByReaderNumber(String readerNumber);
+    /**
+     * Average duration in days of the returned lendings, or null when none has been returned.
+     */
     Double getAverageDuration();
     Double getAvgLendingDurationByIsbn(String isbn);
 
+    /**
+     * Recomputes the running duration totals from the lendings and corrects the ones that drifted.
+     *
+     * @return the totals that had drifted, with their stored and recomputed values
+     */
+    default List<LendingDurationDrift> reconcileDurationStats() {
+        // Only the relational store keeps running totals
+        return List.of();
+    }
+
 
     List<Lending> getOverdue(Page page);
     List<Lending> searchLendings(Page page, String readerNumber, String isbn, Boolean returned, LocalDate startDate, LocalDate endDate);
@@ -0,0 +1,17 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories;
+
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+
+import java.util.List;
+
+public interface PendingLendingEventRepository {
+
+    PendingLendingEvent save(PendingLendingEvent event);
+
+    /**
+     * Events waiting for the given book/reader, oldest first.
+     */
+    List<PendingLendingEvent> findByDependency(PendingLendingEvent.Dependency dependency, String dependencyKey);
+
+    void deleteById(Long id);
+}
@@ -0,0 +1,13 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories.mappers;
+
+import org.mapstruct.Mapper;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.PendingLendingEventEntity;
+
+@Mapper(componentModel = "spring")
+public interface PendingLendingEventEntityMapper {
+
+    PendingLendingEvent sqlServerToModel(PendingLendingEventEntity entity);
+
+    PendingLendingEventEntity modelToSqlServer(PendingLendingEvent event);
+}
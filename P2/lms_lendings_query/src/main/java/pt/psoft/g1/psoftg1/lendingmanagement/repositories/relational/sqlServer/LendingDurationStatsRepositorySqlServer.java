@@ -0,0 +1,21 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories.relational.sqlServer;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingDurationStatsEntity;
+
+@Repository
+public interface LendingDurationStatsRepositorySqlServer extends CrudRepository<LendingDurationStatsEntity, String> {
+
+    /**
+     * Adds the deltas in place; returns 0 when there is no row for the key yet.
+     */
+    @Modifying
+    @Query("UPDATE LendingDurationStatsEntity s " +
+            "SET s.returned = s.returned + :returned, s.totalDays = s.totalDays + :totalDays " +
+            "WHERE s.isbn = :isbn")
+    int adjust(@Param("isbn") String isbn, @Param("returned") long returned, @Param("totalDays") long totalDays);
+}
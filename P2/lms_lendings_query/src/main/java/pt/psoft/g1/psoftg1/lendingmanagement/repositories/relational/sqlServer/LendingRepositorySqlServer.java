@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingEntity;
 
 import java.util.List;
@@ -44,19 +45,27 @@ public interface LendingRepositorySqlServer extends CrudRepository<LendingEntity
     List<LendingEntity> listOutstandingByReaderNumber(@Param("readerNumber") String readerNumber);
 
 
-    @Query(value =
-            "SELECT AVG((l.returned_date - l.start_date) ::INT) " +
-                    "FROM lending_entity l",
-            nativeQuery = true)
-    Double getAverageDuration();
+    // Durations as LendingEntity computes them (whole days between start and return), for seeding and reconciling
+    // the lending_duration_stats rows
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals(" +
+            "'*', COUNT(l), COALESCE(SUM((l.returnedDate - l.startDate) by day), 0)) " +
+            "FROM LendingEntity l " +
+            "WHERE l.returnedDate IS NOT NULL")
+    LendingDurationTotals sumDurations();
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals(" +
+            ":isbn, COUNT(l), COALESCE(SUM((l.returnedDate - l.startDate) by day), 0)) " +
+            "FROM LendingEntity l " +
+            "WHERE l.returnedDate IS NOT NULL " +
+            "AND l.book.isbn.isbn = :isbn")
+    LendingDurationTotals sumDurationsByIsbn(@Param("isbn") String isbn);
 
-    @Query(value =
-            "SELECT AVG(DATEDIFF(day, l.start_date, l.returned_date)) " +
-                    "FROM lending_entity l " +
-                    "JOIN BOOK b ON l.BOOK_PK = b.PK " +
-                    "WHERE b.ISBN = :isbn"
-            , nativeQuery = true)
-    Double getAvgLendingDurationByIsbn(@Param("isbn") String isbn);
+    @Query("SELECT new pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals(" +
+            "l.book.isbn.isbn, COUNT(l), SUM((l.returnedDate - l.startDate) by day)) " +
+            "FROM LendingEntity l " +
+            "WHERE l.returnedDate IS NOT NULL " +
+            "GROUP BY l.book.isbn.isbn")
+    List<LendingDurationTotals> sumDurationsGroupedByIsbn();
 
 
 
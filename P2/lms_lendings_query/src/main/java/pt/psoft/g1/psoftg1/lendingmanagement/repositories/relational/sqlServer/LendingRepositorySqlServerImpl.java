@@ -8,17 +8,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.model.relational.BookEntity;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.relational.BookRepositorySqlServer;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationTotals;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.model.relational.ReaderDetailsEntity;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.relational.ReaderRepositorySqlServer;
 import pt.psoft.g1.psoftg1.shared.services.Page;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingDurationStatsEntity;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingEntity;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.mappers.LendingEntityMapper;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
@@ -27,8 +32,12 @@ import pt.psoft.g1.psoftg1.usermanagement.model.relational.UserEntity;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.relational.UserRepositorySqlServer;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Profile("sqlServer")
@@ -42,6 +51,7 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     private final UserRepositorySqlServer userRepositorySqlServer;
     private final BookRepositorySqlServer bookRepository;
+    private final LendingDurationStatsRepositorySqlServer durationStatsRepository;
 
     @PersistenceContext
     private final EntityManager em;
@@ -49,12 +59,13 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     @Autowired
     @Lazy
-    public LendingRepositorySqlServerImpl(LendingRepositorySqlServer lendingRepositorySqlServer, LendingEntityMapper lendingEntityMapper, ReaderRepositorySqlServer readerDetailsRepository, UserRepositorySqlServer userRepositorySqlServer, EntityManager em, BookRepositorySqlServer bookRepository) {
+    public LendingRepositorySqlServerImpl(LendingRepositorySqlServer lendingRepositorySqlServer, LendingEntityMapper lendingEntityMapper, ReaderRepositorySqlServer readerDetailsRepository, UserRepositorySqlServer userRepositorySqlServer, EntityManager em, BookRepositorySqlServer bookRepository, LendingDurationStatsRepositorySqlServer durationStatsRepository) {
         this.lendingRepositorySqlServer = lendingRepositorySqlServer;
         this.lendingEntityMapper = lendingEntityMapper;
         this.readerDetailsRepository = readerDetailsRepository;
         this.userRepositorySqlServer = userRepositorySqlServer;
         this.bookRepository= bookRepository;
+        this.durationStatsRepository = durationStatsRepository;
         this.em = em;
     }
 
@@ -104,12 +115,96 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
     @Override
     public Double getAverageDuration() {
-        return this.lendingRepositorySqlServer.getAverageDuration();
+        return durationStats(LendingDurationStatsEntity.ALL_BOOKS).average();
     }
 
     @Override
     public Double getAvgLendingDurationByIsbn(String isbn) {
-        return this.lendingRepositorySqlServer.getAvgLendingDurationByIsbn(isbn);
+        return durationStats(isbn).average();
+    }
+
+    private LendingDurationTotals durationStats(String isbn) {
+        LendingDurationStatsEntity stats = durationStatsRepository.findById(isbn)
+                .orElseGet(() -> seedDurationStats(isbn));
+        return new LendingDurationTotals(isbn, stats.getReturned(), stats.getTotalDays());
+    }
+
+    /**
+     * First lookup for a book (or for all books): the row is created from the lendings table and kept by
+     * save/delete from then on.
+     */
+    private LendingDurationStatsEntity seedDurationStats(String isbn) {
+        LendingDurationTotals totals = LendingDurationStatsEntity.ALL_BOOKS.equals(isbn)
+                ? lendingRepositorySqlServer.sumDurations()
+                : lendingRepositorySqlServer.sumDurationsByIsbn(isbn);
+        LendingDurationStatsEntity stats = new LendingDurationStatsEntity(isbn, totals.returned(), totals.totalDays());
+        try {
+            return durationStatsRepository.save(stats);
+        } catch (DataIntegrityViolationException e) {
+            // Another request seeded it first
+            return durationStatsRepository.findById(isbn).orElse(stats);
+        }
+    }
+
+    /**
+     * What a lending adds to the duration totals of its book: nothing until it is returned.
+     */
+    private static LendingDurationTotals durationOf(LendingEntity lending) {
+        if (lending.getReturnedDate() == null || lending.getBook() == null) {
+            return null;
+        }
+        return new LendingDurationTotals(lending.getBook().getIsbn(), 1,
+                ChronoUnit.DAYS.between(lending.getStartDate(), lending.getReturnedDate()));
+    }
+
+    /**
+     * Replaces the contribution of a lending to its book's totals and to the totals of all books. Books without
+     * a row are left alone, their row is seeded from the lendings table on the next lookup.
+     */
+    private void adjustDurationStats(LendingDurationTotals before, LendingDurationTotals after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            durationStatsRepository.adjust(before.isbn(), -1, -before.totalDays());
+        }
+        if (after != null) {
+            durationStatsRepository.adjust(after.isbn(), 1, after.totalDays());
+        }
+        long returned = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long totalDays = (after != null ? after.totalDays() : 0) - (before != null ? before.totalDays() : 0);
+        if (returned != 0 || totalDays != 0) {
+            durationStatsRepository.adjust(LendingDurationStatsEntity.ALL_BOOKS, returned, totalDays);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<LendingDurationDrift> reconcileDurationStats() {
+        Map<String, LendingDurationTotals> recomputed = new HashMap<>();
+        long returned = 0;
+        long totalDays = 0;
+        for (LendingDurationTotals totals : lendingRepositorySqlServer.sumDurationsGroupedByIsbn()) {
+            recomputed.put(totals.isbn(), totals);
+            returned += totals.returned();
+            totalDays += totals.totalDays();
+        }
+        recomputed.put(LendingDurationStatsEntity.ALL_BOOKS,
+                new LendingDurationTotals(LendingDurationStatsEntity.ALL_BOOKS, returned, totalDays));
+
+        List<LendingDurationDrift> drifts = new ArrayList<>();
+        for (LendingDurationStatsEntity stats : durationStatsRepository.findAll()) {
+            LendingDurationTotals expected = recomputed.getOrDefault(stats.getIsbn(),
+                    new LendingDurationTotals(stats.getIsbn(), 0, 0));
+            if (stats.getReturned() != expected.returned() || stats.getTotalDays() != expected.totalDays()) {
+                drifts.add(new LendingDurationDrift(stats.getIsbn(), stats.getReturned(), stats.getTotalDays(),
+                        expected.returned(), expected.totalDays()));
+                // Corrected by the difference, like any other change to the row
+                durationStatsRepository.adjust(stats.getIsbn(), expected.returned() - stats.getReturned(),
+                        expected.totalDays() - stats.getTotalDays());
+            }
+        }
+        return drifts;
     }
 
     @Override
@@ -185,10 +280,15 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
     }
 
     @Override
+    @Transactional
     public Lending save(Lending lending) {
 
         LendingEntity entity = lendingEntityMapper.modelToSqlServer(lending);
 
+        // Captured before the save, which merges the new state into the same managed entity
+        LendingDurationTotals durationBefore = entity.getPk() != null && entity.getPk() != 0
+                ? lendingRepositorySqlServer.findById(entity.getPk()).map(LendingRepositorySqlServerImpl::durationOf).orElse(null)
+                : null;
 
         if (entity.getBook() != null && entity.getBook().getIsbn() != null) {
             Optional<BookEntity> existingBookOptional = bookRepository.findByIsbn(entity.getBook().getIsbn());
@@ -227,12 +327,16 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
 
 
         LendingEntity savedEntity = lendingRepositorySqlServer.save(entity); // delega o save para o JPA
+        adjustDurationStats(durationBefore, durationOf(savedEntity));
         return lendingEntityMapper.sqlServerToModel(savedEntity);
     }
 
     @Override
+    @Transactional
     public void delete(Lending lending) {
-        lendingRepositorySqlServer.delete(lendingEntityMapper.modelToSqlServer(lending));
+        LendingEntity entity = lendingEntityMapper.modelToSqlServer(lending);
+        lendingRepositorySqlServer.delete(entity);
+        adjustDurationStats(durationOf(entity), null);
     }
 
     @Override
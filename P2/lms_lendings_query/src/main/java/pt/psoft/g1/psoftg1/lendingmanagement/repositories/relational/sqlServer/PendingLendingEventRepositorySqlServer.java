@@ -0,0 +1,14 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories.relational.sqlServer;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.PendingLendingEventEntity;
+
+import java.util.List;
+
+@Repository
+public interface PendingLendingEventRepositorySqlServer extends CrudRepository<PendingLendingEventEntity, Long> {
+
+    List<PendingLendingEventEntity> findByDependencyAndDependencyKeyOrderByIdAsc(PendingLendingEvent.Dependency dependency, String dependencyKey);
+}
@@ -0,0 +1,52 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.repositories.relational.sqlServer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.PendingLendingEventEntity;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.PendingLendingEventRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.mappers.PendingLendingEventEntityMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Profile("sqlServer")
+@Qualifier("pendingLendingEventSqlServerRepo")
+@Component
+public class PendingLendingEventRepositorySqlServerImpl implements PendingLendingEventRepository {
+
+    private final PendingLendingEventRepositorySqlServer pendingLendingEventRepositorySqlServer;
+
+    private final PendingLendingEventEntityMapper pendingLendingEventEntityMapper;
+
+    @Autowired
+    @Lazy
+    public PendingLendingEventRepositorySqlServerImpl(PendingLendingEventRepositorySqlServer pendingLendingEventRepositorySqlServer,
+                                                     PendingLendingEventEntityMapper pendingLendingEventEntityMapper) {
+        this.pendingLendingEventRepositorySqlServer = pendingLendingEventRepositorySqlServer;
+        this.pendingLendingEventEntityMapper = pendingLendingEventEntityMapper;
+    }
+
+    @Override
+    public PendingLendingEvent save(PendingLendingEvent event) {
+        PendingLendingEventEntity saved = pendingLendingEventRepositorySqlServer.save(pendingLendingEventEntityMapper.modelToSqlServer(event));
+        return pendingLendingEventEntityMapper.sqlServerToModel(saved);
+    }
+
+    @Override
+    public List<PendingLendingEvent> findByDependency(PendingLendingEvent.Dependency dependency, String dependencyKey) {
+        List<PendingLendingEvent> events = new ArrayList<>();
+        for (PendingLendingEventEntity entity : pendingLendingEventRepositorySqlServer.findByDependencyAndDependencyKeyOrderByIdAsc(dependency, dependencyKey)) {
+            events.add(pendingLendingEventEntityMapper.sqlServerToModel(entity));
+        }
+        return events;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        pendingLendingEventRepositorySqlServer.deleteById(id);
+    }
+}
@@ -32,7 +32,13 @@ public interface LendingService {
 
     List<Lending> getAll();
 
+    /**
+     * @throws pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException if the book or reader has not been received yet
+     */
     Lending create(LendingViewAMQP lending);
+    /**
+     * @throws pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException if the book or reader has not been received yet
+     */
     Lending update(LendingViewAMQP lending);
 
     void delete(LendingViewAMQP lending);
@@ -6,6 +6,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException;
 import pt.psoft.g1.psoftg1.exceptions.LendingForbiddenException;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingDetailsView;
@@ -13,6 +14,7 @@ import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Fine;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingNumber;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
 import pt.psoft.g1.psoftg1.lendingmanagement.publishers.LendingEventPublisher;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.FineRepository;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
@@ -25,7 +27,6 @@ import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -172,8 +173,7 @@ public class LendingServiceImpl implements LendingService{
 
     @Override
     public Double getAverageDuration(){
-        Double avg = lendingRepository.getAverageDuration();
-        return Double.valueOf(String.format(Locale.US,"%.1f", avg));
+        return roundToOneDecimal(lendingRepository.getAverageDuration());
     }
 
     @Override
@@ -186,8 +186,7 @@ public class LendingServiceImpl implements LendingService{
 
     @Override
     public Double getAvgLendingDurationByIsbn(String isbn){
-        Double avg = lendingRepository.getAvgLendingDurationByIsbn(isbn);
-        return Double.valueOf(String.format(Locale.US,"%.1f", avg));
+        return roundToOneDecimal(lendingRepository.getAvgLendingDurationByIsbn(isbn));
     }
 
     @Override
@@ -237,10 +236,9 @@ public class LendingServiceImpl implements LendingService{
             return existing.get();
         }
 
-        // Retry logic to wait for book/reader to be synced from other services
-        // Increased retries to 10 with 1 second interval (total 10 seconds)
-        final var book = findBookWithRetry(resource.getIsbn(), 10);
-        final var readerDetails = findReaderWithRetry(resource.getReaderNumber(), 10);
+        // Book/reader may not be synced from the other services yet: the caller parks the event
+        final var book = requireBook(resource.getIsbn());
+        final var readerDetails = requireReader(resource.getReaderNumber());
 
         LocalDate startDate = LocalDate.parse(resource.getStartDate());
         LocalDate limitDate = LocalDate.parse(resource.getLimitDate());
@@ -273,53 +271,22 @@ public class LendingServiceImpl implements LendingService{
         return lendingRepository.save(lending);
     }
 
-    private Book findBookWithRetry(String isbn, int maxRetries) {
-        for (int i = 0; i < maxRetries; i++) {
-            Optional<Book> bookOpt = bookRepository.findByIsbn(isbn);
-            if (bookOpt.isPresent()) {
-                System.out.println(" [DEBUG] Found book on attempt " + (i + 1) + ": " + isbn);
-                return bookOpt.get();
-            }
-            if (i < maxRetries - 1) {
-                System.out.println(" [DEBUG] Book not found yet (attempt " + (i + 1) + "/" + maxRetries + "), retrying in 1000ms: " + isbn);
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-        }
-        throw new NotFoundException("Book not found after " + maxRetries + " retries: " + isbn);
+    private Book requireBook(String isbn) {
+        return bookRepository.findByIsbn(isbn)
+                .orElseThrow(() -> new LendingDependencyMissingException(PendingLendingEvent.Dependency.BOOK, isbn));
     }
 
-    private ReaderDetails findReaderWithRetry(String readerNumber, int maxRetries) {
-        for (int i = 0; i < maxRetries; i++) {
-            Optional<ReaderDetails> readerOpt = readerRepository.findByReaderNumber(readerNumber);
-            if (readerOpt.isPresent()) {
-                System.out.println(" [DEBUG] Found reader on attempt " + (i + 1) + ": " + readerNumber);
-                return readerOpt.get();
-            }
-            if (i < maxRetries - 1) {
-                System.out.println(" [DEBUG] Reader not found yet (attempt " + (i + 1) + "/" + maxRetries + "), retrying in 1000ms: " + readerNumber);
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-        }
-        throw new NotFoundException("Reader not found after " + maxRetries + " retries: " + readerNumber);
+    private ReaderDetails requireReader(String readerNumber) {
+        return readerRepository.findByReaderNumber(readerNumber)
+                .orElseThrow(() -> new LendingDependencyMissingException(PendingLendingEvent.Dependency.READER, readerNumber));
     }
 
     @Override
     public Lending update(LendingViewAMQP lending) {
         Optional<Lending> existing = lendingRepository.findByLendingNumber(lending.getLendingNumber());
 
-        // Use the same increased retry logic as in create method
-        Book book = findBookWithRetry(lending.getIsbn(), 10);
-        ReaderDetails readerDetails = findReaderWithRetry(lending.getReaderNumber(), 10);
+        Book book = requireBook(lending.getIsbn());
+        ReaderDetails readerDetails = requireReader(lending.getReaderNumber());
 
         LocalDate startDate = LocalDate.parse(lending.getStartDate());
         LocalDate limitDate = LocalDate.parse(lending.getLimitDate());
@@ -461,5 +428,7 @@ public class LendingServiceImpl implements LendingService{
         System.out.println(" [x] Lending status set to DELIVERED and returned_date set for: " + lendingNumber);
     }
 
-
+    private static Double roundToOneDecimal(Double value) {
+        return value == null ? null : Math.round(value * 10) / 10.0;
+    }
 }
@@ -0,0 +1,27 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.services;
+
+import pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+
+/**
+ * Parks lending events that arrive before their book or reader and re-drives them when it arrives,
+ * so listener threads never wait for a dependency.
+ */
+public interface PendingLendingEventService {
+
+    /**
+     * Store the event under the dependency it is missing.
+     */
+    void park(PendingLendingEvent.EventType eventType, LendingViewAMQP lending, LendingDependencyMissingException missing);
+
+    /**
+     * Re-apply the events that were waiting for this book.
+     */
+    void releaseForBook(String isbn);
+
+    /**
+     * Re-apply the events that were waiting for this reader.
+     */
+    void releaseForReader(String readerNumber);
+}
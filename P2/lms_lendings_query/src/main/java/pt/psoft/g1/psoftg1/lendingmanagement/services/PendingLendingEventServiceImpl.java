@@ -0,0 +1,92 @@
+package pt.psoft.g1.psoftg1.lendingmanagement.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.PendingLendingEventRepository;
+import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+
+import java.io.IOException;
+
+@Service
+@RequiredArgsConstructor
+public class PendingLendingEventServiceImpl implements PendingLendingEventService {
+
+    private final PendingLendingEventRepository pendingLendingEventRepository;
+    private final LendingService lendingService;
+    private final BookRepository bookRepository;
+    private final ReaderRepository readerRepository;
+
+    @Override
+    public void park(PendingLendingEvent.EventType eventType, LendingViewAMQP lending, LendingDependencyMissingException missing) {
+        String payload;
+        try {
+            payload = AmqpCodec.encode(lending);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize lending event " + lending.getLendingNumber(), e);
+        }
+
+        pendingLendingEventRepository.save(new PendingLendingEvent(eventType, missing.getDependency(),
+                missing.getDependencyKey(), lending.getLendingNumber(), payload));
+        System.out.println(" [x] Lending " + lending.getLendingNumber() + " (" + eventType + ") parked until "
+                + missing.getDependency() + " " + missing.getDependencyKey() + " arrives");
+
+        // The dependency may have been stored between the failed lookup and the insert above
+        if (isPresent(missing.getDependency(), missing.getDependencyKey())) {
+            release(missing.getDependency(), missing.getDependencyKey());
+        }
+    }
+
+    @Override
+    public void releaseForBook(String isbn) {
+        release(PendingLendingEvent.Dependency.BOOK, isbn);
+    }
+
+    @Override
+    public void releaseForReader(String readerNumber) {
+        release(PendingLendingEvent.Dependency.READER, readerNumber);
+    }
+
+    private boolean isPresent(PendingLendingEvent.Dependency dependency, String key) {
+        return dependency == PendingLendingEvent.Dependency.BOOK
+                ? bookRepository.findByIsbn(key).isPresent()
+                : readerRepository.findByReaderNumber(key).isPresent();
+    }
+
+    /**
+     * Re-applies, oldest first, the events parked under the dependency. An event that is now missing
+     * its other dependency is parked again under that one.
+     */
+    private void release(PendingLendingEvent.Dependency dependency, String key) {
+        for (PendingLendingEvent pending : pendingLendingEventRepository.findByDependency(dependency, key)) {
+            try {
+                LendingViewAMQP lending = AmqpCodec.decode(pending.getPayload(), LendingViewAMQP.class);
+                try {
+                    apply(pending.getEventType(), lending);
+                    System.out.println(" [x] Parked lending " + pending.getLendingNumber() + " (" + pending.getEventType() + ") applied");
+                } catch (LendingDependencyMissingException e) {
+                    if (e.getDependency() == dependency && e.getDependencyKey().equals(key)) {
+                        // Still missing (e.g. deleted again): leave it parked
+                        continue;
+                    }
+                    park(pending.getEventType(), lending, e);
+                }
+            } catch (Exception e) {
+                System.out.println(" [x] Dropping parked lending " + pending.getLendingNumber() + ": " + e.getMessage());
+            }
+            pendingLendingEventRepository.deleteById(pending.getId());
+        }
+    }
+
+    private void apply(PendingLendingEvent.EventType eventType, LendingViewAMQP lending) {
+        if (eventType == PendingLendingEvent.EventType.CREATED) {
+            lendingService.create(lending);
+        } else {
+            lendingService.update(lending);
+        }
+    }
+}
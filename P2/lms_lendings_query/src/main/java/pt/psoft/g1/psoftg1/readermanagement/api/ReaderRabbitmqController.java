@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.readermanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -10,8 +9,7 @@ import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Message;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Service
 @RequiredArgsConstructor
@@ -30,9 +28,7 @@ public class ReaderRabbitmqController {
     @RabbitListener(queues = "#{validateReaderQueue.name}")
     public void receiveValidateReader(Message msg) {
         try {
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            ValidateReaderRequest request = objectMapper.readValue(jsonReceived, ValidateReaderRequest.class);
+            ValidateReaderRequest request = AmqpCodec.decode(msg.getBody(), ValidateReaderRequest.class);
 
             System.out.println(" [x] Received ValidateReader request: readerId=" + request.getReaderId() + 
                              ", correlationId=" + request.getCorrelationId());
@@ -44,7 +40,7 @@ public class ReaderRabbitmqController {
             ReaderValidatedResponse response = new ReaderValidatedResponse(
                 request.getReaderId(), exists, request.getCorrelationId()
             );
-            String jsonResponse = objectMapper.writeValueAsString(response);
+            String jsonResponse = AmqpCodec.encode(response);
             template.convertAndSend(directExchange.getName(), "reader.validated", jsonResponse);
 
             System.out.println(" [x] Sent ReaderValidated response: exists=" + exists + 
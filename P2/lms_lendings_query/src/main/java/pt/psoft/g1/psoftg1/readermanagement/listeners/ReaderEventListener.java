@@ -1,29 +1,26 @@
 package pt.psoft.g1.psoftg1.readermanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventService;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
 public class ReaderEventListener {
 
     private final ReaderService readerService;
+    private final PendingLendingEventService pendingLendingEventService;
 
     @RabbitListener(queues = "#{readerCreatedQueue.name}")
     public void receiveReaderCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class);
 
             System.out.println(" [x] Received Reader Created by AMQP: " + msg + ".");
             try {
@@ -34,6 +31,8 @@ public class ReaderEventListener {
                 e.printStackTrace();
                 System.out.println(" [x] Reader already exists. No need to store it.");
             }
+            // Lendings that arrived before this reader
+            pendingLendingEventService.releaseForReader(readerViewAMQP.getReaderNumber());
         }
         catch(Exception ex) {
             System.out.println(" [x] Exception receiving reader event from AMQP: '" + ex.getMessage() + "'");
@@ -43,10 +42,7 @@ public class ReaderEventListener {
     @RabbitListener(queues = "#{readerUpdatedQueue.name}")
     public void receiveReaderUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class);
 
             System.out.println(" [x] Received reader Updated by AMQP: " + msg + ".");
             try {
@@ -66,10 +62,7 @@ public class ReaderEventListener {
         System.out.println(" [x] Received reader Deleted '" + in + "'");
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(in.getBytes(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(in, ReaderViewAMQP.class);
 
             System.out.println(" [x] Received reader Deleted by AMQP: " + in + ".");
             try {
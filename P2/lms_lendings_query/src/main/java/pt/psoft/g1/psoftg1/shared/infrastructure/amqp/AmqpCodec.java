@@ -0,0 +1,52 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.amqp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.amqp.core.Message;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON codec shared by every AMQP listener and publisher of the service.
+ *
+ * One ObjectMapper is built for the whole process and a pre-built, immutable ObjectReader is kept
+ * per event type, so Jackson's deserializer caches are created once instead of once per message.
+ * Message bodies are decoded straight from their byte[], without an intermediate String.
+ */
+public final class AmqpCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private AmqpCodec() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    public static <T> T decode(Message message, Class<T> type) throws IOException {
+        return decode(message.getBody(), type);
+    }
+
+    public static <T> T decode(byte[] body, Class<T> type) throws IOException {
+        return readerFor(type).readValue(body);
+    }
+
+    public static <T> T decode(String json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    public static String encode(Object value) throws JsonProcessingException {
+        return WRITER.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,77 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.amqp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Listener container advice that records, per consumer queue:
+ * - amqp.listener.messages: messages handed to the listener (throughput)
+ * - amqp.listener.handling: time spent in the listener per delivery (single message or batch)
+ * - amqp.listener.lag: time between publish and consumption, for messages carrying a timestamp
+ */
+public class ListenerMetricsAdvice implements MethodInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public ListenerMetricsAdvice(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        List<Message> messages = messagesOf(invocation.getArguments());
+        if (messages.isEmpty()) {
+            return invocation.proceed();
+        }
+
+        String queue = queueOf(messages.get(0));
+        long now = System.currentTimeMillis();
+        for (Message message : messages) {
+            Date timestamp = message.getMessageProperties().getTimestamp();
+            if (timestamp != null) {
+                Timer.builder("amqp.listener.lag").tag("queue", queue).register(meterRegistry)
+                        .record(Duration.ofMillis(Math.max(0, now - timestamp.getTime())));
+            }
+        }
+        Counter.builder("amqp.listener.messages").tag("queue", queue).register(meterRegistry)
+                .increment(messages.size());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return invocation.proceed();
+        } finally {
+            sample.stop(Timer.builder("amqp.listener.handling").tag("queue", queue).register(meterRegistry));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Message> messagesOf(Object[] arguments) {
+        // invokeListener(Channel, Object data): data is a Message or, for batch listeners, a List<Message>
+        if (arguments.length < 2) {
+            return List.of();
+        }
+        Object data = arguments[1];
+        if (data instanceof Message message) {
+            return List.of(message);
+        }
+        if (data instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Message) {
+            return (List<Message>) list;
+        }
+        return List.of();
+    }
+
+    private static String queueOf(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        return queue != null ? queue : "unknown";
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.listeners.LendingEventListener;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -39,6 +40,9 @@ public class LendingEventListenerTest {
     @MockBean
     LendingService lendingService;
 
+    @MockBean
+    PendingLendingEventService pendingLendingEventService;
+
     @Qualifier("lendingEventListener")
     @Autowired
     LendingEventListener listener;
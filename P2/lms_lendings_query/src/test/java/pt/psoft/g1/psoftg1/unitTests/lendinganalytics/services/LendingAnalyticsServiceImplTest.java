@@ -0,0 +1,247 @@
+package pt.psoft.g1.psoftg1.unitTests.lendinganalytics.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsPerMonthView;
+import pt.psoft.g1.psoftg1.lendinganalytics.api.GenreLendingsView;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.BookLendingCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreBookCount;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.GenreMonthTotals;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingFact;
+import pt.psoft.g1.psoftg1.lendinganalytics.model.LendingHistoryEntry;
+import pt.psoft.g1.psoftg1.lendinganalytics.repositories.LendingAnalyticsRepository;
+import pt.psoft.g1.psoftg1.lendinganalytics.services.LendingAnalyticsServiceImpl;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LendingAnalyticsServiceImplTest {
+
+    private static final String ISBN = "9783161484100";
+    private static final String OTHER_ISBN = "9780134685991";
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 3);
+
+    private InMemoryLendingAnalyticsRepository repository;
+    private LendingAnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryLendingAnalyticsRepository();
+        service = new LendingAnalyticsServiceImpl(repository, mock(BookRepository.class));
+    }
+
+    @Test
+    void redeliveredEventsAreCountedOnce() {
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+        service.applyReturned("2025/1", FEBRUARY.plusDays(4));
+        service.applyReturned("2025/1", FEBRUARY.plusDays(9));
+        // The update that follows the return carries the same lending again
+        service.applyCreated("2025/1", ISBN, FEBRUARY, FEBRUARY.plusDays(4));
+
+        assertArrayEquals(new long[]{1, 1, 4}, repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+    }
+
+    @Test
+    void returnReceivedBeforeCreationIsCountedWithIt() {
+        service.applyReturned("2025/1", FEBRUARY.plusDays(6));
+        assertNull(repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+
+        assertArrayEquals(new long[]{1, 1, 6}, repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+    }
+
+    @Test
+    void deletedLendingIsUncountedAndNotCountedAgain() {
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+        service.applyReturned("2025/1", FEBRUARY.plusDays(2));
+        service.applyCreated("2025/2", ISBN, FEBRUARY, null);
+
+        service.applyDeleted("2025/1");
+        service.applyDeleted("2025/1");
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+        // Deleted before it was ever seen
+        service.applyDeleted("2025/3");
+        service.applyCreated("2025/3", ISBN, FEBRUARY, null);
+
+        assertArrayEquals(new long[]{1, 0, 0}, repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+    }
+
+    @Test
+    void averagesArePerGenreWithUnknownGenreForBooksNotYetReceived() {
+        service.recordBookGenre(ISBN, "Fantasia");
+        for (int i = 0; i < 14; i++) {
+            service.applyCreated("2025/" + i, ISBN, FEBRUARY, FEBRUARY.plusDays(i % 2 == 0 ? 2 : 5));
+        }
+        service.applyCreated("2025/100", OTHER_ISBN, FEBRUARY, null);
+
+        Map<String, Number> lendingsPerDay = service.getAverageLendingsPerDay(YearMonth.of(2025, 2)).stream()
+                .collect(Collectors.toMap(GenreLendingsView::getGenre, GenreLendingsView::getValue));
+        assertEquals(Map.of("Fantasia", 0.5, "Unknown", 0.0), lendingsPerDay);
+
+        List<GenreLendingsPerMonthView> duration = service.getAverageDurationPerMonth(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+        assertEquals(1, duration.size());
+        assertEquals(2, duration.get(0).getMonth());
+        // The unreturned lending of the other book has no duration yet
+        assertEquals(List.of(new GenreLendingsView("Fantasia", 3.5)), duration.get(0).getValues());
+    }
+
+    @Test
+    void rebuildReplacesCountersWithTheStoredLendings() {
+        service.applyCreated("2025/9", ISBN, FEBRUARY, null);
+        service.applyCreated("2025/9", ISBN, FEBRUARY, null);
+        for (long pk = 1; pk <= 1_200; pk++) {
+            repository.history.add(new LendingHistoryEntry(pk, "2025/" + pk, pk % 3 == 0 ? OTHER_ISBN : ISBN,
+                    FEBRUARY, pk % 2 == 0 ? FEBRUARY.plusDays(1) : null));
+        }
+
+        assertEquals(1_200, service.rebuild());
+
+        assertArrayEquals(new long[]{800, 400, 400}, repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+        assertArrayEquals(new long[]{400, 200, 200}, repository.counters(OTHER_ISBN, YearMonth.from(FEBRUARY)));
+        // Events arriving after the rebuild are still idempotent
+        service.applyCreated("2025/1", ISBN, FEBRUARY, null);
+        assertEquals(800, repository.counters(ISBN, YearMonth.from(FEBRUARY))[0]);
+    }
+
+    @Test
+    void rebuildKeepsWhatTheListenersAppliedWhileItRan() {
+        for (long pk = 1; pk <= 4; pk++) {
+            repository.history.add(new LendingHistoryEntry(pk, "2025/" + pk, ISBN, FEBRUARY, null));
+        }
+        // Events applied between the clear and the read of the page
+        repository.beforeHistoryRead = () -> {
+            service.applyReturned("2025/1", FEBRUARY.plusDays(3));
+            service.applyCreated("2025/2", ISBN, FEBRUARY, FEBRUARY.plusDays(5));
+            service.applyDeleted("2025/3");
+        };
+
+        assertEquals(2, service.rebuild());
+
+        // 2025/1 counted with its stored return, 2025/2 once, 2025/3 not at all
+        assertArrayEquals(new long[]{3, 2, 8}, repository.counters(ISBN, YearMonth.from(FEBRUARY)));
+        assertTrue(repository.facts.get("2025/1").isCounted());
+        assertEquals(FEBRUARY.plusDays(3), repository.facts.get("2025/1").getReturnedDate());
+        assertTrue(repository.facts.get("2025/3").isDeleted());
+    }
+
+    @Test
+    void rebuildTakesTheGenresOfStoredBooksWithoutOne() {
+        repository.bookGenres.put(ISBN, "Fantasia");
+        repository.bookGenres.put(OTHER_ISBN, "Romance");
+        service.recordBookGenre(OTHER_ISBN, "Poesia");
+        repository.history.add(new LendingHistoryEntry(1L, "2025/1", ISBN, FEBRUARY, null));
+
+        service.rebuild();
+
+        assertEquals(Map.of(ISBN, "Fantasia", OTHER_ISBN, "Poesia"), repository.genres);
+        assertEquals(0, service.backfillBookGenres());
+    }
+
+    /**
+     * Port double keeping facts and counters in maps
+     */
+    static class InMemoryLendingAnalyticsRepository implements LendingAnalyticsRepository {
+        final Map<String, LendingFact> facts = new HashMap<>();
+        private final Map<String, long[]> stats = new TreeMap<>();
+        final Map<String, String> genres = new HashMap<>();
+        // Genres of the stored books
+        final Map<String, String> bookGenres = new HashMap<>();
+        final List<LendingHistoryEntry> history = new ArrayList<>();
+        Runnable beforeHistoryRead;
+
+        long[] counters(String isbn, YearMonth month) {
+            return stats.get(month + "|" + isbn);
+        }
+
+        @Override
+        public Optional<LendingFact> findFact(String lendingNumber) {
+            return Optional.ofNullable(facts.get(lendingNumber));
+        }
+
+        @Override
+        public List<LendingFact> findFacts(Collection<String> lendingNumbers) {
+            return lendingNumbers.stream().map(facts::get).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public LendingFact saveFact(LendingFact fact) {
+            facts.put(fact.getLendingNumber(), fact);
+            return fact;
+        }
+
+        @Override
+        public void addToMonth(String isbn, YearMonth month, long lendings, long returned, long durationDays) {
+            long[] counters = stats.computeIfAbsent(month + "|" + isbn, key -> new long[3]);
+            counters[0] += lendings;
+            counters[1] += returned;
+            counters[2] += durationDays;
+        }
+
+        @Override
+        public void saveBookGenre(String isbn, String genre) {
+            genres.put(isbn, genre);
+        }
+
+        @Override
+        public long backfillBookGenres() {
+            long added = 0;
+            for (Map.Entry<String, String> book : bookGenres.entrySet()) {
+                if (genres.putIfAbsent(book.getKey(), book.getValue()) == null) {
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        @Override
+        public List<BookLendingCount> findTopBooks(YearMonth from, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<GenreBookCount> findTopGenresByBookCount(int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<GenreMonthTotals> findGenreTotals(YearMonth from, YearMonth to) {
+            Map<String, GenreMonthTotals> totals = new TreeMap<>();
+            stats.forEach((key, counters) -> {
+                YearMonth month = YearMonth.parse(key.substring(0, key.indexOf('|')));
+                String genre = genres.get(key.substring(key.indexOf('|') + 1));
+                if (month.isBefore(from) || month.isAfter(to)) {
+                    return;
+                }
+                totals.merge(month + "|" + genre, new GenreMonthTotals(month.getYear(), month.getMonthValue(), genre,
+                        counters[0], counters[1], counters[2]), (a, b) -> new GenreMonthTotals(a.year(), a.month(),
+                        a.genre(), a.lendings() + b.lendings(), a.returned() + b.returned(), a.durationDays() + b.durationDays()));
+            });
+            return new ArrayList<>(totals.values());
+        }
+
+        @Override
+        public List<LendingHistoryEntry> findLendingHistory(long afterPk, int limit) {
+            if (beforeHistoryRead != null) {
+                Runnable events = beforeHistoryRead;
+                beforeHistoryRead = null;
+                events.run();
+            }
+            return history.stream().filter(entry -> entry.pk() > afterPk).limit(limit).toList();
+        }
+
+        @Override
+        public void clear() {
+            facts.clear();
+            stats.clear();
+        }
+    }
+}
@@ -19,7 +19,9 @@ import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingController;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingView;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewMapper;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.LendingDurationDrift;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.CreateLendingRequest;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingDurationStatsReconciler;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SearchLendingQuery;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.SetLendingReturnedRequest;
@@ -62,6 +64,9 @@ class LendingControllerTest {
     @MockBean
     private LendingViewMapper lendingViewMapper;
 
+    @MockBean
+    private LendingDurationStatsReconciler lendingDurationStatsReconciler;
+
     private Lending lending;
     private LendingView lendingView;
 
@@ -98,6 +103,20 @@ class LendingControllerTest {
         verify(lendingViewMapper, times(1)).toLendingView(anyList());
     }
 
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void testReconcileDurationStats_ListsDrift() throws Exception {
+        when(lendingDurationStatsReconciler.reconcile())
+                .thenReturn(List.of(new LendingDurationDrift("9783161484100", 3, 21, 4, 30)));
+
+        mockMvc.perform(post("/api/lendings/avgDuration/reconcile")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].isbn").value("9783161484100"))
+                .andExpect(jsonPath("$.items[0].storedReturned").value(3))
+                .andExpect(jsonPath("$.items[0].returned").value(4));
+    }
+
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void testGetOverdueLendings_NoLendingsFound() throws Exception {
@@ -0,0 +1,98 @@
+package pt.psoft.g1.psoftg1.unitTests.lendingmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.exceptions.LendingDependencyMissingException;
+import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.PendingLendingEvent;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.PendingLendingEventRepository;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
+import pt.psoft.g1.psoftg1.lendingmanagement.services.PendingLendingEventServiceImpl;
+import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingLendingEventServiceImplTest {
+
+    @Mock
+    private PendingLendingEventRepository pendingLendingEventRepository;
+    @Mock
+    private LendingService lendingService;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private ReaderRepository readerRepository;
+
+    @InjectMocks
+    private PendingLendingEventServiceImpl pendingLendingEventService;
+
+    private static LendingViewAMQP lending() {
+        LendingViewAMQP lending = new LendingViewAMQP();
+        lending.setLendingNumber("2025/1");
+        lending.setIsbn("9783161484100");
+        lending.setReaderNumber("2025/7");
+        lending.setStartDate("2025-01-01");
+        lending.setLimitDate("2025-01-15");
+        return lending;
+    }
+
+    private static PendingLendingEvent parked(long id, PendingLendingEvent.Dependency dependency, String key) throws Exception {
+        PendingLendingEvent event = new PendingLendingEvent(PendingLendingEvent.EventType.CREATED, dependency, key,
+                "2025/1", AmqpCodec.encode(lending()));
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    void parkStoresEventUnderMissingDependency() {
+        when(bookRepository.findByIsbn("9783161484100")).thenReturn(Optional.empty());
+
+        pendingLendingEventService.park(PendingLendingEvent.EventType.CREATED, lending(),
+                new LendingDependencyMissingException(PendingLendingEvent.Dependency.BOOK, "9783161484100"));
+
+        ArgumentCaptor<PendingLendingEvent> captor = ArgumentCaptor.forClass(PendingLendingEvent.class);
+        verify(pendingLendingEventRepository).save(captor.capture());
+        assertEquals(PendingLendingEvent.Dependency.BOOK, captor.getValue().getDependency());
+        assertEquals("9783161484100", captor.getValue().getDependencyKey());
+        assertEquals("2025/1", captor.getValue().getLendingNumber());
+        verify(lendingService, never()).create(any(LendingViewAMQP.class));
+    }
+
+    @Test
+    void releaseAppliesAndDeletesParkedEvents() throws Exception {
+        when(pendingLendingEventRepository.findByDependency(PendingLendingEvent.Dependency.BOOK, "9783161484100"))
+                .thenReturn(List.of(parked(3L, PendingLendingEvent.Dependency.BOOK, "9783161484100")));
+
+        pendingLendingEventService.releaseForBook("9783161484100");
+
+        verify(lendingService).create(argThat((LendingViewAMQP l) -> "2025/1".equals(l.getLendingNumber())));
+        verify(pendingLendingEventRepository).deleteById(3L);
+    }
+
+    @Test
+    void releasedEventMissingTheOtherDependencyIsParkedAgain() throws Exception {
+        when(pendingLendingEventRepository.findByDependency(PendingLendingEvent.Dependency.BOOK, "9783161484100"))
+                .thenReturn(List.of(parked(3L, PendingLendingEvent.Dependency.BOOK, "9783161484100")));
+        when(lendingService.create(any(LendingViewAMQP.class)))
+                .thenThrow(new LendingDependencyMissingException(PendingLendingEvent.Dependency.READER, "2025/7"));
+        when(readerRepository.findByReaderNumber("2025/7")).thenReturn(Optional.empty());
+
+        pendingLendingEventService.releaseForBook("9783161484100");
+
+        verify(pendingLendingEventRepository).save(argThat(e -> e.getDependency() == PendingLendingEvent.Dependency.READER
+                && "2025/7".equals(e.getDependencyKey())));
+        verify(pendingLendingEventRepository).deleteById(3L);
+    }
+}
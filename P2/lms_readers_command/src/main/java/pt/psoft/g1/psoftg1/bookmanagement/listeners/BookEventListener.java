@@ -1,14 +1,12 @@
 package pt.psoft.g1.psoftg1.bookmanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -19,10 +17,7 @@ public class BookEventListener {
     public void receiveBookCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [x] Received Book Created by AMQP: " + msg + ".");
             try {
@@ -40,10 +35,7 @@ public class BookEventListener {
     @RabbitListener(queues = "#{bookUpdatedQueue.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            BookViewAMQP bookViewAMQP = objectMapper.readValue(jsonReceived, BookViewAMQP.class);
+            BookViewAMQP bookViewAMQP = AmqpCodec.decode(msg.getBody(), BookViewAMQP.class);
 
             System.out.println(" [x] Received Book Updated by AMQP: " + msg + ".");
             try {
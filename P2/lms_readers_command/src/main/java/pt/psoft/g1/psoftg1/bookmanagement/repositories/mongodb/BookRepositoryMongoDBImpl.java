@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -84,6 +85,17 @@ public class BookRepositoryMongoDBImpl implements BookRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Book> findPageAfterIsbn(String afterIsbn, int limit) {
+        Query query = new Query().with(Sort.by("isbn.isbn")).limit(limit);
+        if (afterIsbn != null) {
+            query.addCriteria(Criteria.where("isbn.isbn").gt(afterIsbn));
+        }
+        return mongoTemplate.find(query, BookMongoDB.class).stream()
+                .map(bookMapperMongoDB::toDomain)
+                .toList();
+    }
+
     @Override
     public List<Book> findMostLentBooksByGenre(int maxBooks, String genre) {
         // 1. Buscar todos os empréstimos da coleção 'lendings'
@@ -10,6 +10,7 @@ import pt.psoft.g1.psoftg1.bookmanagement.model.relational.BookEntity;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 
 public interface BookRepositorySqlServer extends JpaRepository<BookEntity, Long> {
     @Query("SELECT b " +
@@ -19,4 +20,10 @@ public interface BookRepositorySqlServer extends JpaRepository<BookEntity, Long>
 
     @Query("SELECT b FROM BookEntity b ")
     List<BookEntity> findAll();
+
+    @Query("SELECT b " +
+            "FROM BookEntity b " +
+            "WHERE b.isbn.isbn > :afterIsbn " +
+            "ORDER BY b.isbn.isbn")
+    List<BookEntity> findPageAfterIsbn(@Param("afterIsbn") String afterIsbn, Pageable pageable);
 }
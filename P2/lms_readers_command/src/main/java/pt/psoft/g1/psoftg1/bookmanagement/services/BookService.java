@@ -21,4 +21,6 @@ public interface BookService {
     void delete(BookViewAMQP bookViewAMQP);
 
     List<BookViewAMQP> getAllBooks();
+
+    List<BookViewAMQP> getBooksAfter(String afterIsbn, int limit);
 }
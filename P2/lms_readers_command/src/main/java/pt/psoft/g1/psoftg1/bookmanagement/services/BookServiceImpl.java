@@ -124,6 +124,15 @@ public class BookServiceImpl implements BookService {
 				.orElseThrow(() -> new NotFoundException(Book.class, isbn));
 	}
 
+	@Override
+	public List<BookViewAMQP> getBooksAfter(String afterIsbn, int limit) {
+		List<BookViewAMQP> bookViewAMQPS = new ArrayList<>();
+		for (Book book : bookRepository.findPageAfterIsbn(afterIsbn, limit)) {
+			bookViewAMQPS.add(bookViewAMQPMapper.toBookViewAMQP(book));
+		}
+		return bookViewAMQPS;
+	}
+
 	@Override
 	public List<BookViewAMQP> getAllBooks() {
 		List<Book> books = bookRepository.findAll();
@@ -9,7 +9,6 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
@@ -24,13 +23,16 @@ import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
 import pt.psoft.g1.psoftg1.shared.api.ViewContainer;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
 import pt.psoft.g1.psoftg1.shared.publishers.RpcBootstrapPublisher;
 import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
 import pt.psoft.g1.psoftg1.shared.services.ForbiddenNameService;
+import pt.psoft.g1.psoftg1.shared.services.SnapshotBootstrapClient;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,18 +60,26 @@ public class Bootstrapper implements CommandLineRunner {
     private final UserRepository userRepository;
     private final PhotoRepository photoRepository;
     private final RpcBootstrapPublisher rpcBootstrapPublisher;
+    private final SnapshotBootstrapClient snapshotBootstrapClient;
     private final  RabbitListenerEndpointRegistry registry;
 
 
     private final ForbiddenNameService forbiddenNameService;
 
+    /**
+     * Not one transaction: snapshot chunks commit one by one together with their checkpoints.
+     */
     @Override
-    @Transactional
     public void run(final String... args) {
             int count=0;
             try{
                 registry.getListenerContainers().forEach(Lifecycle::stop);
 
+            if (fetchSnapshot()) {
+                loadForbiddenNames();
+                return;
+            }
+
             ViewContainer data = rpcBootstrapPublisher.sendRpcBootstrapRequest();
             if (data != null) {
                 createReaderRPC(data.getReaders());
@@ -121,6 +131,25 @@ public class Bootstrapper implements CommandLineRunner {
 
     }
 
+    private boolean fetchSnapshot() {
+        try {
+            return snapshotBootstrapClient.fetch(this::applySnapshotChunk);
+        } catch (RuntimeException e) {
+            System.out.println(" [x] Snapshot bootstrap interrupted, it resumes on the next start: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void applySnapshotChunk(String aggregate, byte[] body) throws IOException {
+        switch (aggregate) {
+            case SnapshotChunks.READERS -> createReaderRPC(SnapshotChunks.decode(body, ReaderViewAMQP.class));
+            case SnapshotChunks.GENRES -> createGenresRPC(SnapshotChunks.decode(body, GenreViewAMQP.class));
+            case SnapshotChunks.BOOKS -> createBooksRPC(SnapshotChunks.decode(body, BookViewAMQP.class));
+            case SnapshotChunks.LENDINGS -> createLendingsRPC(SnapshotChunks.decode(body, LendingViewAMQP.class));
+            default -> System.out.println(" [x] Ignoring snapshot chunk of unknown aggregate " + aggregate);
+        }
+    }
+
     private void createLendingsRPC(List<LendingViewAMQP> lendings) {
         for (LendingViewAMQP lending : lendings) {
             if (lendingRepository.findByLendingNumber(lending.getLendingNumber()).isEmpty()) {
@@ -5,7 +5,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.model.mongodb.BookMongoDB;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
@@ -75,6 +78,17 @@ public class GenreRepositoryMongoDBImpl implements GenreRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Genre> findPageAfterName(String afterName, int limit) {
+        Query query = new Query().with(Sort.by("genre")).limit(limit);
+        if (afterName != null) {
+            query.addCriteria(Criteria.where("genre").gt(afterName));
+        }
+        return mongoTemplate.find(query, GenreMongoDB.class).stream()
+                .map(genreMapperMongoDB::toDomain)
+                .toList();
+    }
+
     @Override
     public List<String> getMostLentGenres(int maxGenres) {
         // 1. Buscar todos os empréstimos da coleção 'lendings'
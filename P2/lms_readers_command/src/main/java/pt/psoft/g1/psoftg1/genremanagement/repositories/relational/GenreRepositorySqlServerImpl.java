@@ -20,6 +20,7 @@ import pt.psoft.g1.psoftg1.readermanagement.model.relational.ReaderDetailsEntity
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.PageRequest;
 
 @Profile("sqlServer")
 @Qualifier("genreSqlServerRepo")
@@ -58,6 +59,15 @@ public class GenreRepositorySqlServerImpl implements GenreRepository {
         genreRepositorySqlServer.delete(genreEntityMapper.toEntity(genre));
     }
 
+    @Override
+    public List<Genre> findPageAfterName(String afterName, int limit) {
+        List<Genre> genres = new ArrayList<>();
+        for (GenreEntity genreEntity : genreRepositorySqlServer.findPageAfterName(afterName == null ? "" : afterName, PageRequest.of(0, limit))) {
+            genres.add(genreEntityMapper.toModel(genreEntity));
+        }
+        return genres;
+    }
+
     @Override
     public List<Genre> findAll() {
         List<GenreEntity> genreEntities = genreRepositorySqlServer.findAll();
@@ -17,6 +17,11 @@ public interface LendingRepository {
 
     List<Lending> findAll();
 
+    /**
+     * Next page of lendings in lending number order, after the given number (null for the first page).
+     */
+    List<Lending> findPageAfterLendingNumber(String afterLendingNumber, int limit);
+
     List<Lending> getOverdue(Page page);
     List<Lending> searchLendings(Page page, String readerNumber, String isbn, Boolean returned, LocalDate startDate, LocalDate endDate);
 
@@ -4,6 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.model.mongodb.BookMongoDB;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.mongodb.BookRepositoryMongoDB;
@@ -26,13 +30,15 @@ public class LendingMongoDBRepositoryImpl implements LendingRepository {
     private final LendingMongoDBRepository lendingMongoDBRepository;
     private final LendingMongoDBMapper lendingMapperMongoDB;
     private final BookRepositoryMongoDB bookRepositoryMongoDB;
+    private final MongoTemplate mongoTemplate;
 
     @Autowired
     @Lazy
-    public LendingMongoDBRepositoryImpl(LendingMongoDBRepository lendingMongoDBRepository, LendingMongoDBMapper lendingMapperMongoDB, BookRepositoryMongoDB bookRepositoryMongoDB) {
+    public LendingMongoDBRepositoryImpl(LendingMongoDBRepository lendingMongoDBRepository, LendingMongoDBMapper lendingMapperMongoDB, BookRepositoryMongoDB bookRepositoryMongoDB, MongoTemplate mongoTemplate) {
         this.lendingMongoDBRepository = lendingMongoDBRepository;
         this.lendingMapperMongoDB = lendingMapperMongoDB;
         this.bookRepositoryMongoDB = bookRepositoryMongoDB;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
@@ -94,6 +100,19 @@ public class LendingMongoDBRepositoryImpl implements LendingRepository {
         return lendings;
     }
 
+    @Override
+    public List<Lending> findPageAfterLendingNumber(String afterLendingNumber, int limit) {
+        Query query = new Query().with(Sort.by("lendingNumber.lendingNumber")).limit(limit);
+        if (afterLendingNumber != null) {
+            query.addCriteria(Criteria.where("lendingNumber.lendingNumber").gt(afterLendingNumber));
+        }
+        List<Lending> lendings = new ArrayList<>();
+        for (LendingMongoDB lendingMongoDB : mongoTemplate.find(query, LendingMongoDB.class)) {
+            lendings.add(lendingMapperMongoDB.toDomain(lendingMongoDB));
+        }
+        return lendings;
+    }
+
     @Override
     public List<Lending> getOverdue(Page page) {
         return List.of();
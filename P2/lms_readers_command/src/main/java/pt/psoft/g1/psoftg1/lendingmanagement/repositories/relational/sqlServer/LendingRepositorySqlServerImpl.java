@@ -26,6 +26,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.PageRequest;
 
 @Profile("sqlServer")
 @Qualifier("lendingSqlServerRepo")
@@ -105,6 +106,15 @@ public class LendingRepositorySqlServerImpl implements LendingRepository {
         return this.lendingRepositorySqlServer.getAvgLendingDurationByIsbn(isbn);
     }
 
+    @Override
+    public List<Lending> findPageAfterLendingNumber(String afterLendingNumber, int limit) {
+        List<Lending> lendings = new ArrayList<>();
+        for (LendingEntity lendingEntity : lendingRepositorySqlServer.findPageAfterLendingNumber(afterLendingNumber == null ? "" : afterLendingNumber, PageRequest.of(0, limit))) {
+            lendings.add(lendingEntityMapper.sqlServerToModel(lendingEntity));
+        }
+        return lendings;
+    }
+
     @Override
     public List<Lending> findAll() {
         List<Lending> lendings = new ArrayList<>();
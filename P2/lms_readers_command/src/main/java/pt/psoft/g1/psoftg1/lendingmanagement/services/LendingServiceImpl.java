@@ -70,6 +70,15 @@ public class LendingServiceImpl implements LendingService{
         lendingRepository.delete(l);
     }
 
+    @Override
+    public List<LendingViewAMQP> getLendingsAfter(String afterLendingNumber, int limit) {
+        List<LendingViewAMQP> lendingsViewAMQP = new ArrayList<>();
+        for (Lending l : lendingRepository.findPageAfterLendingNumber(afterLendingNumber, limit)) {
+            lendingsViewAMQP.add(lendingViewAMQPMapper.toLendingViewAMQP(l));
+        }
+        return lendingsViewAMQP;
+    }
+
     @Override
     public List<LendingViewAMQP> getAllLendings() {
 
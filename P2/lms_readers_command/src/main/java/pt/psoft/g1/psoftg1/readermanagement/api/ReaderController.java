@@ -40,8 +40,8 @@ import pt.psoft.g1.psoftg1.shared.services.FileStorageService;
 import pt.psoft.g1.psoftg1.shared.services.SearchRequest;
 import pt.psoft.g1.psoftg1.usermanagement.model.Librarian;
 import pt.psoft.g1.psoftg1.usermanagement.model.Role;
-import pt.psoft.g1.psoftg1.usermanagement.model.User;
-import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
 import pt.psoft.g1.psoftg1.exceptions.ConflictException;
 
 import java.time.LocalDate;
@@ -57,7 +57,7 @@ import java.util.Optional;
 @RequestMapping("/api/readers")
 public class ReaderController {
     private final ReaderService readerService;
-    private final UserService userService;
+    private final PrincipalResolver principalResolver;
     private final BookService bookService;
     private final ReaderViewMapper readerViewMapper;
     private final BookViewMapper bookViewMapper;
@@ -139,9 +139,9 @@ public class ReaderController {
     @Operation(summary = "Deletes a reader photo")
     @DeleteMapping("/photo")
     public ResponseEntity<Void> deleteReaderPhoto(Authentication authentication) {
-        User loggedUser = userService.getAuthenticatedUser(authentication);
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
 
-        Optional<ReaderDetails> optReaderDetails = readerService.findByUsername(loggedUser.getUsername());
+        Optional<ReaderDetails> optReaderDetails = readerService.findByUsername(loggedUser.username());
         if(optReaderDetails.isEmpty()) {
             throw new AccessDeniedException("Could not find a valid reader from current auth");
         }
@@ -176,9 +176,9 @@ public class ReaderController {
 
         String fileName = this.fileStorageService.getRequestPhoto(file);
 
-        User loggedUser = userService.getAuthenticatedUser(authentication);
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
         ReaderDetails readerDetails = readerService
-                .update(loggedUser.getUsername(), readerRequest, concurrencyService.getVersionFromIfMatchHeader(ifMatchValue), fileName);
+                .update(loggedUser.username(), readerRequest, concurrencyService.getVersionFromIfMatchHeader(ifMatchValue), fileName);
 
         return ResponseEntity.ok()
                 .eTag(Long.toString(readerDetails.getVersion()))
@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.readermanagement.api;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -16,8 +15,8 @@ import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
 import pt.psoft.g1.psoftg1.shared.repositories.ForbiddenNameRepository;
 import pt.psoft.g1.psoftg1.usermanagement.api.UserPendingCreated;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,13 +47,12 @@ public class ReaderRabbitmqController {
     // SAGA: Reader + User Creation
     // ========================================
 
-    @RabbitListener(queues = "reader.user.requested.reader", concurrency = "1")
+    @RabbitListener(queues = "reader.user.requested.reader", concurrency = "${lms.amqp.listeners.saga-concurrency:1}")
     public void receiveReaderUserRequested(String jsonReceived) {
         try {
             System.out.println(" [x] [SAGA-Step1] Received Reader-User creation request");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            ReaderUserRequestedEvent event = objectMapper.readValue(jsonReceived, ReaderUserRequestedEvent.class);
+            ReaderUserRequestedEvent event = AmqpCodec.decode(jsonReceived, ReaderUserRequestedEvent.class);
 
             System.out.println("     - Reader Number: " + event.getReaderNumber());
             System.out.println("     - Username: " + event.getUsername());
@@ -110,13 +108,12 @@ public class ReaderRabbitmqController {
         }
     }
 
-    @RabbitListener(queues = "user.pending.created", concurrency = "1")
+    @RabbitListener(queues = "user.pending.created", concurrency = "${lms.amqp.listeners.saga-concurrency:1}")
     public void receiveUserPendingCreated(String jsonReceived) {
         try {
             System.out.println(" [x] [SAGA-Step2] Received User creation confirmation");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            UserPendingCreated event = objectMapper.readValue(jsonReceived, UserPendingCreated.class);
+            UserPendingCreated event = AmqpCodec.decode(jsonReceived, UserPendingCreated.class);
 
             System.out.println("     - Reader Number: " + event.getReaderNumber());
             System.out.println("     - Username: " + event.getUsername());
@@ -129,13 +126,12 @@ public class ReaderRabbitmqController {
         }
     }
 
-    @RabbitListener(queues = "reader.pending.created", concurrency = "1")
+    @RabbitListener(queues = "reader.pending.created", concurrency = "${lms.amqp.listeners.saga-concurrency:1}")
     public void receiveReaderPendingCreated(String jsonReceived) {
         try {
             System.out.println(" [x] [SAGA-Step3] Received Reader creation confirmation");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            ReaderPendingCreated event = objectMapper.readValue(jsonReceived, ReaderPendingCreated.class);
+            ReaderPendingCreated event = AmqpCodec.decode(jsonReceived, ReaderPendingCreated.class);
 
             System.out.println("     - Reader Number: " + event.getReaderNumber());
             System.out.println("     - Username: " + event.getUsername());
@@ -157,9 +153,7 @@ public class ReaderRabbitmqController {
         SagaCreationResponse response = new SagaCreationResponse();
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderSagaViewAMQP readerSagaViewAMQP = objectMapper.readValue(jsonReceived, ReaderSagaViewAMQP.class);
+            ReaderSagaViewAMQP readerSagaViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderSagaViewAMQP.class);
 
             System.out.println(" [x] [Lending-SAGA] Received Reader validation request for lending: " + readerSagaViewAMQP.getLendingNumber());
 
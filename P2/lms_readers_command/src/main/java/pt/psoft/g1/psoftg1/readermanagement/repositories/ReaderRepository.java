@@ -21,11 +21,23 @@ public interface ReaderRepository {
     Optional<ReaderDetails> findByUsername(@Param("username") @NotNull String username);
     Optional<ReaderDetails> findByUserId(@Param("userId") @NotNull String userId);
     int getCountFromCurrentYear();
+
+    /**
+     * Sequence number for a new reader of the current year.
+     */
+    default int nextSequenceFromCurrentYear() {
+        return getCountFromCurrentYear() + 1;
+    }
     ReaderDetails save(ReaderDetails readerDetails);
 
     ReaderDetails update(ReaderDetails readerDetails);
     Iterable<ReaderDetails> findAll();
 
+    /**
+     * Next page of readers in reader number order, after the given number (null for the first page).
+     */
+    List<ReaderDetails> findPageAfterReaderNumber(String afterReaderNumber, int limit);
+
     void delete(ReaderDetails readerDetails);
     List<ReaderDetails> searchReaderDetails(pt.psoft.g1.psoftg1.shared.services.Page page, SearchReadersQuery query);
 }
@@ -6,6 +6,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.model.mongodb.ReaderDetailsMongoDB;
@@ -27,11 +31,14 @@ public class ReaderRepositoryMongoDBImpl implements ReaderRepository {
 
     private final ReaderMapperMongoDB readerMapperMongoDB;
 
+    private final MongoTemplate mongoTemplate;
+
     @Autowired
     @Lazy
-    public ReaderRepositoryMongoDBImpl(ReaderRepositoryMongoDB readerRepositoryMongoDB, ReaderMapperMongoDB readerMapperMongoDB) {
+    public ReaderRepositoryMongoDBImpl(ReaderRepositoryMongoDB readerRepositoryMongoDB, ReaderMapperMongoDB readerMapperMongoDB, MongoTemplate mongoTemplate) {
         this.readerRepositoryMongoDB = readerRepositoryMongoDB;
         this.readerMapperMongoDB = readerMapperMongoDB;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
@@ -91,6 +98,17 @@ public class ReaderRepositoryMongoDBImpl implements ReaderRepository {
         return null;
     }
 
+    @Override
+    public List<ReaderDetails> findPageAfterReaderNumber(String afterReaderNumber, int limit) {
+        Query query = new Query().with(Sort.by("readerNumber.readerNumber")).limit(limit);
+        if (afterReaderNumber != null) {
+            query.addCriteria(Criteria.where("readerNumber.readerNumber").gt(afterReaderNumber));
+        }
+        return mongoTemplate.find(query, ReaderDetailsMongoDB.class).stream()
+                .map(readerMapperMongoDB::toDomain)
+                .toList();
+    }
+
 
     @Override
     public void delete(ReaderDetails readerDetails) {
@@ -20,16 +20,19 @@ import pt.psoft.g1.psoftg1.readermanagement.model.relational.ReaderDetailsEntity
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.mappers.ReaderEntityMapper;
 import pt.psoft.g1.psoftg1.readermanagement.services.SearchReadersQuery;
+import pt.psoft.g1.psoftg1.shared.services.SequenceBlockAllocator;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
 import pt.psoft.g1.psoftg1.usermanagement.model.relational.ReaderEntity;
 import pt.psoft.g1.psoftg1.usermanagement.model.relational.UserEntity;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.mappers.UserEntityMapper;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.relational.UserRepositorySqlServer;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
 
 @Profile("sqlServer")
 @Qualifier("readerSqlServerRepo")
@@ -49,9 +52,11 @@ public class ReaderRepositorySqlServerImpl implements ReaderRepository {
 
     private final GenreRepositorySqlServer genreRepostorySqlServer;
 
+    private final SequenceBlockAllocator sequenceAllocator;
+
     @Autowired
     @Lazy
-    public ReaderRepositorySqlServerImpl(ReaderRepositorySqlServer readerRepostorySqlServer, UserRepositorySqlServer userRepositorySqlServer, UserEntityMapper userEntityMapper, ReaderEntityMapper readerEntityMapper, EntityManager entityManager, GenreEntityMapper genreEntityMapper, GenreRepositorySqlServer genreRepostorySqlServer) {
+    public ReaderRepositorySqlServerImpl(ReaderRepositorySqlServer readerRepostorySqlServer, UserRepositorySqlServer userRepositorySqlServer, UserEntityMapper userEntityMapper, ReaderEntityMapper readerEntityMapper, EntityManager entityManager, GenreEntityMapper genreEntityMapper, GenreRepositorySqlServer genreRepostorySqlServer, SequenceBlockAllocator sequenceAllocator) {
         this.readerRepostorySqlServer = readerRepostorySqlServer;
         this.userRepositorySqlServer = userRepositorySqlServer;
         this.userEntityMapper = userEntityMapper;
@@ -59,6 +64,7 @@ public class ReaderRepositorySqlServerImpl implements ReaderRepository {
         this.em = entityManager;
         this.genreEntityMapper = genreEntityMapper;
         this.genreRepostorySqlServer = genreRepostorySqlServer;
+        this.sequenceAllocator = sequenceAllocator;
     }
 
 
@@ -106,6 +112,13 @@ public class ReaderRepositorySqlServerImpl implements ReaderRepository {
         return readerRepostorySqlServer.getCountFromCurrentYear();
     }
 
+    @Override
+    public int nextSequenceFromCurrentYear() {
+        // Atomic across replicas; seeded from the current count the first time a year is used
+        return (int) sequenceAllocator.next("reader-" + LocalDate.now().getYear(),
+                readerRepostorySqlServer::getCountFromCurrentYear);
+    }
+
     @Override
     @Transactional
     public ReaderDetails save(ReaderDetails readerDetails) {
@@ -149,6 +162,15 @@ public class ReaderRepositorySqlServerImpl implements ReaderRepository {
         return readerEntityMapper.toModel(readerRepostorySqlServer.save(readerDetailsEntity));
     }
 
+    @Override
+    public List<ReaderDetails> findPageAfterReaderNumber(String afterReaderNumber, int limit) {
+        List<ReaderDetails> readerDetails = new ArrayList<>();
+        for (ReaderDetailsEntity readerDetail : readerRepostorySqlServer.findPageAfterReaderNumber(afterReaderNumber == null ? "" : afterReaderNumber, PageRequest.of(0, limit))) {
+            readerDetails.add(readerEntityMapper.toModel(readerDetail));
+        }
+        return readerDetails;
+    }
+
     @Override
     public Iterable<ReaderDetails> findAll() {
         List<ReaderDetails> readerDetails = new ArrayList<>();
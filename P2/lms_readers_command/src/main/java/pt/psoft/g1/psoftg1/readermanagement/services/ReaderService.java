@@ -27,4 +27,6 @@ public interface ReaderService {
     Optional<ReaderDetails> removeReaderPhoto(String readerNumber, long desiredVersion);
     List<ReaderDetails> searchReaders(Page page, SearchReadersQuery query);
     List<ReaderViewAMQP> getAllReaders();
+
+    List<ReaderViewAMQP> getReadersAfter(String afterReaderNumber, int limit);
 }
@@ -76,12 +76,12 @@ public class ReaderServiceImpl implements ReaderService {
             request.setPhoto(null);
         }
 
-        int count = readerRepo.getCountFromCurrentYear();
+        int seq = readerRepo.nextSequenceFromCurrentYear();
         Reader reader = readerMapper.createReader(request);
         System.out.println("Reader: " + reader);
         System.out.println("Request: " + request.getPhoneNumber());
 
-        ReaderDetails rd = readerMapper.createReaderDetails(count+1, reader, request, photoURI, interestList);
+        ReaderDetails rd = readerMapper.createReaderDetails(seq, reader, request, photoURI, interestList);
 
 
         //userRepo.save(reader);
@@ -187,16 +187,16 @@ public class ReaderServiceImpl implements ReaderService {
         // 4. Generate reader number
         String readerNumber = request.getReaderNumber();
         if (readerNumber == null || readerNumber.isEmpty()) {
-            int count = readerRepo.getCountFromCurrentYear();
-            readerNumber = String.format("%d/%d", java.time.LocalDate.now().getYear(), count + 1);
+            int seq = readerRepo.nextSequenceFromCurrentYear();
+            readerNumber = String.format("%d/%d", java.time.LocalDate.now().getYear(), seq);
             request.setReaderNumber(readerNumber);
         }
 
         // 5. Check if readerNumber already exists (edge case)
         if (readerRepo.findByReaderNumber(readerNumber).isPresent()) {
             System.out.println(" [x] Reader number already exists: " + readerNumber + ", generating new one");
-            int count = readerRepo.getCountFromCurrentYear();
-            readerNumber = String.format("%d/%d", java.time.LocalDate.now().getYear(), count + 1);
+            int seq = readerRepo.nextSequenceFromCurrentYear();
+            readerNumber = String.format("%d/%d", java.time.LocalDate.now().getYear(), seq);
             request.setReaderNumber(readerNumber);
         }
 
@@ -370,6 +370,15 @@ public class ReaderServiceImpl implements ReaderService {
         return list;
     }
 
+    @Override
+    public List<ReaderViewAMQP> getReadersAfter(String afterReaderNumber, int limit) {
+        List<ReaderViewAMQP> readerViewAMQPList = new ArrayList<>();
+        for (ReaderDetails readerDetail : readerRepo.findPageAfterReaderNumber(afterReaderNumber, limit)) {
+            readerViewAMQPList.add(readerViewAMQPMapper.toReaderViewAMQP(readerDetail));
+        }
+        return readerViewAMQPList;
+    }
+
     @Override
     public List<ReaderViewAMQP> getAllReaders() {
         List<ReaderViewAMQP> readerViewAMQPList = new ArrayList<>();
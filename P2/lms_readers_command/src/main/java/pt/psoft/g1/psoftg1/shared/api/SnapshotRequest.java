@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.shared.api;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming bootstrap request: per aggregate, the last key the requester already holds.
+ * Aggregates without an entry are sent from the beginning.
+ */
+@Data
+public class SnapshotRequest {
+
+    private Map<String, String> resumeAfter = new HashMap<>();
+}
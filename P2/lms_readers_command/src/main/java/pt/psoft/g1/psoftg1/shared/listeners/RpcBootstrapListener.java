@@ -1,11 +1,12 @@
 package pt.psoft.g1.psoftg1.shared.listeners;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
@@ -17,11 +18,18 @@ import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
 import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotManifest;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotRequest;
 import pt.psoft.g1.psoftg1.shared.api.ViewContainer;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
 import pt.psoft.g1.psoftg1.shared.publishers.RpcBootstrapPublisher;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.CRC32;
 
 @Component
 @RequiredArgsConstructor
@@ -32,9 +40,10 @@ public class RpcBootstrapListener {
     private final GenreService genreService;
     private final LendingService lendingService;
     private final RpcBootstrapPublisher rpcBootstrapPublisher;
+    private final EntityManager entityManager;
 
-
-
+    @Value("${bootstrap.snapshot.chunk-size:500}")
+    private int chunkSize;
 
     @RabbitListener(queues = "#{readerServiceInstanciatedQueue.name}")
     @Transactional
@@ -43,6 +52,11 @@ public class RpcBootstrapListener {
         try {
             System.out.println(" [x] Received Reader Service instanciated resquest.");
 
+            if (SnapshotChunks.MODE_STREAM.equals(msg.getMessageProperties().getHeader(SnapshotChunks.MODE_HEADER))) {
+                streamSnapshot(msg);
+                return;
+            }
+
             ViewContainer viewContainer = new ViewContainer();
 
             viewContainer.setReaders(readerService.getAllReaders());
@@ -53,9 +67,7 @@ public class RpcBootstrapListener {
 
             viewContainer.setLendings(lendingService.getAllLendings());
 
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonString = objectMapper.writeValueAsString(viewContainer);
+            String jsonString = AmqpCodec.encode(viewContainer);
 
 
 
@@ -68,4 +80,57 @@ public class RpcBootstrapListener {
         }
 
     }
+
+    /**
+     * Sends every aggregate as keyset-paged chunks, then the manifest.
+     * Only one page is held at a time: the persistence context is cleared after each one.
+     */
+    private void streamSnapshot(Message msg) throws IOException {
+        String correlationId = msg.getMessageProperties().getCorrelationId();
+        String replyTo = msg.getMessageProperties().getReplyTo();
+        SnapshotRequest request = AmqpCodec.decode(msg.getBody(), SnapshotRequest.class);
+
+        SnapshotManifest manifest = new SnapshotManifest();
+        manifest.setSnapshotId(correlationId);
+
+        streamAggregate(SnapshotChunks.READERS, request, manifest, correlationId, replyTo,
+                readerService::getReadersAfter, ReaderViewAMQP::getReaderNumber);
+        streamAggregate(SnapshotChunks.GENRES, request, manifest, correlationId, replyTo,
+                genreService::getGenresAfter, GenreViewAMQP::getGenre);
+        streamAggregate(SnapshotChunks.BOOKS, request, manifest, correlationId, replyTo,
+                bookService::getBooksAfter, BookViewAMQP::getIsbn);
+        streamAggregate(SnapshotChunks.LENDINGS, request, manifest, correlationId, replyTo,
+                lendingService::getLendingsAfter, LendingViewAMQP::getLendingNumber);
+
+        rpcBootstrapPublisher.sendSnapshotManifest(replyTo, correlationId, manifest);
+        System.out.println(" [x] Snapshot streamed: " + manifest.getItems());
+    }
+
+    private <T> void streamAggregate(String aggregate, SnapshotRequest request, SnapshotManifest manifest,
+                                     String correlationId, String replyTo,
+                                     BiFunction<String, Integer, List<T>> pageAfter, Function<T, String> keyOf) throws IOException {
+        CRC32 checksum = new CRC32();
+        int chunks = 0;
+        long items = 0;
+
+        List<T> page = pageAfter.apply(request.getResumeAfter().get(aggregate), chunkSize);
+        while (!page.isEmpty()) {
+            String lastKey = keyOf.apply(page.get(page.size() - 1));
+            byte[] body = SnapshotChunks.encode(page);
+            checksum.update(body);
+            rpcBootstrapPublisher.sendSnapshotChunk(replyTo, correlationId, aggregate, chunks, lastKey, page.size(), body);
+            chunks++;
+            items += page.size();
+            entityManager.clear();
+
+            if (page.size() < chunkSize) {
+                break;
+            }
+            page = pageAfter.apply(lastKey, chunkSize);
+        }
+
+        manifest.getChunks().put(aggregate, chunks);
+        manifest.getItems().put(aggregate, items);
+        manifest.getChecksums().put(aggregate, checksum.getValue());
+    }
 }
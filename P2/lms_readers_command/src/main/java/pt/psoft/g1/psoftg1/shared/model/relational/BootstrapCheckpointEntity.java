@@ -0,0 +1,42 @@
+package pt.psoft.g1.psoftg1.shared.model.relational;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of the streaming bootstrap, one row per aggregate: the last key applied locally.
+ * Rows of an interrupted snapshot are resumed from; once a snapshot completes they are marked so.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "bootstrap_checkpoints")
+public class BootstrapCheckpointEntity {
+
+    @Id
+    @Column(length = 32)
+    private String aggregate;
+
+    @Column(name = "last_key")
+    private String lastKey;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BootstrapCheckpointEntity(String aggregate, String lastKey) {
+        this.aggregate = aggregate;
+        this.lastKey = lastKey;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
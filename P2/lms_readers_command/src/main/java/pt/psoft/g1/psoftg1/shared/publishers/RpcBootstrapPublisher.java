@@ -1,15 +1,19 @@
 package pt.psoft.g1.psoftg1.shared.publishers;
 
 import lombok.RequiredArgsConstructor;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotManifest;
 import pt.psoft.g1.psoftg1.shared.api.ViewContainer;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Component
@@ -22,6 +26,9 @@ public class RpcBootstrapPublisher {
 
     private boolean hasReceivedResponse = false;
 
+    /** Identifies this replica's snapshot messages among those of the other replicas answering. */
+    private final String responderId = UUID.randomUUID().toString();
+
     public void sendRpcBootstrapResponse(String jsonString, String correlationId, String replyTo) {
         try {
             MessageProperties props = new MessageProperties();
@@ -36,6 +43,33 @@ public class RpcBootstrapPublisher {
         }
     }
 
+    public void sendSnapshotChunk(String replyTo, String correlationId, String aggregate, int sequence,
+                                  String lastKey, int items, byte[] body) {
+        MessageProperties props = new MessageProperties();
+        props.setCorrelationId(correlationId);
+        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        props.setContentEncoding("gzip");
+        props.setHeader(SnapshotChunks.RESPONDER_HEADER, responderId);
+        props.setHeader(SnapshotChunks.TYPE_HEADER, SnapshotChunks.TYPE_CHUNK);
+        props.setHeader(SnapshotChunks.AGGREGATE_HEADER, aggregate);
+        props.setHeader(SnapshotChunks.SEQUENCE_HEADER, sequence);
+        props.setHeader(SnapshotChunks.LAST_KEY_HEADER, lastKey);
+        props.setHeader(SnapshotChunks.ITEMS_HEADER, items);
+        props.setHeader(SnapshotChunks.CHECKSUM_HEADER, SnapshotChunks.checksum(body));
+
+        this.template.send(replyTo, new Message(body, props));
+    }
+
+    public void sendSnapshotManifest(String replyTo, String correlationId, SnapshotManifest manifest) throws IOException {
+        MessageProperties props = new MessageProperties();
+        props.setCorrelationId(correlationId);
+        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        props.setHeader(SnapshotChunks.RESPONDER_HEADER, responderId);
+        props.setHeader(SnapshotChunks.TYPE_HEADER, SnapshotChunks.TYPE_MANIFEST);
+
+        this.template.send(replyTo, new Message(AmqpCodec.encode(manifest).getBytes(StandardCharsets.UTF_8), props));
+    }
+
     public ViewContainer sendRpcBootstrapRequest() {
         try {
             String replyQueueName = "rpcReplyQueue";
@@ -47,7 +81,7 @@ public class RpcBootstrapPublisher {
 
 
             ViewContainer request = new ViewContainer();
-            String jsonMessage = new ObjectMapper().writeValueAsString(request);
+            String jsonMessage = AmqpCodec.encode(request);
             Message requestMessage = new Message(jsonMessage.getBytes(), props);
 
             template.setReceiveTimeout(5000);
@@ -72,7 +106,7 @@ public class RpcBootstrapPublisher {
 
 
             // Processar a resposta da fila de resposta
-            return new ObjectMapper().readValue(responseMessage.getBody(), ViewContainer.class);
+            return AmqpCodec.decode(responseMessage.getBody(), ViewContainer.class);
         } catch (Exception ex) {
             System.out.println(" [x] Exception sending rpc bootstrap request: '" + ex.getMessage() + "'");
             return null;
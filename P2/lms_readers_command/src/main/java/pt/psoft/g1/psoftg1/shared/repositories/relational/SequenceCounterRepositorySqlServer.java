@@ -0,0 +1,16 @@
+package pt.psoft.g1.psoftg1.shared.repositories.relational;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import pt.psoft.g1.psoftg1.shared.model.relational.SequenceCounterEntity;
+
+import java.util.Optional;
+
+public interface SequenceCounterRepositorySqlServer extends CrudRepository<SequenceCounterEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SequenceCounterEntity c WHERE c.name = :name")
+    Optional<SequenceCounterEntity> findForUpdate(String name);
+}
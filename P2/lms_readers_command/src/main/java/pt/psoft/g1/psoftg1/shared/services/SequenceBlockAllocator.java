@@ -0,0 +1,114 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.model.relational.SequenceCounterEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.SequenceCounterRepositorySqlServer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands out sequence numbers from blocks reserved in the sequence_counters table.
+ *
+ * A replica reserves block-size numbers at a time with a row lock in its own short transaction and
+ * serves them from memory, so replicas never hand out the same number and the table is touched
+ * once per block instead of once per number. Numbers are unique and increasing per replica, but
+ * not contiguous across replicas; the unused part of a block is lost on restart.
+ */
+@Profile("sqlServer")
+@Component
+public class SequenceBlockAllocator {
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final SequenceCounterRepositorySqlServer counterRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public SequenceBlockAllocator(SequenceCounterRepositorySqlServer counterRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${sequence.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Sequence block size must be at least 1");
+        }
+        this.counterRepository = counterRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next number of the sequence.
+     *
+     * @param name sequence name, e.g. "lending-2025"
+     * @param seed numbers already in use when the sequence row does not exist yet; only called then
+     */
+    public long next(String name, IntSupplier seed) {
+        Long value = takeFrom(blocks.get(name));
+        if (value != null) {
+            return value;
+        }
+        synchronized (locks.computeIfAbsent(name, key -> new Object())) {
+            value = takeFrom(blocks.get(name));
+            if (value != null) {
+                return value;
+            }
+            long first = reserve(name, seed);
+            blocks.put(name, new Block(first + 1, first + blockSize));
+            return first;
+        }
+    }
+
+    private static Long takeFrom(Block block) {
+        if (block == null) {
+            return null;
+        }
+        long value = block.next.getAndIncrement();
+        return value < block.end ? value : null;
+    }
+
+    /**
+     * Reserves [first, first + blockSize) and returns first.
+     */
+    private long reserve(String name, IntSupplier seed) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long first = reserveTransaction.execute(status -> {
+                    SequenceCounterEntity counter = counterRepository.findForUpdate(name)
+                            .orElseGet(() -> new SequenceCounterEntity(name, seed.getAsInt() + 1L));
+                    long start = counter.getNextValue();
+                    counter.setNextValue(start + blockSize);
+                    counterRepository.save(counter);
+                    return start;
+                });
+                return first;
+            } catch (DataIntegrityViolationException e) {
+                // Another replica created the row first: lock it and reserve from there
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+    }
+}
@@ -63,6 +63,8 @@ public class UserService implements UserDetailsService {
 	private final UserEventPublisher userEventPublisher;
 	private final UserViewAMQPMapper userViewAMQPMapper;
 
+	private final PrincipalResolver principalResolver;
+
 	public List<User> findByName(String name){
 		return this.userRepo.findByNameName(name);
 	}
@@ -119,6 +121,7 @@ public class UserService implements UserDetailsService {
 		userEditMapper.update(request, user);
 
 		User updatedUser = userRepo.save(user);
+		principalResolver.invalidate(updatedUser.getUsername());
 
 		// Publish user updated event via AMQP
 		try {
@@ -140,6 +143,7 @@ public class UserService implements UserDetailsService {
 		// user.getId().toString())));
 		user.setEnabled(false);
 		User deletedUser = userRepo.save(user);
+		principalResolver.invalidate(username);
 
 		// Publish user deleted event via AMQP
 		try {
@@ -237,6 +241,7 @@ public class UserService implements UserDetailsService {
 			}
 
 			User updatedUser = userRepo.save(user);
+			principalResolver.invalidate(updatedUser.getUsername());
 			System.out.println("User updated locally from AMQP event: " + updatedUser.getUsername());
 
 		} catch (Exception e) {
@@ -266,6 +271,7 @@ public class UserService implements UserDetailsService {
 			user.setEnabled(false);
 
 			User deletedUser = userRepo.save(user);
+			principalResolver.invalidate(username);
 			System.out.println("User disabled locally from AMQP delete event: " + deletedUser.getUsername());
 
 		} catch (Exception e) {
@@ -89,7 +89,7 @@ class ReaderServiceImplTest {
         when(userRepo.findByUsername(request.getUsername())).thenReturn(Optional.empty());
         when(forbiddenNameRepository.findByForbiddenNameIsContained(any())).thenReturn(Collections.emptyList());
         when(readerMapper.createReader(request)).thenReturn(mockReader);
-        when(readerRepo.getCountFromCurrentYear()).thenReturn(0);
+        when(readerRepo.nextSequenceFromCurrentYear()).thenReturn(1);
         when(readerMapper.createReaderDetails(anyInt(), eq(mockReader), eq(request), eq(photoURI), any())).thenReturn(mockReaderDetails);
         when(readerRepo.save(any(ReaderDetails.class))).thenReturn(mockReaderDetails);
         Optional<Genre> optionalGenre = Optional.of(mockGenre);
@@ -0,0 +1,174 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.psoft.g1.psoftg1.genremanagement.api.GenreViewAMQP;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotManifest;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotRequest;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
+import pt.psoft.g1.psoftg1.shared.model.relational.BootstrapCheckpointEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.BootstrapCheckpointRepositorySqlServer;
+import pt.psoft.g1.psoftg1.shared.services.SnapshotBootstrapClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotBootstrapClientTest {
+
+    private final RabbitTemplate template = mock(RabbitTemplate.class);
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final BootstrapCheckpointRepositorySqlServer checkpointRepository = mock(BootstrapCheckpointRepositorySqlServer.class);
+
+    private SnapshotBootstrapClient client;
+    private String correlationId;
+
+    @BeforeEach
+    void setUp() {
+        client = new SnapshotBootstrapClient(template, new DirectExchange("LMS.direct"), amqpAdmin,
+                checkpointRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(client, "firstChunkTimeoutMillis", 50L);
+        ReflectionTestUtils.setField(client, "chunkTimeoutMillis", 100L);
+
+        when(amqpAdmin.declareQueue()).thenReturn(new Queue("reply-1"));
+        doAnswer(invocation -> {
+            correlationId = invocation.<Message>getArgument(2).getMessageProperties().getCorrelationId();
+            return null;
+        }).when(template).send(eq("LMS.direct"), eq("rpc.bootstrap.request"), any(Message.class));
+    }
+
+    private static GenreViewAMQP genre(String name) {
+        GenreViewAMQP genre = new GenreViewAMQP();
+        genre.setGenre(name);
+        return genre;
+    }
+
+    private Message chunk(int sequence, String lastKey, byte[] body, long checksum) {
+        return chunk("replica-1", sequence, lastKey, body, checksum);
+    }
+
+    private Message chunk(String responder, int sequence, String lastKey, byte[] body, long checksum) {
+        MessageProperties props = new MessageProperties();
+        props.setCorrelationId(correlationId);
+        props.setHeader(SnapshotChunks.RESPONDER_HEADER, responder);
+        props.setHeader(SnapshotChunks.TYPE_HEADER, SnapshotChunks.TYPE_CHUNK);
+        props.setHeader(SnapshotChunks.AGGREGATE_HEADER, SnapshotChunks.GENRES);
+        props.setHeader(SnapshotChunks.SEQUENCE_HEADER, sequence);
+        props.setHeader(SnapshotChunks.LAST_KEY_HEADER, lastKey);
+        props.setHeader(SnapshotChunks.ITEMS_HEADER, 1);
+        props.setHeader(SnapshotChunks.CHECKSUM_HEADER, checksum);
+        return new Message(body, props);
+    }
+
+    private Message manifest(int chunks, long items, long checksum) throws Exception {
+        SnapshotManifest manifest = new SnapshotManifest();
+        manifest.getChunks().put(SnapshotChunks.GENRES, chunks);
+        manifest.getItems().put(SnapshotChunks.GENRES, items);
+        manifest.getChecksums().put(SnapshotChunks.GENRES, checksum);
+        MessageProperties props = new MessageProperties();
+        props.setCorrelationId(correlationId);
+        props.setHeader(SnapshotChunks.RESPONDER_HEADER, "replica-1");
+        props.setHeader(SnapshotChunks.TYPE_HEADER, SnapshotChunks.TYPE_MANIFEST);
+        return new Message(AmqpCodec.encode(manifest).getBytes(StandardCharsets.UTF_8), props);
+    }
+
+    @Test
+    void chunksAreAppliedCheckpointedAndVerifiedAgainstTheManifest() throws Exception {
+        byte[] first = SnapshotChunks.encode(List.of(genre("Fantasia")));
+        byte[] second = SnapshotChunks.encode(List.of(genre("Romance")));
+        CRC32 running = new CRC32();
+        running.update(first);
+        running.update(second);
+        when(template.receive(eq("reply-1"), anyLong())).thenAnswer(invocation -> chunk(0, "Fantasia", first, SnapshotChunks.checksum(first)))
+                .thenAnswer(invocation -> chunk(1, "Romance", second, SnapshotChunks.checksum(second)))
+                .thenAnswer(invocation -> manifest(2, 2, running.getValue()));
+
+        List<String> applied = new ArrayList<>();
+        assertTrue(client.fetch((aggregate, body) -> SnapshotChunks.decode(body, GenreViewAMQP.class)
+                .forEach(genre -> applied.add(genre.getGenre()))));
+
+        assertEquals(List.of("Fantasia", "Romance"), applied);
+        ArgumentCaptor<BootstrapCheckpointEntity> checkpoints = ArgumentCaptor.forClass(BootstrapCheckpointEntity.class);
+        verify(checkpointRepository, times(2)).save(checkpoints.capture());
+        assertEquals("Romance", checkpoints.getAllValues().get(1).getLastKey());
+        verify(checkpointRepository).markAllCompleted();
+        verify(amqpAdmin).deleteQueue("reply-1");
+    }
+
+    @Test
+    void chunksOfOtherRepliesToTheSameRequestAreIgnored() throws Exception {
+        byte[] first = SnapshotChunks.encode(List.of(genre("Fantasia")));
+        byte[] second = SnapshotChunks.encode(List.of(genre("Romance")));
+        CRC32 running = new CRC32();
+        running.update(first);
+        running.update(second);
+        // Two replicas stream the same request, interleaved
+        when(template.receive(eq("reply-1"), anyLong()))
+                .thenAnswer(invocation -> chunk("replica-1", 0, "Fantasia", first, SnapshotChunks.checksum(first)))
+                .thenAnswer(invocation -> chunk("replica-2", 0, "Fantasia", first, SnapshotChunks.checksum(first)))
+                .thenAnswer(invocation -> chunk("replica-1", 1, "Romance", second, SnapshotChunks.checksum(second)))
+                .thenAnswer(invocation -> chunk("replica-2", 1, "Romance", second, SnapshotChunks.checksum(second)))
+                .thenAnswer(invocation -> manifest(2, 2, running.getValue()));
+
+        List<String> applied = new ArrayList<>();
+        assertTrue(client.fetch((aggregate, body) -> SnapshotChunks.decode(body, GenreViewAMQP.class)
+                .forEach(genre -> applied.add(genre.getGenre()))));
+
+        assertEquals(List.of("Fantasia", "Romance"), applied);
+        verify(checkpointRepository).markAllCompleted();
+    }
+
+    @Test
+    void onlyTheFirstAnswerWaitsForTheShortTimeout() throws Exception {
+        byte[] body = SnapshotChunks.encode(List.of(genre("Fantasia")));
+        when(template.receive("reply-1", 50L)).thenAnswer(invocation -> chunk(0, "Fantasia", body, SnapshotChunks.checksum(body)));
+        when(template.receive("reply-1", 100L)).thenReturn(null);
+
+        assertFalse(client.fetch((aggregate, chunk) -> { }));
+
+        verify(template).receive("reply-1", 50L);
+        verify(template).receive("reply-1", 100L);
+    }
+
+    @Test
+    void corruptChunkIsRejectedBeforeItIsApplied() throws Exception {
+        byte[] body = SnapshotChunks.encode(List.of(genre("Fantasia")));
+        when(template.receive(eq("reply-1"), anyLong())).thenAnswer(invocation -> chunk(0, "Fantasia", body, 42L));
+
+        SnapshotBootstrapClient.ChunkApplier applier = mock(SnapshotBootstrapClient.ChunkApplier.class);
+        assertThrows(IllegalStateException.class, () -> client.fetch(applier));
+
+        verifyNoInteractions(applier);
+        verify(checkpointRepository, never()).save(any());
+        verify(amqpAdmin).deleteQueue("reply-1");
+    }
+
+    @Test
+    void interruptedSnapshotIsRequestedFromItsCheckpoints() throws Exception {
+        when(checkpointRepository.findAll()).thenReturn(List.of(new BootstrapCheckpointEntity(SnapshotChunks.READERS, "2024/7")));
+
+        assertFalse(client.fetch((aggregate, body) -> fail("nothing was streamed")));
+
+        ArgumentCaptor<Message> request = ArgumentCaptor.forClass(Message.class);
+        verify(template).send(eq("LMS.direct"), eq("rpc.bootstrap.request"), request.capture());
+        SnapshotRequest sent = AmqpCodec.decode(request.getValue().getBody(), SnapshotRequest.class);
+        assertEquals("2024/7", sent.getResumeAfter().get(SnapshotChunks.READERS));
+        assertEquals(SnapshotChunks.MODE_STREAM, request.getValue().getMessageProperties().getHeader(SnapshotChunks.MODE_HEADER));
+        verify(checkpointRepository, never()).deleteAll();
+    }
+}
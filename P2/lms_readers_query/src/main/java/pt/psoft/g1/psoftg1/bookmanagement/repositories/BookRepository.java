@@ -16,4 +16,9 @@ public interface BookRepository {
     Book save(Book book);
     void delete(Book book);
     List<Book> findAll();
+
+    /**
+     * Next page of books in ISBN order, after the given ISBN (null for the first page).
+     */
+    List<Book> findPageAfterIsbn(String afterIsbn, int limit);
 }
@@ -20,6 +20,7 @@ import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingEntity;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.PageRequest;
 
 @Profile("sqlServer")
 @Qualifier("bookSqlServerRepo")
@@ -78,6 +79,15 @@ public class BookRepositorySqlServerImpl implements BookRepository {
 
     }
 
+    @Override
+    public List<Book> findPageAfterIsbn(String afterIsbn, int limit) {
+        List<Book> books = new ArrayList<>();
+        for (BookEntity bookEntity : bookRepositorySqlServer.findPageAfterIsbn(afterIsbn == null ? "" : afterIsbn, PageRequest.of(0, limit))) {
+            books.add(bookEntityMapper.toModel(bookEntity));
+        }
+        return books;
+    }
+
     @Override
     public List<Book> findAll() {
         List<BookEntity> bookEntities = bookRepositorySqlServer.findAll();
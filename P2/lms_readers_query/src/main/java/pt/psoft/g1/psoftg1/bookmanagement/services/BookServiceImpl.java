@@ -14,6 +14,7 @@ import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
 import pt.psoft.g1.psoftg1.genremanagement.repositories.GenreRepository;
 import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionService;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +30,7 @@ public class BookServiceImpl implements BookService {
 	private final GenreRepository genreRepository;
 	private final PhotoRepository photoRepository;
 	private final BookViewAMQPMapper bookViewAMQPMapper;
+	private final BookSuggestionService bookSuggestionService;
 
 	@Value("${suggestionsLimitPerGenre}")
 	private long suggestionsLimitPerGenre;
@@ -68,6 +70,7 @@ public class BookServiceImpl implements BookService {
 		Book newBook = new Book(isbn, title, description, genre, photoURI);
 
 		Book savedBook = bookRepository.save(newBook);
+		bookSuggestionService.bookSaved(savedBook);
 
 		return savedBook;
 	}
@@ -114,6 +117,7 @@ public class BookServiceImpl implements BookService {
 		book.applyPatch(Long.parseLong(currentVersion), title, description, photoURI, genreObj);
 
 		Book updatedBook = bookRepository.save(book);
+		bookSuggestionService.bookSaved(updatedBook);
 
 		return updatedBook;
 	}
@@ -124,6 +128,15 @@ public class BookServiceImpl implements BookService {
 				.orElseThrow(() -> new NotFoundException(Book.class, isbn));
 	}
 
+	@Override
+	public List<BookViewAMQP> getBooksAfter(String afterIsbn, int limit) {
+		List<BookViewAMQP> bookViewAMQPS = new ArrayList<>();
+		for (Book book : bookRepository.findPageAfterIsbn(afterIsbn, limit)) {
+			bookViewAMQPS.add(bookViewAMQPMapper.toBookViewAMQP(book));
+		}
+		return bookViewAMQPS;
+	}
+
 	@Override
 	public List<BookViewAMQP> getAllBooks() {
 		List<Book> books = bookRepository.findAll();
@@ -11,7 +11,6 @@ import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
@@ -28,13 +27,16 @@ import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQP;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
 import pt.psoft.g1.psoftg1.shared.api.ViewContainer;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
 import pt.psoft.g1.psoftg1.shared.publishers.RpcBootstrapPublisher;
 import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
 import pt.psoft.g1.psoftg1.shared.services.ForbiddenNameService;
+import pt.psoft.g1.psoftg1.shared.services.SnapshotBootstrapClient;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -64,17 +66,26 @@ public class Bootstrapper implements CommandLineRunner {
     private final UserRepository userRepository;
     private final PhotoRepository photoRepository;
     private final RpcBootstrapPublisher rpcBootstrapPublisher;
+    private final SnapshotBootstrapClient snapshotBootstrapClient;
     private final  RabbitListenerEndpointRegistry registry;
 
     private final ForbiddenNameService forbiddenNameService;
 
+    /**
+     * Not one transaction: snapshot chunks commit one by one together with their checkpoints.
+     */
     @Override
-    @Transactional
     public void run(final String... args) {
         int count = 0;
         try {
             registry.getListenerContainers().forEach(Lifecycle::stop);
 
+            if (fetchSnapshot()) {
+                logger.info("Loading forbidden names...");
+                loadForbiddenNames();
+                return;
+            }
+
             ViewContainer data = rpcBootstrapPublisher.sendRpcBootstrapRequest();
             
             logger.info("Successfully received RPC bootstrap data. Processing readers...");
@@ -130,6 +141,25 @@ public class Bootstrapper implements CommandLineRunner {
         }
     }
 
+    private boolean fetchSnapshot() {
+        try {
+            return snapshotBootstrapClient.fetch(this::applySnapshotChunk);
+        } catch (RuntimeException e) {
+            logger.warn("Snapshot bootstrap interrupted, it resumes on the next start: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void applySnapshotChunk(String aggregate, byte[] body) throws IOException {
+        switch (aggregate) {
+            case SnapshotChunks.READERS -> createReaderRPC(SnapshotChunks.decode(body, ReaderViewAMQP.class));
+            case SnapshotChunks.GENRES -> createGenresRPC(SnapshotChunks.decode(body, GenreViewAMQP.class));
+            case SnapshotChunks.BOOKS -> createBooksRPC(SnapshotChunks.decode(body, BookViewAMQP.class));
+            case SnapshotChunks.LENDINGS -> createLendingsRPC(SnapshotChunks.decode(body, LendingViewAMQP.class));
+            default -> logger.warn("Ignoring snapshot chunk of unknown aggregate {}", aggregate);
+        }
+    }
+
     private void createLendingsRPC(List<LendingViewAMQP> lendings) {
         for (LendingViewAMQP lending : lendings) {
             try {
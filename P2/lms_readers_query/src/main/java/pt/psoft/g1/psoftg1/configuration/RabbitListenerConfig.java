@@ -0,0 +1,22 @@
+package pt.psoft.g1.psoftg1.configuration;
+
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.ListenerTuningProperties;
+
+/**
+ * Tunes the containers of the auto-configured listener factory per queue or listener through
+ * lms.amqp.listeners.*.
+ */
+@Configuration
+@EnableConfigurationProperties(ListenerTuningProperties.class)
+public class RabbitListenerConfig {
+
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> listenerTuningCustomizer(ListenerTuningProperties tuning) {
+        return tuning::applyTo;
+    }
+}
@@ -1,5 +1,6 @@
 package pt.psoft.g1.psoftg1.configuration;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -251,8 +252,8 @@ public class RabbitMQConfig {
 
         @Bean
 
-        public RpcBootstrapListener rpcBootstrapListener(BookService bookService, GenreService genreService, LendingService lendingService, ReaderService readerService, RpcBootstrapPublisher rpcBootstrapPublisher) {
-            return new RpcBootstrapListener(readerService, bookService, genreService, lendingService, rpcBootstrapPublisher);
+        public RpcBootstrapListener rpcBootstrapListener(BookService bookService, GenreService genreService, LendingService lendingService, ReaderService readerService, RpcBootstrapPublisher rpcBootstrapPublisher, EntityManager entityManager) {
+            return new RpcBootstrapListener(readerService, bookService, genreService, lendingService, rpcBootstrapPublisher, entityManager);
         }
 
         @Bean
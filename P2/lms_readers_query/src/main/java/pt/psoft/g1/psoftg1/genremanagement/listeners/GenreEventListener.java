@@ -1,14 +1,12 @@
 package pt.psoft.g1.psoftg1.genremanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.genremanagement.api.GenreViewAMQP;
 import pt.psoft.g1.psoftg1.genremanagement.services.GenreService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -19,10 +17,7 @@ public class GenreEventListener {
     public void receiveBookCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            GenreViewAMQP genreViewAMQP = objectMapper.readValue(jsonReceived, GenreViewAMQP.class);
+            GenreViewAMQP genreViewAMQP = AmqpCodec.decode(msg.getBody(), GenreViewAMQP.class);
 
             System.out.println(" [x] Received Book Created by AMQP: " + msg + ".");
             try {
@@ -13,4 +13,9 @@ public interface GenreRepository {
     String getMostLentGenreByReader(String readerNumber);
     void delete(Genre genre);
     List<Genre> findAll();
+
+    /**
+     * Next page of genres in name order, after the given name (null for the first page).
+     */
+    List<Genre> findPageAfterName(String afterName, int limit);
 }
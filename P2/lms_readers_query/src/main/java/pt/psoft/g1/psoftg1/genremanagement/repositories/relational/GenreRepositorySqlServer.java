@@ -9,11 +9,15 @@ import pt.psoft.g1.psoftg1.genremanagement.model.relational.GenreEntity;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 
 public interface GenreRepositorySqlServer extends JpaRepository<GenreEntity, Long> {
     @Query("SELECT g FROM GenreEntity g")
     List<GenreEntity> findAll();
 
+    @Query("SELECT g FROM GenreEntity g WHERE g.genre > :afterName ORDER BY g.genre")
+    List<GenreEntity> findPageAfterName(@Param("afterName") String afterName, Pageable pageable);
+
 
     @Query("SELECT g FROM GenreEntity g WHERE g.genre = :genre" )
     Optional<GenreEntity> findByString(@Param("genre")@NotNull String genre);
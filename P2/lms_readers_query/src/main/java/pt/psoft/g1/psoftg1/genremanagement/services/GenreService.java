@@ -14,4 +14,6 @@ public interface GenreService {
     void delete(GenreViewAMQP genreViewAMQP);
 
     List<GenreViewAMQP> getAllGenres();
+
+    List<GenreViewAMQP> getGenresAfter(String afterName, int limit);
 }
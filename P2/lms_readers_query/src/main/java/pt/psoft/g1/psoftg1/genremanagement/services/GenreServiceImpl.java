@@ -44,6 +44,15 @@ public class GenreServiceImpl implements GenreService {
 
     }
 
+    @Override
+    public List<GenreViewAMQP> getGenresAfter(String afterName, int limit) {
+        List<GenreViewAMQP> genreViewAMQPS = new ArrayList<>();
+        for (Genre genre : genreRepository.findPageAfterName(afterName, limit)) {
+            genreViewAMQPS.add(genreViewAMQPMapper.toGenreViewAMQP(genre));
+        }
+        return genreViewAMQPS;
+    }
+
     @Override
     public List<GenreViewAMQP> getAllGenres() {
         List <Genre> genres = genreRepository.findAll();
@@ -0,0 +1,58 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.model;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Windows of the reader leaderboard, ending today. Rolling windows lose their oldest day every midnight.
+ */
+public enum LeaderboardWindow {
+    LAST_30_DAYS(30),
+    LAST_YEAR(365),
+    ALL_TIME(0);
+
+    private final int days;
+
+    LeaderboardWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public boolean isRolling() {
+        return days > 0;
+    }
+
+    /**
+     * First day of the window on the given day, or null for ALL_TIME
+     */
+    public LocalDate startOn(LocalDate today) {
+        return isRolling() ? today.minusDays(days - 1L) : null;
+    }
+
+    public boolean contains(LocalDate startDate, LocalDate today) {
+        LocalDate start = startOn(today);
+        return start == null || !startDate.isBefore(start);
+    }
+
+    /**
+     * The window that is exactly [startDate, endDate] today: no end (or an end from today on) and either
+     * no start or the first day of a rolling window
+     */
+    public static Optional<LeaderboardWindow> matching(LocalDate startDate, LocalDate endDate, LocalDate today) {
+        if (endDate != null && endDate.isBefore(today)) {
+            return Optional.empty();
+        }
+        if (startDate == null) {
+            return Optional.of(ALL_TIME);
+        }
+        for (LeaderboardWindow window : values()) {
+            if (window.isRolling() && startDate.equals(window.startOn(today))) {
+                return Optional.of(window);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,10 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.model;
+
+import java.time.LocalDate;
+
+/**
+ * Lendings of one genre started by a reader on one day; for totals over several days, day is
+ * the last of them.
+ */
+public record ReaderLendingBucket(String readerNumber, String genre, LocalDate day, long lendings) {
+}
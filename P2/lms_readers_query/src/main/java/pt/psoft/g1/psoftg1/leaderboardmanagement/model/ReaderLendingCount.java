@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.model;
+
+/**
+ * A reader and the number of lendings they started in a leaderboard window.
+ */
+public record ReaderLendingCount(String readerNumber, long lendings) {
+}
@@ -0,0 +1,42 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.model.relational;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Lendings of one genre started by a reader on one day. The reader leaderboard is loaded from these rows
+ * on start, and date ranges that are not one of its windows are summed from them.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "reader_lending_buckets",
+        uniqueConstraints = @UniqueConstraint(name = "uc_reader_lending_buckets", columnNames = {"lending_day", "reader_number", "genre"}))
+public class ReaderLendingBucketEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lending_day", nullable = false)
+    private LocalDate lendingDay;
+
+    @Column(name = "reader_number", nullable = false, length = 32)
+    private String readerNumber;
+
+    @Column(nullable = false, length = 100)
+    private String genre;
+
+    @Column(nullable = false)
+    private long lendings;
+
+    public ReaderLendingBucketEntity(String readerNumber, String genre, LocalDate day, long lendings) {
+        this.readerNumber = readerNumber;
+        this.genre = genre;
+        this.lendingDay = day;
+        this.lendings = lendings;
+    }
+}
@@ -0,0 +1,36 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.repositories;
+
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily lending buckets of the reader leaderboard.
+ */
+public interface ReaderLeaderboardRepository {
+
+    void addToBucket(String readerNumber, String genre, LocalDate day, long lendings);
+
+    List<ReaderLendingBucket> findBucketsOn(LocalDate day);
+
+    /**
+     * Lendings per reader and genre started from the given day on
+     */
+    List<ReaderLendingBucket> sumSince(LocalDate from);
+
+    /**
+     * Readers with most lendings started in [from, to], of one genre or of all (null genre)
+     */
+    List<ReaderLendingCount> findTopReaders(LocalDate from, LocalDate to, String genre, int limit);
+
+    boolean hasBuckets();
+
+    /**
+     * Replaces the buckets with the counts of the stored lendings
+     *
+     * @return the number of lendings counted
+     */
+    long rebuildFromLendings();
+}
@@ -0,0 +1,87 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.repositories.relational;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.relational.ReaderLendingBucketEntity;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.repositories.ReaderLeaderboardRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Profile("sqlServer")
+@Component
+public class ReaderLeaderboardRepositorySqlServerImpl implements ReaderLeaderboardRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ReaderLendingBucketRepositorySqlServer bucketRepository;
+
+    @Autowired
+    @Lazy
+    public ReaderLeaderboardRepositorySqlServerImpl(ReaderLendingBucketRepositorySqlServer bucketRepository) {
+        this.bucketRepository = bucketRepository;
+    }
+
+    @Override
+    public void addToBucket(String readerNumber, String genre, LocalDate day, long lendings) {
+        if (bucketRepository.increment(readerNumber, genre, day, lendings) > 0) {
+            return;
+        }
+        try {
+            bucketRepository.save(new ReaderLendingBucketEntity(readerNumber, genre, day, lendings));
+        } catch (DataIntegrityViolationException e) {
+            // Another listener created the bucket first
+            bucketRepository.increment(readerNumber, genre, day, lendings);
+        }
+    }
+
+    @Override
+    public List<ReaderLendingBucket> findBucketsOn(LocalDate day) {
+        return bucketRepository.findByDay(day);
+    }
+
+    @Override
+    public List<ReaderLendingBucket> sumSince(LocalDate from) {
+        return bucketRepository.sumSince(from);
+    }
+
+    @Override
+    public List<ReaderLendingCount> findTopReaders(LocalDate from, LocalDate to, String genre, int limit) {
+        if (genre == null) {
+            return bucketRepository.findTopReaders(from, to, PageRequest.of(0, limit));
+        }
+        return bucketRepository.findTopReadersByGenre(genre, from, to, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean hasBuckets() {
+        return bucketRepository.count() > 0;
+    }
+
+    @Override
+    @Transactional
+    public long rebuildFromLendings() {
+        bucketRepository.deleteAllBuckets();
+
+        long lendings = 0;
+        List<ReaderLendingBucketEntity> batch = new ArrayList<>(BATCH_SIZE);
+        for (ReaderLendingBucket bucket : bucketRepository.countLendings()) {
+            batch.add(new ReaderLendingBucketEntity(bucket.readerNumber(), bucket.genre(), bucket.day(), bucket.lendings()));
+            lendings += bucket.lendings();
+            if (batch.size() == BATCH_SIZE) {
+                bucketRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        bucketRepository.saveAll(batch);
+        return lendings;
+    }
+}
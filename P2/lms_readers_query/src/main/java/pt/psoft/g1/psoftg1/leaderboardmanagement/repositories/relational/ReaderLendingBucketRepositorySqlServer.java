@@ -0,0 +1,69 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.repositories.relational;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.relational.ReaderLendingBucketEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReaderLendingBucketRepositorySqlServer extends CrudRepository<ReaderLendingBucketEntity, Long> {
+
+    // In-place increment, so concurrent listeners do not overwrite each other's counts
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReaderLendingBucketEntity b " +
+            "SET b.lendings = b.lendings + :lendings " +
+            "WHERE b.lendingDay = :day AND b.readerNumber = :readerNumber AND b.genre = :genre")
+    int increment(@Param("readerNumber") String readerNumber, @Param("genre") String genre,
+                  @Param("day") LocalDate day, @Param("lendings") long lendings);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket(" +
+            "b.readerNumber, b.genre, b.lendingDay, b.lendings) " +
+            "FROM ReaderLendingBucketEntity b " +
+            "WHERE b.lendingDay = :day AND b.lendings > 0")
+    List<ReaderLendingBucket> findByDay(@Param("day") LocalDate day);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket(" +
+            "b.readerNumber, b.genre, MAX(b.lendingDay), SUM(b.lendings)) " +
+            "FROM ReaderLendingBucketEntity b " +
+            "WHERE b.lendingDay >= :from " +
+            "GROUP BY b.readerNumber, b.genre " +
+            "HAVING SUM(b.lendings) > 0")
+    List<ReaderLendingBucket> sumSince(@Param("from") LocalDate from);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount(b.readerNumber, SUM(b.lendings)) " +
+            "FROM ReaderLendingBucketEntity b " +
+            "WHERE b.lendingDay BETWEEN :from AND :to " +
+            "GROUP BY b.readerNumber " +
+            "HAVING SUM(b.lendings) > 0 " +
+            "ORDER BY SUM(b.lendings) DESC, b.readerNumber")
+    List<ReaderLendingCount> findTopReaders(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT new pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount(b.readerNumber, SUM(b.lendings)) " +
+            "FROM ReaderLendingBucketEntity b " +
+            "WHERE b.genre = :genre AND b.lendingDay BETWEEN :from AND :to " +
+            "GROUP BY b.readerNumber " +
+            "HAVING SUM(b.lendings) > 0 " +
+            "ORDER BY SUM(b.lendings) DESC, b.readerNumber")
+    List<ReaderLendingCount> findTopReadersByGenre(@Param("genre") String genre, @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to, Pageable pageable);
+
+    // The lending history, once, to seed the buckets
+    @Query("SELECT new pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket(" +
+            "l.readerDetails.readerNumber.readerNumber, l.book.genre.genre, l.startDate, COUNT(l)) " +
+            "FROM LendingEntity l " +
+            "GROUP BY l.readerDetails.readerNumber.readerNumber, l.book.genre.genre, l.startDate")
+    List<ReaderLendingBucket> countLendings();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReaderLendingBucketEntity b")
+    int deleteAllBuckets();
+}
@@ -0,0 +1,160 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.services;
+
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lending counts of readers kept sorted, most lendings first.
+ *
+ * A count moving by one is swapped with the first (or last) reader of its current count, found by binary
+ * search, so lending events cost O(log n). Larger moves shift the readers in between. Readers whose count
+ * drops to zero stay at the tail. Not thread safe, ReaderLeaderboard guards it.
+ */
+class RankedCounts {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] keys = new String[16];
+    private long[] counts = new long[16];
+    private int[] order = new int[16];
+    private int[] positions = new int[16];
+    private int size;
+
+    static RankedCounts of(Map<String, Long> counts) {
+        RankedCounts ranked = new RankedCounts();
+        counts.forEach((key, count) -> {
+            int id = ranked.idOf(key);
+            ranked.counts[id] = Math.max(count, 0);
+        });
+
+        Integer[] sorted = new Integer[ranked.size];
+        for (int id = 0; id < ranked.size; id++) {
+            sorted[id] = id;
+        }
+        Arrays.sort(sorted, Comparator.comparingLong((Integer id) -> ranked.counts[id]).reversed()
+                .thenComparing(id -> ranked.keys[id]));
+        for (int position = 0; position < sorted.length; position++) {
+            ranked.order[position] = sorted[position];
+            ranked.positions[sorted[position]] = position;
+        }
+        return ranked;
+    }
+
+    /**
+     * Adds delta to the count of key, never going below zero
+     */
+    void add(String key, long delta) {
+        int id = idOf(key);
+        long current = counts[id];
+        long updated = Math.max(current + delta, 0);
+        if (updated == current) {
+            return;
+        }
+
+        int position = positions[id];
+        counts[id] = updated;
+        if (updated > current) {
+            // First reader with fewer lendings than the new count, among the ones ahead
+            int target = firstBelow(updated, 0, position);
+            if (updated == current + 1) {
+                swap(position, target);
+            } else {
+                shift(position, target);
+            }
+        } else {
+            // Last reader with more lendings than the new count, among the ones behind
+            int target = firstBelow(updated + 1, position + 1, size) - 1;
+            if (updated == current - 1) {
+                swap(position, target);
+            } else {
+                shift(position, target);
+            }
+        }
+    }
+
+    long count(String key) {
+        Integer id = ids.get(key);
+        return id == null ? 0 : counts[id];
+    }
+
+    List<ReaderLendingCount> top(int k) {
+        List<ReaderLendingCount> top = new ArrayList<>(Math.min(k, size));
+        for (int position = 0; position < size && top.size() < k; position++) {
+            int id = order[position];
+            if (counts[id] == 0) {
+                break;
+            }
+            top.add(new ReaderLendingCount(keys[id], counts[id]));
+        }
+        return top;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int idOf(String key) {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            order = Arrays.copyOf(order, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        // New readers join the tail with no lendings
+        int newId = size++;
+        keys[newId] = key;
+        order[newId] = newId;
+        positions[newId] = newId;
+        ids.put(key, newId);
+        return newId;
+    }
+
+    /**
+     * First position in [from, to) whose count is below value; order is sorted descending
+     */
+    private int firstBelow(long value, int from, int to) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (counts[order[middle]] < value) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void swap(int a, int b) {
+        int idA = order[a];
+        int idB = order[b];
+        order[a] = idB;
+        order[b] = idA;
+        positions[idB] = a;
+        positions[idA] = b;
+    }
+
+    private void shift(int from, int to) {
+        int id = order[from];
+        if (to < from) {
+            System.arraycopy(order, to, order, to + 1, from - to);
+        } else {
+            System.arraycopy(order, from + 1, order, from, to - from);
+        }
+        order[to] = id;
+        for (int position = Math.min(from, to); position <= Math.max(from, to); position++) {
+            positions[order[position]] = position;
+        }
+    }
+}
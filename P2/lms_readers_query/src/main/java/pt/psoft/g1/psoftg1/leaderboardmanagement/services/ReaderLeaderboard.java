@@ -0,0 +1,116 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.services;
+
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory top readers: one RankedCounts per window, for all genres and for each genre.
+ *
+ * The boards belong to one day. Until they are loaded (see ReaderLeaderboardServiceImpl) lending events
+ * are ignored here, since the loaded sums already include them: the service does not let an event write its
+ * bucket between the read of the sums and the load.
+ */
+@Component
+public class ReaderLeaderboard {
+
+    private static final String ALL_GENRES = "";
+    private static final LeaderboardWindow[] WINDOWS = LeaderboardWindow.values();
+
+    private final Map<String, RankedCounts[]> boards = new HashMap<>();
+    private LocalDate day;
+
+    /**
+     * Replaces the boards with the lendings of each window on the given day
+     */
+    public synchronized void load(LocalDate day, Map<LeaderboardWindow, List<ReaderLendingBucket>> sums) {
+        Map<String, Map<LeaderboardWindow, Map<String, Long>>> counts = new HashMap<>();
+        sums.forEach((window, buckets) -> {
+            for (ReaderLendingBucket bucket : buckets) {
+                for (String scope : new String[]{ALL_GENRES, bucket.genre()}) {
+                    counts.computeIfAbsent(scope, s -> new EnumMap<>(LeaderboardWindow.class))
+                            .computeIfAbsent(window, w -> new HashMap<>())
+                            .merge(bucket.readerNumber(), bucket.lendings(), Long::sum);
+                }
+            }
+        });
+
+        boards.clear();
+        counts.forEach((scope, windows) -> {
+            RankedCounts[] board = board(scope);
+            windows.forEach((window, readers) -> board[window.ordinal()] = RankedCounts.of(readers));
+        });
+        this.day = day;
+    }
+
+    /**
+     * Counts delta lendings started on startDate in every window that contains that day
+     */
+    public synchronized void add(String readerNumber, String genre, LocalDate startDate, long delta) {
+        if (day == null) {
+            return;
+        }
+        RankedCounts[] all = board(ALL_GENRES);
+        RankedCounts[] ofGenre = board(genre);
+        for (LeaderboardWindow window : WINDOWS) {
+            if (window.contains(startDate, day)) {
+                all[window.ordinal()].add(readerNumber, delta);
+                ofGenre[window.ordinal()].add(readerNumber, delta);
+            }
+        }
+    }
+
+    /**
+     * Moves the boards day by day up to today, taking out of each rolling window the buckets of the day
+     * that leaves it
+     *
+     * @return the number of days moved
+     */
+    public synchronized int rollOver(LocalDate today, Function<LocalDate, List<ReaderLendingBucket>> bucketsOn) {
+        int days = 0;
+        while (day != null && day.isBefore(today)) {
+            for (LeaderboardWindow window : WINDOWS) {
+                if (!window.isRolling()) {
+                    continue;
+                }
+                for (ReaderLendingBucket bucket : bucketsOn.apply(window.startOn(day))) {
+                    board(ALL_GENRES)[window.ordinal()].add(bucket.readerNumber(), -bucket.lendings());
+                    board(bucket.genre())[window.ordinal()].add(bucket.readerNumber(), -bucket.lendings());
+                }
+            }
+            day = day.plusDays(1);
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * The k readers with most lendings in the window, of one genre or of all (null genre)
+     */
+    public synchronized List<ReaderLendingCount> top(LeaderboardWindow window, String genre, int k) {
+        RankedCounts[] board = boards.get(genre == null ? ALL_GENRES : genre);
+        return board == null ? List.of() : board[window.ordinal()].top(k);
+    }
+
+    public synchronized LocalDate day() {
+        return day;
+    }
+
+    private RankedCounts[] board(String scope) {
+        return boards.computeIfAbsent(scope, s -> {
+            RankedCounts[] board = new RankedCounts[WINDOWS.length];
+            for (int window = 0; window < board.length; window++) {
+                board[window] = new RankedCounts();
+            }
+            return board;
+        });
+    }
+}
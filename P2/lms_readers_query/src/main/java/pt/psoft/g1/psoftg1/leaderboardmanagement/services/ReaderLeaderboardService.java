@@ -0,0 +1,30 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.services;
+
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Readers with most lendings, overall or of one genre, kept up to date from the lending events.
+ */
+public interface ReaderLeaderboardService {
+
+    void lendingCreated(String readerNumber, String genre, LocalDate startDate);
+
+    void lendingDeleted(String readerNumber, String genre, LocalDate startDate);
+
+    /**
+     * Top readers of the lendings started between startDate and endDate (both optional, inclusive)
+     *
+     * @param genre null for all genres
+     */
+    List<ReaderLendingCount> getTopReaders(String genre, LocalDate startDate, LocalDate endDate, int limit);
+
+    /**
+     * Recounts the stored lendings into the buckets and reloads the leaderboard
+     *
+     * @return the number of lendings counted
+     */
+    long rebuild();
+}
@@ -0,0 +1,147 @@
+package pt.psoft.g1.psoftg1.leaderboardmanagement.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.repositories.ReaderLeaderboardRepository;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Every lending event adds or removes one lending in the reader's bucket of (start day, genre), which is
+ * what survives a restart, and in the in-memory ReaderLeaderboard.
+ *
+ * Date ranges that are one of the leaderboard windows (no start or the first day of the last 30 days or of
+ * the last year, and no end or an end from today on) are read from the leaderboard. Other ranges are summed
+ * from the buckets, which is still far less than the lending history.
+ *
+ * A lending event writes its bucket and updates the leaderboard under the read lock; loading and moving the
+ * leaderboard read the buckets under the write lock, so no event falls between the read and the load.
+ *
+ * Metrics:
+ * - reader.leaderboard.requests{source=board|buckets}
+ */
+@Service
+public class ReaderLeaderboardServiceImpl implements ReaderLeaderboardService {
+
+    private final ReaderLeaderboardRepository leaderboardRepository;
+    private final ReaderLeaderboard leaderboard;
+    private final ReadWriteLock bucketsLock = new ReentrantReadWriteLock();
+
+    private final Counter boardRequests;
+    private final Counter bucketRequests;
+
+    public ReaderLeaderboardServiceImpl(ReaderLeaderboardRepository leaderboardRepository,
+                                        ReaderLeaderboard leaderboard,
+                                        MeterRegistry meterRegistry) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.leaderboard = leaderboard;
+        this.boardRequests = Counter.builder("reader.leaderboard.requests").tag("source", "board").register(meterRegistry);
+        this.bucketRequests = Counter.builder("reader.leaderboard.requests").tag("source", "buckets").register(meterRegistry);
+    }
+
+    @Override
+    public void lendingCreated(String readerNumber, String genre, LocalDate startDate) {
+        count(readerNumber, genre, startDate, 1);
+    }
+
+    @Override
+    public void lendingDeleted(String readerNumber, String genre, LocalDate startDate) {
+        count(readerNumber, genre, startDate, -1);
+    }
+
+    private void count(String readerNumber, String genre, LocalDate startDate, long delta) {
+        bucketsLock.readLock().lock();
+        try {
+            leaderboardRepository.addToBucket(readerNumber, genre, startDate, delta);
+            leaderboard.add(readerNumber, genre, startDate, delta);
+        } finally {
+            bucketsLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ReaderLendingCount> getTopReaders(String genre, LocalDate startDate, LocalDate endDate, int limit) {
+        LocalDate today = LocalDate.now();
+        if (today.equals(leaderboard.day())) {
+            Optional<LeaderboardWindow> window = LeaderboardWindow.matching(startDate, endDate, today);
+            if (window.isPresent()) {
+                boardRequests.increment();
+                return leaderboard.top(window.get(), genre, limit);
+            }
+        }
+
+        bucketRequests.increment();
+        return leaderboardRepository.findTopReaders(startDate == null ? LocalDate.EPOCH : startDate,
+                endDate == null ? today : endDate, genre, limit);
+    }
+
+    @Override
+    public long rebuild() {
+        bucketsLock.writeLock().lock();
+        try {
+            long lendings = leaderboardRepository.rebuildFromLendings();
+            reload();
+            return lendings;
+        } finally {
+            bucketsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the leaderboard from the buckets, counting the stored lendings first if there are none yet.
+     * Lending events wait until it is loaded.
+     */
+    public void reload() {
+        bucketsLock.writeLock().lock();
+        try {
+            if (!leaderboardRepository.hasBuckets()) {
+                leaderboardRepository.rebuildFromLendings();
+            }
+
+            LocalDate today = LocalDate.now();
+            Map<LeaderboardWindow, List<ReaderLendingBucket>> sums = new EnumMap<>(LeaderboardWindow.class);
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                LocalDate start = window.startOn(today);
+                sums.put(window, leaderboardRepository.sumSince(start == null ? LocalDate.EPOCH : start));
+            }
+            leaderboard.load(today, sums);
+        } finally {
+            bucketsLock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadOnStartup() {
+        try {
+            reload();
+            System.out.println(" [x] Reader leaderboard loaded for " + leaderboard.day() + ".");
+        } catch (Exception e) {
+            System.out.println(" [x] Could not load the reader leaderboard: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${leaderboard.roll-over-cron:0 0 0 * * *}")
+    public void rollOver() {
+        int days;
+        bucketsLock.writeLock().lock();
+        try {
+            days = leaderboard.rollOver(LocalDate.now(), leaderboardRepository::findBucketsOn);
+        } finally {
+            bucketsLock.writeLock().unlock();
+        }
+        System.out.println(" [x] Reader leaderboard moved " + days + " day(s).");
+    }
+}
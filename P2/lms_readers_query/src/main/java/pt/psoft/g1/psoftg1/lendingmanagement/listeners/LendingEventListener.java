@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.lendingmanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -8,8 +7,7 @@ import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.services.LendingService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -17,14 +15,11 @@ public class LendingEventListener {
 
     private final LendingService lendingService;
 
-    @RabbitListener(queues = "#{lendingCreatedQueue.name}")
+    @RabbitListener(id = "lending-created", queues = "#{lendingCreatedQueue.name}")
     public void receiveBookCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Created by AMQP: " + msg + ".");
             try {
@@ -42,10 +37,7 @@ public class LendingEventListener {
     @RabbitListener(queues = "#{lendingUpdatedQueue.name}")
     public void receiveBookUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(msg.getBody(), LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Updated by AMQP: " + msg + ".");
             try {
@@ -60,14 +52,11 @@ public class LendingEventListener {
         }
     }
 
-    @RabbitListener(queues = "#{lendingDeletedQueue.name}")
+    @RabbitListener(id = "lending-deleted", queues = "#{lendingDeletedQueue.name}")
     public void receiveBookDeleted(String in) {
         System.out.println(" [x] Received lending Deleted '" + in + "'");
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(in.getBytes(), StandardCharsets.UTF_8);
-            LendingViewAMQP lendingViewAMQP = objectMapper.readValue(jsonReceived, LendingViewAMQP.class);
+            LendingViewAMQP lendingViewAMQP = AmqpCodec.decode(in, LendingViewAMQP.class);
 
             System.out.println(" [x] Received lending Deleted by AMQP: " + in + ".");
             try {
@@ -9,6 +9,7 @@ import pt.psoft.g1.psoftg1.lendingmanagement.model.relational.LendingEntity;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 
 @Repository
 public interface LendingRepositorySqlServer extends JpaRepository<LendingEntity, Long> {
@@ -16,6 +17,12 @@ public interface LendingRepositorySqlServer extends JpaRepository<LendingEntity,
     @Query("SELECT l FROM LendingEntity l")
     List<LendingEntity> findAll();
 
+    @Query("SELECT l " +
+            "FROM LendingEntity l " +
+            "WHERE l.lendingNumberEntity.lendingNumber > :afterLendingNumber " +
+            "ORDER BY l.lendingNumberEntity.lendingNumber")
+    List<LendingEntity> findPageAfterLendingNumber(@Param("afterLendingNumber") String afterLendingNumber, Pageable pageable);
+
     @Query("SELECT l " +
             "FROM LendingEntity l " +
             "WHERE l.lendingNumberEntity.lendingNumber = :lendingNumber")
@@ -12,4 +12,6 @@ public interface LendingService {
     Lending update(LendingViewAMQP lending);
     void delete(LendingViewAMQP lending);
     List<LendingViewAMQP> getAllLendings();
+
+    List<LendingViewAMQP> getLendingsAfter(String afterLendingNumber, int limit);
 }
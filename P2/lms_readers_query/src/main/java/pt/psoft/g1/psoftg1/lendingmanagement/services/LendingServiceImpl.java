@@ -6,11 +6,13 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboardService;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQP;
 import pt.psoft.g1.psoftg1.lendingmanagement.api.LendingViewAMQPMapper;
 import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
 import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionService;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -25,6 +27,8 @@ public class LendingServiceImpl implements LendingService{
     private final BookRepository bookRepository;
     private final ReaderRepository readerRepository;
     private final LendingViewAMQPMapper lendingViewAMQPMapper;
+    private final BookSuggestionService bookSuggestionService;
+    private final ReaderLeaderboardService readerLeaderboardService;
 
     @Value("${lendingDurationInDays}")
     private int lendingDurationInDays;
@@ -42,7 +46,10 @@ public class LendingServiceImpl implements LendingService{
         int seq = lendingRepository.getCountFromCurrentYear()+1;
         final Lending l = new Lending(b,r,seq, lendingDurationInDays, fineValuePerDayInCents );
 
-        return lendingRepository.save(l);
+        Lending saved = lendingRepository.save(l);
+        bookSuggestionService.lendingSaved(r.getReaderNumber(), b.getIsbn());
+        readerLeaderboardService.lendingCreated(r.getReaderNumber(), b.getGenre().toString(), saved.getStartDate());
+        return saved;
     }
 
     @Override
@@ -59,7 +66,9 @@ public class LendingServiceImpl implements LendingService{
 
         l.applyPatch(b,r, LocalDate.parse(lending.getReturnedDate()),LocalDate.parse(lending.getLimitDate()),LocalDate.parse(lending.getReturnedDate())) ;
 
-        return lendingRepository.save(l);
+        Lending saved = lendingRepository.save(l);
+        bookSuggestionService.lendingSaved(r.getReaderNumber(), b.getIsbn());
+        return saved;
 
     }
 
@@ -68,6 +77,22 @@ public class LendingServiceImpl implements LendingService{
         final var l = lendingRepository.findByLendingNumber(lending.getLendingNumber())
                 .orElseThrow(() -> new NotFoundException("Lending not found"));
         lendingRepository.delete(l);
+        readerLeaderboardService.lendingDeleted(l.getReaderDetails().getReaderNumber(), l.getBook().getGenre().toString(), l.getStartDate());
+
+        String readerNumber = l.getReaderDetails().getReaderNumber();
+        String isbn = l.getBook().getIsbn();
+        if (lendingRepository.listByReaderNumberAndIsbn(readerNumber, isbn).isEmpty()) {
+            bookSuggestionService.lendingRemoved(readerNumber, isbn);
+        }
+    }
+
+    @Override
+    public List<LendingViewAMQP> getLendingsAfter(String afterLendingNumber, int limit) {
+        List<LendingViewAMQP> lendingsViewAMQP = new ArrayList<>();
+        for (Lending l : lendingRepository.findPageAfterLendingNumber(afterLendingNumber, limit)) {
+            lendingsViewAMQP.add(lendingViewAMQPMapper.toLendingViewAMQP(l));
+        }
+        return lendingsViewAMQP;
     }
 
     @Override
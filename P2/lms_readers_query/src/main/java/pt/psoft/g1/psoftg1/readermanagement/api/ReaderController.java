@@ -9,11 +9,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
-import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -27,7 +26,11 @@ import pt.psoft.g1.psoftg1.bookmanagement.api.BookViewMapper;
 import pt.psoft.g1.psoftg1.bookmanagement.services.BookService;
 import pt.psoft.g1.psoftg1.exceptions.NotFoundException;
 import pt.psoft.g1.psoftg1.external.service.ApiNinjasService;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboardService;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
+import pt.psoft.g1.psoftg1.readermanagement.services.ReaderBookCountDTO;
 import pt.psoft.g1.psoftg1.readermanagement.services.CreateReaderRequest;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
 import pt.psoft.g1.psoftg1.readermanagement.services.SearchReadersQuery;
@@ -35,10 +38,14 @@ import pt.psoft.g1.psoftg1.readermanagement.services.UpdateReaderRequest;
 import pt.psoft.g1.psoftg1.shared.api.ListResponse;
 import pt.psoft.g1.psoftg1.shared.services.ConcurrencyService;
 import pt.psoft.g1.psoftg1.shared.services.FileStorageService;
+import pt.psoft.g1.psoftg1.shared.services.PhotoMediaService;
 import pt.psoft.g1.psoftg1.shared.services.SearchRequest;
-import pt.psoft.g1.psoftg1.usermanagement.model.Librarian;
+import pt.psoft.g1.psoftg1.suggestionmanagement.api.BookSuggestionView;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionService;
 import pt.psoft.g1.psoftg1.usermanagement.model.Role;
 import pt.psoft.g1.psoftg1.usermanagement.model.User;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
 import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
 
 import java.time.LocalDate;
@@ -54,12 +61,16 @@ import java.util.Optional;
 public class ReaderController {
     private final ReaderService readerService;
     private final UserService userService;
+    private final PrincipalResolver principalResolver;
     private final BookService bookService;
     private final ReaderViewMapper readerViewMapper;
     private final BookViewMapper bookViewMapper;
+    private final BookSuggestionService bookSuggestionService;
+    private final ReaderLeaderboardService readerLeaderboardService;
 
     private final ConcurrencyService concurrencyService;
     private final FileStorageService fileStorageService;
+    private final PhotoMediaService photoMediaService;
 
     private final ApiNinjasService apiNinjasService;
 
@@ -69,11 +80,11 @@ public class ReaderController {
             array = @ArraySchema(schema = @Schema(implementation = ReaderView.class))) })
     @GetMapping
     public ResponseEntity<?> getData(Authentication authentication) {
-        User loggedUser = userService.getAuthenticatedUser(authentication);
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
 
-        if (!(loggedUser instanceof Librarian)) {
-            ReaderDetails readerDetails = readerService.findByUsername(loggedUser.getUsername())
-                    .orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.getUsername()));
+        if (!loggedUser.isLibrarian()) {
+            ReaderDetails readerDetails = readerService.findByUsername(loggedUser.username())
+                    .orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.username()));
             //return new ListResponse<>(readerViewMapper.toReaderView(readerService.findAll()));
             return ResponseEntity.ok().eTag(Long.toString(readerDetails.getVersion())).body(readerViewMapper.toReaderView(readerDetails));
         }
@@ -143,22 +154,97 @@ public class ReaderController {
         return new ListResponse<>(readerViewMapper.toReaderView(readerDetailsList));
     }
 
+    @Operation(summary = "Gets book suggestions for the logged in reader, from the most lent books of their interests")
+    @GetMapping("/suggestions")
+    public ListResponse<BookSuggestionView> getOwnSuggestions(Authentication authentication) {
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
+
+        ReaderDetails readerDetails = readerService.findByUsername(loggedUser.username())
+                .orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.username()));
+
+        return new ListResponse<>(bookSuggestionService.getSuggestions(readerDetails).stream()
+                .map(BookSuggestionView::of)
+                .toList());
+    }
+
+    @Operation(summary = "Gets book suggestions for a reader, from the most lent books of their interests")
+    @GetMapping("/{year}/{seq}/suggestions")
+    public ListResponse<BookSuggestionView> getSuggestions(@PathVariable("year")
+                                                           @Parameter(description = "The year of the Reader")
+                                                           final Integer year,
+                                                           @PathVariable("seq")
+                                                           @Parameter(description = "The sequencial of the Reader")
+                                                           final Integer seq,
+                                                           Authentication authentication) {
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
+        String readerNumber = year + "/" + seq;
+
+        ReaderDetails readerDetails = readerService.findByReaderNumber(readerNumber)
+                .orElseThrow(() -> new NotFoundException(ReaderDetails.class, readerNumber));
+
+        //if Librarian is logged in, skip ahead
+        if (!loggedUser.isLibrarian() && !readerDetails.getReader().getUsername().equals(loggedUser.username())) {
+            throw new AccessDeniedException("Reader does not have permission to view another reader's suggestions");
+        }
+
+        return new ListResponse<>(bookSuggestionService.getSuggestions(readerDetails).stream()
+                .map(BookSuggestionView::of)
+                .toList());
+    }
+
+    @Operation(summary = "Gets the readers with most lendings, overall or of one genre, in a window or between two dates")
+    @GetMapping("/top")
+    public ListResponse<ReaderCountView> getTopReaders(@RequestParam(value = "limit", defaultValue = "5") final int limit,
+                                                       @RequestParam(value = "genre", required = false) final String genre,
+                                                       @RequestParam(value = "window", required = false)
+                                                       @Parameter(description = "LAST_30_DAYS, LAST_YEAR or ALL_TIME, instead of the dates")
+                                                       final LeaderboardWindow window,
+                                                       @RequestParam(value = "startDate", required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                       @RequestParam(value = "endDate", required = false)
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        if (window != null) {
+            startDate = window.startOn(LocalDate.now());
+            endDate = null;
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+
+        List<ReaderBookCountDTO> topReaders = new ArrayList<>();
+        for (ReaderLendingCount count : readerLeaderboardService.getTopReaders(genre, startDate, endDate, limit)) {
+            readerService.findByReaderNumber(count.readerNumber())
+                    .ifPresent(readerDetails -> topReaders.add(new ReaderBookCountDTO(readerDetails, count.lendings())));
+        }
+        return new ListResponse<>(readerViewMapper.toReaderCountViewList(topReaders));
+    }
+
+    @Operation(summary = "Recounts the stored lendings into the reader leaderboard")
+    @PostMapping("/top/rebuild")
+    @RolesAllowed(Role.LIBRARIAN)
+    public ResponseEntity<Long> rebuildTopReaders() {
+        return ResponseEntity.ok(readerLeaderboardService.rebuild());
+    }
+
     @Operation(summary= "Gets a reader photo")
     @GetMapping("/{year}/{seq}/photo")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<byte[]> getSpecificReaderPhoto(@PathVariable("year")
+    public ResponseEntity<Resource> getSpecificReaderPhoto(@PathVariable("year")
                                                      @Parameter(description = "The year of the Reader to find")
                                                      final Integer year,
                                                  @PathVariable("seq")
                                                      @Parameter(description = "The sequencial of the Reader to find")
                                                      final Integer seq,
                                                          Authentication authentication) {
-        User loggedUser = userService.getAuthenticatedUser(authentication);
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
 
         //if Librarian is logged in, skip ahead
-        if (!(loggedUser instanceof Librarian)) {
-            final var loggedReaderDetails = readerService.findByUsername(loggedUser.getUsername())
-                    .orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.getUsername()));
+        if (!loggedUser.isLibrarian()) {
+            final var loggedReaderDetails = readerService.findByUsername(loggedUser.username())
+                    .orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.username()));
 
             //if logged Reader matches the one associated with the lending, skip ahead
             if (!loggedReaderDetails.getReaderNumber().equals(year + "/" + seq)) {
@@ -167,32 +253,24 @@ public class ReaderController {
         }
 
 
-        ReaderDetails readerDetails = readerService.findByReaderNumber(year + "/" + seq).orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.getUsername()));
+        ReaderDetails readerDetails = readerService.findByReaderNumber(year + "/" + seq).orElseThrow(() -> new NotFoundException(ReaderDetails.class, loggedUser.username()));
 
         //In case the user has no photo, just return a 200 OK without body
         if(readerDetails.getPhoto() == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        String photoFile = readerDetails.getPhoto().getPhotoFile();
-        byte[] image = this.fileStorageService.getFile(photoFile);
-        String fileFormat = this.fileStorageService.getExtension(readerDetails.getPhoto().getPhotoFile()).orElseThrow(() -> new ValidationException("Unable to get file extension"));
-
-        if(image == null) {
-            return ResponseEntity.ok().build();
-        }
-
-        return ResponseEntity.ok().contentType(fileFormat.equals("png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG).body(image);
+        return this.photoMediaService.photoResponse(readerDetails.getPhoto().getPhotoFile());
     }
 
     @Operation(summary= "Gets a reader photo")
     @GetMapping("/photo")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<byte[]> getReaderOwnPhoto(Authentication authentication) {
+    public ResponseEntity<Resource> getReaderOwnPhoto(Authentication authentication) {
 
-        User loggedUser = userService.getAuthenticatedUser(authentication);
+        AuthenticatedPrincipal loggedUser = principalResolver.resolve(authentication);
 
-        Optional<ReaderDetails> optReaderDetails = readerService.findByUsername(loggedUser.getUsername());
+        Optional<ReaderDetails> optReaderDetails = readerService.findByUsername(loggedUser.username());
         if(optReaderDetails.isEmpty()) {
             throw new AccessDeniedException("Could not find a valid reader from current auth");
         }
@@ -204,15 +282,7 @@ public class ReaderController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        byte[] image = this.fileStorageService.getFile(readerDetails.getPhoto().getPhotoFile());
-
-        if(image == null) {
-            return ResponseEntity.ok().build();
-        }
-
-        String fileFormat = this.fileStorageService.getExtension(readerDetails.getPhoto().getPhotoFile()).orElseThrow(() -> new ValidationException("Unable to get file extension"));
-
-        return ResponseEntity.ok().contentType(fileFormat.equals("png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG).body(image);
+        return this.photoMediaService.photoResponse(readerDetails.getPhoto().getPhotoFile());
     }
 
 
@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.readermanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -13,8 +12,7 @@ import pt.psoft.g1.psoftg1.readermanagement.api.SagaCreationResponse;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.readermanagement.publishers.ReaderEventPublisher;
 import pt.psoft.g1.psoftg1.readermanagement.services.ReaderService;
-
-import java.nio.charset.StandardCharsets;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -26,14 +24,11 @@ public class ReaderEventListener {
 
     private final ReaderViewAMQPMapper readerViewAMQPMapper;
 
-    @RabbitListener(queues = "#{readerCreatedQueue.name}")
+    @RabbitListener(id = "reader-created", queues = "#{readerCreatedQueue.name}")
     public void receiveReaderCreated(Message msg) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class);
 
             System.out.println(" [x] Received Reader Created by AMQP: " + msg + ".");
             try {
@@ -52,10 +47,7 @@ public class ReaderEventListener {
     @RabbitListener(queues = "#{readerUpdatedQueue.name}")
     public void receiveReaderUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderViewAMQP.class);
 
             System.out.println(" [x] Received Book Updated by AMQP: " + msg + ".");
             try {
@@ -75,10 +67,7 @@ public class ReaderEventListener {
         System.out.println(" [x] Received reader Deleted '" + in + "'");
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(in.getBytes(), StandardCharsets.UTF_8);
-            ReaderViewAMQP readerViewAMQP = objectMapper.readValue(jsonReceived, ReaderViewAMQP.class);
+            ReaderViewAMQP readerViewAMQP = AmqpCodec.decode(in, ReaderViewAMQP.class);
 
             System.out.println(" [x] Received reader Deleted by AMQP: " + in + ".");
             try {
@@ -99,11 +88,7 @@ public class ReaderEventListener {
 
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-
-            ReaderSagaViewAMQP readerSagaViewAMQP = objectMapper.readValue(jsonReceived, ReaderSagaViewAMQP.class);
+            ReaderSagaViewAMQP readerSagaViewAMQP = AmqpCodec.decode(msg.getBody(), ReaderSagaViewAMQP.class);
 
             System.out.println(" [x] Received Reader Lending Request by AMQP: " + msg + ".");
 
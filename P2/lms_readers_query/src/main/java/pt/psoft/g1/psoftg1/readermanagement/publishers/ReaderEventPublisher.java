@@ -1,7 +1,6 @@
 package pt.psoft.g1.psoftg1.readermanagement.publishers;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -12,6 +11,7 @@ import pt.psoft.g1.psoftg1.readermanagement.api.ReaderViewAMQPMapper;
 import pt.psoft.g1.psoftg1.readermanagement.api.SagaCreationResponse;
 import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
 import pt.psoft.g1.psoftg1.shared.model.ReaderEvents;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -41,12 +41,10 @@ public class ReaderEventPublisher {
     public void sendReaderEvent(ReaderDetails reader, Long currentVersion, String readerEventType) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
             ReaderViewAMQP readerViewAMQP = readerViewAMQPMapper.toReaderViewAMQP(reader);
             readerViewAMQP.setVersion(currentVersion.toString());
 
-            String jsonString = objectMapper.writeValueAsString(readerViewAMQP);
+            String jsonString = AmqpCodec.encode(readerViewAMQP);
 
             this.template.convertAndSend(direct.getName(), readerEventType, jsonString);
 
@@ -60,9 +58,7 @@ public class ReaderEventPublisher {
     public void sendReaderLendingResponse(SagaCreationResponse response) {
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            String jsonString = objectMapper.writeValueAsString(response);
+            String jsonString = AmqpCodec.encode(response);
 
             this.template.convertAndSend(direct.getName(), "reader.lending.responses", jsonString);
 
@@ -26,6 +26,11 @@ public interface ReaderRepository {
     ReaderDetails update(ReaderDetails readerDetails);
     Iterable<ReaderDetails> findAll();
 
+    /**
+     * Next page of readers in reader number order, after the given number (null for the first page).
+     */
+    List<ReaderDetails> findPageAfterReaderNumber(String afterReaderNumber, int limit);
+
     void delete(ReaderDetails readerDetails);
     List<ReaderDetails> searchReaderDetails(pt.psoft.g1.psoftg1.shared.services.Page page, SearchReadersQuery query);
 }
@@ -21,6 +21,12 @@ public interface ReaderRepositorySqlServer  extends JpaRepository<ReaderDetailsE
     @Query("SELECT r FROM ReaderDetailsEntity r")
     List<ReaderDetailsEntity> findAll();
 
+    @Query("SELECT r " +
+            "FROM ReaderDetailsEntity r " +
+            "WHERE r.readerNumber.readerNumber > :afterReaderNumber " +
+            "ORDER BY r.readerNumber.readerNumber")
+    List<ReaderDetailsEntity> findPageAfterReaderNumber(@Param("afterReaderNumber") String afterReaderNumber, Pageable pageable);
+
     @Query("SELECT r " +
             "FROM ReaderDetailsEntity r " +
             "WHERE r.readerNumber.readerNumber = :readerNumber")
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
 
 @Profile("sqlServer")
 @Qualifier("readerSqlServerRepo")
@@ -141,6 +142,15 @@ public class ReaderRepositorySqlServerImpl implements ReaderRepository {
         return readerEntityMapper.toModel(readerRepostorySqlServer.save(readerDetailsEntity));
     }
 
+    @Override
+    public List<ReaderDetails> findPageAfterReaderNumber(String afterReaderNumber, int limit) {
+        List<ReaderDetails> readerDetails = new ArrayList<>();
+        for (ReaderDetailsEntity readerDetail : readerRepostorySqlServer.findPageAfterReaderNumber(afterReaderNumber == null ? "" : afterReaderNumber, PageRequest.of(0, limit))) {
+            readerDetails.add(readerEntityMapper.toModel(readerDetail));
+        }
+        return readerDetails;
+    }
+
     @Override
     public Iterable<ReaderDetails> findAll() {
         List<ReaderDetails> readerDetails = new ArrayList<>();
@@ -14,6 +14,7 @@ import pt.psoft.g1.psoftg1.readermanagement.publishers.ReaderEventPublisher;
 import pt.psoft.g1.psoftg1.readermanagement.repositories.ReaderRepository;
 import pt.psoft.g1.psoftg1.shared.repositories.ForbiddenNameRepository;
 import pt.psoft.g1.psoftg1.shared.repositories.PhotoRepository;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionService;
 import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
 import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
 
@@ -32,6 +33,7 @@ public class ReaderServiceImpl implements ReaderService {
     private final PhotoRepository photoRepository;
     private final ReaderEventPublisher readerEventPublisher;
     private final ReaderViewAMQPMapper readerViewAMQPMapper;
+    private final BookSuggestionService bookSuggestionService;
 
 
     @Override
@@ -218,6 +220,7 @@ public class ReaderServiceImpl implements ReaderService {
         }catch (Exception e){
             throw new NotFoundException("Cannot delete reader");
         }
+        bookSuggestionService.readerRemoved(readerDetails.getReaderNumber());
 
     }
 
@@ -301,6 +304,15 @@ public class ReaderServiceImpl implements ReaderService {
         return list;
     }
 
+    @Override
+    public List<ReaderViewAMQP> getReadersAfter(String afterReaderNumber, int limit) {
+        List<ReaderViewAMQP> readerViewAMQPList = new ArrayList<>();
+        for (ReaderDetails readerDetail : readerRepo.findPageAfterReaderNumber(afterReaderNumber, limit)) {
+            readerViewAMQPList.add(readerViewAMQPMapper.toReaderViewAMQP(readerDetail));
+        }
+        return readerViewAMQPList;
+    }
+
     @Override
     public List<ReaderViewAMQP> getAllReaders() {
         List<ReaderViewAMQP> readerViewAMQPList = new ArrayList<>();
@@ -0,0 +1,22 @@
+package pt.psoft.g1.psoftg1.shared.api;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last message of a streaming snapshot. Per aggregate: chunks and items sent, and a CRC32 running over
+ * the bodies of those chunks in order, so the requester can check it received exactly what was sent.
+ */
+@Data
+public class SnapshotManifest {
+
+    private String snapshotId;
+
+    private Map<String, Integer> chunks = new HashMap<>();
+
+    private Map<String, Long> items = new HashMap<>();
+
+    private Map<String, Long> checksums = new HashMap<>();
+}
@@ -0,0 +1,71 @@
+package pt.psoft.g1.psoftg1.shared.infrastructure.amqp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire format of the streaming bootstrap snapshot.
+ *
+ * A snapshot is a run of chunk messages followed by one manifest message, all sent to the requester's
+ * reply queue with the request's correlation id. A chunk body is one page of an aggregate's views as a
+ * gzip'd JSON array; its headers carry the aggregate, the chunk sequence number within the aggregate,
+ * the last key of the page (the point to resume from) and the CRC32 of the body.
+ *
+ * Every replica bound to the request answers it, each stamping its messages with its responder id: the
+ * requester keeps the replica whose message arrives first and drops the others.
+ */
+public final class SnapshotChunks {
+
+    public static final String MODE_HEADER = "x-snapshot-mode";
+    public static final String MODE_STREAM = "stream";
+
+    public static final String RESPONDER_HEADER = "x-snapshot-responder";
+
+    public static final String TYPE_HEADER = "x-snapshot-type";
+    public static final String TYPE_CHUNK = "chunk";
+    public static final String TYPE_MANIFEST = "manifest";
+
+    public static final String AGGREGATE_HEADER = "x-snapshot-aggregate";
+    public static final String SEQUENCE_HEADER = "x-snapshot-seq";
+    public static final String LAST_KEY_HEADER = "x-snapshot-last-key";
+    public static final String ITEMS_HEADER = "x-snapshot-items";
+    public static final String CHECKSUM_HEADER = "x-snapshot-crc32";
+
+    public static final String READERS = "readers";
+    public static final String GENRES = "genres";
+    public static final String BOOKS = "books";
+    public static final String LENDINGS = "lendings";
+
+    /**
+     * Streaming order: every aggregate only refers to aggregates sent before it.
+     */
+    public static final List<String> AGGREGATES = List.of(READERS, GENRES, BOOKS, LENDINGS);
+
+    private SnapshotChunks() {
+    }
+
+    public static byte[] encode(List<?> items) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(AmqpCodec.mapper().writeValueAsBytes(items));
+        }
+        return bytes.toByteArray();
+    }
+
+    public static <T> List<T> decode(byte[] body, Class<T> type) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return AmqpCodec.mapper().readerForListOf(type).readValue(gzip);
+        }
+    }
+
+    public static long checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,17 @@
+package pt.psoft.g1.psoftg1.shared.repositories.relational;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import pt.psoft.g1.psoftg1.shared.model.relational.BootstrapCheckpointEntity;
+
+import java.util.List;
+
+public interface BootstrapCheckpointRepositorySqlServer extends CrudRepository<BootstrapCheckpointEntity, String> {
+
+    List<BootstrapCheckpointEntity> findAll();
+
+    @Modifying
+    @Query("UPDATE BootstrapCheckpointEntity c SET c.completed = true, c.updatedAt = CURRENT_TIMESTAMP")
+    int markAllCompleted();
+}
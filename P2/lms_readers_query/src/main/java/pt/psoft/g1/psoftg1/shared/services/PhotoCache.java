@@ -0,0 +1,99 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of photo contents for hot photos, kept off-heap in direct buffers so cached images do not
+ * add to GC work. An entry is only served while the file's modification time matches.
+ * Disabled when photo.cache.max-bytes is 0.
+ */
+@Component
+public class PhotoCache {
+
+    private record Entry(ByteBuffer content, long lastModified) {
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PhotoCache(@Value("${photo.cache.max-bytes:16777216}") long maxBytes,
+                      @Value("${photo.cache.max-entry-bytes:262144}") long maxEntryBytes,
+                      MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.hits = Counter.builder("photo.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("photo.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("photo.cache.hit.ratio", this, PhotoCache::hitRatio).register(meterRegistry);
+        Gauge.builder("photo.cache.bytes", this, PhotoCache::usedBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Whether a photo of this size would be cached.
+     */
+    public boolean accepts(long size) {
+        return isEnabled() && size <= maxEntryBytes;
+    }
+
+    /**
+     * Cached content of the file, as a read-only view of its own, or null when absent or stale.
+     */
+    public synchronized ByteBuffer get(String fileName, long lastModified) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry entry = entries.get(fileName);
+        if (entry == null || entry.lastModified() != lastModified) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.content().asReadOnlyBuffer();
+    }
+
+    /**
+     * Caches the content (flipped, ready to read), evicting least recently served photos to stay within bounds.
+     */
+    public synchronized void put(String fileName, long lastModified, ByteBuffer content) {
+        if (!accepts(content.remaining())) {
+            return;
+        }
+        Entry previous = entries.put(fileName, new Entry(content, lastModified));
+        if (previous != null) {
+            usedBytes -= previous.content().capacity();
+        }
+        usedBytes += content.capacity();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().content().capacity();
+            eldest.remove();
+        }
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
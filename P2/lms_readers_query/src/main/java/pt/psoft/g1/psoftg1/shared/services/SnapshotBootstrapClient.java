@@ -0,0 +1,185 @@
+package pt.psoft.g1.psoftg1.shared.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotManifest;
+import pt.psoft.g1.psoftg1.shared.api.SnapshotRequest;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.SnapshotChunks;
+import pt.psoft.g1.psoftg1.shared.model.relational.BootstrapCheckpointEntity;
+import pt.psoft.g1.psoftg1.shared.repositories.relational.BootstrapCheckpointRepositorySqlServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Requesting side of the streaming bootstrap snapshot (see SnapshotChunks).
+ *
+ * Chunks are pulled from a private reply queue, so the service's listener containers can stay stopped
+ * meanwhile. Each chunk is applied in its own transaction together with its aggregate's checkpoint: an
+ * interrupted bootstrap keeps what it applied and asks only for the rest on the next start.
+ *
+ * Every running replica answers the request; the snapshot is taken from the first one to answer.
+ */
+@Component
+@RequiredArgsConstructor
+public class SnapshotBootstrapClient {
+
+    /**
+     * Applies one chunk body of the given aggregate; runs inside the chunk's transaction.
+     */
+    @FunctionalInterface
+    public interface ChunkApplier {
+        void apply(String aggregate, byte[] body) throws IOException;
+    }
+
+    private final RabbitTemplate template;
+    private final DirectExchange direct;
+    private final AmqpAdmin amqpAdmin;
+    private final BootstrapCheckpointRepositorySqlServer checkpointRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /** How long to wait for the first answer: with no replica running, the request goes unanswered. */
+    @Value("${bootstrap.snapshot.first-chunk-timeout-ms:5000}")
+    private long firstChunkTimeoutMillis;
+
+    @Value("${bootstrap.snapshot.chunk-timeout-ms:30000}")
+    private long chunkTimeoutMillis;
+
+    /**
+     * Requests a snapshot and applies it chunk by chunk.
+     *
+     * @return true once the manifest confirmed every chunk was applied; false when no replica answered in
+     * time or the responder does not stream (what was applied so far stays checkpointed)
+     * @throws IllegalStateException on a corrupt, out-of-order or incomplete snapshot
+     */
+    public boolean fetch(ChunkApplier applier) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        SnapshotRequest request = resumeRequest();
+
+        String replyQueue = Objects.requireNonNull(amqpAdmin.declareQueue()).getName();
+        try {
+            String correlationId = UUID.randomUUID().toString();
+            MessageProperties props = new MessageProperties();
+            props.setCorrelationId(correlationId);
+            props.setReplyTo(replyQueue);
+            props.setHeader(SnapshotChunks.MODE_HEADER, SnapshotChunks.MODE_STREAM);
+            template.send(direct.getName(), "rpc.bootstrap.request",
+                    new Message(AmqpCodec.encode(request).getBytes(StandardCharsets.UTF_8), props));
+
+            Map<String, Integer> chunks = new HashMap<>();
+            Map<String, Long> items = new HashMap<>();
+            Map<String, CRC32> checksums = new HashMap<>();
+            String responder = null;
+
+            while (true) {
+                long timeout = responder == null ? firstChunkTimeoutMillis : chunkTimeoutMillis;
+                Message message = template.receive(replyQueue, timeout);
+                if (message == null) {
+                    System.out.println(responder == null
+                            ? " [x] No replica answered the snapshot request within " + timeout + " ms"
+                            : " [x] Snapshot stalled: no chunk within " + timeout + " ms");
+                    return false;
+                }
+                MessageProperties properties = message.getMessageProperties();
+                if (!correlationId.equals(properties.getCorrelationId())) {
+                    continue;
+                }
+                String from = properties.getHeader(SnapshotChunks.RESPONDER_HEADER);
+                if (responder == null && from != null) {
+                    responder = from;
+                } else if (responder != null && !responder.equals(from)) {
+                    // Another replica answering the same request
+                    continue;
+                }
+
+                Object type = properties.getHeader(SnapshotChunks.TYPE_HEADER);
+                if (SnapshotChunks.TYPE_MANIFEST.equals(type)) {
+                    verify(AmqpCodec.decode(message.getBody(), SnapshotManifest.class), chunks, items, checksums);
+                    transaction.executeWithoutResult(status -> checkpointRepository.markAllCompleted());
+                    System.out.println(" [x] Snapshot applied: " + items);
+                    return true;
+                }
+                if (!SnapshotChunks.TYPE_CHUNK.equals(type)) {
+                    System.out.println(" [x] Responder does not stream snapshots");
+                    return false;
+                }
+
+                String aggregate = properties.getHeader(SnapshotChunks.AGGREGATE_HEADER);
+                String lastKey = properties.getHeader(SnapshotChunks.LAST_KEY_HEADER);
+                int sequence = ((Number) properties.getHeader(SnapshotChunks.SEQUENCE_HEADER)).intValue();
+                long checksum = ((Number) properties.getHeader(SnapshotChunks.CHECKSUM_HEADER)).longValue();
+                byte[] body = message.getBody();
+
+                if (sequence != chunks.getOrDefault(aggregate, 0)) {
+                    throw new IllegalStateException("Snapshot chunk " + sequence + " of " + aggregate + " is out of order");
+                }
+                if (SnapshotChunks.checksum(body) != checksum) {
+                    throw new IllegalStateException("Snapshot chunk " + sequence + " of " + aggregate + " is corrupt");
+                }
+
+                transaction.executeWithoutResult(status -> {
+                    try {
+                        applier.apply(aggregate, body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    checkpointRepository.save(new BootstrapCheckpointEntity(aggregate, lastKey));
+                });
+
+                chunks.merge(aggregate, 1, Integer::sum);
+                items.merge(aggregate, ((Number) properties.getHeader(SnapshotChunks.ITEMS_HEADER)).longValue(), Long::sum);
+                checksums.computeIfAbsent(aggregate, key -> new CRC32()).update(body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            amqpAdmin.deleteQueue(replyQueue);
+        }
+    }
+
+    /**
+     * Resumes an interrupted snapshot from its checkpoints; otherwise starts over.
+     */
+    private SnapshotRequest resumeRequest() {
+        SnapshotRequest request = new SnapshotRequest();
+        List<BootstrapCheckpointEntity> checkpoints = checkpointRepository.findAll();
+        if (checkpoints.stream().anyMatch(checkpoint -> !checkpoint.isCompleted())) {
+            for (BootstrapCheckpointEntity checkpoint : checkpoints) {
+                request.getResumeAfter().put(checkpoint.getAggregate(), checkpoint.getLastKey());
+            }
+            System.out.println(" [x] Resuming interrupted snapshot after " + request.getResumeAfter());
+        } else {
+            checkpointRepository.deleteAll();
+        }
+        return request;
+    }
+
+    private static void verify(SnapshotManifest manifest, Map<String, Integer> chunks, Map<String, Long> items,
+                               Map<String, CRC32> checksums) {
+        for (String aggregate : SnapshotChunks.AGGREGATES) {
+            long expectedChecksum = manifest.getChecksums().getOrDefault(aggregate, new CRC32().getValue());
+            long receivedChecksum = checksums.getOrDefault(aggregate, new CRC32()).getValue();
+            if (!Objects.equals(manifest.getChunks().getOrDefault(aggregate, 0), chunks.getOrDefault(aggregate, 0))
+                    || !Objects.equals(manifest.getItems().getOrDefault(aggregate, 0L), items.getOrDefault(aggregate, 0L))
+                    || expectedChecksum != receivedChecksum) {
+                throw new IllegalStateException("Snapshot of " + aggregate + " does not match its manifest");
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pt.psoft.g1.psoftg1.suggestionmanagement.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A book suggested to a reader, with the number of readers who lent it.")
+public class BookSuggestionView {
+    private String isbn;
+    private String title;
+    private String genre;
+    private int readers;
+
+    public static BookSuggestionView of(BookSuggestion suggestion) {
+        return new BookSuggestionView(suggestion.isbn(), suggestion.title(), suggestion.genre(), suggestion.readers());
+    }
+}
@@ -0,0 +1,7 @@
+package pt.psoft.g1.psoftg1.suggestionmanagement.model;
+
+/**
+ * A book suggested to a reader, with the number of distinct readers who lent it.
+ */
+public record BookSuggestion(String isbn, String title, String genre, int readers) {
+}
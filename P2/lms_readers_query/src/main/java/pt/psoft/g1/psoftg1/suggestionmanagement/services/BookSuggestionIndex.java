@@ -0,0 +1,327 @@
+package pt.psoft.g1.psoftg1.suggestionmanagement.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory popularity ranking behind the book suggestions.
+ *
+ * Every book gets a dense id. Each genre keeps an array of its books, ordered by the number of distinct
+ * readers who lent them. A new lending swaps the book with the first book that has its old count, so the
+ * ranking stays current without re-sorting. The books a reader lent are a sorted array of ids, replaced
+ * whenever it changes.
+ *
+ * The index counts readers rather than lendings. Every update is therefore idempotent: replaying an event,
+ * or rebuilding while events arrive, never counts a lending twice.
+ *
+ * Only the first suggestions.candidates-per-genre books of a genre are candidates. Each genre has a version
+ * that changes whenever one of its candidates changes, and BookSuggestionServiceImpl checks it before
+ * serving a cached suggestion.
+ */
+@Component
+public class BookSuggestionIndex {
+
+    /**
+     * Suggestions of a reader, with the stamp (sum of the genre versions) they were computed at
+     */
+    public record Suggestions(List<BookSuggestion> books, long stamp) {
+    }
+
+    private static final int[] NONE = new int[0];
+
+    private static final class GenreRanking {
+        private final String name;
+        private int[] order = new int[16];
+        private int size;
+        private long version;
+
+        private GenreRanking(String name) {
+            this.name = name;
+        }
+    }
+
+    private final int candidatesPerGenre;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] isbns = new String[1024];
+    private String[] titles = new String[1024];
+    private GenreRanking[] rankings = new GenreRanking[1024];
+    private int[] readers = new int[1024];
+    private int[] positions = new int[1024];
+    private int books;
+
+    private final Map<String, GenreRanking> genres = new HashMap<>();
+    private final Map<String, int[]> lent = new HashMap<>();
+
+    public BookSuggestionIndex(@Value("${suggestions.candidates-per-genre:50}") int candidatesPerGenre) {
+        this.candidatesPerGenre = candidatesPerGenre;
+    }
+
+    /**
+     * Adds a book, or updates its title and genre
+     */
+    public void bookSaved(String isbn, String title, String genre) {
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(isbn);
+            if (id == null) {
+                id = newId(isbn, title);
+                insert(genres.computeIfAbsent(genre, GenreRanking::new), id);
+                return;
+            }
+            if (!rankings[id].name.equals(genre)) {
+                remove(rankings[id], id);
+                insert(genres.computeIfAbsent(genre, GenreRanking::new), id);
+            }
+            if (!Objects.equals(titles[id], title)) {
+                titles[id] = title;
+                touched(rankings[id], positions[id]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that the reader lent the book
+     *
+     * @return false when that was already recorded or the book is unknown
+     */
+    public boolean lendingSaved(String readerNumber, String isbn) {
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(isbn);
+            if (id == null) {
+                return false;
+            }
+            int[] current = lent.getOrDefault(readerNumber, NONE);
+            int at = Arrays.binarySearch(current, id);
+            if (at >= 0) {
+                return false;
+            }
+            int insertion = -at - 1;
+            int[] updated = new int[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertion);
+            updated[insertion] = id;
+            System.arraycopy(current, insertion, updated, insertion + 1, current.length - insertion);
+            lent.put(readerNumber, updated);
+            increment(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets that the reader lent the book, once the reader has no lending of it left
+     *
+     * @return false when it was not recorded
+     */
+    public boolean lendingRemoved(String readerNumber, String isbn) {
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(isbn);
+            int[] current = lent.get(readerNumber);
+            if (id == null || current == null) {
+                return false;
+            }
+            int at = Arrays.binarySearch(current, id);
+            if (at < 0) {
+                return false;
+            }
+            if (current.length == 1) {
+                lent.remove(readerNumber);
+            } else {
+                int[] updated = new int[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, at);
+                System.arraycopy(current, at + 1, updated, at, current.length - at - 1);
+                lent.put(readerNumber, updated);
+            }
+            decrement(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the lent books of a deleted reader; the popularity of those books is kept
+     */
+    public void readerRemoved(String readerNumber) {
+        lock.writeLock().lock();
+        try {
+            lent.remove(readerNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limitPerGenre of the most lent candidates of each genre that the reader has not lent yet,
+     * genre by genre in the given order
+     */
+    public Suggestions suggest(String readerNumber, Collection<String> interests, int limitPerGenre) {
+        lock.readLock().lock();
+        try {
+            int[] excluded = lent.getOrDefault(readerNumber, NONE);
+            List<BookSuggestion> suggestions = new ArrayList<>();
+            long stamp = 0;
+            for (String genre : interests) {
+                GenreRanking ranking = genres.get(genre);
+                if (ranking == null) {
+                    continue;
+                }
+                stamp += ranking.version;
+                int depth = Math.min(ranking.size, candidatesPerGenre);
+                int found = 0;
+                for (int position = 0; position < depth && found < limitPerGenre; position++) {
+                    int id = ranking.order[position];
+                    if (Arrays.binarySearch(excluded, id) < 0) {
+                        suggestions.add(new BookSuggestion(isbns[id], titles[id], genre, readers[id]));
+                        found++;
+                    }
+                }
+            }
+            return new Suggestions(suggestions, stamp);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current stamp of the genres; a suggestion computed at another stamp may be stale
+     */
+    public long stamp(Collection<String> interests) {
+        lock.readLock().lock();
+        try {
+            long stamp = 0;
+            for (String genre : interests) {
+                GenreRanking ranking = genres.get(genre);
+                if (ranking != null) {
+                    stamp += ranking.version;
+                }
+            }
+            return stamp;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bookCount() {
+        lock.readLock().lock();
+        try {
+            return books;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int newId(String isbn, String title) {
+        if (books == isbns.length) {
+            int capacity = books * 2;
+            isbns = Arrays.copyOf(isbns, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            rankings = Arrays.copyOf(rankings, capacity);
+            readers = Arrays.copyOf(readers, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        int id = books++;
+        ids.put(isbn, id);
+        isbns[id] = isbn;
+        titles[id] = title;
+        return id;
+    }
+
+    private void increment(int id) {
+        GenreRanking ranking = rankings[id];
+        int position = positions[id];
+        // The first book with the same count: swapping with it keeps the ranking ordered
+        int first = firstBelow(ranking, 0, position, readers[id] + 1);
+        swap(ranking, position, first);
+        readers[id]++;
+        touched(ranking, first);
+    }
+
+    private void decrement(int id) {
+        GenreRanking ranking = rankings[id];
+        int position = positions[id];
+        // The last book with the same count
+        int last = firstBelow(ranking, position, ranking.size, readers[id]) - 1;
+        swap(ranking, position, last);
+        readers[id]--;
+        touched(ranking, position);
+    }
+
+    private void insert(GenreRanking ranking, int id) {
+        // After the books with as many readers; a new book (no readers) is appended
+        int position = firstBelow(ranking, 0, ranking.size, readers[id]);
+        if (ranking.size == ranking.order.length) {
+            ranking.order = Arrays.copyOf(ranking.order, ranking.size * 2);
+        }
+        System.arraycopy(ranking.order, position, ranking.order, position + 1, ranking.size - position);
+        ranking.order[position] = id;
+        ranking.size++;
+        for (int i = position; i < ranking.size; i++) {
+            positions[ranking.order[i]] = i;
+        }
+        rankings[id] = ranking;
+        touched(ranking, position);
+    }
+
+    private void remove(GenreRanking ranking, int id) {
+        int position = positions[id];
+        System.arraycopy(ranking.order, position + 1, ranking.order, position, ranking.size - position - 1);
+        ranking.size--;
+        for (int i = position; i < ranking.size; i++) {
+            positions[ranking.order[i]] = i;
+        }
+        touched(ranking, position);
+    }
+
+    /**
+     * First position in [from, to) whose book has fewer than the given readers, or to
+     */
+    private int firstBelow(GenreRanking ranking, int from, int to, int bound) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (readers[ranking.order[middle]] < bound) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void swap(GenreRanking ranking, int a, int b) {
+        if (a == b) {
+            return;
+        }
+        int first = ranking.order[a];
+        int second = ranking.order[b];
+        ranking.order[a] = second;
+        ranking.order[b] = first;
+        positions[second] = a;
+        positions[first] = b;
+    }
+
+    private void touched(GenreRanking ranking, int position) {
+        if (position < candidatesPerGenre) {
+            ranking.version++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package pt.psoft.g1.psoftg1.suggestionmanagement.services;
+
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+
+import java.util.List;
+
+/**
+ * Book suggestions of a reader: the most lent books of each genre in the reader's interest list that the
+ * reader has not lent yet, at most suggestionsLimitPerGenre per genre.
+ */
+public interface BookSuggestionService {
+
+    List<BookSuggestion> getSuggestions(ReaderDetails readerDetails);
+
+    List<BookSuggestion> getSuggestions(String readerNumber, List<String> interests);
+
+    void bookSaved(Book book);
+
+    void lendingSaved(String readerNumber, String isbn);
+
+    /**
+     * Called once the reader has no lending of the book left
+     */
+    void lendingRemoved(String readerNumber, String isbn);
+
+    void readerRemoved(String readerNumber);
+
+    /**
+     * Reloads the index from the stored books and lendings
+     *
+     * @return the number of lendings read
+     */
+    long rebuild();
+}
@@ -0,0 +1,174 @@
+package pt.psoft.g1.psoftg1.suggestionmanagement.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pt.psoft.g1.psoftg1.bookmanagement.model.Book;
+import pt.psoft.g1.psoftg1.bookmanagement.repositories.BookRepository;
+import pt.psoft.g1.psoftg1.genremanagement.model.Genre;
+import pt.psoft.g1.psoftg1.lendingmanagement.model.Lending;
+import pt.psoft.g1.psoftg1.lendingmanagement.repositories.LendingRepository;
+import pt.psoft.g1.psoftg1.readermanagement.model.ReaderDetails;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves suggestions from BookSuggestionIndex through a bounded LRU keyed by reader number
+ * (suggestions.cache.max-entries).
+ *
+ * A cached entry is served while the reader's interest list is unchanged and the index stamp of those
+ * genres still matches. Lending or returning a candidate book changes the stamp, and so does any other
+ * change to a candidate, so no event has to evict entries. Books and lendings reach the index through
+ * BookServiceImpl and LendingServiceImpl. Rows stored by the bootstrapper are read back once the
+ * application is ready.
+ *
+ * Metrics:
+ * - book.suggestions.cache.requests{result=hit|miss}: a miss being one walk of the index
+ */
+@Service
+@PropertySource({"classpath:config/library.properties"})
+public class BookSuggestionServiceImpl implements BookSuggestionService {
+
+    private static final int PAGE_SIZE = 500;
+
+    private record Entry(List<String> interests, long stamp, List<BookSuggestion> books) {
+    }
+
+    private final BookSuggestionIndex index;
+    private final BookRepository bookRepository;
+    private final LendingRepository lendingRepository;
+    private final int suggestionsLimitPerGenre;
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public BookSuggestionServiceImpl(BookSuggestionIndex index,
+                                     BookRepository bookRepository,
+                                     LendingRepository lendingRepository,
+                                     @Value("${suggestionsLimitPerGenre}") long suggestionsLimitPerGenre,
+                                     @Value("${suggestions.cache.max-entries:10000}") int maxEntries,
+                                     MeterRegistry meterRegistry) {
+        this.index = index;
+        this.bookRepository = bookRepository;
+        this.lendingRepository = lendingRepository;
+        this.suggestionsLimitPerGenre = (int) suggestionsLimitPerGenre;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > BookSuggestionServiceImpl.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("book.suggestions.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("book.suggestions.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("book.suggestions.cache.size", this, BookSuggestionServiceImpl::size).register(meterRegistry);
+    }
+
+    @Override
+    public List<BookSuggestion> getSuggestions(ReaderDetails readerDetails) {
+        List<String> interests = readerDetails.getInterestList() == null ? List.of()
+                : readerDetails.getInterestList().stream().map(Genre::toString).distinct().toList();
+        return getSuggestions(readerDetails.getReaderNumber(), interests);
+    }
+
+    @Override
+    public List<BookSuggestion> getSuggestions(String readerNumber, List<String> interests) {
+        if (interests.isEmpty()) {
+            return List.of();
+        }
+
+        Entry cached = cached(readerNumber);
+        if (cached != null && cached.interests().equals(interests) && cached.stamp() == index.stamp(interests)) {
+            hits.increment();
+            return cached.books();
+        }
+        misses.increment();
+
+        BookSuggestionIndex.Suggestions suggestions = index.suggest(readerNumber, interests, suggestionsLimitPerGenre);
+        List<BookSuggestion> books = List.copyOf(suggestions.books());
+        synchronized (this) {
+            entries.put(readerNumber, new Entry(List.copyOf(interests), suggestions.stamp(), books));
+        }
+        return books;
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        index.bookSaved(book.getIsbn(), book.getTitle().toString(), book.getGenre().toString());
+    }
+
+    @Override
+    public void lendingSaved(String readerNumber, String isbn) {
+        index.lendingSaved(readerNumber, isbn);
+    }
+
+    @Override
+    public void lendingRemoved(String readerNumber, String isbn) {
+        index.lendingRemoved(readerNumber, isbn);
+    }
+
+    @Override
+    public void readerRemoved(String readerNumber) {
+        index.readerRemoved(readerNumber);
+        synchronized (this) {
+            entries.remove(readerNumber);
+        }
+    }
+
+    /**
+     * Index updates are idempotent, so events arriving while this runs are not counted twice.
+     */
+    @Override
+    public long rebuild() {
+        List<Book> books;
+        String afterIsbn = null;
+        do {
+            books = bookRepository.findPageAfterIsbn(afterIsbn, PAGE_SIZE);
+            for (Book book : books) {
+                bookSaved(book);
+                afterIsbn = book.getIsbn();
+            }
+        } while (books.size() == PAGE_SIZE);
+
+        long count = 0;
+        List<Lending> lendings;
+        String afterLendingNumber = null;
+        do {
+            lendings = lendingRepository.findPageAfterLendingNumber(afterLendingNumber, PAGE_SIZE);
+            for (Lending lending : lendings) {
+                index.lendingSaved(lending.getReaderDetails().getReaderNumber(), lending.getBook().getIsbn());
+                afterLendingNumber = lending.getLendingNumber();
+                count++;
+            }
+        } while (lendings.size() == PAGE_SIZE);
+        return count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            long lendings = rebuild();
+            System.out.println(" [x] Book suggestions indexed " + index.bookCount() + " books and " + lendings + " lendings.");
+        } catch (Exception e) {
+            System.out.println(" [x] Could not index book suggestions: " + e.getMessage());
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry cached(String readerNumber) {
+        return entries.get(readerNumber);
+    }
+}
@@ -1,12 +1,13 @@
 package pt.psoft.g1.psoftg1.usermanagement.listeners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.usermanagement.api.UserViewAMQP;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
 import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 import java.nio.charset.StandardCharsets;
 
@@ -15,13 +16,13 @@ import java.nio.charset.StandardCharsets;
 public class UserEventListener {
 
     private final UserService userService;
+    private final PrincipalResolver principalResolver;
 
     @RabbitListener(queues = "#{userCreatedQueue.name}")
     public void receiveUserCreated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            UserViewAMQP userViewAMQP = objectMapper.readValue(jsonReceived, UserViewAMQP.class);
+            UserViewAMQP userViewAMQP = AmqpCodec.decode(jsonReceived, UserViewAMQP.class);
 
             System.out.println(" [x] Received User Created by AMQP in readers_command: " + jsonReceived);
             try {
@@ -40,14 +41,14 @@ public class UserEventListener {
     @RabbitListener(queues = "#{userUpdatedQueue.name}")
     public void receiveUserUpdated(Message msg) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonReceived = new String(msg.getBody(), StandardCharsets.UTF_8);
-            UserViewAMQP userViewAMQP = objectMapper.readValue(jsonReceived, UserViewAMQP.class);
+            UserViewAMQP userViewAMQP = AmqpCodec.decode(jsonReceived, UserViewAMQP.class);
 
             System.out.println(" [x] Received User Updated by AMQP in readers_command: " + jsonReceived);
             try {
                 // Process user update event - might need to update reader details or local cache
                 userService.handleUserUpdated(userViewAMQP);
+                principalResolver.invalidate(userViewAMQP.getUsername());
                 System.out.println(" [x] User updated event processed successfully in readers_command");
             } catch (Exception e) {
                 System.out.println(" [x] Error processing user updated event: " + e.getMessage());
@@ -63,6 +64,7 @@ public class UserEventListener {
         try {
             // Process user deletion event - might need to handle reader cleanup
             userService.handleUserDeleted(username);
+            principalResolver.invalidate(username);
             System.out.println(" [x] User deleted event processed successfully in readers_command");
         } catch (Exception ex) {
             System.out.println(" [x] Exception processing user deleted event: '" + ex.getMessage() + "'");
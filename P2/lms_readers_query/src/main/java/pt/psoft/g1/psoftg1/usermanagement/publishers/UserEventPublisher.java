@@ -1,6 +1,5 @@
 package pt.psoft.g1.psoftg1.usermanagement.publishers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pt.psoft.g1.psoftg1.shared.model.UserEvents;
 import pt.psoft.g1.psoftg1.usermanagement.api.UserViewAMQP;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.AmqpCodec;
 
 @Component
 @RequiredArgsConstructor
@@ -20,8 +20,7 @@ public class UserEventPublisher {
 
     public void sendUserCreated(UserViewAMQP event) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString = objectMapper.writeValueAsString(event);
+            String jsonString = AmqpCodec.encode(event);
             this.template.convertAndSend(direct.getName(), UserEvents.USER_CREATED, jsonString);
             System.out.println(" [x] Sent User Created event: '" + jsonString + "'");
         } catch (Exception ex) {
@@ -31,8 +30,7 @@ public class UserEventPublisher {
 
     public void sendUserUpdated(UserViewAMQP event) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString = objectMapper.writeValueAsString(event);
+            String jsonString = AmqpCodec.encode(event);
             this.template.convertAndSend(direct.getName(), UserEvents.USER_UPDATED, jsonString);
             System.out.println(" [x] Sent User Updated event: '" + jsonString + "'");
         } catch (Exception ex) {
@@ -0,0 +1,159 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionIndex;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestions (2 per genre) for 100k readers, each with 3 interests out of 20 genres of 500 books and
+ * about 12 lent books. Lendings are skewed towards a few books per genre, so the most lent books are often
+ * already lent and must be skipped. One operation generates suggestions for every reader:
+ * - before: as clients did it, pulling the whole genre list (most lent first) and filtering out the lent books
+ * - indexed: BookSuggestionIndex walk, no cache
+ * - cached: BookSuggestionServiceImpl with every reader cached (stamp check only)
+ *
+ * Run like AmqpDecodeBenchmark:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.BookSuggestionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSuggestionBenchmark {
+
+    private static final int READERS = 100_000;
+    private static final int GENRES = 20;
+    private static final int BOOKS_PER_GENRE = 500;
+    private static final int INTERESTS = 3;
+    private static final int LENDINGS_PER_READER = 12;
+    private static final int LIMIT_PER_GENRE = 2;
+
+    private String[] readerNumbers;
+    private List<String>[] interests;
+    private BookSuggestionIndex index;
+    private BookSuggestionServiceImpl service;
+
+    // The "before" data: each genre's books, most lent first, and the isbns each reader lent
+    private Map<String, List<BookSuggestion>> genreLists;
+    private Set<String>[] lentIsbns;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = new Random(42);
+        index = new BookSuggestionIndex(50);
+        service = new BookSuggestionServiceImpl(index, null, null, LIMIT_PER_GENRE, READERS, new SimpleMeterRegistry());
+
+        String[][] isbns = new String[GENRES][BOOKS_PER_GENRE];
+        for (int genre = 0; genre < GENRES; genre++) {
+            for (int book = 0; book < BOOKS_PER_GENRE; book++) {
+                isbns[genre][book] = String.format("978%02d%08d", genre, book);
+                index.bookSaved(isbns[genre][book], "Title " + genre + "-" + book, "Genre " + genre);
+            }
+        }
+
+        readerNumbers = new String[READERS];
+        interests = new List[READERS];
+        lentIsbns = new Set[READERS];
+        Map<String, Integer> readersPerBook = new HashMap<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            readerNumbers[reader] = "2024/" + (reader + 1);
+            Set<Integer> genres = new LinkedHashSet<>();
+            while (genres.size() < INTERESTS) {
+                genres.add(random.nextInt(GENRES));
+            }
+            interests[reader] = genres.stream().map(genre -> "Genre " + genre).toList();
+
+            lentIsbns[reader] = new HashSet<>();
+            Integer[] interestGenres = genres.toArray(new Integer[0]);
+            for (int lending = 0; lending < LENDINGS_PER_READER; lending++) {
+                // Mostly books of the reader's interests, and mostly the first books of a genre
+                int genre = random.nextInt(4) == 0 ? random.nextInt(GENRES) : interestGenres[random.nextInt(INTERESTS)];
+                int book = (int) (BOOKS_PER_GENRE * Math.pow(random.nextDouble(), 4));
+                String isbn = isbns[genre][book];
+                if (index.lendingSaved(readerNumbers[reader], isbn)) {
+                    lentIsbns[reader].add(isbn);
+                    readersPerBook.merge(isbn, 1, Integer::sum);
+                }
+            }
+        }
+
+        genreLists = new HashMap<>();
+        for (int genre = 0; genre < GENRES; genre++) {
+            List<BookSuggestion> books = new ArrayList<>();
+            for (String isbn : isbns[genre]) {
+                books.add(new BookSuggestion(isbn, "Title", "Genre " + genre, readersPerBook.getOrDefault(isbn, 0)));
+            }
+            books.sort(Comparator.comparingInt(BookSuggestion::readers).reversed());
+            genreLists.put("Genre " + genre, books);
+        }
+    }
+
+    @Benchmark
+    public long before() {
+        long suggestions = 0;
+        for (int reader = 0; reader < READERS; reader++) {
+            Set<String> lent = lentIsbns[reader];
+            for (String genre : interests[reader]) {
+                List<BookSuggestion> genreList = new ArrayList<>(genreLists.get(genre));
+                suggestions += genreList.stream()
+                        .filter(book -> !lent.contains(book.isbn()))
+                        .limit(LIMIT_PER_GENRE)
+                        .count();
+            }
+        }
+        return suggestions;
+    }
+
+    @Benchmark
+    public long indexed() {
+        long suggestions = 0;
+        for (int reader = 0; reader < READERS; reader++) {
+            suggestions += index.suggest(readerNumbers[reader], interests[reader], LIMIT_PER_GENRE).books().size();
+        }
+        return suggestions;
+    }
+
+    @Benchmark
+    public long cached() {
+        long suggestions = 0;
+        for (int reader = 0; reader < READERS; reader++) {
+            suggestions += service.getSuggestions(readerNumbers[reader], interests[reader]).size();
+        }
+        return suggestions;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookSuggestionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
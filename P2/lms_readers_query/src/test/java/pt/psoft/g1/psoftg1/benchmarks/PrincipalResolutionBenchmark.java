@@ -0,0 +1,109 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import pt.psoft.g1.psoftg1.usermanagement.model.Reader;
+import pt.psoft.g1.psoftg1.usermanagement.model.User;
+import pt.psoft.g1.psoftg1.usermanagement.repositories.UserRepository;
+import pt.psoft.g1.psoftg1.usermanagement.services.AuthenticatedPrincipal;
+import pt.psoft.g1.psoftg1.usermanagement.services.PrincipalResolver;
+import pt.psoft.g1.psoftg1.usermanagement.services.UserService;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal resolution of a reader request (GET /api/readers, GET /api/readers/photo): the user lookup of
+ * UserService.getAuthenticatedUser against PrincipalResolver, for a token with the roles claim and for one
+ * without (cached fallback). The user repository counts findByUsername calls, and the number of database
+ * queries per request of each benchmark is printed at the end of its trial (1.0 before, 0.0 after). The
+ * repository answers from memory, so the times leave out the cost of the query itself.
+ *
+ * Run like AmqpDecodeBenchmark:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.PrincipalResolutionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalResolutionBenchmark {
+
+    private long requests;
+    private long queries;
+
+    private UserService userService;
+    private PrincipalResolver principalResolver;
+    private JwtAuthenticationToken withRoles;
+    private JwtAuthenticationToken withoutRoles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User reader = Reader.newReader("manuel@gmail.com", "Manuelino123!", "Manuel Sarapinto das Coives");
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        queries++;
+                        return Optional.of(reader);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        userService = new UserService(userRepository, null, null, null, null, null);
+        principalResolver = new PrincipalResolver(userRepository, 10_000, 300, new SimpleMeterRegistry());
+
+        withRoles = new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "RS256")
+                .subject("1,manuel@gmail.com").claim("roles", List.of("READER")).build());
+        withoutRoles = new JwtAuthenticationToken(Jwt.withTokenValue("token").header("alg", "RS256")
+                .subject("1,manuel@gmail.com").build());
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n DB queries per request: %.3f (%d requests)%n", (double) queries / requests, requests);
+    }
+
+    @Benchmark
+    public User userLookupPerRequest() {
+        requests++;
+        return userService.getAuthenticatedUser(withRoles);
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal principalFromClaims() {
+        requests++;
+        return principalResolver.resolve(withRoles);
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal principalFromCache() {
+        requests++;
+        return principalResolver.resolve(withoutRoles);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PrincipalResolutionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package pt.psoft.g1.psoftg1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboard;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top 5 readers of the last year among 50k readers with 1M lendings over 3 years, in 20 genres:
+ * - before: what the GROUP BY query did, counting every lending of the range and sorting the readers
+ * - board: ReaderLeaderboard read
+ * - event: one lending created and deleted on the board (two O(log n) updates per window and scope)
+ *
+ * Run like AmqpDecodeBenchmark:
+ * java -cp target/test-classes:target/classes:<test classpath> pt.psoft.g1.psoftg1.benchmarks.ReaderLeaderboardBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderLeaderboardBenchmark {
+
+    private static final int READERS = 50_000;
+    private static final int LENDINGS = 1_000_000;
+    private static final int GENRES = 20;
+    private static final int DAYS = 3 * 365;
+    private static final int TOP = 5;
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    private String[] lendingReaders;
+    private LocalDate[] lendingDays;
+    private ReaderLeaderboard leaderboard;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        leaderboard = new ReaderLeaderboard();
+        leaderboard.load(TODAY, Map.of());
+
+        lendingReaders = new String[LENDINGS];
+        lendingDays = new LocalDate[LENDINGS];
+        for (int lending = 0; lending < LENDINGS; lending++) {
+            // A few readers lend much more than the others
+            String reader = "2024/" + (int) (READERS * Math.pow(random.nextDouble(), 2));
+            LocalDate day = TODAY.minusDays(random.nextInt(DAYS));
+            lendingReaders[lending] = reader;
+            lendingDays[lending] = day;
+            leaderboard.add(reader, "Genre " + random.nextInt(GENRES), day, 1);
+        }
+    }
+
+    @Benchmark
+    public List<ReaderLendingCount> before() {
+        LocalDate from = LeaderboardWindow.LAST_YEAR.startOn(TODAY);
+        Map<String, Long> counts = new HashMap<>();
+        for (int lending = 0; lending < LENDINGS; lending++) {
+            if (!lendingDays[lending].isBefore(from)) {
+                counts.merge(lendingReaders[lending], 1L, Long::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP)
+                .map(entry -> new ReaderLendingCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ReaderLendingCount> board() {
+        return leaderboard.top(LeaderboardWindow.LAST_YEAR, null, TOP);
+    }
+
+    @Benchmark
+    public LocalDate event() {
+        String reader = "2024/" + random.nextInt(READERS);
+        String genre = "Genre " + random.nextInt(GENRES);
+        leaderboard.add(reader, genre, TODAY, 1);
+        leaderboard.add(reader, genre, TODAY, -1);
+        return TODAY;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReaderLeaderboardBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package pt.psoft.g1.psoftg1.unitTests.leaderboardmanagement.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.repositories.ReaderLeaderboardRepository;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboard;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboardServiceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReaderLeaderboardServiceImplTest {
+
+    private final InMemoryReaderLeaderboardRepository repository = new InMemoryReaderLeaderboardRepository();
+    private final ReaderLeaderboard leaderboard = new ReaderLeaderboard();
+    private final ReaderLeaderboardServiceImpl service =
+            new ReaderLeaderboardServiceImpl(repository, leaderboard, new SimpleMeterRegistry());
+    private final ExecutorService listener = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdownNow();
+    }
+
+    @Test
+    void lendingReceivedWhileReloadingIsCountedOnce() throws Exception {
+        LocalDate today = LocalDate.now();
+        repository.addToBucket("2024/1", "Fantasy", today, 2);
+        List<Future<?>> events = new ArrayList<>();
+        // One event per window read, each one after the sums of the previous windows were read
+        repository.beforeSum = () -> {
+            Future<?> event = listener.submit(() -> service.lendingCreated("2024/2", "Horror", today));
+            events.add(event);
+            try {
+                event.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Waiting for the load
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        service.reload();
+        repository.beforeSum = null;
+        for (Future<?> event : events) {
+            event.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(LeaderboardWindow.values().length, events.size());
+        List<ReaderLendingCount> expected = List.of(new ReaderLendingCount("2024/2", 3), new ReaderLendingCount("2024/1", 2));
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            assertEquals(expected, leaderboard.top(window, null, 5));
+            assertEquals(expected, service.getTopReaders(null, window.startOn(today), null, 5));
+        }
+    }
+
+    @Test
+    void reloadCountsTheStoredLendingsWhenThereAreNoBuckets() {
+        service.reload();
+
+        assertEquals(1, repository.rebuilds);
+        assertEquals(LocalDate.now(), leaderboard.day());
+        assertFalse(repository.hasBuckets());
+    }
+
+    /**
+     * Port double keeping the buckets in a map
+     */
+    static class InMemoryReaderLeaderboardRepository implements ReaderLeaderboardRepository {
+        private final Map<String, ReaderLendingBucket> buckets = new ConcurrentHashMap<>();
+        volatile Runnable beforeSum;
+        int rebuilds;
+
+        @Override
+        public void addToBucket(String readerNumber, String genre, LocalDate day, long lendings) {
+            buckets.merge(readerNumber + "|" + genre + "|" + day, new ReaderLendingBucket(readerNumber, genre, day, lendings),
+                    (a, b) -> new ReaderLendingBucket(readerNumber, genre, day, a.lendings() + b.lendings()));
+        }
+
+        @Override
+        public List<ReaderLendingBucket> findBucketsOn(LocalDate day) {
+            return buckets.values().stream().filter(bucket -> bucket.day().equals(day)).toList();
+        }
+
+        @Override
+        public List<ReaderLendingBucket> sumSince(LocalDate from) {
+            Runnable event = beforeSum;
+            if (event != null) {
+                event.run();
+            }
+            return buckets.values().stream().filter(bucket -> !bucket.day().isBefore(from)).toList();
+        }
+
+        @Override
+        public List<ReaderLendingCount> findTopReaders(LocalDate from, LocalDate to, String genre, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasBuckets() {
+            return !buckets.isEmpty();
+        }
+
+        @Override
+        public long rebuildFromLendings() {
+            rebuilds++;
+            return 0;
+        }
+    }
+}
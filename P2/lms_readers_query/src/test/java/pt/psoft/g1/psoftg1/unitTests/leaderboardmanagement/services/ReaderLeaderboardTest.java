@@ -0,0 +1,108 @@
+package pt.psoft.g1.psoftg1.unitTests.leaderboardmanagement.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.LeaderboardWindow;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingBucket;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.model.ReaderLendingCount;
+import pt.psoft.g1.psoftg1.leaderboardmanagement.services.ReaderLeaderboard;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReaderLeaderboardTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    private ReaderLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new ReaderLeaderboard();
+        leaderboard.load(TODAY, Map.of());
+    }
+
+    @Test
+    void countsLendingsInTheWindowsOfTheirStartDate() {
+        lend("2024/1", "Fantasy", TODAY, 2);
+        lend("2024/2", "Horror", TODAY.minusDays(40), 3);
+        lend("2024/3", "Fantasy", TODAY.minusYears(2), 4);
+
+        assertEquals(List.of(new ReaderLendingCount("2024/1", 2)), leaderboard.top(LeaderboardWindow.LAST_30_DAYS, null, 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/2", 3), new ReaderLendingCount("2024/1", 2)),
+                leaderboard.top(LeaderboardWindow.LAST_YEAR, null, 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/3", 4), new ReaderLendingCount("2024/1", 2)),
+                leaderboard.top(LeaderboardWindow.ALL_TIME, "Fantasy", 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/3", 4)), leaderboard.top(LeaderboardWindow.ALL_TIME, null, 1));
+        assertEquals(List.of(), leaderboard.top(LeaderboardWindow.ALL_TIME, "Poetry", 5));
+
+        leaderboard.add("2024/3", "Fantasy", TODAY.minusYears(2), -4);
+        assertEquals(List.of(new ReaderLendingCount("2024/1", 2)), leaderboard.top(LeaderboardWindow.ALL_TIME, "Fantasy", 5));
+    }
+
+    @Test
+    void rollOverTakesTheLeavingDayOutOfTheRollingWindows() {
+        LocalDate leaving = TODAY.minusDays(29);
+        lend("2024/1", "Fantasy", leaving, 3);
+        lend("2024/2", "Fantasy", TODAY, 1);
+
+        int days = leaderboard.rollOver(TODAY.plusDays(1), day -> day.equals(leaving)
+                ? List.of(new ReaderLendingBucket("2024/1", "Fantasy", leaving, 3))
+                : List.of());
+
+        assertEquals(1, days);
+        assertEquals(TODAY.plusDays(1), leaderboard.day());
+        assertEquals(List.of(new ReaderLendingCount("2024/2", 1)), leaderboard.top(LeaderboardWindow.LAST_30_DAYS, "Fantasy", 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/1", 3), new ReaderLendingCount("2024/2", 1)),
+                leaderboard.top(LeaderboardWindow.LAST_YEAR, null, 5));
+    }
+
+    @Test
+    void loadsTheSumsOfEachWindow() {
+        leaderboard.load(TODAY, Map.of(
+                LeaderboardWindow.ALL_TIME, List.of(
+                        new ReaderLendingBucket("2024/1", "Fantasy", TODAY, 5),
+                        new ReaderLendingBucket("2024/1", "Horror", TODAY, 2),
+                        new ReaderLendingBucket("2024/2", "Horror", TODAY, 6)),
+                LeaderboardWindow.LAST_30_DAYS, List.of(new ReaderLendingBucket("2024/2", "Horror", TODAY, 1))));
+
+        assertEquals(List.of(new ReaderLendingCount("2024/1", 7), new ReaderLendingCount("2024/2", 6)),
+                leaderboard.top(LeaderboardWindow.ALL_TIME, null, 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/2", 6), new ReaderLendingCount("2024/1", 2)),
+                leaderboard.top(LeaderboardWindow.ALL_TIME, "Horror", 5));
+        assertEquals(List.of(new ReaderLendingCount("2024/2", 1)), leaderboard.top(LeaderboardWindow.LAST_30_DAYS, null, 5));
+        assertEquals(List.of(), leaderboard.top(LeaderboardWindow.LAST_YEAR, null, 5));
+    }
+
+    @Test
+    void staysSortedUnderRandomEvents() {
+        Random random = new Random(7);
+        Map<String, Long> expected = new HashMap<>();
+        for (int event = 0; event < 20_000; event++) {
+            String reader = "2024/" + random.nextInt(200);
+            long delta = random.nextInt(10) == 0 ? random.nextInt(9) - 4 : (random.nextInt(3) == 0 ? -1 : 1);
+            long updated = Math.max(expected.getOrDefault(reader, 0L) + delta, 0);
+            expected.put(reader, updated);
+            leaderboard.add(reader, "Fantasy", TODAY, delta);
+        }
+
+        List<ReaderLendingCount> top = leaderboard.top(LeaderboardWindow.LAST_30_DAYS, null, 1000);
+        List<Long> expectedCounts = new ArrayList<>(expected.values().stream().filter(count -> count > 0).toList());
+        expectedCounts.sort(Comparator.reverseOrder());
+        assertEquals(expectedCounts, top.stream().map(ReaderLendingCount::lendings).toList());
+        top.forEach(count -> assertEquals(expected.get(count.readerNumber()), count.lendings()));
+    }
+
+    private void lend(String readerNumber, String genre, LocalDate startDate, int lendings) {
+        for (int lending = 0; lending < lendings; lending++) {
+            leaderboard.add(readerNumber, genre, startDate, 1);
+        }
+    }
+}
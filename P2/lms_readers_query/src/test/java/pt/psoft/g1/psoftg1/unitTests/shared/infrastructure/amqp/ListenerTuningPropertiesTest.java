@@ -0,0 +1,66 @@
+package pt.psoft.g1.psoftg1.unitTests.shared.infrastructure.amqp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import pt.psoft.g1.psoftg1.shared.infrastructure.amqp.ListenerTuningProperties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ListenerTuningPropertiesTest {
+
+    private static SimpleMessageListenerContainer container(String listenerId, String queue) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(mock(ConnectionFactory.class));
+        container.setListenerId(listenerId);
+        container.setQueueNames(queue);
+        return container;
+    }
+
+    private static ListenerTuningProperties.Tuning tuning(int concurrency, int maxConcurrency, int prefetch) {
+        ListenerTuningProperties.Tuning tuning = new ListenerTuningProperties.Tuning();
+        tuning.setConcurrency(concurrency);
+        tuning.setMaxConcurrency(maxConcurrency);
+        tuning.setPrefetch(prefetch);
+        return tuning;
+    }
+
+    @Test
+    void tunesAnonymousQueuesByListenerId() {
+        ListenerTuningProperties properties = new ListenerTuningProperties();
+        properties.getListeners().put("lending-created", tuning(2, 4, 50));
+        SimpleMessageListenerContainer container = container("lending-created", "spring.gen-Xq3c2ZJzQyK1d9n0ePo3bA");
+
+        properties.applyTo(container);
+
+        assertEquals(2, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+        assertEquals(4, ReflectionTestUtils.getField(container, "maxConcurrentConsumers"));
+        assertEquals(50, ReflectionTestUtils.getField(container, "prefetchCount"));
+    }
+
+    @Test
+    void listenerIdWinsOverQueueName() {
+        ListenerTuningProperties properties = new ListenerTuningProperties();
+        properties.getListeners().put("lending-created", tuning(2, 4, 50));
+        properties.getQueues().put("lending.created", tuning(1, 1, 10));
+        SimpleMessageListenerContainer container = container("lending-created", "lending.created");
+
+        properties.applyTo(container);
+
+        assertEquals(50, ReflectionTestUtils.getField(container, "prefetchCount"));
+    }
+
+    @Test
+    void containersWithoutSettingsKeepTheirDefaults() {
+        ListenerTuningProperties properties = new ListenerTuningProperties();
+        properties.getListeners().put("lending-created", tuning(2, 4, 50));
+        SimpleMessageListenerContainer container = container("reader-updated", "spring.gen-abc");
+        Object defaultPrefetch = ReflectionTestUtils.getField(container, "prefetchCount");
+
+        properties.applyTo(container);
+
+        assertEquals(1, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+        assertEquals(defaultPrefetch, ReflectionTestUtils.getField(container, "prefetchCount"));
+    }
+}
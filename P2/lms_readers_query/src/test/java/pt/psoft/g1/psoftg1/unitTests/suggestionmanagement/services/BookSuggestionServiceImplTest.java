@@ -0,0 +1,89 @@
+package pt.psoft.g1.psoftg1.unitTests.suggestionmanagement.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.psoft.g1.psoftg1.suggestionmanagement.model.BookSuggestion;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionIndex;
+import pt.psoft.g1.psoftg1.suggestionmanagement.services.BookSuggestionServiceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSuggestionServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookSuggestionIndex index;
+    private BookSuggestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSuggestionIndex(3);
+        service = new BookSuggestionServiceImpl(index, null, null, 2, 100, meterRegistry);
+
+        index.bookSaved("A", "Book A", "Fantasy");
+        index.bookSaved("B", "Book B", "Fantasy");
+        index.bookSaved("C", "Book C", "Fantasy");
+        index.bookSaved("D", "Book D", "Fantasy");
+        index.bookSaved("E", "Book E", "Horror");
+    }
+
+    @Test
+    void suggestsTheMostLentBooksTheReaderHasNotLent() {
+        lend("C", "2024/1", "2024/2", "2024/3");
+        lend("B", "2024/1", "2024/2");
+        lend("A", "2024/1");
+
+        assertEquals(List.of("B", "A", "E"), isbns(service.getSuggestions("2024/3", List.of("Fantasy", "Horror"))));
+        assertEquals(List.of(new BookSuggestion("C", "Book C", "Fantasy", 3), new BookSuggestion("B", "Book B", "Fantasy", 2)),
+                service.getSuggestions("2024/9", List.of("Fantasy")));
+        // Only the first 3 books of a genre are candidates
+        assertEquals(List.of(), service.getSuggestions("2024/1", List.of("Fantasy")));
+        assertEquals(List.of(), service.getSuggestions("2024/1", List.of()));
+    }
+
+    @Test
+    void lendingsAreCountedOncePerReader() {
+        lend("A", "2024/1", "2024/1", "2024/2");
+        lend("B", "2024/3");
+
+        assertEquals(List.of("A", "B"), isbns(service.getSuggestions("2024/9", List.of("Fantasy"))));
+        assertFalse(index.lendingSaved("2024/1", "A"));
+
+        service.lendingRemoved("2024/1", "A");
+        service.lendingRemoved("2024/2", "A");
+        lend("C", "2024/4");
+
+        List<BookSuggestion> suggestions = service.getSuggestions("2024/9", List.of("Fantasy"));
+        assertEquals(List.of("B", "C"), isbns(suggestions));
+        assertEquals(1, suggestions.get(0).readers());
+    }
+
+    @Test
+    void cachedSuggestionsFollowTheIndex() {
+        lend("A", "2024/1");
+        List<BookSuggestion> first = service.getSuggestions("2024/9", List.of("Fantasy"));
+        assertSame(first, service.getSuggestions("2024/9", List.of("Fantasy")));
+
+        lend("D", "2024/2", "2024/3");
+        assertEquals(List.of("D", "A"), isbns(service.getSuggestions("2024/9", List.of("Fantasy"))));
+
+        index.bookSaved("D", "Book D", "Horror");
+        assertEquals(List.of("A", "C"), isbns(service.getSuggestions("2024/9", List.of("Fantasy"))));
+        assertEquals(List.of("D", "E"), isbns(service.getSuggestions("2024/9", List.of("Horror"))));
+
+        assertEquals(1.0, meterRegistry.get("book.suggestions.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(4.0, meterRegistry.get("book.suggestions.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    private void lend(String isbn, String... readerNumbers) {
+        for (String readerNumber : readerNumbers) {
+            service.lendingSaved(readerNumber, isbn);
+        }
+    }
+
+    private static List<String> isbns(List<BookSuggestion> suggestions) {
+        return suggestions.stream().map(BookSuggestion::isbn).toList();
+    }
+}